@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm;
+
+import java.util.Arrays;
+
+/**
+ * The delay before sending a hedged read, which is a percentile of the
+ * recent read latencies, but at least the given min delay.
+ * <p>
+ * The latencies are kept in a ring buffer and the percentile is recomputed
+ * periodically, so that the delay is cheap to get for each read.
+ */
+class HedgedReadDelay {
+  private static final int SAMPLES = 1024;
+  private static final int RECOMPUTE_INTERVAL = SAMPLES / 8;
+
+  private final double percentile;
+  private final long minDelayMs;
+  private final long[] latencies = new long[SAMPLES];
+  private long count = 0;
+  private volatile long delayMs;
+
+  HedgedReadDelay(double percentile, long minDelayMs) {
+    this.percentile = percentile;
+    this.minDelayMs = Math.max(0, minDelayMs);
+    this.delayMs = this.minDelayMs;
+  }
+
+  /** @return the current delay in milliseconds. */
+  long get() {
+    return delayMs;
+  }
+
+  synchronized void add(long latencyMs) {
+    latencies[(int) (count % SAMPLES)] = latencyMs;
+    count++;
+    if (count % RECOMPUTE_INTERVAL == 0) {
+      final int n = (int) Math.min(count, SAMPLES);
+      final long[] sorted = Arrays.copyOf(latencies, n);
+      Arrays.sort(sorted);
+      final int i = (int) Math.ceil(percentile / 100 * n) - 1;
+      delayMs = Math.max(minDelayMs, sorted[Math.max(0, Math.min(i, n - 1))]);
+    }
+  }
+}
@@ -113,6 +113,27 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private long streamBufferMaxSize = 32 * 1024 * 1024;
 
+  @Config(key = "ozone.client.stream.buffer.arena.max.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "The total size of the stream buffers shared by all the "
+          + "output streams of a client. When it is reached, a stream "
+          + "allocating a new buffer waits for the other streams to release "
+          + "their buffers, up to ozone.client.stream.buffer.arena.wait."
+          + "timeout. If zero, the total size is unbounded.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferArenaMaxSize = 0;
+
+  @Config(key = "ozone.client.stream.buffer.arena.wait.timeout",
+      defaultValue = "1s",
+      type = ConfigType.TIME,
+      description = "The max time for a stream to wait for a buffer when "
+          + "ozone.client.stream.buffer.arena.max.size is reached. After the "
+          + "timeout, the buffer is allocated beyond the max size in order to "
+          + "avoid blocking the streams holding the buffers.",
+      tags = ConfigTag.CLIENT)
+  private long streamBufferArenaWaitTimeout = 1000;
+
   @Config(key = "ozone.client.max.retries",
       defaultValue = "5",
       description = "Maximum number of retries by Ozone Client on "
@@ -203,6 +224,60 @@ public class OzoneClientConfig {
   // 3 concurrent stripe read should be enough.
   private int ecReconstructStripeReadPoolLimit = 10 * 3;
 
+  @Config(key = "ozone.client.vectored.read.pool.limit",
+      defaultValue = "32",
+      description = "Thread pool max size for reading the blocks of a key "
+          + "in parallel in vectored reads. When all the threads are busy, "
+          + "the blocks are read by the calling thread.",
+      tags = ConfigTag.CLIENT)
+  private int vectoredReadPoolLimit = 32;
+
+  @Config(key = "ozone.client.read.readahead.max.size",
+      defaultValue = "0B",
+      type = ConfigType.SIZE,
+      description = "The max size of the chunks read ahead asynchronously "
+          + "by a block input stream when the reads are sequential. The "
+          + "number of the chunks read ahead doubles with each sequential "
+          + "read up to this size, and the chunks are discarded on seek or "
+          + "unbuffer. If zero, read ahead is disabled.",
+      tags = ConfigTag.CLIENT)
+  private long readAheadMaxSize = 0;
+
+  @Config(key = "ozone.client.read.readahead.pool.limit",
+      defaultValue = "32",
+      description = "Thread pool max size for reading ahead the chunks. "
+          + "When all the threads are busy, the chunks are read by the "
+          + "reading thread.",
+      tags = ConfigTag.CLIENT)
+  private int readAheadPoolLimit = 32;
+
+  @Config(key = "ozone.client.read.hedging.enabled",
+      defaultValue = "false",
+      type = ConfigType.BOOLEAN,
+      description = "Whether to hedge the chunk reads of replicated "
+          + "containers. When a datanode does not reply within the latency "
+          + "given by ozone.client.read.hedging.percentile, the same read is "
+          + "sent to another datanode in the pipeline and the first reply "
+          + "is used.",
+      tags = ConfigTag.CLIENT)
+  private boolean readHedgingEnabled = false;
+
+  @Config(key = "ozone.client.read.hedging.percentile",
+      defaultValue = "99",
+      type = ConfigType.DOUBLE,
+      description = "The percentile of the recent chunk read latencies of a "
+          + "pipeline after which a hedged read is sent.",
+      tags = ConfigTag.CLIENT)
+  private double readHedgingPercentile = 99;
+
+  @Config(key = "ozone.client.read.hedging.min.delay",
+      defaultValue = "10ms",
+      type = ConfigType.TIME,
+      description = "The min time to wait before sending a hedged read. It "
+          + "is also used until enough latencies are sampled.",
+      tags = ConfigTag.CLIENT)
+  private long readHedgingMinDelay = 10;
+
   @Config(key = "ozone.client.ec.reconstruct.stripe.write.pool.limit",
       defaultValue = "30",
       description = "Thread pool max size for parallel write" +
@@ -274,11 +349,25 @@ public class OzoneClientConfig {
       tags = ConfigTag.CLIENT)
   private int maxConcurrentWritePerKey = 1;
 
+  @Config(key = "ozone.client.key.write.parallel.blocks",
+      defaultValue = "1",
+      description = "The max number of blocks of a key written concurrently. "
+          + "When a block is full, it is closed in the background while the "
+          + "subsequent data is written to the next block, and the blocks "
+          + "are committed in order. Each block being written or closed "
+          + "holds up to ozone.client.stream.buffer.max.size of buffers. "
+          + "Defaults to 1, i.e. the blocks are written one after another.",
+      tags = ConfigTag.CLIENT)
+  private int parallelBlocksPerKey = 1;
+
   @PostConstruct
   public void validate() {
     Preconditions.checkState(streamBufferSize > 0);
     Preconditions.checkState(streamBufferFlushSize > 0);
     Preconditions.checkState(streamBufferMaxSize > 0);
+    Preconditions.checkArgument(
+        readHedgingPercentile > 0 && readHedgingPercentile <= 100,
+        "Invalid read hedging percentile: %s", readHedgingPercentile);
 
     Preconditions.checkArgument(bufferIncrement < streamBufferSize,
         "Buffer increment should be smaller than the size of the stream "
@@ -362,6 +451,19 @@ public void setStreamBufferMaxSize(long streamBufferMaxSize) {
     this.streamBufferMaxSize = streamBufferMaxSize;
   }
 
+  public long getStreamBufferArenaMaxSize() {
+    return streamBufferArenaMaxSize;
+  }
+
+  public void setStreamBufferArenaMaxSize(long streamBufferArenaMaxSize) {
+    this.streamBufferArenaMaxSize = streamBufferArenaMaxSize;
+  }
+
+  /** @return the timeout in milliseconds. */
+  public long getStreamBufferArenaWaitTimeout() {
+    return streamBufferArenaWaitTimeout;
+  }
+
   public int getDataStreamMinPacketSize() {
     return dataStreamMinPacketSize;
   }
@@ -476,6 +578,54 @@ public void setEcReconstructStripeReadPoolLimit(int poolLimit) {
     this.ecReconstructStripeReadPoolLimit = poolLimit;
   }
 
+  public long getReadAheadMaxSize() {
+    return readAheadMaxSize;
+  }
+
+  public void setReadAheadMaxSize(long readAheadMaxSize) {
+    this.readAheadMaxSize = readAheadMaxSize;
+  }
+
+  public int getReadAheadPoolLimit() {
+    return readAheadPoolLimit;
+  }
+
+  public int getParallelBlocksPerKey() {
+    return parallelBlocksPerKey;
+  }
+
+  public void setParallelBlocksPerKey(int parallelBlocksPerKey) {
+    this.parallelBlocksPerKey = parallelBlocksPerKey;
+  }
+
+  public boolean isReadHedgingEnabled() {
+    return readHedgingEnabled;
+  }
+
+  public void setReadHedgingEnabled(boolean readHedgingEnabled) {
+    this.readHedgingEnabled = readHedgingEnabled;
+  }
+
+  public double getReadHedgingPercentile() {
+    return readHedgingPercentile;
+  }
+
+  public long getReadHedgingMinDelay() {
+    return readHedgingMinDelay;
+  }
+
+  public void setReadHedgingMinDelay(long readHedgingMinDelay) {
+    this.readHedgingMinDelay = readHedgingMinDelay;
+  }
+
+  public int getVectoredReadPoolLimit() {
+    return vectoredReadPoolLimit;
+  }
+
+  public void setVectoredReadPoolLimit(int poolLimit) {
+    this.vectoredReadPoolLimit = poolLimit;
+  }
+
   public int getEcReconstructStripeReadPoolLimit() {
     return ecReconstructStripeReadPoolLimit;
   }
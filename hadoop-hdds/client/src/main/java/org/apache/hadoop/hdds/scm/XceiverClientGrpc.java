@@ -30,6 +30,8 @@
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -38,6 +40,7 @@
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
@@ -99,6 +102,8 @@ public class XceiverClientGrpc extends XceiverClientSpi {
   // Cache the DN which returned the GetBlock command so that the ReadChunk
   // command can be sent to the same DN.
   private final Map<DatanodeBlockID, DatanodeDetails> getBlockDNcache;
+  // The delay of hedged ReadChunk; null if hedging is disabled.
+  private final HedgedReadDelay hedgedReadDelay;
 
   private boolean closed = false;
 
@@ -131,6 +136,12 @@ public XceiverClientGrpc(Pipeline pipeline, ConfigurationSource config,
         OzoneConfigKeys.OZONE_NETWORK_TOPOLOGY_AWARE_READ_DEFAULT);
     this.trustManager = trustManager;
     this.getBlockDNcache = new ConcurrentHashMap<>();
+    final OzoneClientConfig clientConfig =
+        config.getObject(OzoneClientConfig.class);
+    this.hedgedReadDelay = clientConfig.isReadHedgingEnabled()
+        ? new HedgedReadDelay(clientConfig.getReadHedgingPercentile(),
+            clientConfig.getReadHedgingMinDelay())
+        : null;
   }
 
   /**
@@ -432,6 +443,11 @@ private XceiverClientReply sendCommandWithRetry(
       datanodeList = sortDatanodeByOperationalState(datanodeList);
     }
 
+    if (hedgedReadDelay != null && datanodeList.size() > 1
+        && request.getCmdType() == ContainerProtos.Type.ReadChunk) {
+      return new HedgedRead(request, validators, datanodeList, reply).run();
+    }
+
     for (DatanodeDetails dn : datanodeList) {
       try {
         if (LOG.isDebugEnabled()) {
@@ -495,6 +511,150 @@ private XceiverClientReply sendCommandWithRetry(
     }
   }
 
+  /**
+   * A ReadChunk sent to the first datanode and, if it does not reply within
+   * the hedging delay, also to the next datanode.  The first valid reply is
+   * used.  On failures, the datanodes are tried in turn
+   * as in {@link #sendCommandWithRetry}.
+   */
+  private final class HedgedRead {
+    private final ContainerCommandRequestProto request;
+    private final List<Validator> validators;
+    private final List<DatanodeDetails> datanodes;
+    private final XceiverClientReply reply;
+    private final Map<CompletableFuture<ContainerCommandResponseProto>,
+        DatanodeDetails> pending = new LinkedHashMap<>();
+    private final long startTime = Time.monotonicNow();
+    private int next = 0;
+    private DatanodeDetails hedgedDn;
+    private IOException ioException;
+
+    private HedgedRead(ContainerCommandRequestProto request,
+        List<Validator> validators, List<DatanodeDetails> datanodes,
+        XceiverClientReply reply) {
+      this.request = request;
+      this.validators = validators;
+      this.datanodes = datanodes;
+      this.reply = reply;
+    }
+
+    XceiverClientReply run() throws IOException {
+      try {
+        while (true) {
+          while (pending.isEmpty() && next < datanodes.size()) {
+            sendNext();
+          }
+          if (pending.isEmpty()) {
+            break;
+          }
+          final CompletableFuture<Object> any = CompletableFuture.anyOf(
+              pending.keySet().toArray(new CompletableFuture<?>[0]));
+          try {
+            if (hedgedDn == null && next < datanodes.size()) {
+              any.get(hedgedReadDelay.get(), TimeUnit.MILLISECONDS);
+            } else {
+              any.get();
+            }
+          } catch (TimeoutException e) {
+            metrics.incHedgedReadOps();
+            hedgedDn = sendNext();
+            continue;
+          } catch (ExecutionException e) {
+            // The failed reply is handled below.
+          }
+          if (completeReply()) {
+            return reply;
+          }
+        }
+      } catch (InterruptedException e) {
+        LOG.error("Command execution was interrupted ", e);
+        Thread.currentThread().interrupt();
+        throw (IOException) new InterruptedIOException(
+            "Command " + processForDebug(request) + " was interrupted.")
+            .initCause(e);
+      }
+
+      Objects.requireNonNull(ioException);
+      String message = "Failed to execute command {}";
+      if (LOG.isDebugEnabled()) {
+        LOG.debug(message + " on the pipeline {}.",
+            processForDebug(request), pipeline);
+      } else {
+        LOG.warn(message + " on the pipeline {}.",
+            request.getCmdType(), pipeline);
+      }
+      throw ioException;
+    }
+
+    private DatanodeDetails sendNext() throws InterruptedException {
+      final DatanodeDetails dn = datanodes.get(next++);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Executing command {} on datanode {}",
+            processForDebug(request), dn);
+      }
+      reply.addDatanode(dn);
+      try {
+        pending.put(sendCommandAsync(request, dn).getResponse(), dn);
+      } catch (IOException e) {
+        ioException = e;
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Failed to execute command {} on datanode {}",
+              processForDebug(request), dn, e);
+        }
+      }
+      return dn;
+    }
+
+    /** @return true if a valid reply is found among the completed ones. */
+    private boolean completeReply()
+        throws IOException, InterruptedException {
+      for (Iterator<Map.Entry<CompletableFuture<ContainerCommandResponseProto>,
+          DatanodeDetails>> i = pending.entrySet().iterator(); i.hasNext();) {
+        final Map.Entry<CompletableFuture<ContainerCommandResponseProto>,
+            DatanodeDetails> entry = i.next();
+        if (!entry.getKey().isDone()) {
+          continue;
+        }
+        i.remove();
+        final DatanodeDetails dn = entry.getValue();
+        try {
+          final ContainerCommandResponseProto responseProto =
+              entry.getKey().get();
+          if (validators != null && !validators.isEmpty()) {
+            for (Validator validator : validators) {
+              validator.accept(request, responseProto);
+            }
+          }
+          // The latency of the first datanode is at least the elapsed time.
+          hedgedReadDelay.add(Time.monotonicNow() - startTime);
+          if (dn.equals(hedgedDn)) {
+            metrics.incHedgedReadWins();
+          }
+          reply.setResponse(CompletableFuture.completedFuture(responseProto));
+          return true;
+        } catch (IOException e) {
+          ioException = e;
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Failed to execute command {} on datanode {}",
+                processForDebug(request), dn, e);
+          }
+        } catch (ExecutionException e) {
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("Failed to execute command {} on datanode {}",
+                processForDebug(request), dn, e);
+          }
+          if (Status.fromThrowable(e.getCause()).getCode()
+              == Status.UNAUTHENTICATED.getCode()) {
+            throw new SCMSecurityException("Failed to authenticate with "
+                + "GRPC XceiverServer with Ozone block token.");
+          }
+          ioException = new IOException(e);
+        }
+      }
+      return false;
+    }
+  }
+
   private static List<DatanodeDetails> sortDatanodeByOperationalState(
       List<DatanodeDetails> datanodeList) {
     List<DatanodeDetails> sortedDatanodeList = new ArrayList<>(datanodeList);
@@ -48,6 +48,8 @@ public class XceiverClientMetrics implements MetricsSource {
   private @Metric MutableCounterLong totalOps;
   private @Metric MutableCounterLong ecReconstructionTotal;
   private @Metric MutableCounterLong ecReconstructionFailsTotal;
+  private @Metric MutableCounterLong hedgedReadOps;
+  private @Metric MutableCounterLong hedgedReadWins;
   private EnumMap<ContainerProtos.Type, MutableCounterLong> pendingOpsArray;
   private EnumMap<ContainerProtos.Type, MutableCounterLong> opsArray;
   private EnumMap<ContainerProtos.Type, PerformanceMetrics> containerOpsLatency;
@@ -112,6 +114,26 @@ public void incECReconstructionFailsTotal() {
     ecReconstructionFailsTotal.incr();
   }
 
+  /** A read is hedged, i.e. it is sent to another datanode. */
+  public void incHedgedReadOps() {
+    hedgedReadOps.incr();
+  }
+
+  /** The reply of a hedged read is used. */
+  public void incHedgedReadWins() {
+    hedgedReadWins.incr();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadOps() {
+    return hedgedReadOps.value();
+  }
+
+  @VisibleForTesting
+  public long getHedgedReadWins() {
+    return hedgedReadWins.value();
+  }
+
   @VisibleForTesting
   public long getTotalOpCount() {
     return totalOps.value();
@@ -141,6 +163,8 @@ public void getMetrics(MetricsCollector collector, boolean b) {
     totalOps.snapshot(recordBuilder, true);
     ecReconstructionTotal.snapshot(recordBuilder, true);
     ecReconstructionFailsTotal.snapshot(recordBuilder, true);
+    hedgedReadOps.snapshot(recordBuilder, true);
+    hedgedReadWins.snapshot(recordBuilder, true);
 
     for (ContainerProtos.Type type : ContainerProtos.Type.values()) {
       pendingOpsArray.get(type).snapshot(recordBuilder, b);
@@ -28,9 +28,11 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.BlockData;
@@ -67,6 +69,9 @@ public class BlockInputStream extends BlockExtendedInputStream {
   private static final List<Validator> VALIDATORS =
       ContainerProtocolCalls.toValidatorList((request, response) -> validate(response));
 
+  /** The number of sequential reads to start reading ahead. */
+  private static final int SEQUENTIAL_READS_THRESHOLD = 2;
+
   private final BlockID blockID;
   private long length;
   private final BlockLocationInfo blockInfo;
@@ -114,6 +119,15 @@ public class BlockInputStream extends BlockExtendedInputStream {
 
   private final Function<BlockID, BlockLocationInfo> refreshFunction;
 
+  // Executor for reading ahead the chunks; null means read ahead is disabled.
+  private final Supplier<? extends Executor> readAheadExecutor;
+  // The max size of the chunks being read ahead.
+  private final long readAheadMaxSize;
+  // The position after the last read, for detecting sequential reads.
+  private long lastReadPosition = -1;
+  // The number of the consecutive sequential reads.
+  private int sequentialReads;
+
   public BlockInputStream(
       BlockLocationInfo blockInfo,
       Pipeline pipeline,
@@ -121,6 +135,24 @@ public BlockInputStream(
       XceiverClientFactory xceiverClientFactory,
       Function<BlockID, BlockLocationInfo> refreshFunction,
       OzoneClientConfig config) throws IOException {
+    this(blockInfo, pipeline, token, xceiverClientFactory, refreshFunction,
+        config, null);
+  }
+
+  /**
+   * The same as the constructor above except that the chunks are read ahead
+   * using the given executor when the reads are sequential.
+   */
+  public BlockInputStream(
+      BlockLocationInfo blockInfo,
+      Pipeline pipeline,
+      Token<OzoneBlockTokenIdentifier> token,
+      XceiverClientFactory xceiverClientFactory,
+      Function<BlockID, BlockLocationInfo> refreshFunction,
+      OzoneClientConfig config,
+      Supplier<? extends Executor> readAheadExecutor) throws IOException {
+    this.readAheadMaxSize = config.getReadAheadMaxSize();
+    this.readAheadExecutor = readAheadMaxSize > 0 ? readAheadExecutor : null;
     this.blockInfo = blockInfo;
     this.blockID = blockInfo.getBlockID();
     this.length = blockInfo.getLength();
@@ -362,6 +394,51 @@ protected synchronized int readWithStrategy(ByteReaderStrategy strategy)
     }
 
     checkOpen();
+    if (readAheadExecutor == null) {
+      return readChunks(strategy);
+    }
+
+    final long position = getPos();
+    if (position == lastReadPosition) {
+      sequentialReads++;
+    } else {
+      sequentialReads = 0;
+      cancelReadAhead();
+    }
+    final int readLen = readChunks(strategy);
+    lastReadPosition = getPos();
+    if (sequentialReads >= SEQUENTIAL_READS_THRESHOLD) {
+      readAhead();
+    }
+    return readLen;
+  }
+
+  /**
+   * Read ahead the chunks following the current chunk.  The number of the
+   * chunks doubles with each sequential read, limited by the max size.
+   */
+  private void readAhead() {
+    final int shift = Math.min(sequentialReads - SEQUENTIAL_READS_THRESHOLD, 16);
+    final int maxChunks = 1 << shift;
+    long remaining = readAheadMaxSize;
+    for (int i = chunkIndex + 1; i < chunkStreams.size() && i <= chunkIndex + maxChunks; i++) {
+      final ChunkInputStream chunk = chunkStreams.get(i);
+      remaining -= chunk.getLength();
+      if (remaining < 0 || !chunk.readAhead(readAheadExecutor.get())) {
+        return;
+      }
+    }
+  }
+
+  private void cancelReadAhead() {
+    if (chunkStreams != null) {
+      for (ChunkInputStream chunk : chunkStreams) {
+        chunk.cancelReadAhead();
+      }
+    }
+  }
+
+  private int readChunks(ByteReaderStrategy strategy) throws IOException {
     int totalReadLen = 0;
     int len = strategy.getTargetLength();
     while (len > 0) {
@@ -451,6 +528,10 @@ public synchronized void seek(long pos) throws IOException {
     }
 
     checkOpen();
+    if (readAheadExecutor != null && pos != getPos()) {
+      sequentialReads = 0;
+      cancelReadAhead();
+    }
     if (pos < 0 || pos > length) {
       if (pos == 0) {
         // It is possible for length and pos to be zero in which case
@@ -564,6 +645,7 @@ synchronized long getBlockPosition() {
 
   @Override
   public synchronized void unbuffer() {
+    sequentialReads = 0;
     storePosition();
     releaseClient();
 
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.ratis.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory budget shared by the {@link BufferPool}s of all the output streams
+ * of a client.  The streams allocating their buffers elsewhere,
+ * such as the EC stripe buffers, may also {@link #reserve(int)} the budget.
+ * <p>
+ * The buffers are direct buffers allocated from the pooled netty allocator,
+ * which provides the size classes and the per-thread caches, so that the
+ * buffers released by a stream are reused by the other streams.
+ * This arena bounds the total size of the buffers held by the streams.
+ * When the budget is exhausted, an allocation waits for the other streams to
+ * release their buffers.  Since a stream may hold its buffers until it is
+ * flushed or closed, the wait is bounded by a timeout in order to avoid
+ * deadlocks; the allocation then exceeds the budget.
+ */
+public class BufferArena {
+  private static final Logger LOG = LoggerFactory.getLogger(BufferArena.class);
+
+  private static final BufferArena UNBOUNDED = new BufferArena(0, 0);
+
+  /** The max number of bytes; non-positive means unbounded. */
+  private final long maxBytes;
+  private final long waitTimeoutNanos;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private long usedBytes = 0;
+  private long overBudgetCount = 0;
+
+  /** @return an arena without a budget. */
+  public static BufferArena unbounded() {
+    return UNBOUNDED;
+  }
+
+  public BufferArena(long maxBytes, long waitTimeoutMs) {
+    this.maxBytes = maxBytes;
+    this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+        Math.max(0, waitTimeoutMs));
+  }
+
+  /**
+   * Allocate a buffer, waiting for other buffers to be released
+   * when the budget is exhausted.
+   *
+   * @see ChunkBuffer#allocate(int, int)
+   */
+  public ChunkBuffer allocate(int capacity, int increment)
+      throws InterruptedException {
+    reserve(capacity);
+    try {
+      return ChunkBuffer.allocate(capacity, increment);
+    } catch (RuntimeException | Error e) {
+      unreserve(capacity);
+      throw e;
+    }
+  }
+
+  /**
+   * Release a buffer previously allocated from this arena
+   * with the given capacity.
+   */
+  public void release(ChunkBuffer buffer, int capacity) {
+    buffer.close();
+    unreserve(capacity);
+  }
+
+  /**
+   * Reserve the budget for a buffer allocated outside this arena,
+   * waiting for other buffers to be released when the budget is exhausted.
+   * The budget must be returned by {@link #unreserve(int)}.
+   */
+  public void reserve(int bytes) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      if (maxBytes > 0) {
+        long remaining = waitTimeoutNanos;
+        // A buffer larger than the budget is allowed when nothing is used.
+        while (usedBytes > 0 && usedBytes + bytes > maxBytes) {
+          if (remaining <= 0) {
+            overBudgetCount++;
+            LOG.debug("Exceeding the budget {} (used = {}) to allocate {} bytes",
+                maxBytes, usedBytes, bytes);
+            break;
+          }
+          remaining = released.awaitNanos(remaining);
+        }
+      }
+      usedBytes += bytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Return the budget reserved by {@link #reserve(int)}. */
+  public void unreserve(int bytes) {
+    lock.lock();
+    try {
+      usedBytes -= bytes;
+      Preconditions.assertTrue(usedBytes >= 0,
+          () -> "usedBytes = " + usedBytes + " < 0");
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  public long getUsedBytes() {
+    lock.lock();
+    try {
+      return usedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** @return the number of the allocations exceeding the budget. */
+  public long getOverBudgetCount() {
+    lock.lock();
+    try {
+      return overBudgetCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
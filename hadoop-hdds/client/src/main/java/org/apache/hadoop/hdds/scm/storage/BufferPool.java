@@ -19,9 +19,12 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -40,6 +43,9 @@
  * This pool is designed for concurrent access to allocation and release. It imposes a maximum number of buffers to be
  * allocated at the same time and once the limit has been approached, the thread requesting a new allocation needs to
  * wait until a allocated buffer is released.
+ * <p>
+ * The buffers are allocated from a {@link BufferArena}, which may be shared by the pools of many streams in order to
+ * bound the total memory.  The buffers are returned to the arena when this pool is cleared.
  */
 public class BufferPool {
   private static final Logger LOG = LoggerFactory.getLogger(BufferPool.class);
@@ -48,9 +54,10 @@ public class BufferPool {
   private final int bufferSize;
   private final int capacity;
   private final Function<ByteBuffer, ByteString> byteStringConversion;
+  private final BufferArena arena;
 
   private final LinkedList<ChunkBuffer> allocated = new LinkedList<>();
-  private final LinkedList<ChunkBuffer> released = new LinkedList<>();
+  private final Deque<ChunkBuffer> released = new ArrayDeque<>();
   private ChunkBuffer currentBuffer = null;
   private final Lock lock = new ReentrantLock();
   private final Condition notFull = lock.newCondition();
@@ -66,9 +73,15 @@ public BufferPool(int bufferSize, int capacity) {
 
   public BufferPool(int bufferSize, int capacity,
       Function<ByteBuffer, ByteString> byteStringConversion) {
+    this(bufferSize, capacity, byteStringConversion, BufferArena.unbounded());
+  }
+
+  public BufferPool(int bufferSize, int capacity,
+      Function<ByteBuffer, ByteString> byteStringConversion, BufferArena arena) {
     this.capacity = capacity;
     this.bufferSize = bufferSize;
     this.byteStringConversion = byteStringConversion;
+    this.arena = Objects.requireNonNull(arena, "arena == null");
   }
 
   public Function<ByteBuffer, ByteString> byteStringConversion() {
@@ -95,7 +108,7 @@ public ChunkBuffer allocateBuffer(int increment) throws InterruptedException {
       }
       // Get a buffer to allocate, preferably from the released ones.
       final ChunkBuffer buffer = released.isEmpty() ?
-          ChunkBuffer.allocate(bufferSize, increment) : released.removeFirst();
+          arena.allocate(bufferSize, increment) : released.removeFirst();
       allocated.add(buffer);
       currentBuffer = buffer;
 
@@ -162,8 +175,8 @@ public void waitUntilAvailable() throws InterruptedException {
   public void clearBufferPool() {
     lock.lock();
     try {
-      allocated.forEach(ChunkBuffer::close);
-      released.forEach(ChunkBuffer::close);
+      allocated.forEach(b -> arena.release(b, bufferSize));
+      released.forEach(b -> arena.release(b, bufferSize));
       allocated.clear();
       released.clear();
       currentBuffer = null;
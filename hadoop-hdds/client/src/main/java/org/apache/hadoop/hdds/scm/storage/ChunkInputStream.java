@@ -22,10 +22,16 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.fs.ByteBufferReadable;
@@ -98,6 +104,9 @@ public class ChunkInputStream extends InputStream
 
   private final Supplier<Token<?>> tokenSupplier;
 
+  // The whole chunk being read ahead asynchronously, if any.
+  private CompletableFuture<ByteBuffer[]> readAhead;
+
   private static final int EOF = -1;
   private final List<Validator> validators;
 
@@ -280,10 +289,105 @@ public boolean seekToNewSource(long targetPos) {
 
   @Override
   public synchronized void close() {
+    cancelReadAhead();
     releaseBuffers();
     releaseClient();
   }
 
+  /**
+   * Start reading the whole chunk asynchronously using the given executor,
+   * unless the chunk is already being read ahead or has been read.
+   * The data is used by the subsequent reads of this stream.
+   * @return true if the chunk is being read ahead.
+   */
+  synchronized boolean readAhead(Executor executor) {
+    if (readAhead != null) {
+      return true;
+    }
+    if (buffersAllocated() || getPos() != 0) {
+      return false;
+    }
+    // The task has its own client, which is released only after the task,
+    // so that it is not released by close or unbuffer while it is in use.
+    final XceiverClientSpi client;
+    final ContainerProtos.DatanodeBlockID blockIdToRead;
+    try {
+      final Pipeline pipeline = pipelineSupplier.get();
+      client = xceiverClientFactory == null ? null
+          : xceiverClientFactory.acquireClientForReadData(pipeline);
+      blockIdToRead = getDatanodeBlockId(pipeline);
+    } catch (IOException e) {
+      // The subsequent read will retry.
+      return false;
+    }
+    final CompletableFuture<ByteBuffer[]> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        try {
+          // Skip reading if it is cancelled before the task starts.
+          if (!future.isDone()) {
+            future.complete(readChunk(client, blockIdToRead, chunkInfo));
+          }
+        } catch (Throwable t) {
+          future.completeExceptionally(t);
+        } finally {
+          releaseReadAheadClient(client);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Do not read ahead when the executor is saturated.
+      releaseReadAheadClient(client);
+      return false;
+    }
+    readAhead = future;
+    return true;
+  }
+
+  private void releaseReadAheadClient(XceiverClientSpi client) {
+    if (client != null) {
+      xceiverClientFactory.releaseClientForReadData(client, false);
+    }
+  }
+
+  /** Cancel the read ahead, if there is any. */
+  synchronized void cancelReadAhead() {
+    if (readAhead != null) {
+      readAhead.cancel(false);
+      readAhead = null;
+    }
+  }
+
+  synchronized boolean isReadingAhead() {
+    return readAhead != null;
+  }
+
+  /**
+   * Use the data read ahead, if it is available.
+   * @return true if the buffers are filled with the whole chunk.
+   */
+  private boolean useReadAhead() throws IOException {
+    final CompletableFuture<ByteBuffer[]> future = readAhead;
+    if (future == null) {
+      return false;
+    }
+    readAhead = null;
+    final ByteBuffer[] data;
+    try {
+      data = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Interrupted while reading ahead " + chunkInfo.getChunkName())
+          .initCause(e);
+    } catch (ExecutionException | CancellationException e) {
+      // Fall back to a synchronous read, which handles the error if it recurs.
+      return false;
+    }
+    setBuffers(data, length);
+    bufferOffsetWrtChunkData = 0;
+    return true;
+  }
+
   protected synchronized void releaseClient() {
     if (xceiverClientFactory != null && xceiverClient != null) {
       xceiverClientFactory.releaseClientForReadData(xceiverClient, false);
@@ -295,13 +399,18 @@ protected synchronized void releaseClient() {
    * Updates DatanodeBlockId which based on blockId.
    */
   private void updateDatanodeBlockId(Pipeline pipeline) throws IOException {
+    datanodeBlockID = getDatanodeBlockId(pipeline);
+  }
+
+  private ContainerProtos.DatanodeBlockID getDatanodeBlockId(Pipeline pipeline)
+      throws IOException {
     DatanodeDetails closestNode = pipeline.getClosestNode();
     int replicaIdx = pipeline.getReplicaIndex(closestNode);
     ContainerProtos.DatanodeBlockID.Builder builder = blockID.getDatanodeBlockIDProtobufBuilder();
     if (replicaIdx > 0) {
       builder.setReplicaIndex(replicaIdx);
     }
-    datanodeBlockID = builder.build();
+    return builder.build();
   }
 
   /**
@@ -378,6 +487,11 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
     // successful read in adjustBufferPosition()
     storePosition();
 
+    if (useReadAhead()) {
+      adjustBufferPosition(startByteIndex);
+      return;
+    }
+
     long adjustedBuffersOffset, adjustedBuffersLen;
     if (verifyChecksum) {
       // Adjust the chunk offset and length to include required checksum
@@ -414,8 +528,12 @@ private synchronized void readChunkFromContainer(int len) throws IOException {
 
   private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
       throws IOException {
-    buffers = readChunk(readChunkInfo);
-    buffersSize = readChunkInfo.getLen();
+    setBuffers(readChunk(readChunkInfo), readChunkInfo.getLen());
+  }
+
+  private void setBuffers(ByteBuffer[] data, long size) {
+    buffers = data;
+    buffersSize = size;
 
     bufferOffsets = new long[buffers.length];
     int tempOffset = 0;
@@ -432,12 +550,21 @@ private void readChunkDataIntoBuffers(ChunkInfo readChunkInfo)
   /**
    * Send RPC call to get the chunk from the container.
    */
+  private ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
+      throws IOException {
+    return readChunk(xceiverClient, datanodeBlockID, readChunkInfo);
+  }
+
+  /**
+   * Send RPC call to get the chunk from the container using the given client.
+   */
   @VisibleForTesting
-  protected ByteBuffer[] readChunk(ChunkInfo readChunkInfo)
+  protected ByteBuffer[] readChunk(XceiverClientSpi client,
+      ContainerProtos.DatanodeBlockID blockIdToRead, ChunkInfo readChunkInfo)
       throws IOException {
 
     ReadChunkResponseProto readChunkResponse =
-        ContainerProtocolCalls.readChunk(xceiverClient, readChunkInfo, datanodeBlockID, validators,
+        ContainerProtocolCalls.readChunk(client, readChunkInfo, blockIdToRead, validators,
             tokenSupplier.get());
 
     if (readChunkResponse.hasData()) {
@@ -733,6 +860,7 @@ protected long getChunkPosition() {
 
   @Override
   public synchronized void unbuffer() {
+    cancelReadAhead();
     storePosition();
     releaseBuffers();
     releaseClient();
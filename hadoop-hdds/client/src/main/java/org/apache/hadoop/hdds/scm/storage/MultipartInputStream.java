@@ -22,9 +22,21 @@
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FSExceptionMessages;
+import org.apache.hadoop.fs.FileRange;
 
 /**
  * A stream for accessing multipart streams.
@@ -56,13 +68,24 @@ public class MultipartInputStream extends ExtendedInputStream {
 
   private boolean initialized = false;
 
+  // Executor for reading the parts in parallel in readVectored;
+  // null means reading the parts sequentially in the calling thread.
+  private final Supplier<? extends Executor> vectoredReadExecutor;
+
   public MultipartInputStream(String keyName,
                               List<? extends PartInputStream> inputStreams) {
+    this(keyName, inputStreams, null);
+  }
+
+  public MultipartInputStream(String keyName,
+      List<? extends PartInputStream> inputStreams,
+      Supplier<? extends Executor> vectoredReadExecutor) {
 
     Preconditions.checkNotNull(inputStreams);
 
     this.key = keyName;
     this.partStreams = inputStreams;
+    this.vectoredReadExecutor = vectoredReadExecutor;
 
     // Calculate and update the partOffsets
     this.partOffsets = new long[inputStreams.size()];
@@ -240,6 +263,224 @@ public synchronized void close() throws IOException {
     }
   }
 
+  /**
+   * Read the given ranges asynchronously without changing the position of
+   * this stream, similar to
+   * {@link org.apache.hadoop.fs.PositionedReadable#readVectored}.
+   * <p>
+   * The ranges separated by at most minSeek bytes are merged into a single
+   * read of at most maxSize bytes.  The merged reads are then grouped by the
+   * parts; the parts are read in parallel if an executor is given,
+   * and the reads of a part are performed sequentially.
+   *
+   * @throws IllegalArgumentException if the ranges are invalid or overlapping.
+   */
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate, int minSeek, int maxSize)
+      throws IOException {
+    final List<FileRange> sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(FileRange::getOffset));
+    for (int i = 0; i < sorted.size(); i++) {
+      final FileRange r = sorted.get(i);
+      Preconditions.checkArgument(r.getOffset() >= 0 && r.getLength() >= 0,
+          "Invalid range %s", r);
+      Preconditions.checkArgument(i == 0 || r.getOffset() >= end(sorted.get(i - 1)),
+          "Overlapping ranges %s and %s", sorted.get(i - 1), r);
+    }
+
+    final Map<PartInputStream, List<Segment>> segments = new LinkedHashMap<>();
+    synchronized (this) {
+      checkOpen();
+      if (!initialized) {
+        initialize();
+      }
+      for (FileRange r : sorted) {
+        r.setData(new CompletableFuture<>());
+      }
+      for (MergedRange merged : merge(sorted, minSeek, maxSize)) {
+        split(merged, allocate, segments);
+      }
+    }
+
+    final Executor executor = vectoredReadExecutor == null
+        ? null : vectoredReadExecutor.get();
+    for (Map.Entry<PartInputStream, List<Segment>> e : segments.entrySet()) {
+      final Runnable task = () -> readSegments(e.getKey(), e.getValue());
+      if (executor == null) {
+        task.run();
+      } else {
+        executor.execute(task);
+      }
+    }
+  }
+
+  private static long end(FileRange range) {
+    return range.getOffset() + range.getLength();
+  }
+
+  private List<MergedRange> merge(List<FileRange> sorted, int minSeek,
+      int maxSize) {
+    final List<MergedRange> merged = new ArrayList<>();
+    MergedRange current = null;
+    for (FileRange r : sorted) {
+      if (end(r) > length) {
+        r.getData().completeExceptionally(new EOFException("Range " + r
+            + " is beyond the end of key " + key + " with length " + length));
+      } else if (r.getLength() == 0) {
+        r.getData().complete(ByteBuffer.allocate(0));
+      } else if (current != null && r.getOffset() - current.end <= minSeek
+          && end(r) - current.offset <= maxSize) {
+        current.add(r);
+      } else {
+        current = new MergedRange(r);
+        merged.add(current);
+      }
+    }
+    return merged;
+  }
+
+  /** Split the given range by the parts. */
+  private void split(MergedRange merged, IntFunction<ByteBuffer> allocate,
+      Map<PartInputStream, List<Segment>> segments) {
+    final ByteBuffer buffer;
+    try {
+      buffer = allocate.apply(Math.toIntExact(merged.end - merged.offset));
+    } catch (RuntimeException e) {
+      merged.fail(e);
+      return;
+    }
+    merged.setBuffer(buffer);
+
+    int i = Arrays.binarySearch(partOffsets, merged.offset);
+    if (i < 0) {
+      i = -i - 2;
+    }
+    for (long pos = merged.offset; pos < merged.end; i++) {
+      final PartInputStream part = partStreams.get(i);
+      final long partEnd = partOffsets[i] + part.getLength();
+      if (partEnd <= pos) {
+        continue; // skip empty parts
+      }
+      final long segmentEnd = Math.min(merged.end, partEnd);
+      segments.computeIfAbsent(part, k -> new ArrayList<>()).add(
+          new Segment(merged, pos - partOffsets[i],
+              Math.toIntExact(pos - merged.offset),
+              Math.toIntExact(segmentEnd - pos)));
+      merged.pending.incrementAndGet();
+      pos = segmentEnd;
+    }
+  }
+
+  /**
+   * Read the segments of the given part.  The part is locked during the
+   * reads and its position is restored afterward, so that the concurrent
+   * reads of this stream are not affected.
+   */
+  private static void readSegments(PartInputStream part,
+      List<Segment> segments) {
+    int i = 0;
+    try {
+      synchronized (part) {
+        final long saved = part.getPos();
+        try {
+          for (; i < segments.size(); i++) {
+            final Segment s = segments.get(i);
+            part.seek(s.partPosition);
+            final ByteBuffer b = s.merged.buffer.duplicate();
+            b.position(s.bufferOffset);
+            b.limit(s.bufferOffset + s.length);
+            readFully((InputStream) part, b);
+          }
+        } finally {
+          part.seek(saved);
+        }
+      }
+    } catch (Throwable t) {
+      for (int j = i; j < segments.size(); j++) {
+        segments.get(j).merged.fail(t);
+      }
+    }
+    for (int j = 0; j < i; j++) {
+      segments.get(j).merged.segmentDone();
+    }
+  }
+
+  private static void readFully(InputStream in, ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      final int n;
+      if (in instanceof ByteBufferReadable) {
+        n = ((ByteBufferReadable) in).read(buffer);
+      } else {
+        final byte[] array = new byte[buffer.remaining()];
+        n = in.read(array, 0, array.length);
+        if (n > 0) {
+          buffer.put(array, 0, n);
+        }
+      }
+      if (n < 0) {
+        throw new EOFException("Unexpected EOF with " + buffer.remaining()
+            + " bytes remaining");
+      }
+    }
+  }
+
+  /** The ranges to be read together. */
+  private static final class MergedRange {
+    private final long offset;
+    private long end;
+    private final List<FileRange> ranges = new ArrayList<>();
+    private ByteBuffer buffer;
+    /** The number of the segments not yet read. */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    MergedRange(FileRange first) {
+      this.offset = first.getOffset();
+      add(first);
+    }
+
+    void add(FileRange range) {
+      ranges.add(range);
+      end = end(range);
+    }
+
+    void setBuffer(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    void segmentDone() {
+      if (pending.decrementAndGet() > 0) {
+        return;
+      }
+      for (FileRange r : ranges) {
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(Math.toIntExact(r.getOffset() - offset));
+        slice.limit(slice.position() + r.getLength());
+        r.getData().complete(slice.slice());
+      }
+    }
+
+    void fail(Throwable t) {
+      ranges.forEach(r -> r.getData().completeExceptionally(t));
+    }
+  }
+
+  /** A part of a {@link MergedRange} which is within a single part. */
+  private static final class Segment {
+    private final MergedRange merged;
+    private final long partPosition;
+    private final int bufferOffset;
+    private final int length;
+
+    Segment(MergedRange merged, long partPosition, int bufferOffset,
+        int length) {
+      this.merged = merged;
+      this.partPosition = partPosition;
+      this.bufferOffset = bufferOffset;
+      this.length = length;
+    }
+  }
+
   /**
    * Verify that the input stream is open. Non blocking; this gives
    * the last state of the volatile {@link #closed} field.
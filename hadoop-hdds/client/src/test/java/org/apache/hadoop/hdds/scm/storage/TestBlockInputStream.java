@@ -41,6 +41,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -215,6 +216,45 @@ public void testRead() throws Exception {
     assertEquals(2, blockStream.getChunkIndex());
   }
 
+  @Test
+  public void testReadAhead() throws Exception {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setChecksumVerify(false);
+    clientConfig.setReadAheadMaxSize(CHUNK_SIZE * 5 / 2);
+    Executor executor = Runnable::run;
+    blockStream = new DummyBlockInputStream(
+        new BlockID(new ContainerBlockID(1, 1)), blockSize,
+        MockPipeline.createSingleNodePipeline(), null, null, refreshFunction,
+        chunks, chunkDataMap, clientConfig, () -> executor);
+
+    // The third sequential read starts reading ahead the next chunk.
+    byte[] b = new byte[blockSize];
+    for (int i = 0; i < 3; i++) {
+      assertEquals(10, blockStream.read(b, i * 10, 10));
+    }
+    List<ChunkInputStream> chunkStreams = blockStream.getChunkStreams();
+    assertTrue(chunkStreams.get(1).isReadingAhead());
+    assertFalse(chunkStreams.get(2).isReadingAhead());
+
+    // The window doubles, limited by the max size.
+    assertEquals(10, blockStream.read(b, 30, 10));
+    assertTrue(chunkStreams.get(2).isReadingAhead());
+    assertFalse(chunkStreams.get(3).isReadingAhead());
+
+    // The data read ahead is consumed by the subsequent reads.
+    int remaining = blockSize - 40;
+    assertEquals(remaining, blockStream.read(b, 40, remaining));
+    matchWithInputData(b, 0, blockSize);
+    assertFalse(chunkStreams.get(1).isReadingAhead());
+    assertFalse(chunkStreams.get(2).isReadingAhead());
+
+    // A seek cancels the read ahead.
+    blockStream.seek(0);
+    for (ChunkInputStream chunk : chunkStreams) {
+      assertFalse(chunk.isReadingAhead());
+    }
+  }
+
   @Test
   public void testReadWithByteBuffer() throws Exception {
     // read 200 bytes of data starting from position 50. Chunk0 contains
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.scm.ByteStringConversion;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link BufferArena}.
+ */
+class TestBufferArena {
+  private static final int SIZE = 1 << 10;
+
+  @Test
+  void testSharedByPools() throws Exception {
+    final BufferArena arena = new BufferArena(4 * SIZE, 60_000);
+    final BufferPool pool1 = newPool(arena);
+    final BufferPool pool2 = newPool(arena);
+
+    pool1.allocateBuffer(0);
+    pool1.allocateBuffer(0);
+    pool2.allocateBuffer(0);
+    pool2.releaseBuffer(pool2.allocateBuffer(0));
+    assertEquals(4 * SIZE, arena.getUsedBytes());
+
+    // The released buffer is still held by pool2, so pool1 has to wait.
+    final CompletableFuture<ChunkBuffer> waiting = CompletableFuture.supplyAsync(() -> {
+      try {
+        return pool1.allocateBuffer(0);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    Thread.sleep(100);
+    assertFalse(waiting.isDone());
+
+    pool2.clearBufferPool();
+    assertNotNull(waiting.get(10, TimeUnit.SECONDS));
+    assertEquals(3 * SIZE, arena.getUsedBytes());
+
+    pool1.clearBufferPool();
+    assertEquals(0, arena.getUsedBytes());
+    assertEquals(0, arena.getOverBudgetCount());
+  }
+
+  @Test
+  void testExceedBudgetAfterTimeout() throws Exception {
+    final BufferArena arena = new BufferArena(SIZE, 10);
+    final BufferPool pool = newPool(arena);
+
+    pool.allocateBuffer(0);
+    pool.allocateBuffer(0);
+    assertEquals(2 * SIZE, arena.getUsedBytes());
+    assertEquals(1, arena.getOverBudgetCount());
+
+    pool.clearBufferPool();
+    assertEquals(0, arena.getUsedBytes());
+  }
+
+  private static BufferPool newPool(BufferArena arena) {
+    return new BufferPool(SIZE, 4, ByteStringConversion.createByteBufferConversion(false), arena);
+  }
+}
@@ -22,9 +22,13 @@
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,12 +36,17 @@
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChecksumType;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ChunkInfo;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
+import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.DatanodeBlockID;
 import org.apache.hadoop.hdds.scm.ByteStringConversion;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.XceiverClientSpi;
@@ -284,4 +293,65 @@ public void connectsToNewPipeline() throws Exception {
       verify(newToken).encodeToUrlString();
     }
   }
+
+  @Test
+  public void testCloseWhileReadingAhead() throws Exception {
+    XceiverClientFactory clientFactory = mock(XceiverClientFactory.class);
+    XceiverClientSpi client = mock(XceiverClientSpi.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      DummyChunkInputStream subject = new DummyChunkInputStream(chunkInfo,
+          blockID, clientFactory, false, chunkData,
+          MockPipeline.createSingleNodePipeline()) {
+        @Override
+        protected ByteBuffer[] readChunk(XceiverClientSpi readClient,
+            DatanodeBlockID blockIdToRead, ChunkInfo readChunkInfo) {
+          assertSame(client, readClient);
+          started.countDown();
+          try {
+            resume.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return super.readChunk(readClient, blockIdToRead, readChunkInfo);
+        }
+      };
+      assertTrue(subject.readAhead(executor));
+      started.await();
+
+      // The client is in use by the read ahead, so it is not released by close.
+      subject.close();
+      assertFalse(subject.isReadingAhead());
+      verify(clientFactory, never()).releaseClientForReadData(client, false);
+
+      resume.countDown();
+      verify(clientFactory, timeout(10_000)).releaseClientForReadData(client, false);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testReadAheadRejected() throws Exception {
+    XceiverClientFactory clientFactory = mock(XceiverClientFactory.class);
+    XceiverClientSpi client = mock(XceiverClientSpi.class);
+    when(clientFactory.acquireClientForReadData(any())).thenReturn(client);
+    DummyChunkInputStream subject = new DummyChunkInputStream(chunkInfo,
+        blockID, clientFactory, false, chunkData,
+        MockPipeline.createSingleNodePipeline());
+
+    // A saturated executor does not run the read ahead in the reader thread.
+    assertFalse(subject.readAhead(task -> {
+      throw new RejectedExecutionException("saturated");
+    }));
+    assertFalse(subject.isReadingAhead());
+    verify(clientFactory).releaseClientForReadData(client, false);
+
+    byte[] b = new byte[CHUNK_SIZE];
+    assertEquals(CHUNK_SIZE, subject.read(b, 0, CHUNK_SIZE));
+    matchWithInputData(b, 0, CHUNK_SIZE);
+  }
 }
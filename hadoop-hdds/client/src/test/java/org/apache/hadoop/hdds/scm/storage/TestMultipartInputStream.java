@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.fs.FileRange;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MultipartInputStream#readVectored}.
+ */
+class TestMultipartInputStream {
+  private static final int PART_SIZE = 100;
+  private static final int PART_COUNT = 3;
+
+  private static ExecutorService executor;
+
+  @BeforeAll
+  static void init() {
+    executor = Executors.newFixedThreadPool(PART_COUNT);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testReadVectored() throws Exception {
+    final byte[] data = new byte[PART_SIZE * PART_COUNT];
+    ThreadLocalRandom.current().nextBytes(data);
+    final MultipartInputStream in = newStream(data, true);
+    in.seek(42);
+
+    final List<FileRange> ranges = Arrays.asList(
+        FileRange.createFileRange(250, 50),
+        FileRange.createFileRange(10, 5),
+        FileRange.createFileRange(20, 5),   // merged with the previous one
+        FileRange.createFileRange(95, 110), // spanning three parts
+        FileRange.createFileRange(205, 0));
+    in.readVectored(ranges, ByteBuffer::allocate, 16, 1 << 20);
+
+    for (FileRange r : ranges) {
+      final ByteBuffer b = r.getData().get(10, TimeUnit.SECONDS);
+      final byte[] actual = new byte[b.remaining()];
+      b.get(actual);
+      final int offset = Math.toIntExact(r.getOffset());
+      assertArrayEquals(Arrays.copyOfRange(data, offset, offset + r.getLength()), actual);
+    }
+    assertEquals(42, in.getPos());
+  }
+
+  @Test
+  void testReadVectoredSequentially() throws Exception {
+    final byte[] data = new byte[PART_SIZE * PART_COUNT];
+    ThreadLocalRandom.current().nextBytes(data);
+    final MultipartInputStream in = newStream(data, false);
+
+    final FileRange range = FileRange.createFileRange(0, data.length);
+    in.readVectored(Arrays.asList(range), ByteBuffer::allocateDirect, 0, 64);
+
+    final ByteBuffer b = range.getData().get();
+    final byte[] actual = new byte[b.remaining()];
+    b.get(actual);
+    assertArrayEquals(data, actual);
+  }
+
+  @Test
+  void testInvalidRanges() throws Exception {
+    final MultipartInputStream in = newStream(new byte[PART_SIZE * PART_COUNT], true);
+
+    assertThrows(IllegalArgumentException.class, () -> in.readVectored(Arrays.asList(
+        FileRange.createFileRange(0, 10), FileRange.createFileRange(5, 10)), ByteBuffer::allocate, 0, 100));
+
+    final FileRange beyondEof = FileRange.createFileRange(PART_SIZE * PART_COUNT - 1, 2);
+    in.readVectored(Arrays.asList(beyondEof), ByteBuffer::allocate, 0, 100);
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> beyondEof.getData().get());
+    assertThat(e.getCause()).isInstanceOf(EOFException.class);
+  }
+
+  private static MultipartInputStream newStream(byte[] data, boolean parallel) {
+    final List<Part> parts = new ArrayList<>();
+    for (int i = 0; i < PART_COUNT; i++) {
+      parts.add(new Part(Arrays.copyOfRange(data, i * PART_SIZE, (i + 1) * PART_SIZE)));
+    }
+    return new MultipartInputStream("key", parts, parallel ? () -> executor : null);
+  }
+
+  /** An in-memory part. */
+  private static final class Part extends InputStream implements PartInputStream {
+    private final byte[] data;
+    private int pos;
+
+    Part(byte[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public synchronized int read() {
+      return pos < data.length ? Byte.toUnsignedInt(data[pos++]) : -1;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      if (pos >= data.length) {
+        return -1;
+      }
+      final int n = Math.min(len, data.length - pos);
+      System.arraycopy(data, pos, b, off, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public synchronized void seek(long position) {
+      pos = Math.toIntExact(position);
+    }
+
+    @Override
+    public synchronized long getPos() {
+      return pos;
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+
+    @Override
+    public long getLength() {
+      return data.length;
+    }
+
+    @Override
+    public void unbuffer() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
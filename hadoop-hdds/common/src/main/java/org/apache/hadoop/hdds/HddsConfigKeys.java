@@ -47,6 +47,9 @@ public final class HddsConfigKeys {
       "hdds.container.report.interval";
   public static final String HDDS_CONTAINER_REPORT_INTERVAL_DEFAULT =
       "60m";
+  public static final String HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT =
+      "hdds.container.report.delta.max.count";
+  public static final int HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT_DEFAULT = 0;
   public static final String HDDS_PIPELINE_REPORT_INTERVAL =
       "hdds.pipeline.report.interval";
   public static final String HDDS_PIPELINE_REPORT_INTERVAL_DEFAULT =
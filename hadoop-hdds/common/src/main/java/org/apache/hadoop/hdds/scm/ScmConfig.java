@@ -62,6 +62,29 @@ public class ScmConfig extends ReconfigurableConfig {
   )
   private String action;
 
+  @Config(key = "container.report.parallelism",
+      type = ConfigType.INT,
+      defaultValue = "8",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The number of threads shared by all the container report handler "
+          + "threads to process the partitions of large container reports in "
+          + "parallel. Set it to 0 to process each report sequentially."
+  )
+  private int containerReportParallelism = 8;
+
+  @Config(key = "container.report.partition.size",
+      type = ConfigType.INT,
+      defaultValue = "1000",
+      tags = { ConfigTag.SCM, ConfigTag.PERFORMANCE },
+      description =
+          "The number of replicas in a partition of a container report. "
+          + "A report with more replicas is split by container id ranges "
+          + "into partitions, which are processed in parallel; see "
+          + "hdds.scm.container.report.parallelism."
+  )
+  private int containerReportPartitionSize = 1000;
+
   private static final String DESCRIPTION_COMMON_CHOICES_OF_PIPELINE_CHOOSE_POLICY_IMPL =
       "One of the following values can be used: "
       + "(1) org.apache.hadoop.hdds.scm.pipeline.choose.algorithms.RandomPipelineChoosePolicy"
@@ -186,6 +209,22 @@ public String getUnknownContainerAction() {
     return this.action;
   }
 
+  public int getContainerReportParallelism() {
+    return containerReportParallelism;
+  }
+
+  public void setContainerReportParallelism(int parallelism) {
+    this.containerReportParallelism = parallelism;
+  }
+
+  public int getContainerReportPartitionSize() {
+    return containerReportPartitionSize;
+  }
+
+  public void setContainerReportPartitionSize(int partitionSize) {
+    this.containerReportPartitionSize = partitionSize;
+  }
+
   public String getPipelineChoosePolicyName() {
     return pipelineChoosePolicyName;
   }
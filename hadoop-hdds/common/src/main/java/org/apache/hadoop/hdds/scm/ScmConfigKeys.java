@@ -150,6 +150,24 @@ public final class ScmConfigKeys {
   public static final String OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY =
       "ozone.chunk.read.netty.ChunkedNioFile";
   public static final boolean OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT = false;
+  public static final String OZONE_CHUNK_READ_ASYNC_ENABLED_KEY =
+      "ozone.chunk.read.async.enabled";
+  public static final boolean OZONE_CHUNK_READ_ASYNC_ENABLED_DEFAULT = false;
+  public static final String OZONE_CHUNK_READ_ASYNC_MAX_BATCH_SIZE_KEY =
+      "ozone.chunk.read.async.max.batch.size";
+  public static final int OZONE_CHUNK_READ_ASYNC_MAX_BATCH_SIZE_DEFAULT = 64;
+  public static final String OZONE_CHUNK_READ_ASYNC_THREADS_PER_VOLUME_KEY =
+      "ozone.chunk.read.async.threads.per.volume";
+  public static final int OZONE_CHUNK_READ_ASYNC_THREADS_PER_VOLUME_DEFAULT = 4;
+  public static final String OZONE_CHUNK_READ_ASYNC_QUEUE_SIZE_KEY =
+      "ozone.chunk.read.async.queue.size";
+  public static final int OZONE_CHUNK_READ_ASYNC_QUEUE_SIZE_DEFAULT = 256;
+  public static final String OZONE_CHUNK_READ_CACHE_SIZE_KEY =
+      "ozone.chunk.read.cache.size";
+  public static final String OZONE_CHUNK_READ_CACHE_SIZE_DEFAULT = "0B";
+  public static final String OZONE_CHUNK_OPEN_FILES_PER_VOLUME_MAX_KEY =
+      "ozone.chunk.open.files.per.volume.max";
+  public static final int OZONE_CHUNK_OPEN_FILES_PER_VOLUME_MAX_DEFAULT = 512;
 
   public static final String OZONE_SCM_CONTAINER_LAYOUT_KEY =
       "ozone.scm.container.layout";
@@ -460,6 +478,15 @@ public final class ScmConfigKeys {
       "ozone.scm.sequence.id.batch.size";
   public static final int OZONE_SCM_SEQUENCE_ID_BATCH_SIZE_DEFAULT = 1000;
 
+  public static final String OZONE_SCM_BLOCK_ALLOCATION_SHARDS =
+      "ozone.scm.block.allocation.shards";
+  public static final int OZONE_SCM_BLOCK_ALLOCATION_SHARDS_DEFAULT = 16;
+
+  public static final String OZONE_SCM_BLOCK_ALLOCATION_ID_RANGE_SIZE =
+      "ozone.scm.block.allocation.id.range.size";
+  public static final int OZONE_SCM_BLOCK_ALLOCATION_ID_RANGE_SIZE_DEFAULT =
+      100;
+
   // Network topology
   public static final String OZONE_SCM_NETWORK_TOPOLOGY_SCHEMA_FILE =
       "ozone.scm.network.topology.schema.file";
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read a few varint fields, such as the ids and the sizes, from a serialized
+ * protobuf message without parsing the message.
+ * <p>
+ * The other fields are skipped without copying the bytes,
+ * so that it does not create any object.
+ * Only the top level fields of the message are read.
+ */
+public final class ProtoFieldReader {
+  private static final int WIRETYPE_VARINT = 0;
+  private static final int WIRETYPE_FIXED64 = 1;
+  private static final int WIRETYPE_LENGTH_DELIMITED = 2;
+  private static final int WIRETYPE_FIXED32 = 5;
+
+  private ProtoFieldReader() { }
+
+  /**
+   * Read the varint fields from the given buffer.
+   *
+   * @param buffer the serialized message.
+   * @param fieldNumbers the numbers of the fields to read.
+   * @param values the array to store the values of the fields,
+   *               in the same order of the field numbers.
+   *               The values of the fields not found are not changed.
+   * @return the number of the fields found.
+   */
+  public static int readVarints(CodecBuffer buffer, int[] fieldNumbers,
+      long[] values) throws CodecException {
+    return readVarints(buffer.asReadOnlyByteBuffer(), fieldNumbers, values);
+  }
+
+  /**
+   * The same as {@link #readVarints(CodecBuffer, int[], long[])}
+   * for reading the bytes between the position and the limit of the given
+   * {@link ByteBuffer}.
+   * The position of the buffer is not changed.
+   */
+  public static int readVarints(ByteBuffer buffer, int[] fieldNumbers,
+      long[] values) throws CodecException {
+    if (fieldNumbers.length != values.length) {
+      throw new IllegalArgumentException("Length mismatched: "
+          + fieldNumbers.length + " field numbers but "
+          + values.length + " values");
+    }
+
+    final Reader reader = new Reader(buffer);
+    int found = 0;
+    while (found < fieldNumbers.length && reader.hasRemaining()) {
+      final long tag = reader.readVarint();
+      final int fieldNumber = (int) (tag >>> 3);
+      final int wireType = (int) tag & 0x7;
+      final int i = wireType == WIRETYPE_VARINT
+          ? indexOf(fieldNumbers, fieldNumber) : -1;
+      if (i >= 0) {
+        values[i] = reader.readVarint();
+        found++;
+      } else {
+        reader.skip(fieldNumber, wireType);
+      }
+    }
+    return found;
+  }
+
+  private static int indexOf(int[] fieldNumbers, int fieldNumber) {
+    for (int i = 0; i < fieldNumbers.length; i++) {
+      if (fieldNumbers[i] == fieldNumber) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Read a buffer with absolute indices. */
+  private static final class Reader {
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int index;
+
+    private Reader(ByteBuffer buffer) {
+      this.buffer = buffer;
+      this.limit = buffer.limit();
+      this.index = buffer.position();
+    }
+
+    boolean hasRemaining() {
+      return index < limit;
+    }
+
+    long readVarint() throws CodecException {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        if (index >= limit) {
+          throw new CodecException("Truncated varint at index " + index);
+        }
+        final byte b = buffer.get(index++);
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new CodecException("Malformed varint at index " + index);
+    }
+
+    void skip(int fieldNumber, int wireType) throws CodecException {
+      switch (wireType) {
+      case WIRETYPE_VARINT:
+        readVarint();
+        return;
+      case WIRETYPE_FIXED64:
+        skipBytes(8);
+        return;
+      case WIRETYPE_LENGTH_DELIMITED:
+        final long length = readVarint();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+          throw new CodecException("Invalid length " + length
+              + " for field " + fieldNumber);
+        }
+        skipBytes((int) length);
+        return;
+      case WIRETYPE_FIXED32:
+        skipBytes(4);
+        return;
+      default:
+        throw new CodecException("Unsupported wire type " + wireType
+            + " for field " + fieldNumber);
+      }
+    }
+
+    private void skipBytes(int n) throws CodecException {
+      if (n > limit - index) {
+        throw new CodecException("Truncated message: failed to skip " + n
+            + " bytes at index " + index + ", limit " + limit);
+      }
+      index += n;
+    }
+  }
+}
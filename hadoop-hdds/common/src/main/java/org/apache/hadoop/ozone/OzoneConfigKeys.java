@@ -68,6 +68,10 @@ public final class OzoneConfigKeys {
   public static final String HDDS_CONTAINER_CHUNK_WRITE_SYNC_KEY =
       "hdds.container.chunk.write.sync";
   public static final boolean HDDS_CONTAINER_CHUNK_WRITE_SYNC_DEFAULT = false;
+  public static final String HDDS_CONTAINER_CHUNK_WRITE_SYNC_GROUP_COMMIT_KEY =
+      "hdds.container.chunk.write.sync.group.commit";
+  public static final boolean
+      HDDS_CONTAINER_CHUNK_WRITE_SYNC_GROUP_COMMIT_DEFAULT = false;
   /**
    * Ratis Port where containers listen to.
    */
@@ -371,6 +371,10 @@ public final class OzoneConsts {
 
   public static final String PREPARE_MARKER_KEY = "#PREPAREDINFO";
 
+  // The last index given to a request executed by the OM, which may be larger
+  // than the last transaction index when requests are executed on the leader.
+  public static final String EXECUTION_INDEX_KEY = "#EXECUTIONINDEX";
+
   public static final String CONTAINER_DB_TYPE_ROCKSDB = "RocksDB";
 
   // An on-disk transient marker file used when replacing DB with checkpoint
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.DatanodeDetailsProto;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.DatanodeUsageInfoProto;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ProtoFieldReader}.
+ */
+final class TestProtoFieldReader {
+  private static final int[] FIELDS = {
+      DatanodeUsageInfoProto.CONTAINERCOUNT_FIELD_NUMBER,
+      DatanodeUsageInfoProto.USED_FIELD_NUMBER,
+      DatanodeUsageInfoProto.PIPELINECOUNT_FIELD_NUMBER,
+  };
+
+  @Test
+  void testReadVarints() throws Exception {
+    final DatanodeUsageInfoProto proto = DatanodeUsageInfoProto.newBuilder()
+        .setCapacity(1L << 40)
+        .setUsed(-1)
+        .setNode(DatanodeDetailsProto.newBuilder()
+            .setIpAddress("1.2.3.4")
+            .setHostName("host"))
+        .setContainerCount(300)
+        .build();
+
+    // The fields after the nested message are read,
+    // and the value of the missing field is not changed.
+    final long[] values = new long[FIELDS.length];
+    Arrays.fill(values, 7);
+    final ByteBuffer buffer = ByteBuffer.wrap(proto.toByteArray());
+    assertEquals(2, ProtoFieldReader.readVarints(buffer, FIELDS, values));
+    assertArrayEquals(new long[] {300, -1, 7}, values);
+    assertEquals(0, buffer.position());
+
+    final CodecBuffer codecBuffer = CodecBuffer.wrap(proto.toByteArray());
+    try {
+      final long[] capacity = new long[1];
+      assertEquals(1, ProtoFieldReader.readVarints(codecBuffer,
+          new int[] {DatanodeUsageInfoProto.CAPACITY_FIELD_NUMBER}, capacity));
+      assertEquals(1L << 40, capacity[0]);
+    } finally {
+      codecBuffer.release();
+    }
+  }
+
+  @Test
+  void testTruncated() {
+    final byte[] bytes = DatanodeUsageInfoProto.newBuilder()
+        .setNode(DatanodeDetailsProto.newBuilder()
+            .setIpAddress("1.2.3.4")
+            .setHostName("host"))
+        .setContainerCount(300)
+        .build()
+        .toByteArray();
+    final ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+    assertThrows(CodecException.class, () -> ProtoFieldReader.readVarints(
+        truncated, FIELDS, new long[FIELDS.length]));
+  }
+}
@@ -31,6 +31,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.HddsUtils;
@@ -186,7 +187,7 @@ public ContainerCommandResponseProto dispatch(
       ContainerCommandRequestProto msg, DispatcherContext dispatcherContext) {
     try {
       return dispatcher.processRequest(msg,
-          req -> dispatchRequest(msg, dispatcherContext),
+          req -> dispatchRequest(msg, dispatcherContext, false).join(),
           msg.getCmdType(),
           msg.getTraceID());
     } catch (ServiceException ex) {
@@ -194,9 +195,24 @@ public ContainerCommandResponseProto dispatch(
     }
   }
 
-  @SuppressWarnings("methodlength")
-  private ContainerCommandResponseProto dispatchRequest(
+  /**
+   * Dispatches the given request asynchronously.
+   * Only the handler invocation is asynchronous,
+   * the checks before it are done by the calling thread.
+   */
+  @Override
+  public CompletableFuture<ContainerCommandResponseProto> dispatchAsync(
       ContainerCommandRequestProto msg, DispatcherContext dispatcherContext) {
+    return dispatcher.processRequestAsync(msg,
+        req -> dispatchRequest(msg, dispatcherContext, true),
+        msg.getCmdType(),
+        msg.getTraceID());
+  }
+
+  @SuppressWarnings("methodlength")
+  private CompletableFuture<ContainerCommandResponseProto> dispatchRequest(
+      ContainerCommandRequestProto msg, DispatcherContext dispatcherContext,
+      boolean async) {
     Preconditions.checkNotNull(msg);
     if (LOG.isTraceEnabled()) {
       LOG.trace("Command {}, trace ID: {} ", msg.getCmdType(),
@@ -242,7 +258,7 @@ private ContainerCommandResponseProto dispatchRequest(
           + " for " + dispatcherContext + ": " + ioe.getMessage();
       final StorageContainerException sce = new StorageContainerException(
           s, ioe, ContainerProtos.Result.BLOCK_TOKEN_VERIFICATION_FAILED);
-      return ContainerUtils.logAndReturnError(LOG, sce, msg);
+      return CompletableFuture.completedFuture(ContainerUtils.logAndReturnError(LOG, sce, msg));
     }
     // if the command gets executed other than Ratis, the default write stage
     // is WriteChunkStage.COMBINED
@@ -275,7 +291,7 @@ && getMissingContainerSet().contains(containerID)) {
               + " has been lost and cannot be recreated on this DataNode",
           ContainerProtos.Result.CONTAINER_MISSING);
       audit(action, eventType, msg, dispatcherContext, AuditEventStatus.FAILURE, sce);
-      return ContainerUtils.logAndReturnError(LOG, sce, msg);
+      return CompletableFuture.completedFuture(ContainerUtils.logAndReturnError(LOG, sce, msg));
     }
 
     if (cmdType != Type.CreateContainer) {
@@ -302,7 +318,7 @@ && getMissingContainerSet().contains(containerID)) {
               "ContainerID " + containerID + " creation failed",
               responseProto.getResult());
           audit(action, eventType, msg, dispatcherContext, AuditEventStatus.FAILURE, sce);
-          return ContainerUtils.logAndReturnError(LOG, sce, msg);
+          return CompletableFuture.completedFuture(ContainerUtils.logAndReturnError(LOG, sce, msg));
         }
         Preconditions.checkArgument(isWriteStage && container2BCSIDMap != null
             || dispatcherContext == null
@@ -321,14 +337,14 @@ && getMissingContainerSet().contains(containerID)) {
             "ContainerID " + containerID + " does not exist",
             ContainerProtos.Result.CONTAINER_NOT_FOUND);
         audit(action, eventType, msg, dispatcherContext, AuditEventStatus.FAILURE, sce);
-        return ContainerUtils.logAndReturnError(LOG, sce, msg);
+        return CompletableFuture.completedFuture(ContainerUtils.logAndReturnError(LOG, sce, msg));
       }
       containerType = getContainerType(container);
     } else {
       if (!msg.hasCreateContainer()) {
         audit(action, eventType, msg, dispatcherContext, AuditEventStatus.FAILURE,
             new Exception("MALFORMED_REQUEST"));
-        return malformedRequest(msg);
+        return CompletableFuture.completedFuture(malformedRequest(msg));
       }
       containerType = msg.getCreateContainer().getContainerType();
     }
@@ -344,10 +360,36 @@ && getMissingContainerSet().contains(containerID)) {
           ContainerProtos.Result.CONTAINER_INTERNAL_ERROR);
       // log failure
       audit(action, eventType, msg, dispatcherContext, AuditEventStatus.FAILURE, ex);
-      return ContainerUtils.logAndReturnError(LOG, ex, msg);
+      return CompletableFuture.completedFuture(ContainerUtils.logAndReturnError(LOG, ex, msg));
     }
     perf.appendPreOpLatencyNano(Time.monotonicNowNanos() - startTime);
+    if (async) {
+      final Container c = container;
+      return handler.handleAsync(msg, c, dispatcherContext)
+          .thenApply(r -> processResponse(
+              msg, dispatcherContext, r, handler, c, startTime, perf));
+    }
     responseProto = handler.handle(msg, container, dispatcherContext);
+    return CompletableFuture.completedFuture(processResponse(
+        msg, dispatcherContext, responseProto, handler, container, startTime,
+        perf));
+  }
+
+  /**
+   * Process the response of the given request returned by the handler,
+   * e.g. update the metrics and the audit log.
+   */
+  @SuppressWarnings("parameternumber")
+  private ContainerCommandResponseProto processResponse(
+      ContainerCommandRequestProto msg, DispatcherContext dispatcherContext,
+      ContainerCommandResponseProto responseProto, Handler handler,
+      Container container, long startTime, PerformanceStringBuilder perf) {
+    final Type cmdType = msg.getCmdType();
+    final long containerID = msg.getContainerID();
+    final AuditAction action = getAuditAction(cmdType);
+    final EventType eventType = getEventType(msg);
+    final Map<Long, Long> container2BCSIDMap = dispatcherContext == null
+        ? null : dispatcherContext.getContainer2BCSIDMap();
     long opLatencyNs = Time.monotonicNowNanos() - startTime;
     if (responseProto != null) {
       metrics.incContainerOpsLatencies(cmdType, opLatencyNs);
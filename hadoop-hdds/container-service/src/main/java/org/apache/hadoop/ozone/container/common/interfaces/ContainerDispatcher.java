@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.container.common.interfaces;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
@@ -43,6 +44,18 @@ public interface ContainerDispatcher {
   ContainerCommandResponseProto dispatch(ContainerCommandRequestProto msg,
       DispatcherContext context);
 
+  /**
+   * Dispatches commands to container layer asynchronously.
+   * The default implementation dispatches them synchronously.
+   * @param msg - Command Request
+   * @param context - Context info related to ContainerStateMachine
+   * @return a future of the Command Response
+   */
+  default CompletableFuture<ContainerCommandResponseProto> dispatchAsync(
+      ContainerCommandRequestProto msg, DispatcherContext context) {
+    return CompletableFuture.completedFuture(dispatch(msg, context));
+  }
+
   /**
    * Validates whether the container command should be executed on the pipeline
    * or not. Will be invoked by the leader node in the Ratis pipeline
@@ -24,6 +24,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
@@ -121,6 +122,17 @@ public abstract ContainerCommandResponseProto handle(
       ContainerCommandRequestProto msg, Container container,
       DispatcherContext dispatcherContext);
 
+  /**
+   * Handles the given request asynchronously.
+   * The default implementation handles it synchronously.
+   */
+  public CompletableFuture<ContainerCommandResponseProto> handleAsync(
+      ContainerCommandRequestProto msg, Container container,
+      DispatcherContext dispatcherContext) {
+    return CompletableFuture.completedFuture(
+        handle(msg, container, dispatcherContext));
+  }
+
   /**
    * Imports container from a raw input stream.
    */
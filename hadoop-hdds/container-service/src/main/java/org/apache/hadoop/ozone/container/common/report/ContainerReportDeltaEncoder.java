@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import com.google.common.hash.Hashing;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+
+/**
+ * Encode full container reports as delta reports.
+ * <p>
+ * A delta report has only the replicas changed since the previous report,
+ * and the ids of the removed containers.
+ * Each report has the checksum of all the replicas, and a delta report also
+ * has the checksum of the previous report, so that SCM can ignore a delta
+ * report when it has missed the previous report.
+ * After the given max number of delta reports, a full report is sent.
+ */
+public class ContainerReportDeltaEncoder {
+  private final int maxDeltaCount;
+
+  /** The hashes of the replicas in the previous report. */
+  private Map<Long, Long> previousHashes;
+  private long previousChecksum;
+  private int deltaCount;
+
+  public ContainerReportDeltaEncoder(int maxDeltaCount) {
+    this.maxDeltaCount = maxDeltaCount;
+  }
+
+  static long hash(ContainerReplicaProto replica) {
+    return Hashing.murmur3_128().hashBytes(replica.toByteArray()).asLong();
+  }
+
+  /**
+   * @param full the full report of all the replicas.
+   * @return a full or a delta report, with the checksum set.
+   */
+  public synchronized ContainerReportsProto encode(ContainerReportsProto full) {
+    final Map<Long, Long> hashes = new HashMap<>();
+    long checksum = 0;
+    for (ContainerReplicaProto replica : full.getReportsList()) {
+      final long h = hash(replica);
+      hashes.put(replica.getContainerID(), h);
+      checksum += h;
+    }
+
+    final ContainerReportsProto report;
+    if (previousHashes == null || deltaCount >= maxDeltaCount) {
+      report = full.toBuilder().setChecksum(checksum).build();
+      deltaCount = 0;
+    } else {
+      final ContainerReportsProto.Builder builder = ContainerReportsProto
+          .newBuilder()
+          .setDelta(true)
+          .setPreviousChecksum(previousChecksum)
+          .setChecksum(checksum);
+      for (ContainerReplicaProto replica : full.getReportsList()) {
+        final long id = replica.getContainerID();
+        if (!hashes.get(id).equals(previousHashes.get(id))) {
+          builder.addReports(replica);
+        }
+      }
+      for (Long id : previousHashes.keySet()) {
+        if (!hashes.containsKey(id)) {
+          builder.addRemovedContainerIds(id);
+        }
+      }
+      report = builder.build();
+      deltaCount++;
+    }
+
+    previousHashes = hashes;
+    previousChecksum = checksum;
+    return report;
+  }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.container.common.report;
 
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT;
+import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT_DEFAULT;
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_REPORT_INTERVAL;
 import static org.apache.hadoop.hdds.HddsConfigKeys.HDDS_CONTAINER_REPORT_INTERVAL_DEFAULT;
 
@@ -41,11 +43,15 @@
  *   - finalHash
  *   - LifeCycleState
  *
+ * When {@link org.apache.hadoop.hdds.HddsConfigKeys#HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT}
+ * is positive, the reports are encoded by {@link ContainerReportDeltaEncoder}.
  */
 public class ContainerReportPublisher extends
     ReportPublisher<ContainerReportsProto> {
 
   private Long containerReportInterval = null;
+  private ContainerReportDeltaEncoder deltaEncoder = null;
+  private boolean deltaEncoderInitialized = false;
 
   @Override
   protected long getReportFrequency() {
@@ -75,6 +81,22 @@ private long getRandomReportDelay() {
 
   @Override
   protected ContainerReportsProto getReport() throws IOException {
-    return getContext().getFullContainerReportDiscardPendingICR();
+    final ContainerReportsProto full =
+        getContext().getFullContainerReportDiscardPendingICR();
+    final ContainerReportDeltaEncoder encoder = getDeltaEncoder();
+    return encoder == null ? full : encoder.encode(full);
+  }
+
+  private synchronized ContainerReportDeltaEncoder getDeltaEncoder() {
+    if (!deltaEncoderInitialized) {
+      final int maxDeltaCount = getConf().getInt(
+          HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT,
+          HDDS_CONTAINER_REPORT_DELTA_MAX_COUNT_DEFAULT);
+      if (maxDeltaCount > 0) {
+        deltaEncoder = new ContainerReportDeltaEncoder(maxDeltaCount);
+      }
+      deltaEncoderInitialized = true;
+    }
+    return deltaEncoder;
   }
 }
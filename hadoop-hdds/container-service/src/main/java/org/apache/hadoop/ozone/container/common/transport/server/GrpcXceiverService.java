@@ -19,7 +19,9 @@
 
 import static org.apache.hadoop.hdds.protocol.datanode.proto.XceiverClientProtocolServiceGrpc.getSendMethod;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandRequestProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.ContainerCommandResponseProto;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Type;
@@ -32,6 +34,7 @@
 import org.apache.ratis.thirdparty.io.grpc.ServerCallHandler;
 import org.apache.ratis.thirdparty.io.grpc.ServerServiceDefinition;
 import org.apache.ratis.thirdparty.io.grpc.stub.StreamObserver;
+import org.apache.ratis.util.JavaUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,26 +98,73 @@ public StreamObserver<ContainerCommandRequestProto> send(
       StreamObserver<ContainerCommandResponseProto> responseObserver) {
     return new StreamObserver<ContainerCommandRequestProto>() {
       private final AtomicBoolean isClosed = new AtomicBoolean(false);
+      /** The number of the requests in progress, plus one before completed. */
+      private final AtomicInteger pending = new AtomicInteger(1);
 
       @Override
       public void onNext(ContainerCommandRequestProto request) {
-        final DispatcherContext context = request.getCmdType() != Type.ReadChunk ? null
-            : DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
-            .setReleaseSupported(true)
-            .build();
+        if (request.getCmdType() == Type.ReadChunk) {
+          readChunk(request);
+          return;
+        }
 
         try {
-          final ContainerCommandResponseProto resp = dispatcher.dispatch(request, context);
-          responseObserver.onNext(resp);
+          final ContainerCommandResponseProto resp = dispatcher.dispatch(request, null);
+          sendResponse(resp);
         } catch (Throwable e) {
-          LOG.error("Got exception when processing"
-                    + " ContainerCommandRequestProto {}", request, e);
-          isClosed.set(true);
-          responseObserver.onError(e);
+          onFailure(request, e);
         } finally {
           zeroCopyMessageMarshaller.release(request);
-          if (context != null) {
+        }
+      }
+
+      /** Read the chunk asynchronously and then send the response. */
+      private void readChunk(ContainerCommandRequestProto request) {
+        final DispatcherContext context = DispatcherContext.newBuilder(DispatcherContext.Op.HANDLE_READ_CHUNK)
+            .setReleaseSupported(true)
+            .build();
+
+        pending.incrementAndGet();
+        CompletableFuture<ContainerCommandResponseProto> future;
+        try {
+          future = dispatcher.dispatchAsync(request, context);
+        } catch (Throwable e) {
+          future = JavaUtils.completeExceptionally(e);
+        }
+        future.whenComplete((resp, e) -> {
+          try {
+            if (e == null) {
+              sendResponse(resp);
+            } else {
+              onFailure(request, JavaUtils.unwrapCompletionException(e));
+            }
+          } catch (Throwable t) {
+            onFailure(request, t);
+          } finally {
+            zeroCopyMessageMarshaller.release(request);
             context.release();
+            if (pending.decrementAndGet() == 0) {
+              complete();
+            }
+          }
+        });
+      }
+
+      /** Send the response unless the stream is already closed by an error. */
+      private void sendResponse(ContainerCommandResponseProto resp) {
+        synchronized (responseObserver) {
+          if (!isClosed.get()) {
+            responseObserver.onNext(resp);
+          }
+        }
+      }
+
+      private void onFailure(ContainerCommandRequestProto request, Throwable e) {
+        LOG.error("Got exception when processing"
+                  + " ContainerCommandRequestProto {}", request, e);
+        synchronized (responseObserver) {
+          if (isClosed.compareAndSet(false, true)) {
+            responseObserver.onError(e);
           }
         }
       }
@@ -127,9 +177,18 @@ public void onError(Throwable t) {
 
       @Override
       public void onCompleted() {
+        // Complete after the responses of all the pending requests are sent.
+        if (pending.decrementAndGet() == 0) {
+          complete();
+        }
+      }
+
+      private void complete() {
         if (isClosed.compareAndSet(false, true)) {
           LOG.debug("ContainerCommand send completed");
-          responseObserver.onCompleted();
+          synchronized (responseObserver) {
+            responseObserver.onCompleted();
+          }
         }
       }
     };
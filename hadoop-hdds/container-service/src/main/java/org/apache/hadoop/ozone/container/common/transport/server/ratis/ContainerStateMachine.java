@@ -243,6 +243,14 @@ public CompletableFuture<Message> getRaftFuture() {
     long getStartTime() {
       return startTime;
     }
+
+    /**
+     * @return true if the write is done, including the sync of the data
+     *         when it is deferred after the write chunk future.
+     */
+    boolean isDone() {
+      return raftFuture.isDone() || writeChunkFuture.isCancelled();
+    }
   }
 
   @SuppressWarnings("parameternumber")
@@ -604,11 +612,13 @@ private CompletableFuture<Message> writeStateMachineData(
             .setLogIndex(entryIndex)
             .setStage(DispatcherContext.WriteChunkStage.WRITE_DATA)
             .setContainer2BCSIDMap(container2BCSIDMap)
+            .setSyncDeferrable(true)
             .build();
     CompletableFuture<Message> raftFuture = new CompletableFuture<>();
     // ensure the write chunk happens asynchronously in writeChunkExecutor pool thread.
     Future<ContainerCommandResponseProto> future = getChunkExecutor(
         requestProto.getWriteChunk()).submit(() -> {
+          boolean syncDeferred = false;
           try {
             try {
               checkContainerHealthy(write.getBlockID().getContainerID(), true);
@@ -620,22 +630,33 @@ private CompletableFuture<Message> writeStateMachineData(
             metrics.recordWriteStateMachineQueueingLatencyNs(
                 Time.monotonicNowNanos() - startTime);
             ContainerCommandResponseProto result = dispatchCommand(requestProto, context);
+            final CompletableFuture<Void> syncFuture = context.getSyncFuture();
+            if (syncFuture != null) {
+              // The data is synced in a group, complete the write after the sync.
+              syncDeferred = true;
+              syncFuture.whenComplete((v, e) -> {
+                try {
+                  if (e != null) {
+                    handleWriteChunkFailure(write, entryIndex, e, raftFuture);
+                  } else {
+                    handleCommandResult(requestProto, entryIndex, startTime, result, write, raftFuture);
+                  }
+                } finally {
+                  writeChunkFutureMap.remove(entryIndex);
+                }
+              });
+              return result;
+            }
             handleCommandResult(requestProto, entryIndex, startTime, result, write, raftFuture);
             return result;
           } catch (Exception e) {
-            LOG.error("{}: writeChunk writeStateMachineData failed: blockId" +
-                "{} logIndex {} chunkName {}", getGroupId(), write.getBlockID(),
-                entryIndex, write.getChunkData().getChunkName(), e);
-            metrics.incNumWriteDataFails();
-            // write chunks go in parallel. It's possible that one write chunk
-            // see the stateMachine is marked unhealthy by other parallel thread
-            unhealthyContainers.add(write.getBlockID().getContainerID());
-            stateMachineHealthy.set(false);
-            raftFuture.completeExceptionally(e);
+            handleWriteChunkFailure(write, entryIndex, e, raftFuture);
             throw e;
           } finally {
             // Remove the future once it finishes execution from the
-            writeChunkFutureMap.remove(entryIndex);
+            if (!syncDeferred) {
+              writeChunkFutureMap.remove(entryIndex);
+            }
           }
         });
 
@@ -648,6 +669,19 @@ private CompletableFuture<Message> writeStateMachineData(
     return raftFuture;
   }
 
+  private void handleWriteChunkFailure(WriteChunkRequestProto write, long entryIndex, Throwable e,
+      CompletableFuture<Message> raftFuture) {
+    LOG.error("{}: writeChunk writeStateMachineData failed: blockId" +
+        "{} logIndex {} chunkName {}", getGroupId(), write.getBlockID(),
+        entryIndex, write.getChunkData().getChunkName(), e);
+    metrics.incNumWriteDataFails();
+    // write chunks go in parallel. It's possible that one write chunk
+    // see the stateMachine is marked unhealthy by other parallel thread
+    unhealthyContainers.add(write.getBlockID().getContainerID());
+    stateMachineHealthy.set(false);
+    raftFuture.completeExceptionally(e);
+  }
+
   private void handleCommandResult(ContainerCommandRequestProto requestProto, long entryIndex, long startTime,
                                    ContainerCommandResponseProto r, WriteChunkRequestProto write,
                                    CompletableFuture<Message> raftFuture) {
@@ -693,7 +727,7 @@ private void validateLongRunningWrite() throws StorageContainerException {
       if (null == writeFutureContextEntry) {
         return;
       }
-      if (writeFutureContextEntry.getValue().getWriteChunkFuture().isDone()) {
+      if (writeFutureContextEntry.getValue().isDone()) {
         // there is a possibility that writeChunkFutureMap may have dangling entry, as remove is done before add future
         writeChunkFutureMap.remove(writeFutureContextEntry.getKey());
       } else {
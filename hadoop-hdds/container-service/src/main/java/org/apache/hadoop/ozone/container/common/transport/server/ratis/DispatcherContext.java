@@ -19,6 +19,7 @@
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.util.Time;
@@ -54,6 +55,10 @@ public final class DispatcherContext {
   private final boolean releaseSupported;
   private volatile Runnable releaseMethod;
 
+  // whether the sync of the written data can be deferred to the caller
+  private final boolean syncDeferrable;
+  private volatile CompletableFuture<Void> syncFuture;
+
   private final long startTime = Time.monotonicNowNanos();
 
   public static DispatcherContext getHandleReadChunk() {
@@ -131,6 +136,7 @@ private DispatcherContext(Builder b) {
     this.stage = b.stage;
     this.container2BCSIDMap = b.container2BCSIDMap;
     this.releaseSupported = b.releaseSupported;
+    this.syncDeferrable = b.syncDeferrable;
   }
 
   /** Use {@link DispatcherContext#op(DispatcherContext)} for handling null. */
@@ -173,6 +179,24 @@ public void release() {
     }
   }
 
+  public boolean isSyncDeferrable() {
+    return syncDeferrable;
+  }
+
+  /**
+   * Set the future of the sync of the written data.
+   * The caller must wait for it before completing the write.
+   */
+  public void setSyncFuture(CompletableFuture<Void> syncFuture) {
+    Preconditions.assertTrue(syncDeferrable, "Unsupported deferred sync");
+    this.syncFuture = syncFuture;
+  }
+
+  /** @return the future of the sync of the written data, if any. */
+  public CompletableFuture<Void> getSyncFuture() {
+    return syncFuture;
+  }
+
   @Override
   public String toString() {
     return op + "-" + stage + TermIndex.valueOf(term, logIndex);
@@ -192,6 +216,7 @@ public static final class Builder {
     private long logIndex;
     private Map<Long, Long> container2BCSIDMap;
     private boolean releaseSupported;
+    private boolean syncDeferrable;
 
     private Builder(Op op) {
       this.op = op;
@@ -246,6 +271,11 @@ public Builder setReleaseSupported(boolean releaseSupported) {
       return this;
     }
 
+    public Builder setSyncDeferrable(boolean syncDeferrable) {
+      this.syncDeferrable = syncDeferrable;
+      return this;
+    }
+
     /**
      * Builds and returns DispatcherContext instance.
      *
@@ -48,6 +48,12 @@ public class VolumeIOStats {
   private MutableRate writeTime;
   @Metric
   private MutableQuantiles[] writeLatencyQuantiles;
+  @Metric
+  private MutableCounterLong readCacheHits;
+  @Metric
+  private MutableCounterLong readCacheMisses;
+  @Metric
+  private MutableCounterLong readCacheHitBytes;
 
   @Deprecated
   public VolumeIOStats() {
@@ -144,6 +150,22 @@ public void incWriteTime(long time) {
     }
   }
 
+  /**
+   * Increment the chunk reads served by the read cache.
+   * @param bytesRead
+   */
+  public void incReadCacheHits(long bytesRead) {
+    readCacheHits.incr();
+    readCacheHitBytes.incr(bytesRead);
+  }
+
+  /**
+   * Increment the chunk reads not found in the read cache.
+   */
+  public void incReadCacheMisses() {
+    readCacheMisses.incr();
+  }
+
   /**
    * Returns total number of bytes read from the volume.
    * @return long
@@ -192,6 +214,30 @@ public long getWriteTime() {
     return (long) writeTime.lastStat().total();
   }
 
+  /**
+   * Returns total number of chunk reads served by the read cache.
+   * @return long
+   */
+  public long getReadCacheHits() {
+    return readCacheHits.value();
+  }
+
+  /**
+   * Returns total number of chunk reads not found in the read cache.
+   * @return long
+   */
+  public long getReadCacheMisses() {
+    return readCacheMisses.value();
+  }
+
+  /**
+   * Returns total number of bytes served by the read cache.
+   * @return long
+   */
+  public long getReadCacheHitBytes() {
+    return readCacheHitBytes.value();
+  }
+
   @Metric
   public String getStorageDirectory() {
     return storageDirectory;
@@ -68,6 +68,8 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Function;
 import org.apache.hadoop.fs.FileUtil;
@@ -256,6 +258,31 @@ public ContainerCommandResponseProto handle(
     }
   }
 
+  @Override
+  public CompletableFuture<ContainerCommandResponseProto> handleAsync(
+      ContainerCommandRequestProto request, Container container,
+      DispatcherContext dispatcherContext) {
+    if (request.getCmdType() != Type.ReadChunk || container == null) {
+      return super.handleAsync(request, container, dispatcherContext);
+    }
+
+    final KeyValueContainer kvContainer = (KeyValueContainer) container;
+    try {
+      validateRequestDatanodeId(
+          kvContainer.getContainerData().getReplicaIndex(),
+          request.getDatanodeUuid());
+      return handleReadChunkAsync(request, kvContainer, dispatcherContext);
+    } catch (StorageContainerException e) {
+      return CompletableFuture.completedFuture(
+          ContainerUtils.logAndReturnError(LOG, e, request));
+    } catch (RuntimeException e) {
+      return CompletableFuture.completedFuture(
+          ContainerUtils.logAndReturnError(LOG,
+              new StorageContainerException(e, CONTAINER_INTERNAL_ERROR),
+              request));
+    }
+  }
+
   @VisibleForTesting
   static ContainerCommandResponseProto dispatchRequest(KeyValueHandler handler,
       ContainerCommandRequestProto request, KeyValueContainer kvContainer,
@@ -819,42 +846,19 @@ ContainerCommandResponseProto handleReadChunk(
       return malformedRequest(request);
     }
 
-    final ChunkBufferToByteString data;
     try {
       BlockID blockID = BlockID.getFromProtobuf(
           request.getReadChunk().getBlockID());
-      ChunkInfo chunkInfo = ChunkInfo.getFromProtoBuf(request.getReadChunk()
-          .getChunkData());
-      Preconditions.checkNotNull(chunkInfo);
-      BlockUtils.verifyReplicaIdx(kvContainer, blockID);
-      BlockUtils.verifyBCSId(kvContainer, blockID);
+      ChunkInfo chunkInfo = getReadChunkInfo(request, kvContainer, blockID);
 
       if (dispatcherContext == null) {
         dispatcherContext = DispatcherContext.getHandleReadChunk();
       }
 
-      boolean isReadChunkV0 = getReadChunkVersion(request.getReadChunk())
-          .equals(ContainerProtos.ReadChunkVersion.V0);
-      if (isReadChunkV0) {
-        // For older clients, set ReadDataIntoSingleBuffer to true so that
-        // all the data read from chunk file is returned as a single
-        // ByteString. Older clients cannot process data returned as a list
-        // of ByteStrings.
-        chunkInfo.setReadDataIntoSingleBuffer(true);
-      }
-
-      data = chunkManager.readChunk(kvContainer, blockID, chunkInfo,
-          dispatcherContext);
+      final ChunkBufferToByteString data = chunkManager.readChunk(kvContainer,
+          blockID, chunkInfo, dispatcherContext);
       LOG.debug("read chunk from block {} chunk {}", blockID, chunkInfo);
-      // Validate data only if the read chunk is issued by Ratis for its
-      // internal logic.
-      //  For client reads, the client is expected to validate.
-      if (DispatcherContext.op(dispatcherContext).readFromTmpFile()) {
-        validateChunkChecksumData(data, chunkInfo);
-        metrics.incBytesReadStateMachine(chunkInfo.getLen());
-        metrics.incNumReadStateMachine();
-      }
-      metrics.incContainerBytesStats(Type.ReadChunk, chunkInfo.getLen());
+      return toReadChunkResponse(request, chunkInfo, data, dispatcherContext);
     } catch (StorageContainerException ex) {
       return ContainerUtils.logAndReturnError(LOG, ex, request);
     } catch (IOException ex) {
@@ -862,6 +866,93 @@ ContainerCommandResponseProto handleReadChunk(
           new StorageContainerException("Read Chunk failed", ex, IO_EXCEPTION),
           request);
     }
+  }
+
+  /**
+   * Handle Read Chunk operation asynchronously.
+   * Calls ChunkManager to read the chunk asynchronously.
+   */
+  CompletableFuture<ContainerCommandResponseProto> handleReadChunkAsync(
+      ContainerCommandRequestProto request, KeyValueContainer kvContainer,
+      DispatcherContext dispatcherContext) {
+    if (!request.hasReadChunk()) {
+      return CompletableFuture.completedFuture(
+          handleReadChunk(request, kvContainer, dispatcherContext));
+    }
+
+    final DispatcherContext context = dispatcherContext != null
+        ? dispatcherContext : DispatcherContext.getHandleReadChunk();
+    final ChunkInfo chunkInfo;
+    final CompletableFuture<ChunkBufferToByteString> future;
+    try {
+      BlockID blockID = BlockID.getFromProtobuf(
+          request.getReadChunk().getBlockID());
+      chunkInfo = getReadChunkInfo(request, kvContainer, blockID);
+      future = chunkManager.readChunkAsync(kvContainer, blockID, chunkInfo,
+          context);
+    } catch (StorageContainerException ex) {
+      return CompletableFuture.completedFuture(
+          ContainerUtils.logAndReturnError(LOG, ex, request));
+    } catch (IOException ex) {
+      return CompletableFuture.completedFuture(
+          ContainerUtils.logAndReturnError(LOG, new StorageContainerException(
+              "Read Chunk failed", ex, IO_EXCEPTION), request));
+    }
+
+    return future.handle((data, e) -> {
+      try {
+        if (e != null) {
+          throw e instanceof CompletionException && e.getCause() != null
+              ? e.getCause() : e;
+        }
+        return toReadChunkResponse(request, chunkInfo, data, context);
+      } catch (StorageContainerException ex) {
+        return ContainerUtils.logAndReturnError(LOG, ex, request);
+      } catch (IOException ex) {
+        return ContainerUtils.logAndReturnError(LOG,
+            new StorageContainerException("Read Chunk failed", ex,
+                IO_EXCEPTION), request);
+      } catch (Throwable t) {
+        return ContainerUtils.logAndReturnError(LOG,
+            new StorageContainerException(t, CONTAINER_INTERNAL_ERROR),
+            request);
+      }
+    });
+  }
+
+  private ChunkInfo getReadChunkInfo(ContainerCommandRequestProto request,
+      KeyValueContainer kvContainer, BlockID blockID) throws IOException {
+    ChunkInfo chunkInfo = ChunkInfo.getFromProtoBuf(request.getReadChunk()
+        .getChunkData());
+    Preconditions.checkNotNull(chunkInfo);
+    BlockUtils.verifyReplicaIdx(kvContainer, blockID);
+    BlockUtils.verifyBCSId(kvContainer, blockID);
+
+    boolean isReadChunkV0 = getReadChunkVersion(request.getReadChunk())
+        .equals(ContainerProtos.ReadChunkVersion.V0);
+    if (isReadChunkV0) {
+      // For older clients, set ReadDataIntoSingleBuffer to true so that
+      // all the data read from chunk file is returned as a single
+      // ByteString. Older clients cannot process data returned as a list
+      // of ByteStrings.
+      chunkInfo.setReadDataIntoSingleBuffer(true);
+    }
+    return chunkInfo;
+  }
+
+  private ContainerCommandResponseProto toReadChunkResponse(
+      ContainerCommandRequestProto request, ChunkInfo chunkInfo,
+      ChunkBufferToByteString data, DispatcherContext dispatcherContext)
+      throws StorageContainerException {
+    // Validate data only if the read chunk is issued by Ratis for its
+    // internal logic.
+    //  For client reads, the client is expected to validate.
+    if (DispatcherContext.op(dispatcherContext).readFromTmpFile()) {
+      validateChunkChecksumData(data, chunkInfo);
+      metrics.incBytesReadStateMachine(chunkInfo.getLen());
+      metrics.incNumReadStateMachine();
+    }
+    metrics.incContainerBytesStats(Type.ReadChunk, chunkInfo.getLen());
 
     Preconditions.checkNotNull(data, "Chunk data is null");
 
@@ -1237,6 +1328,7 @@ public void markContainerUnhealthy(Container container, ScanResult reason)
         LOG.warn("Unexpected error while marking container {} unhealthy",
             containerID, ex);
       } finally {
+        chunkManager.invalidateCache(container);
         // Even if the container file is corrupted/missing and the unhealthy
         // update fails, the unhealthy state is kept in memory and sent to
         // SCM. Write a corresponding entry to the container log as well.
@@ -1268,6 +1360,7 @@ public void quasiCloseContainer(Container container, String reason)
                 .getContainerID() + " while in " + state + " state.", error);
       }
       container.quasiClose();
+      chunkManager.closeFiles(container);
       ContainerLogger.logQuasiClosed(container.getContainerData(), reason);
       sendICR(container);
     } finally {
@@ -1301,6 +1394,7 @@ public void closeContainer(Container container)
                 .getContainerID() + " while in " + state + " state.", error);
       }
       container.close();
+      chunkManager.closeFiles(container);
       ContainerLogger.logClosed(container.getContainerData());
       sendICR(container);
     } finally {
@@ -1512,6 +1606,8 @@ private void deleteInternal(Container container, boolean force)
           container.markContainerForDelete();
           long containerId = container.getContainerData().getContainerID();
           containerSet.removeContainer(containerId);
+          chunkManager.closeFiles(container);
+          chunkManager.invalidateCache(container);
           ContainerLogger.logDeleted(container.getContainerData(), force);
           KeyValueContainerUtil.removeContainer(keyValueContainerData, conf);
         } catch (IOException ioe) {
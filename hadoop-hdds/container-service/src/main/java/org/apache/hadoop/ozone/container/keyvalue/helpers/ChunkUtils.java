@@ -63,6 +63,7 @@
 import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
 import org.apache.hadoop.ozone.container.keyvalue.impl.MappedBufferManager;
+import org.apache.hadoop.ozone.container.keyvalue.impl.OpenFileCache;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.thirdparty.io.netty.buffer.ByteBuf;
 import org.apache.ratis.thirdparty.io.netty.buffer.PooledByteBufAllocator;
@@ -203,30 +204,92 @@ private static long writeDataToChannel(FileChannel channel, ChunkBuffer data,
   public static ChunkBuffer readData(long len, int bufferCapacity,
       File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
       MappedBufferManager mappedBufferManager) throws StorageContainerException {
+    return readData(len, bufferCapacity, file, off, volume, readMappedBufferThreshold, mmapEnabled,
+        mappedBufferManager, null);
+  }
+
+  /**
+   * The same as the method above except that the file is opened using the
+   * given {@link OpenFileCache}, if it is non-null.
+   */
+  @SuppressWarnings("checkstyle:parameternumber")
+  public static ChunkBuffer readData(long len, int bufferCapacity,
+      File file, long off, HddsVolume volume, int readMappedBufferThreshold, boolean mmapEnabled,
+      MappedBufferManager mappedBufferManager, OpenFileCache files) throws StorageContainerException {
     if (mmapEnabled && len > readMappedBufferThreshold && bufferCapacity > readMappedBufferThreshold) {
-      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager);
+      return readData(file, bufferCapacity, off, len, volume, mappedBufferManager, files);
     } else if (len == 0) {
       return ChunkBuffer.wrap(Collections.emptyList());
     }
 
     final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(len,
         bufferCapacity);
-    readData(file, off, len, c -> c.position(off).read(buffers), volume);
+    readData(file, off, buffers, volume, files);
     Arrays.stream(buffers).forEach(ByteBuffer::flip);
     return ChunkBuffer.wrap(Arrays.asList(buffers));
   }
 
+  /**
+   * Read the data starting at the given offset of the given file
+   * into the remaining space of the given buffers
+   * using vectored reads, i.e. {@link FileChannel#read(ByteBuffer[])}.
+   * When the file is opened using the given {@link OpenFileCache},
+   * it uses positional reads instead since the channel may be shared.
+   */
+  public static void readData(File file, long offset, ByteBuffer[] buffers,
+      HddsVolume volume, OpenFileCache files) throws StorageContainerException {
+    final long len = Arrays.stream(buffers).mapToLong(ByteBuffer::remaining).sum();
+    readData(file, offset, len, c -> {
+      if (files != null) {
+        return readFully(c, offset, buffers);
+      }
+      c.position(offset);
+      long bytesRead = 0;
+      while (bytesRead < len) {
+        final long n = c.read(buffers);
+        if (n < 0) {
+          break;
+        }
+        bytesRead += n;
+      }
+      return bytesRead;
+    }, volume, files);
+  }
+
+  /** Read using positional reads until the buffers are full or EOF. */
+  private static long readFully(FileChannel channel, long offset,
+      ByteBuffer[] buffers) throws IOException {
+    long position = offset;
+    for (ByteBuffer b : buffers) {
+      while (b.hasRemaining()) {
+        final int n = channel.read(b, position);
+        if (n < 0) {
+          return position - offset;
+        }
+        position += n;
+      }
+    }
+    return position - offset;
+  }
+
   private static void readData(File file, long offset, long len,
       CheckedFunction<FileChannel, Long, Exception> readMethod,
-      HddsVolume volume) throws StorageContainerException {
+      HddsVolume volume, OpenFileCache files) throws StorageContainerException {
 
     final Path path = file.toPath();
     final long startTime = Time.monotonicNow();
     final long bytesRead;
 
-    try (AutoCloseableLock ignoredLock = getFileReadLock(path);
-         FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
-      bytesRead = readMethod.apply(channel);
+    try (AutoCloseableLock ignoredLock = getFileReadLock(path)) {
+      if (files == null) {
+        try (FileChannel channel = open(path, READ_OPTIONS, NO_ATTRIBUTES)) {
+          bytesRead = readMethod.apply(channel);
+        }
+      } else {
+        try (OpenFileCache.Handle handle = files.getForRead(file, volume)) {
+          bytesRead = readMethod.apply(handle.getChannel());
+        }
+      }
     } catch (Exception e) {
       onFailure(volume);
       throw wrapInStorageContainerException(e);
@@ -256,15 +319,15 @@ private static void readData(File file, long offset, long len,
    * @return a list of {@link MappedByteBuffer} containing the data.
    */
   private static ChunkBuffer readData(File file, int chunkSize,
-      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager)
-      throws StorageContainerException {
+      long offset, long length, HddsVolume volume, MappedBufferManager mappedBufferManager,
+      OpenFileCache files) throws StorageContainerException {
 
     final int bufferNum = Math.toIntExact((length - 1) / chunkSize) + 1;
     if (!mappedBufferManager.getQuota(bufferNum)) {
       // proceed with normal buffer
       final ByteBuffer[] buffers = BufferUtils.assignByteBuffers(length,
           chunkSize);
-      readData(file, offset, length, c -> c.position(offset).read(buffers), volume);
+      readData(file, offset, buffers, volume, files);
       Arrays.stream(buffers).forEach(ByteBuffer::flip);
       return ChunkBuffer.wrap(Arrays.asList(buffers));
     } else {
@@ -295,7 +358,7 @@ private static ChunkBuffer readData(File file, int chunkSize,
             buffers.add(mapped);
           }
           return readLen;
-        }, volume);
+        }, volume, files);
         return ChunkBuffer.wrap(buffers);
       } catch (Throwable e) {
         mappedBufferManager.releaseQuota(bufferNum);
@@ -307,8 +370,18 @@ private static ChunkBuffer readData(File file, int chunkSize,
   public static ChunkBufferToByteString readData(File file, long chunkSize,
       long offset, long length, HddsVolume volume, DispatcherContext context)
       throws StorageContainerException {
+    return readData(file, chunkSize, offset, length, volume, context, null);
+  }
+
+  /**
+   * The same as the method above except that the file is opened using the
+   * given {@link OpenFileCache}, if it is non-null.
+   */
+  public static ChunkBufferToByteString readData(File file, long chunkSize,
+      long offset, long length, HddsVolume volume, DispatcherContext context,
+      OpenFileCache files) throws StorageContainerException {
     final List<ByteBuf> buffers = readDataNettyChunkedNioFile(
-        file, Math.toIntExact(chunkSize), offset, length, volume);
+        file, Math.toIntExact(chunkSize), offset, length, volume, files);
     final ChunkBufferToByteString b = ChunkBufferToByteString.wrap(buffers);
     context.setReleaseMethod(b::release);
     return b;
@@ -319,8 +392,8 @@ public static ChunkBufferToByteString readData(File file, long chunkSize,
    *
    * @return a list of {@link ByteBuf} containing the data.
    */
-  private static List<ByteBuf> readDataNettyChunkedNioFile(
-      File file, int chunkSize, long offset, long length, HddsVolume volume) throws StorageContainerException {
+  private static List<ByteBuf> readDataNettyChunkedNioFile(File file, int chunkSize, long offset, long length,
+      HddsVolume volume, OpenFileCache files) throws StorageContainerException {
     final List<ByteBuf> buffers = new ArrayList<>(Math.toIntExact((length - 1) / chunkSize) + 1);
     readData(file, offset, length, channel -> {
       final ChunkedNioFile f = new ChunkedNioFile(channel, offset, length, chunkSize);
@@ -331,7 +404,7 @@ private static List<ByteBuf> readDataNettyChunkedNioFile(
         buffers.add(buf);
       }
       return readLen;
-    }, volume);
+    }, volume, files);
     return buffers;
   }
 
@@ -27,11 +27,13 @@
 import java.util.List;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
 import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.interfaces.Container;
 import org.apache.hadoop.ozone.container.common.interfaces.DBHandle;
@@ -62,6 +64,12 @@ public class BlockManagerImpl implements BlockManager {
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
   private final boolean readNettyChunkedNioFile;
+  private final int readAsyncMaxBatchSize;
+  private final int readAsyncThreadsPerVolume;
+  private final int readAsyncQueueSize;
+  private final boolean writeSyncGroupCommit;
+  private final long readCacheSize;
+  private final int openFilesPerVolumeMax;
 
   /**
    * Constructs a Block Manager.
@@ -83,6 +91,26 @@ public BlockManagerImpl(ConfigurationSource conf) {
     this.readNettyChunkedNioFile = config.getBoolean(
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_KEY,
         ScmConfigKeys.OZONE_CHUNK_READ_NETTY_CHUNKED_NIO_FILE_DEFAULT);
+    this.readAsyncMaxBatchSize = !config.getBoolean(
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_ENABLED_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_ENABLED_DEFAULT) ? 0
+        : config.getInt(ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_MAX_BATCH_SIZE_KEY,
+            ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_MAX_BATCH_SIZE_DEFAULT);
+    this.readAsyncThreadsPerVolume = config.getInt(
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_THREADS_PER_VOLUME_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_THREADS_PER_VOLUME_DEFAULT);
+    this.readAsyncQueueSize = config.getInt(
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_QUEUE_SIZE_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_QUEUE_SIZE_DEFAULT);
+    this.writeSyncGroupCommit = config.getBoolean(
+        OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_GROUP_COMMIT_KEY,
+        OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_GROUP_COMMIT_DEFAULT);
+    this.readCacheSize = (long) config.getStorageSize(
+        ScmConfigKeys.OZONE_CHUNK_READ_CACHE_SIZE_KEY,
+        ScmConfigKeys.OZONE_CHUNK_READ_CACHE_SIZE_DEFAULT, StorageUnit.BYTES);
+    this.openFilesPerVolumeMax = config.getInt(
+        ScmConfigKeys.OZONE_CHUNK_OPEN_FILES_PER_VOLUME_MAX_KEY,
+        ScmConfigKeys.OZONE_CHUNK_OPEN_FILES_PER_VOLUME_MAX_DEFAULT);
   }
 
   @Override
@@ -319,6 +347,36 @@ public boolean isReadNettyChunkedNioFile() {
     return readNettyChunkedNioFile;
   }
 
+  @Override
+  public int getReadAsyncMaxBatchSize() {
+    return readAsyncMaxBatchSize;
+  }
+
+  @Override
+  public int getReadAsyncThreadsPerVolume() {
+    return readAsyncThreadsPerVolume;
+  }
+
+  @Override
+  public int getReadAsyncQueueSize() {
+    return readAsyncQueueSize;
+  }
+
+  @Override
+  public boolean isWriteSyncGroupCommit() {
+    return writeSyncGroupCommit;
+  }
+
+  @Override
+  public long getReadCacheSize() {
+    return readCacheSize;
+  }
+
+  @Override
+  public int getOpenFilesPerVolumeMax() {
+    return openFilesPerVolumeMax;
+  }
+
   /**
    * Deletes an existing block.
    * As Deletion is handled by BlockDeletingService,
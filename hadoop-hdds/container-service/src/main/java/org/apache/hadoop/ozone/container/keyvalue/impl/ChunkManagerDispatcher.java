@@ -26,6 +26,7 @@
 import java.io.IOException;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
@@ -113,6 +114,20 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
     return data;
   }
 
+  @Override
+  public CompletableFuture<ChunkBufferToByteString> readChunkAsync(
+      Container container, BlockID blockID, ChunkInfo info,
+      DispatcherContext dispatcherContext) throws StorageContainerException {
+
+    return selectHandler(container)
+        .readChunkAsync(container, blockID, info, dispatcherContext)
+        .thenApply(data -> {
+          Preconditions.checkState(data != null);
+          container.getContainerData().updateReadStats(info.getLen());
+          return data;
+        });
+  }
+
   @Override
   public void deleteChunk(Container container, BlockID blockID, ChunkInfo info)
       throws StorageContainerException {
@@ -140,6 +155,24 @@ public void deleteChunks(Container container, BlockData blockData)
     selectHandler(container).deleteChunks(container, blockData);
   }
 
+  @Override
+  public void closeFiles(Container container) {
+    try {
+      selectHandler(container).closeFiles(container);
+    } catch (StorageContainerException e) {
+      LOG.warn("Failed to close the files of {}", container, e);
+    }
+  }
+
+  @Override
+  public void invalidateCache(Container container) {
+    try {
+      selectHandler(container).invalidateCache(container);
+    } catch (StorageContainerException e) {
+      LOG.warn("Failed to invalidate the cache of {}", container, e);
+    }
+  }
+
   @Override
   public void shutdown() {
     handlers.values().forEach(ChunkManager::shutdown);
@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+
+/**
+ * An off-heap cache of the chunk data read from the block files.
+ * <p>
+ * The entries are keyed by the block and the range of the chunk, and the data
+ * is copied into direct buffers, which are shared by the readers as read-only
+ * buffers. The cache is divided into segments to reduce the lock contention,
+ * each of which is large enough for a chunk of the default size.
+ * Each segment evicts its entries in LRU order, and admits a new entry only if
+ * it is more frequently accessed than the entries to be evicted (TinyLFU),
+ * where the access frequencies are estimated by a count-min sketch. Hence, a
+ * scan of cold data does not flush the hot entries out of the cache.
+ */
+public class ChunkReadCache {
+
+  private static final int MAX_SEGMENT_COUNT = 16;
+  /**
+   * A chunk larger than the segment capacity is never cached, so a segment
+   * has at least the default chunk size, see ozone.scm.chunk.size.
+   */
+  private static final long MIN_SEGMENT_CAPACITY = 4L << 20;
+
+  /** The key of a cache entry. */
+  private static final class Key {
+    private final long containerID;
+    private final long localID;
+    private final long offset;
+    private final long length;
+
+    Key(BlockID blockID, long offset, long length) {
+      this.containerID = blockID.getContainerID();
+      this.localID = blockID.getLocalID();
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return containerID == that.containerID && localID == that.localID
+          && offset == that.offset && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(containerID, localID, offset, length);
+    }
+  }
+
+  private final long capacity;
+  private final Segment[] segments;
+
+  public ChunkReadCache(long capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity = %s <= 0", capacity);
+    this.capacity = capacity;
+    final int segmentCount = Math.toIntExact(Math.max(1,
+        Math.min(MAX_SEGMENT_COUNT, capacity / MIN_SEGMENT_CAPACITY)));
+    this.segments = new Segment[segmentCount];
+    final long segmentCapacity = capacity / segmentCount;
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment(segmentCapacity);
+    }
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  private Segment getSegment(Key key) {
+    return segments[Math.floorMod(key.hashCode(), segments.length)];
+  }
+
+  /**
+   * @return the cached data divided into read-only buffers of the given
+   *         capacity; or null if the data is not cached.
+   */
+  public ChunkBuffer get(BlockID blockID, long offset, long length,
+      int bufferCapacity) {
+    final Key key = new Key(blockID, offset, length);
+    final ByteBuffer data = getSegment(key).get(key);
+    if (data == null) {
+      return null;
+    }
+    final List<ByteBuffer> buffers = new ArrayList<>();
+    for (int p = 0; p < data.limit(); p += bufferCapacity) {
+      final ByteBuffer b = data.duplicate();
+      b.position(p).limit(Math.min(data.limit(), p + bufferCapacity));
+      buffers.add(b.slice());
+    }
+    return ChunkBuffer.wrap(buffers);
+  }
+
+  /**
+   * Offer the given data, which is read from the given range of the block,
+   * to the cache. The data is copied only if the entry is admitted.
+   */
+  public void put(BlockID blockID, long offset, long length, ChunkBuffer data) {
+    final Key key = new Key(blockID, offset, length);
+    getSegment(key).put(key, () -> {
+      final ByteBuffer copy = ByteBuffer.allocateDirect(
+          Math.toIntExact(length));
+      for (ByteBuffer b : data.asByteBufferList()) {
+        copy.put(b.duplicate());
+      }
+      copy.flip();
+      return copy.asReadOnlyBuffer();
+    });
+  }
+
+  /** Remove the entries of the given block. */
+  public void invalidate(BlockID blockID) {
+    for (Segment s : segments) {
+      s.invalidate(blockID.getContainerID(), blockID.getLocalID());
+    }
+  }
+
+  /** Remove the entries of the given container. */
+  public void invalidate(long containerID) {
+    for (Segment s : segments) {
+      s.invalidate(containerID, null);
+    }
+  }
+
+  @VisibleForTesting
+  long getSize() {
+    long size = 0;
+    for (Segment s : segments) {
+      size += s.getSize();
+    }
+    return size;
+  }
+
+  /** Supply the data of a new entry. */
+  private interface DataSupplier {
+    ByteBuffer get();
+  }
+
+  /** A segment of the cache, guarded by its own lock. */
+  private static final class Segment {
+    private final long capacity;
+    private final LinkedHashMap<Key, ByteBuffer> entries =
+        new LinkedHashMap<>(16, 0.75f, true);
+    /** containerID -> localID -> keys, for invalidation. */
+    private final Map<Long, Map<Long, Set<Key>>> index = new HashMap<>();
+    private final FrequencySketch sketch;
+    private long size;
+
+    Segment(long capacity) {
+      this.capacity = capacity;
+      this.sketch = new FrequencySketch(capacity);
+    }
+
+    synchronized long getSize() {
+      return size;
+    }
+
+    synchronized ByteBuffer get(Key key) {
+      sketch.increment(key);
+      final ByteBuffer data = entries.get(key);
+      return data == null ? null : data.duplicate();
+    }
+
+    synchronized void put(Key key, DataSupplier supplier) {
+      if (key.length > capacity || entries.containsKey(key)) {
+        return;
+      }
+      // Evict the LRU entries only if the new entry is more frequent than
+      // all of them, otherwise keep them all.
+      final int frequency = sketch.frequency(key);
+      final List<Key> victims = new ArrayList<>();
+      long freed = 0;
+      for (Iterator<Key> i = entries.keySet().iterator();
+           size - freed + key.length > capacity;) {
+        final Key victim = i.next();
+        if (frequency <= sketch.frequency(victim)) {
+          return;
+        }
+        victims.add(victim);
+        freed += victim.length;
+      }
+      for (Key victim : victims) {
+        entries.remove(victim);
+        removeIndex(victim);
+      }
+      entries.put(key, supplier.get());
+      size += key.length;
+      index.computeIfAbsent(key.containerID, k -> new HashMap<>())
+          .computeIfAbsent(key.localID, k -> new HashSet<>())
+          .add(key);
+    }
+
+    private void removeIndex(Key key) {
+      size -= key.length;
+      final Map<Long, Set<Key>> blocks = index.get(key.containerID);
+      final Set<Key> keys = blocks.get(key.localID);
+      keys.remove(key);
+      if (keys.isEmpty()) {
+        blocks.remove(key.localID);
+        if (blocks.isEmpty()) {
+          index.remove(key.containerID);
+        }
+      }
+    }
+
+    /** Remove the entries of the given block, or of the container if null. */
+    synchronized void invalidate(long containerID, Long localID) {
+      final Map<Long, Set<Key>> blocks = index.get(containerID);
+      if (blocks == null) {
+        return;
+      }
+      final List<Key> keys = new ArrayList<>();
+      if (localID == null) {
+        blocks.values().forEach(keys::addAll);
+      } else if (blocks.containsKey(localID)) {
+        keys.addAll(blocks.get(localID));
+      }
+      for (Key key : keys) {
+        entries.remove(key);
+        removeIndex(key);
+      }
+    }
+  }
+
+  /**
+   * A count-min sketch of 4 rows estimating the access frequencies,
+   * which are capped at 15 and halved periodically,
+   * so that the estimation adapts to the recent accesses.
+   */
+  private static final class FrequencySketch {
+    private static final int ROWS = 4;
+    private static final int MAX_FREQUENCY = 15;
+    /** Assume that the average entry size is at least 4KB. */
+    private static final int MIN_ENTRY_SIZE = 4 << 10;
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long capacity) {
+      final long entries = Math.min(1 << 18,
+          Math.max(64, capacity / MIN_ENTRY_SIZE));
+      // A few counters for each entry, so that the counters of the
+      // one-hit entries do not add up to the frequency of a hot entry.
+      final int width = Integer.highestOneBit(Math.toIntExact(4 * entries - 1)) << 1;
+      this.counters = new byte[ROWS][width];
+      this.mask = width - 1;
+      this.sampleSize = Math.toIntExact(10 * entries);
+    }
+
+    private static int hash(Key key, int row) {
+      // Spread the hash differently for each row.
+      int h = key.hashCode() * (0x9E3779B9 + 2 * row);
+      return h ^ (h >>> 16);
+    }
+
+    int frequency(Key key) {
+      int min = MAX_FREQUENCY;
+      for (int r = 0; r < ROWS; r++) {
+        min = Math.min(min, counters[r][hash(key, r) & mask]);
+      }
+      return min;
+    }
+
+    void increment(Key key) {
+      for (int r = 0; r < ROWS; r++) {
+        final int i = hash(key, r) & mask;
+        if (counters[r][i] < MAX_FREQUENCY) {
+          counters[r][i]++;
+        }
+      }
+      if (++additions >= sampleSize) {
+        // Age the counters.
+        for (byte[] row : counters) {
+          for (int i = 0; i < row.length; i++) {
+            row[i] >>= 1;
+          }
+        }
+        additions /= 2;
+      }
+    }
+  }
+}
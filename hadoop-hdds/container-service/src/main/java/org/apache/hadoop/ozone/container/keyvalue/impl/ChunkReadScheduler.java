@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_INTERNAL_ERROR;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.common.utils.BufferUtils;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read chunks asynchronously using dedicated I/O threads for each volume.
+ * <p>
+ * An I/O thread of a volume takes all the queued reads, up to the max batch
+ * size, at a time. The reads of adjacent ranges of the same file, e.g. the
+ * chunks of a block read sequentially by different clients, are coalesced
+ * into a single vectored read, which scatters the data into the buffers of
+ * the individual reads.
+ * <p>
+ * The queue of each volume is bounded, and the buffers of a read are
+ * allocated only when it is taken by an I/O thread, so that the queued reads
+ * do not hold any data.
+ */
+public class ChunkReadScheduler {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkReadScheduler.class);
+
+  /** A read of the given range of a file. */
+  private static final class ReadRequest {
+    private final File file;
+    private final long offset;
+    private final long end;
+    private final int bufferCapacity;
+    /** Allocated when the read is taken by an I/O thread. */
+    private ByteBuffer[] buffers;
+    private final CompletableFuture<ChunkBuffer> future =
+        new CompletableFuture<>();
+
+    ReadRequest(File file, long offset, long len, int bufferCapacity) {
+      this.file = file;
+      this.offset = offset;
+      this.end = offset + len;
+      this.bufferCapacity = bufferCapacity;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    ByteBuffer[] getBuffers() {
+      if (buffers == null) {
+        buffers = BufferUtils.assignByteBuffers(end - offset, bufferCapacity);
+      }
+      return buffers;
+    }
+
+    void complete() {
+      Arrays.stream(buffers).forEach(ByteBuffer::flip);
+      future.complete(ChunkBuffer.wrap(Arrays.asList(buffers)));
+    }
+  }
+
+  private final int maxBatchSize;
+  private final int threadsPerVolume;
+  private final int queueSize;
+  /** Open the files using the cache if non-null. */
+  private final OpenFileCache files;
+  private final Map<String, VolumeReader> readers = new ConcurrentHashMap<>();
+  private volatile boolean running = true;
+
+  public ChunkReadScheduler(int maxBatchSize, int threadsPerVolume,
+      int queueSize, OpenFileCache files) {
+    Preconditions.checkArgument(maxBatchSize > 0,
+        "maxBatchSize = %s <= 0", maxBatchSize);
+    Preconditions.checkArgument(threadsPerVolume > 0,
+        "threadsPerVolume = %s <= 0", threadsPerVolume);
+    Preconditions.checkArgument(queueSize > 0,
+        "queueSize = %s <= 0", queueSize);
+    this.maxBatchSize = maxBatchSize;
+    this.threadsPerVolume = threadsPerVolume;
+    this.queueSize = queueSize;
+    this.files = files;
+  }
+
+  /**
+   * Read the given range of the given file asynchronously.
+   *
+   * @return a future of the data, which is divided into buffers of the given
+   *         capacity, or null if the queue of the volume is full,
+   *         in which case the caller should read synchronously.
+   */
+  public CompletableFuture<ChunkBuffer> read(File file, long offset, long len,
+      int bufferCapacity, HddsVolume volume) {
+    final ReadRequest request = new ReadRequest(file, offset, len,
+        bufferCapacity);
+    final String key = volume == null ? "" : volume.getStorageDir().getPath();
+    return readers.computeIfAbsent(key, k -> new VolumeReader(k, volume))
+        .submit(request) ? request.future : null;
+  }
+
+  public void shutdown() {
+    running = false;
+    readers.values().forEach(VolumeReader::shutdown);
+  }
+
+  /** The reads of a volume, served by its own I/O threads. */
+  private final class VolumeReader {
+    private final HddsVolume volume;
+    private final BlockingQueue<ReadRequest> queue =
+        new LinkedBlockingQueue<>(queueSize);
+    private final ExecutorService executor;
+
+    VolumeReader(String name, HddsVolume volume) {
+      this.volume = volume;
+      this.executor = Executors.newFixedThreadPool(threadsPerVolume,
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ChunkReader-" + name + "-%d")
+              .build());
+      for (int i = 0; i < threadsPerVolume; i++) {
+        executor.execute(this::run);
+      }
+    }
+
+    /** @return false if the queue is full. */
+    boolean submit(ReadRequest request) {
+      if (!queue.offer(request)) {
+        return false;
+      }
+      if (!running) {
+        // The reader may have already stopped.
+        failPending();
+      }
+      return true;
+    }
+
+    void shutdown() {
+      executor.shutdownNow();
+    }
+
+    private void run() {
+      final List<ReadRequest> batch = new ArrayList<>(maxBatchSize);
+      try {
+        while (running) {
+          batch.add(queue.take());
+          queue.drainTo(batch, maxBatchSize - 1);
+          try {
+            read(batch);
+          } catch (Throwable t) {
+            // Keep the thread, otherwise the later reads may never complete.
+            LOG.error("Failed to read a batch of {} chunks", batch.size(), t);
+            for (ReadRequest r : batch) {
+              r.future.completeExceptionally(t);
+            }
+          }
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        failPending();
+      }
+    }
+
+    private void failPending() {
+      for (ReadRequest r = queue.poll(); r != null; r = queue.poll()) {
+        r.future.completeExceptionally(new StorageContainerException(
+            "Chunk reader is stopped", CONTAINER_INTERNAL_ERROR));
+      }
+    }
+
+    /** Read the given batch, coalescing the adjacent ranges of each file. */
+    private void read(List<ReadRequest> batch) {
+      final Map<File, List<ReadRequest>> files = new LinkedHashMap<>();
+      for (ReadRequest r : batch) {
+        files.computeIfAbsent(r.file, f -> new ArrayList<>()).add(r);
+      }
+
+      for (Map.Entry<File, List<ReadRequest>> e : files.entrySet()) {
+        final List<ReadRequest> requests = e.getValue();
+        requests.sort(Comparator.comparingLong(ReadRequest::getOffset));
+
+        int start = 0;
+        for (int i = 1; i <= requests.size(); i++) {
+          if (i == requests.size() || requests.get(i).offset
+              != requests.get(i - 1).end) {
+            read(e.getKey(), requests.subList(start, i));
+            start = i;
+          }
+        }
+      }
+    }
+
+    /** Read the given contiguous ranges using a single vectored read. */
+    private void read(File file, List<ReadRequest> contiguous) {
+      final ByteBuffer[] buffers = contiguous.stream()
+          .flatMap(r -> Arrays.stream(r.getBuffers()))
+          .toArray(ByteBuffer[]::new);
+      try {
+        ChunkUtils.readData(file, contiguous.get(0).offset, buffers, volume,
+            files);
+      } catch (Exception ex) {
+        if (contiguous.size() > 1) {
+          // Retry individually so that a bad range fails only its own read.
+          LOG.debug("Failed to read {} coalesced reads of {}, retry individually",
+              contiguous.size(), file, ex);
+          for (ReadRequest r : contiguous) {
+            Arrays.stream(r.buffers).forEach(ByteBuffer::clear);
+            read(file, Collections.singletonList(r));
+          }
+        } else {
+          contiguous.get(0).future.completeExceptionally(ex);
+        }
+        return;
+      }
+      if (LOG.isDebugEnabled() && contiguous.size() > 1) {
+        LOG.debug("Coalesced {} reads of {} into one from offset {}",
+            contiguous.size(), file, contiguous.get(0).offset);
+      }
+      contiguous.forEach(ReadRequest::complete);
+    }
+  }
+}
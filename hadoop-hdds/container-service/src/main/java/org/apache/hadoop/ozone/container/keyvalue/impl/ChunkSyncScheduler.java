@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos.Result.CONTAINER_INTERNAL_ERROR;
+import static org.apache.hadoop.ozone.container.common.utils.StorageVolumeUtil.onFailure;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sync the written chunks in groups using a dedicated thread for each volume.
+ * <p>
+ * The writes do not sync the data themselves but submit a sync request after
+ * writing. The sync thread of a volume takes all the queued requests at a
+ * time and syncs each file once for all the requests of the file. The future
+ * of a request completes after the covering sync, so that the number of syncs
+ * is reduced under concurrent writes without weakening the durability.
+ */
+public class ChunkSyncScheduler {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ChunkSyncScheduler.class);
+
+  /** A request to sync a written file. */
+  private static final class SyncRequest {
+    private final File file;
+    private final FileChannel channel;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    SyncRequest(File file, FileChannel channel) {
+      this.file = file;
+      this.channel = channel;
+    }
+  }
+
+  private final Map<String, VolumeSyncer> syncers = new ConcurrentHashMap<>();
+  private volatile boolean running = true;
+
+  /**
+   * Sync the given file, which is written using the given channel.
+   *
+   * @return a future which completes after the file is synced.
+   */
+  public CompletableFuture<Void> sync(File file, FileChannel channel,
+      HddsVolume volume) {
+    final SyncRequest request = new SyncRequest(file, channel);
+    final String key = volume == null ? "" : volume.getStorageDir().getPath();
+    syncers.computeIfAbsent(key, k -> new VolumeSyncer(k, volume))
+        .submit(request);
+    return request.future;
+  }
+
+  public void shutdown() {
+    running = false;
+    syncers.values().forEach(VolumeSyncer::shutdown);
+  }
+
+  /** The sync requests of a volume, served by a single thread. */
+  private final class VolumeSyncer {
+    private final HddsVolume volume;
+    private final BlockingQueue<SyncRequest> queue =
+        new LinkedBlockingQueue<>();
+    private final ExecutorService executor;
+
+    VolumeSyncer(String name, HddsVolume volume) {
+      this.volume = volume;
+      this.executor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("ChunkSyncer-" + name + "-%d")
+              .build());
+      executor.execute(this::run);
+    }
+
+    void submit(SyncRequest request) {
+      queue.add(request);
+      if (!running) {
+        // The syncer may have already stopped.
+        failPending();
+      }
+    }
+
+    void shutdown() {
+      executor.shutdownNow();
+    }
+
+    private void run() {
+      final List<SyncRequest> batch = new ArrayList<>();
+      try {
+        while (running) {
+          batch.add(queue.take());
+          queue.drainTo(batch);
+          sync(batch);
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        failPending();
+      }
+    }
+
+    private void failPending() {
+      for (SyncRequest r = queue.poll(); r != null; r = queue.poll()) {
+        r.future.completeExceptionally(new StorageContainerException(
+            "Chunk syncer is stopped", CONTAINER_INTERNAL_ERROR));
+      }
+    }
+
+    /** Sync each channel of the given batch once. */
+    private void sync(List<SyncRequest> batch) {
+      final Map<FileChannel, List<SyncRequest>> channels =
+          new IdentityHashMap<>();
+      for (SyncRequest r : batch) {
+        channels.computeIfAbsent(r.channel, c -> new ArrayList<>()).add(r);
+      }
+
+      final long startTime = Time.monotonicNow();
+      for (Map.Entry<FileChannel, List<SyncRequest>> e : channels.entrySet()) {
+        final List<SyncRequest> requests = e.getValue();
+        try {
+          sync(requests.get(0).file, e.getKey());
+        } catch (IOException ex) {
+          onFailure(volume);
+          final StorageContainerException sce =
+              ChunkUtils.wrapInStorageContainerException(ex);
+          requests.forEach(r -> r.future.completeExceptionally(sce));
+          continue;
+        }
+        requests.forEach(r -> r.future.complete(null));
+      }
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Synced {} files for {} writes in {} ms", channels.size(),
+            batch.size(), Time.monotonicNow() - startTime);
+      }
+    }
+
+    private void sync(File file, FileChannel channel) throws IOException {
+      try {
+        channel.force(true);
+      } catch (ClosedChannelException e) {
+        // The file was closed after written, sync it using a new channel.
+        try (FileChannel c = FileChannel.open(file.toPath(),
+            StandardOpenOption.WRITE)) {
+          c.force(true);
+        }
+      }
+    }
+  }
+}
@@ -24,23 +24,19 @@
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.limitReadSize;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.validateChunkForOverwrite;
 import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.verifyChunkFileExists;
+import static org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils.wrapInStorageContainerException;
 
 import com.google.common.base.Preconditions;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.apache.hadoop.fs.FileUtil;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
@@ -68,16 +64,25 @@ public class FilePerBlockStrategy implements ChunkManager {
       LoggerFactory.getLogger(FilePerBlockStrategy.class);
 
   private final boolean doSyncWrite;
-  private final OpenFiles files = new OpenFiles();
+  private final OpenFileCache files;
   private final int defaultReadBufferCapacity;
   private final int readMappedBufferThreshold;
   private final int readMappedBufferMaxCount;
   private final MappedBufferManager mappedBufferManager;
 
   private final boolean readNettyChunkedNioFile;
+  /** Read asynchronously if non-null. */
+  private final ChunkReadScheduler readScheduler;
+  /** Sync the writes in groups if non-null. */
+  private final ChunkSyncScheduler syncScheduler;
+  /** Cache the data read from the closed containers if non-null. */
+  private final ChunkReadCache readCache;
 
   public FilePerBlockStrategy(boolean sync, BlockManager manager) {
     doSyncWrite = sync;
+    this.files = new OpenFileCache(manager == null
+        ? ScmConfigKeys.OZONE_CHUNK_OPEN_FILES_PER_VOLUME_MAX_DEFAULT
+        : manager.getOpenFilesPerVolumeMax());
     this.defaultReadBufferCapacity = manager == null ? 0 :
         manager.getDefaultReadBufferCapacity();
     this.readMappedBufferThreshold = manager == null ? 0
@@ -92,6 +97,23 @@ public FilePerBlockStrategy(boolean sync, BlockManager manager) {
     }
 
     this.readNettyChunkedNioFile = manager != null && manager.isReadNettyChunkedNioFile();
+
+    final int readAsyncMaxBatchSize = manager == null ? 0
+        : manager.getReadAsyncMaxBatchSize();
+    if (readAsyncMaxBatchSize > 0 && !readNettyChunkedNioFile
+        && mappedBufferManager == null) {
+      readScheduler = new ChunkReadScheduler(readAsyncMaxBatchSize,
+          manager.getReadAsyncThreadsPerVolume(),
+          manager.getReadAsyncQueueSize(), files);
+    } else {
+      readScheduler = null;
+    }
+
+    syncScheduler = sync && manager != null && manager.isWriteSyncGroupCommit()
+        ? new ChunkSyncScheduler() : null;
+
+    final long readCacheSize = manager == null ? 0 : manager.getReadCacheSize();
+    readCache = readCacheSize > 0 ? new ChunkReadCache(readCacheSize) : null;
   }
 
   private static void checkLayoutVersion(Container container) {
@@ -150,30 +172,68 @@ public void writeChunk(Container container, BlockID blockID, ChunkInfo info,
 
     HddsVolume volume = containerData.getVolume();
 
-    FileChannel channel = null;
-    boolean overwrite;
+    final OpenFileCache.Handle handle;
     try {
-      channel = files.getChannel(chunkFile, doSyncWrite);
-      overwrite = validateChunkForOverwrite(channel, info);
+      // With group commit, the channel does not sync each write
+      handle = files.getForWrite(chunkFile,
+          doSyncWrite && syncScheduler == null, volume);
     } catch (IOException e) {
       onFailure(volume);
-      throw e;
+      throw wrapInStorageContainerException(e);
     }
 
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Writing chunk {} (overwrite: {}) in stage {} to file {}",
-          info, overwrite, stage, chunkFile);
-    }
+    try {
+      final FileChannel channel = handle.getChannel();
+      final boolean overwrite = validateChunkForOverwrite(channel, info);
 
-    // check whether offset matches block file length if its an overwrite
-    if (!overwrite) {
-      ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
-    }
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Writing chunk {} (overwrite: {}) in stage {} to file {}",
+            info, overwrite, stage, chunkFile);
+      }
+
+      // check whether offset matches block file length if its an overwrite
+      if (!overwrite) {
+        ChunkUtils.validateChunkSize(channel, info, chunkFile.getName());
+      }
 
-    ChunkUtils
-        .writeData(channel, chunkFile.getName(), data, offset, len, volume);
+      ChunkUtils
+          .writeData(channel, chunkFile.getName(), data, offset, len, volume);
 
-    containerData.updateWriteStats(len, overwrite);
+      containerData.updateWriteStats(len, overwrite);
+      // The state is checked after the write, in case the container is
+      // closed and its old data is cached in the meantime.
+      if (isCacheable(container)) {
+        readCache.invalidate(blockID);
+      }
+
+      if (syncScheduler != null) {
+        final CompletableFuture<Void> synced = syncScheduler.sync(chunkFile,
+            channel, volume);
+        if (dispatcherContext.isSyncDeferrable()) {
+          dispatcherContext.setSyncFuture(synced);
+        } else {
+          waitForSync(synced);
+        }
+      }
+    } finally {
+      handle.close();
+    }
+  }
+
+  private static void waitForSync(CompletableFuture<Void> synced)
+      throws StorageContainerException {
+    try {
+      synced.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageContainerException(e,
+          ContainerProtos.Result.CONTAINER_INTERNAL_ERROR);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof StorageContainerException
+          ? (StorageContainerException) e.getCause()
+          : new StorageContainerException(e.getCause(),
+              ContainerProtos.Result.CONTAINER_INTERNAL_ERROR);
+    }
   }
 
   @Override
@@ -202,11 +262,115 @@ public ChunkBufferToByteString readChunk(Container container, BlockID blockID,
     int bufferCapacity = ChunkManager.getBufferCapacityForChunkRead(info,
         defaultReadBufferCapacity);
 
+    final boolean cacheable = isCacheable(container);
+    if (cacheable) {
+      final ChunkBuffer cached = getCached(blockID, info, bufferCapacity, volume);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
     if (readNettyChunkedNioFile && dispatcherContext != null && dispatcherContext.isReleaseSupported()) {
-      return ChunkUtils.readData(chunkFile, bufferCapacity, offset, len, volume, dispatcherContext);
+      return ChunkUtils.readData(chunkFile, bufferCapacity, offset, len, volume, dispatcherContext, files);
     }
-    return ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume,
-        readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager);
+    final ChunkBuffer data = ChunkUtils.readData(len, bufferCapacity, chunkFile, offset, volume,
+        readMappedBufferThreshold, readMappedBufferMaxCount > 0, mappedBufferManager, files);
+    if (cacheable) {
+      readCache.put(blockID, offset, len, data);
+    }
+    return data;
+  }
+
+  /**
+   * Only the data of the closed containers is cached
+   * since the chunks of an open container can be overwritten.
+   */
+  private boolean isCacheable(Container container) {
+    if (readCache == null) {
+      return false;
+    }
+    final ContainerProtos.ContainerDataProto.State state =
+        container.getContainerState();
+    return state == ContainerProtos.ContainerDataProto.State.CLOSED
+        || state == ContainerProtos.ContainerDataProto.State.QUASI_CLOSED;
+  }
+
+  private ChunkBuffer getCached(BlockID blockID, ChunkInfo info,
+      int bufferCapacity, HddsVolume volume) {
+    final ChunkBuffer cached = readCache.get(blockID, info.getOffset(),
+        info.getLen(), bufferCapacity);
+    if (volume != null) {
+      if (cached != null) {
+        volume.getVolumeIOStats().incReadCacheHits(info.getLen());
+      } else {
+        volume.getVolumeIOStats().incReadCacheMisses();
+      }
+    }
+    return cached;
+  }
+
+  @Override
+  public CompletableFuture<ChunkBufferToByteString> readChunkAsync(
+      Container container, BlockID blockID, ChunkInfo info,
+      DispatcherContext dispatcherContext) throws StorageContainerException {
+    if (readScheduler == null || info.getLen() <= 0) {
+      return ChunkManager.super.readChunkAsync(container, blockID, info,
+          dispatcherContext);
+    }
+
+    checkLayoutVersion(container);
+    limitReadSize(info.getLen());
+
+    final HddsVolume volume = container.getContainerData().getVolume();
+    final File chunkFile = getChunkFile(container, blockID);
+    final int bufferCapacity = ChunkManager.getBufferCapacityForChunkRead(info,
+        defaultReadBufferCapacity);
+    final boolean cacheable = isCacheable(container);
+    if (cacheable) {
+      final ChunkBuffer cached = getCached(blockID, info, bufferCapacity, volume);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached);
+      }
+    }
+    final CompletableFuture<ChunkBuffer> future = readScheduler.read(chunkFile,
+        info.getOffset(), info.getLen(), bufferCapacity, volume);
+    if (future == null) {
+      // The queue of the volume is full, read in this thread instead.
+      return ChunkManager.super.readChunkAsync(container, blockID, info,
+          dispatcherContext);
+    }
+    return future.thenApply(data -> {
+      if (cacheable) {
+        readCache.put(blockID, info.getOffset(), info.getLen(), data);
+      }
+      return data;
+    });
+  }
+
+  @Override
+  public void closeFiles(Container container) {
+    final KeyValueContainerData containerData =
+        (KeyValueContainerData) container.getContainerData();
+    files.closeAll(new File(containerData.getChunksPath()),
+        containerData.getVolume());
+  }
+
+  @Override
+  public void invalidateCache(Container container) {
+    if (readCache != null) {
+      readCache.invalidate(container.getContainerData().getContainerID());
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    if (readScheduler != null) {
+      readScheduler.shutdown();
+    }
+    if (syncScheduler != null) {
+      syncScheduler.shutdown();
+    }
+    files.closeAll();
   }
 
   @Override
@@ -226,7 +390,7 @@ public void finishWriteChunks(KeyValueContainer container,
       BlockData blockData) throws IOException {
     final File chunkFile = getChunkFile(container, blockData.getBlockID());
     try {
-      files.close(chunkFile);
+      files.close(chunkFile, container.getContainerData().getVolume());
       verifyChunkFileExists(chunkFile);
     } catch (IOException e) {
       onFailure(container.getContainerData().getVolume());
@@ -240,8 +404,9 @@ public void finalizeWriteChunk(KeyValueContainer container,
     synchronized (container) {
       File chunkFile = getChunkFile(container, blockId);
       try {
-        if (files.isOpen(chunkFile)) {
-          files.close(chunkFile);
+        final HddsVolume volume = container.getContainerData().getVolume();
+        if (files.isOpen(chunkFile, volume)) {
+          files.close(chunkFile, volume);
         }
         verifyChunkFileExists(chunkFile);
       } catch (IOException e) {
@@ -259,6 +424,10 @@ private void deleteChunk(Container container, BlockID blockID,
     Preconditions.checkNotNull(blockID, "Block ID cannot be null.");
 
     final File file = getChunkFile(container, blockID);
+    if (readCache != null) {
+      readCache.invalidate(blockID);
+    }
+    files.close(file, container.getContainerData().getVolume());
 
     // if the chunk file does not exist, it might have already been deleted.
     // The call might be because of reapply of transactions on datanode
@@ -293,87 +462,4 @@ private static void checkFullDelete(ChunkInfo info, File chunkFile)
       throw new StorageContainerException(msg, UNSUPPORTED_REQUEST);
     }
   }
-
-  private static final class OpenFiles {
-
-    private static final RemovalListener<String, OpenFile> ON_REMOVE =
-        event -> close(event.getKey(), event.getValue());
-
-    private final Cache<String, OpenFile> files = CacheBuilder.newBuilder()
-        .expireAfterAccess(Duration.ofMinutes(10))
-        .removalListener(ON_REMOVE)
-        .build();
-
-    public FileChannel getChannel(File file, boolean sync)
-        throws StorageContainerException {
-      try {
-        return files.get(file.getPath(),
-            () -> open(file, sync)).getChannel();
-      } catch (ExecutionException e) {
-        if (e.getCause() instanceof IOException) {
-          throw new UncheckedIOException((IOException) e.getCause());
-        }
-        throw new StorageContainerException(e.getCause(),
-            ContainerProtos.Result.CONTAINER_INTERNAL_ERROR);
-      }
-    }
-
-    private static OpenFile open(File file, boolean sync) {
-      try {
-        return new OpenFile(file, sync);
-      } catch (FileNotFoundException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
-
-    public void close(File file) {
-      if (file != null) {
-        files.invalidate(file.getPath());
-      }
-    }
-
-    public boolean isOpen(File file) {
-      return file != null &&
-          files.getIfPresent(file.getPath()) != null;
-    }
-
-    private static void close(String filename, OpenFile openFile) {
-      if (openFile != null) {
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("Closing file {}", filename);
-        }
-        openFile.close();
-      } else {
-        if (LOG.isDebugEnabled()) {
-          LOG.debug("File {} not open", filename);
-        }
-      }
-    }
-  }
-
-  private static final class OpenFile {
-
-    private final RandomAccessFile file;
-
-    private OpenFile(File file, boolean sync) throws FileNotFoundException {
-      String mode = sync ? "rws" : "rw";
-      this.file = new RandomAccessFile(file, mode);
-      if (LOG.isDebugEnabled()) {
-        LOG.debug("Opened file {}", file);
-      }
-    }
-
-    public FileChannel getChannel() {
-      return file.getChannel();
-    }
-
-    public void close() {
-      try {
-        file.close();
-      } catch (IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
-  }
-
 }
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of the open block files shared by the reads and the writes.
+ * <p>
+ * The number of the open files of each volume is limited by the given max,
+ * and the files of a volume are divided into stripes to reduce the lock
+ * contention. Each stripe closes its files in LRU order when it is full, and
+ * closes the files which are not accessed for a while.
+ * <p>
+ * The files are reference counted, so that a file is closed only after it is
+ * evicted and released by all its users. Since a file can be shared by
+ * concurrent readers, the users must not change the position of the channel
+ * for reading.
+ */
+public class OpenFileCache {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OpenFileCache.class);
+
+  private static final int STRIPE_COUNT = 16;
+  private static final long IDLE_TIMEOUT_MS = Duration.ofMinutes(10).toMillis();
+
+  /**
+   * An open file. The users must {@link #close()} it after use.
+   */
+  public static final class Handle implements AutoCloseable {
+    private final String path;
+    private final RandomAccessFile file;
+    private final boolean writable;
+    private final boolean sync;
+    /** One reference is held by the cache and one by each user. */
+    private final AtomicInteger references = new AtomicInteger(1);
+    private volatile long lastAccessTime = Time.monotonicNow();
+
+    private Handle(File file, boolean writable, boolean sync)
+        throws IOException {
+      this.path = file.getPath();
+      this.file = new RandomAccessFile(file,
+          !writable ? "r" : sync ? "rws" : "rw");
+      this.writable = writable;
+      this.sync = sync;
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Opened file {} (writable: {}, sync: {})",
+            path, writable, sync);
+      }
+    }
+
+    public FileChannel getChannel() {
+      return file.getChannel();
+    }
+
+    private Handle retain() {
+      references.incrementAndGet();
+      lastAccessTime = Time.monotonicNow();
+      return this;
+    }
+
+    /** Release this handle; the file is closed if it is already evicted. */
+    @Override
+    public void close() {
+      if (references.decrementAndGet() == 0) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Closing file {}", path);
+        }
+        try {
+          file.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close file {}", path, e);
+        }
+      }
+    }
+  }
+
+  private final int maxPerVolume;
+  private final Map<String, Stripe[]> volumes = new ConcurrentHashMap<>();
+
+  public OpenFileCache(int maxPerVolume) {
+    Preconditions.checkArgument(maxPerVolume > 0,
+        "maxPerVolume = %s <= 0", maxPerVolume);
+    this.maxPerVolume = maxPerVolume;
+  }
+
+  private Stripe[] getStripes(HddsVolume volume) {
+    final String key = volume == null ? "" : volume.getStorageDir().getPath();
+    return volumes.computeIfAbsent(key, k -> {
+      final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+      final int capacity = Math.max(1, maxPerVolume / STRIPE_COUNT);
+      for (int i = 0; i < stripes.length; i++) {
+        stripes[i] = new Stripe(capacity);
+      }
+      return stripes;
+    });
+  }
+
+  private Stripe getStripe(File file, HddsVolume volume) {
+    final Stripe[] stripes = getStripes(volume);
+    return stripes[Math.floorMod(file.getPath().hashCode(), stripes.length)];
+  }
+
+  /** @return an open file for reading, which may also be writable. */
+  public Handle getForRead(File file, HddsVolume volume) throws IOException {
+    return getStripe(file, volume).get(file, false, false);
+  }
+
+  /** @return an open file for writing. */
+  public Handle getForWrite(File file, boolean sync, HddsVolume volume)
+      throws IOException {
+    return getStripe(file, volume).get(file, true, sync);
+  }
+
+  public boolean isOpen(File file, HddsVolume volume) {
+    return file != null && getStripe(file, volume).contains(file.getPath());
+  }
+
+  /** Evict the given file; it is closed after released by all its users. */
+  public void close(File file, HddsVolume volume) {
+    if (file != null) {
+      getStripe(file, volume).remove(file.getPath());
+    }
+  }
+
+  /** Evict the files under the given directory. */
+  public void closeAll(File dir, HddsVolume volume) {
+    final String prefix = dir.getPath() + File.separator;
+    for (Stripe s : getStripes(volume)) {
+      s.removeIf(path -> path.startsWith(prefix));
+    }
+  }
+
+  /** Evict all the files. */
+  public void closeAll() {
+    for (Stripe[] stripes : volumes.values()) {
+      for (Stripe s : stripes) {
+        s.removeIf(path -> true);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    int size = 0;
+    for (Stripe[] stripes : volumes.values()) {
+      for (Stripe s : stripes) {
+        size += s.size();
+      }
+    }
+    return size;
+  }
+
+  /** A stripe of the open files of a volume, guarded by its own lock. */
+  private static final class Stripe {
+    private final int capacity;
+    private final LinkedHashMap<String, Handle> handles =
+        new LinkedHashMap<>(16, 0.75f, true);
+
+    Stripe(int capacity) {
+      this.capacity = capacity;
+    }
+
+    synchronized int size() {
+      return handles.size();
+    }
+
+    synchronized boolean contains(String path) {
+      return handles.containsKey(path);
+    }
+
+    synchronized Handle get(File file, boolean writable, boolean sync)
+        throws IOException {
+      final String path = file.getPath();
+      final Handle cached = handles.get(path);
+      if (cached != null && (!writable
+          || (cached.writable && cached.sync == sync))) {
+        return cached.retain();
+      }
+
+      // Open a new file, which replaces the cached file, if there is any.
+      final Handle opened = new Handle(file, writable, sync);
+      if (cached != null) {
+        handles.remove(path).close();
+      }
+      handles.put(path, opened);
+      evict();
+      return opened.retain();
+    }
+
+    /** Evict the LRU files beyond the capacity and the idle files. */
+    private void evict() {
+      final long idleTime = Time.monotonicNow() - IDLE_TIMEOUT_MS;
+      final Iterator<Handle> i = handles.values().iterator();
+      while (i.hasNext()) {
+        final Handle h = i.next();
+        if (handles.size() <= capacity && h.lastAccessTime > idleTime) {
+          return;
+        }
+        i.remove();
+        h.close();
+      }
+    }
+
+    synchronized void remove(String path) {
+      final Handle h = handles.remove(path);
+      if (h != null) {
+        h.close();
+      }
+    }
+
+    void removeIf(Predicate<String> filter) {
+      final List<Handle> removed = new ArrayList<>();
+      synchronized (this) {
+        final Iterator<Map.Entry<String, Handle>> i =
+            handles.entrySet().iterator();
+        while (i.hasNext()) {
+          final Map.Entry<String, Handle> e = i.next();
+          if (filter.test(e.getKey())) {
+            i.remove();
+            removed.add(e.getValue());
+          }
+        }
+      }
+      removed.forEach(Handle::close);
+    }
+  }
+}
@@ -104,6 +104,24 @@ void finalizeBlock(Container container, BlockID blockId)
   /** @return true iff Netty ChunkedNioFile read is enabled. */
   boolean isReadNettyChunkedNioFile();
 
+  /** @return the max batch size of asynchronous chunk reads; 0 if disabled. */
+  int getReadAsyncMaxBatchSize();
+
+  /** @return the number of the asynchronous chunk read threads of each volume. */
+  int getReadAsyncThreadsPerVolume();
+
+  /** @return the max number of the queued asynchronous chunk reads of each volume. */
+  int getReadAsyncQueueSize();
+
+  /** @return true iff the synced chunk writes are synced in groups. */
+  boolean isWriteSyncGroupCommit();
+
+  /** @return the size of the chunk read cache in bytes; 0 if disabled. */
+  long getReadCacheSize();
+
+  /** @return the max number of the open block files of each volume. */
+  int getOpenFilesPerVolumeMax();
+
   /**
    * Shutdown ContainerManager.
    */
@@ -19,6 +19,7 @@
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
@@ -75,6 +76,20 @@ default void writeChunk(Container container, BlockID blockID, ChunkInfo info,
   ChunkBufferToByteString readChunk(Container container, BlockID blockID, ChunkInfo info,
       DispatcherContext dispatcherContext) throws StorageContainerException;
 
+  /**
+   * Reads the data defined by a chunk asynchronously.
+   * The default implementation reads it synchronously.
+   *
+   * @return a future of the data.
+   * @throws StorageContainerException if the read cannot be submitted.
+   */
+  default CompletableFuture<ChunkBufferToByteString> readChunkAsync(
+      Container container, BlockID blockID, ChunkInfo info,
+      DispatcherContext dispatcherContext) throws StorageContainerException {
+    return CompletableFuture.completedFuture(
+        readChunk(container, blockID, info, dispatcherContext));
+  }
+
   /**
    * Deletes a given chunk.
    *
@@ -91,6 +106,20 @@ void deleteChunks(Container container, BlockData blockData) throws
 
   // TODO : Support list operations.
 
+  /**
+   * Close the open files of the given container, if any.
+   */
+  default void closeFiles(Container container) {
+    // if applicable
+  }
+
+  /**
+   * Invalidate the data of the given container cached in memory, if any.
+   */
+  default void invalidateCache(Container container) {
+    // if applicable
+  }
+
   /**
    * Shutdown the chunkManager.
    */
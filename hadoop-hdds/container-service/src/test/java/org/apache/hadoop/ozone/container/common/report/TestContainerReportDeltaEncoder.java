@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ContainerReportDeltaEncoder}.
+ */
+public class TestContainerReportDeltaEncoder {
+
+  @Test
+  public void testEncode() {
+    final ContainerReportDeltaEncoder encoder =
+        new ContainerReportDeltaEncoder(2);
+    final ContainerReplicaProto one = newReplica(1, 10);
+    final ContainerReplicaProto two = newReplica(2, 20);
+    final ContainerReplicaProto three = newReplica(3, 30);
+
+    // The first report is a full report.
+    final ContainerReportsProto first = encoder.encode(newReport(one, two));
+    assertFalse(first.getDelta());
+    assertEquals(2, first.getReportsCount());
+
+    // Only the changed replicas and the removed containers are sent.
+    final ContainerReplicaProto changed = newReplica(2, 25);
+    final ContainerReportsProto second =
+        encoder.encode(newReport(changed, three));
+    assertTrue(second.getDelta());
+    assertEquals(first.getChecksum(), second.getPreviousChecksum());
+    assertEquals(Arrays.asList(changed, three), second.getReportsList());
+    assertEquals(Collections.singletonList(1L),
+        second.getRemovedContainerIdsList());
+
+    // Nothing is changed.
+    final ContainerReportsProto third =
+        encoder.encode(newReport(three, changed));
+    assertTrue(third.getDelta());
+    assertEquals(second.getChecksum(), third.getPreviousChecksum());
+    assertEquals(second.getChecksum(), third.getChecksum());
+    assertEquals(0, third.getReportsCount());
+    assertEquals(0, third.getRemovedContainerIdsCount());
+
+    // A full report is sent after 2 delta reports.
+    final ContainerReportsProto fourth =
+        encoder.encode(newReport(changed, three));
+    assertFalse(fourth.getDelta());
+    assertEquals(2, fourth.getReportsCount());
+    assertEquals(third.getChecksum(), fourth.getChecksum());
+  }
+
+  private static ContainerReportsProto newReport(
+      ContainerReplicaProto... replicas) {
+    return ContainerReportsProto.newBuilder()
+        .addAllReports(Arrays.asList(replicas))
+        .build();
+  }
+
+  private static ContainerReplicaProto newReplica(long id, long used) {
+    return ContainerReplicaProto.newBuilder()
+        .setContainerID(id)
+        .setState(ContainerReplicaProto.State.CLOSED)
+        .setUsed(used)
+        .build();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link ChunkReadCache}.
+ */
+public class TestChunkReadCache {
+
+  private static final int CHUNK_SIZE = 1024;
+
+  @Test
+  public void testGetAndPut() {
+    final ChunkReadCache cache = new ChunkReadCache(1 << 20);
+    final BlockID blockID = new BlockID(1, 1);
+    final byte[] data = put(cache, blockID, 0);
+
+    final ChunkBuffer cached = cache.get(blockID, 0, CHUNK_SIZE, 100);
+    assertNotNull(cached);
+    final List<ByteBuffer> buffers = cached.asByteBufferList();
+    assertEquals((CHUNK_SIZE + 99) / 100, buffers.size());
+    assertEquals(CHUNK_SIZE % 100, buffers.get(buffers.size() - 1).remaining());
+    assertEquals(ByteBuffer.wrap(data), toByteBuffer(cached));
+
+    // The cached data is not changed by the readers.
+    assertEquals(ByteBuffer.wrap(data), toByteBuffer(cache.get(blockID, 0, CHUNK_SIZE, CHUNK_SIZE)));
+
+    assertNull(cache.get(blockID, CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE));
+    assertNull(cache.get(new BlockID(1, 2), 0, CHUNK_SIZE, CHUNK_SIZE));
+  }
+
+  @Test
+  public void testAdmission() {
+    // a single segment of 32 chunks
+    final ChunkReadCache cache = new ChunkReadCache(32 * CHUNK_SIZE);
+    final BlockID hot = new BlockID(1, 1);
+    for (int i = 0; i < 10; i++) {
+      cache.get(hot, 0, CHUNK_SIZE, CHUNK_SIZE);
+    }
+    put(cache, hot, 0);
+
+    // A scan of cold chunks does not evict the hot chunk.
+    for (long localID = 2; localID < 1000; localID++) {
+      final BlockID cold = new BlockID(1, localID);
+      cache.get(cold, 0, CHUNK_SIZE, CHUNK_SIZE);
+      put(cache, cold, 0);
+    }
+    assertNotNull(cache.get(hot, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertEquals(32 * CHUNK_SIZE, cache.getSize());
+  }
+
+  @Test
+  public void testInvalidate() {
+    final ChunkReadCache cache = new ChunkReadCache(1 << 20);
+    final BlockID block1 = new BlockID(1, 1);
+    final BlockID block2 = new BlockID(1, 2);
+    final BlockID block3 = new BlockID(2, 1);
+    for (int i = 0; i < 4; i++) {
+      put(cache, block1, i * CHUNK_SIZE);
+      put(cache, block2, i * CHUNK_SIZE);
+      put(cache, block3, i * CHUNK_SIZE);
+    }
+    assertEquals(12 * CHUNK_SIZE, cache.getSize());
+
+    cache.invalidate(block1);
+    assertNull(cache.get(block1, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertNotNull(cache.get(block2, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertEquals(8 * CHUNK_SIZE, cache.getSize());
+
+    cache.invalidate(1L);
+    assertNull(cache.get(block2, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertNotNull(cache.get(block3, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertEquals(4 * CHUNK_SIZE, cache.getSize());
+  }
+
+  @Test
+  public void testRejectedEntryDoesNotEvict() {
+    // a single segment of 4 chunks
+    final ChunkReadCache cache = new ChunkReadCache(4 * CHUNK_SIZE);
+    final BlockID cold = new BlockID(1, 1);
+    final BlockID hot = new BlockID(1, 2);
+    for (int i = 0; i < 5; i++) {
+      cache.get(hot, 0, CHUNK_SIZE, CHUNK_SIZE);
+    }
+    // In LRU order: cold, hot, and then the others.
+    put(cache, cold, 0);
+    put(cache, hot, 0);
+    put(cache, new BlockID(1, 3), 0);
+    put(cache, new BlockID(1, 4), 0);
+    assertEquals(4 * CHUNK_SIZE, cache.getSize());
+
+    // The new entry is more frequent than the cold chunk but not than the hot
+    // chunk, so it is rejected without evicting the cold chunk.
+    final BlockID block = new BlockID(1, 5);
+    cache.get(block, 0, 2 * CHUNK_SIZE, CHUNK_SIZE);
+    put(cache, block, 0, 2 * CHUNK_SIZE);
+    assertNull(cache.get(block, 0, 2 * CHUNK_SIZE, CHUNK_SIZE));
+    assertEquals(4 * CHUNK_SIZE, cache.getSize());
+    assertNotNull(cache.get(cold, 0, CHUNK_SIZE, CHUNK_SIZE));
+    assertNotNull(cache.get(hot, 0, CHUNK_SIZE, CHUNK_SIZE));
+  }
+
+  @Test
+  public void testLargeChunk() {
+    // Smaller than 16 times the chunk size, but a chunk still fits.
+    final int chunkSize = 4 << 20;
+    final ChunkReadCache cache = new ChunkReadCache(2 * chunkSize);
+    final BlockID blockID = new BlockID(1, 1);
+    final byte[] data = put(cache, blockID, 0, chunkSize);
+    assertEquals(ByteBuffer.wrap(data), toByteBuffer(cache.get(blockID, 0, chunkSize, chunkSize)));
+
+    // A chunk larger than the cache is not cached.
+    final ChunkReadCache small = new ChunkReadCache(chunkSize / 2);
+    put(small, blockID, 0, chunkSize);
+    assertNull(small.get(blockID, 0, chunkSize, chunkSize));
+    assertEquals(0, small.getSize());
+  }
+
+  private static byte[] put(ChunkReadCache cache, BlockID blockID, long offset) {
+    return put(cache, blockID, offset, CHUNK_SIZE);
+  }
+
+  private static byte[] put(ChunkReadCache cache, BlockID blockID, long offset, int length) {
+    final byte[] data = new byte[length];
+    ThreadLocalRandom.current().nextBytes(data);
+    cache.put(blockID, offset, length, ChunkBuffer.wrap(ByteBuffer.wrap(data)));
+    return data;
+  }
+
+  private static ByteBuffer toByteBuffer(ChunkBuffer buffer) {
+    final ByteBuffer b = ByteBuffer.allocate(Math.toIntExact(buffer.remaining()));
+    buffer.asByteBufferList().forEach(x -> b.put(x.duplicate()));
+    b.flip();
+    return b;
+  }
+}
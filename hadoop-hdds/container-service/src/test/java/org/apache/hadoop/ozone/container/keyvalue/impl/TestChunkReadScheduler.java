@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.common.volume.HddsVolume;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link ChunkReadScheduler}.
+ */
+public class TestChunkReadScheduler {
+
+  private static final int CHUNK_SIZE = 1024;
+  private static final int CHUNK_COUNT = 64;
+
+  @TempDir
+  private Path dir;
+
+  private File file;
+  private byte[] data;
+  private ChunkReadScheduler scheduler;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    data = new byte[CHUNK_SIZE * CHUNK_COUNT];
+    ThreadLocalRandom.current().nextBytes(data);
+    file = Files.write(dir.resolve("block"), data).toFile();
+    scheduler = new ChunkReadScheduler(16, 1, 1024, null);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void testReadChunks() throws Exception {
+    final List<CompletableFuture<ChunkBuffer>> futures = new ArrayList<>();
+    for (int i = 0; i < CHUNK_COUNT; i++) {
+      futures.add(scheduler.read(file, (long) i * CHUNK_SIZE, CHUNK_SIZE, 100, null));
+    }
+    for (int i = 0; i < CHUNK_COUNT; i++) {
+      assertData(i * CHUNK_SIZE, CHUNK_SIZE, futures.get(i));
+    }
+  }
+
+  @Test
+  public void testReadOverlappingRanges() throws Exception {
+    final CompletableFuture<ChunkBuffer> first = scheduler.read(file, 0, 3000, 1000, null);
+    final CompletableFuture<ChunkBuffer> second = scheduler.read(file, 1000, 5000, 1000, null);
+    final CompletableFuture<ChunkBuffer> third = scheduler.read(file, 6000, 10, 1000, null);
+    assertData(0, 3000, first);
+    assertData(1000, 5000, second);
+    assertData(6000, 10, third);
+  }
+
+  @Test
+  public void testReadBeyondEndOfFile() throws Exception {
+    final int end = data.length;
+    final CompletableFuture<ChunkBuffer> before
+        = scheduler.read(file, end - 2 * CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, null);
+    final CompletableFuture<ChunkBuffer> last = scheduler.read(file, end - CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, null);
+    final CompletableFuture<ChunkBuffer> beyond = scheduler.read(file, end, CHUNK_SIZE, CHUNK_SIZE, null);
+
+    // Only the read beyond the end of the file fails.
+    assertData(end - 2 * CHUNK_SIZE, CHUNK_SIZE, before);
+    assertData(end - CHUNK_SIZE, CHUNK_SIZE, last);
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> beyond.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(StorageContainerException.class, e.getCause());
+  }
+
+  @Test
+  public void testReadAfterShutdown() {
+    scheduler.shutdown();
+    final CompletableFuture<ChunkBuffer> future = scheduler.read(file, 0, CHUNK_SIZE, CHUNK_SIZE, null);
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(StorageContainerException.class, e.getCause());
+  }
+
+  @Test
+  public void testQueueFull() throws Exception {
+    final CompletableFuture<Void> reading = new CompletableFuture<>();
+    final CompletableFuture<Void> released = new CompletableFuture<>();
+    // Block the I/O thread in the first read.
+    final OpenFileCache files = new OpenFileCache(10) {
+      @Override
+      public Handle getForRead(File f, HddsVolume volume) throws IOException {
+        reading.complete(null);
+        released.join();
+        return super.getForRead(f, volume);
+      }
+    };
+    final ChunkReadScheduler bounded = new ChunkReadScheduler(16, 1, 1, files);
+    try {
+      final CompletableFuture<ChunkBuffer> first = bounded.read(file, 0, CHUNK_SIZE, CHUNK_SIZE, null);
+      reading.get(10, TimeUnit.SECONDS);
+      final CompletableFuture<ChunkBuffer> queued = bounded.read(file, CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, null);
+      // The queue is full, the caller should read synchronously.
+      assertNull(bounded.read(file, 2 * CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, null));
+
+      released.complete(null);
+      assertData(0, CHUNK_SIZE, first);
+      assertData(CHUNK_SIZE, CHUNK_SIZE, queued);
+    } finally {
+      released.complete(null);
+      bounded.shutdown();
+    }
+  }
+
+  @Test
+  public void testReadAfterFailedBatch() throws Exception {
+    // The buffers cannot be allocated with zero capacity.
+    final CompletableFuture<ChunkBuffer> failed = scheduler.read(file, 0, CHUNK_SIZE, 0, null);
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+
+    // The I/O thread still serves the reads.
+    assertData(CHUNK_SIZE, CHUNK_SIZE, scheduler.read(file, CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, null));
+  }
+
+  private void assertData(int offset, int length, CompletableFuture<ChunkBuffer> future) throws Exception {
+    final ChunkBuffer buffer = future.get(10, TimeUnit.SECONDS);
+    assertEquals(length, buffer.remaining());
+    final ByteBuffer actual = ByteBuffer.allocate(length);
+    buffer.asByteBufferList().forEach(actual::put);
+    assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length), actual.array());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link ChunkSyncScheduler}.
+ */
+public class TestChunkSyncScheduler {
+
+  private static final int WRITE_COUNT = 64;
+
+  @TempDir
+  private Path dir;
+
+  private ChunkSyncScheduler scheduler;
+
+  @BeforeEach
+  public void setup() {
+    scheduler = new ChunkSyncScheduler();
+  }
+
+  @AfterEach
+  public void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void testSyncWrites() throws Exception {
+    final File[] files = {dir.resolve("block1").toFile(), dir.resolve("block2").toFile()};
+    final byte[] data = new byte[WRITE_COUNT];
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    try (FileChannel first = open(files[0]); FileChannel second = open(files[1])) {
+      final FileChannel[] channels = {first, second};
+      for (int i = 0; i < WRITE_COUNT; i++) {
+        data[i] = (byte) i;
+        for (int j = 0; j < files.length; j++) {
+          channels[j].write(ByteBuffer.wrap(data, i, 1), i);
+          futures.add(scheduler.sync(files[j], channels[j], null));
+        }
+      }
+      for (CompletableFuture<Void> f : futures) {
+        f.get(10, TimeUnit.SECONDS);
+      }
+    }
+
+    for (File file : files) {
+      assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+    }
+  }
+
+  @Test
+  public void testSyncClosedChannel() throws Exception {
+    final File file = dir.resolve("block").toFile();
+    final FileChannel channel = open(file);
+    channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    channel.close();
+
+    // The file is synced using a new channel.
+    scheduler.sync(file, channel, null).get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSyncAfterShutdown() throws Exception {
+    final File file = dir.resolve("block").toFile();
+    scheduler.shutdown();
+    try (FileChannel channel = open(file)) {
+      final CompletableFuture<Void> future = scheduler.sync(file, channel, null);
+      final ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+      assertInstanceOf(StorageContainerException.class, e.getCause());
+    }
+  }
+
+  private static FileChannel open(File file) throws Exception {
+    return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+}
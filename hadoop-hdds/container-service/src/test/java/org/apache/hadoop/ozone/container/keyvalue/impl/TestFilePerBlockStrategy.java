@@ -21,22 +21,32 @@
 import static org.apache.hadoop.ozone.container.ContainerTestHelper.setDataChecksum;
 import static org.apache.hadoop.ozone.container.common.ContainerTestUtils.WRITE_STAGE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.hadoop.hdds.client.BlockID;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.datanode.proto.ContainerProtos;
+import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.common.ChunkBuffer;
 import org.apache.hadoop.ozone.common.ChunkBufferToByteString;
 import org.apache.hadoop.ozone.container.ContainerTestHelper;
+import org.apache.hadoop.ozone.container.common.helpers.BlockData;
 import org.apache.hadoop.ozone.container.common.helpers.ChunkInfo;
+import org.apache.hadoop.ozone.container.common.transport.server.ratis.DispatcherContext;
 import org.apache.hadoop.ozone.container.keyvalue.ContainerLayoutTestInfo;
 import org.apache.hadoop.ozone.container.keyvalue.KeyValueContainer;
 import org.apache.hadoop.ozone.container.keyvalue.interfaces.ChunkManager;
+import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -131,6 +141,128 @@ public void testPartialRead() throws Exception {
     assertEquals(data.rewind().toByteString().substring(start, start + length), readData2.toByteString());
   }
 
+  /**
+   * Write chunks and then read them back asynchronously.
+   */
+  @Test
+  public void testReadChunkAsync() throws Exception {
+    final int datalen = 1024;
+    final int chunkCount = 32;
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(ScmConfigKeys.OZONE_CHUNK_READ_ASYNC_ENABLED_KEY, true);
+    FilePerBlockStrategy subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf));
+    try {
+      KeyValueContainer container = getKeyValueContainer();
+      BlockID blockID = getBlockID();
+      List<ChunkInfo> chunks = new ArrayList<>();
+      List<ByteString> written = new ArrayList<>();
+      for (int x = 0; x < chunkCount; x++) {
+        ChunkInfo info = getChunk(blockID.getLocalID(), x, x * datalen, datalen);
+        ChunkBuffer data = ContainerTestHelper.getData(datalen);
+        setDataChecksum(info, data);
+        subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+        chunks.add(info);
+        written.add(data.rewind().toByteString());
+      }
+
+      List<CompletableFuture<ChunkBufferToByteString>> futures = new ArrayList<>();
+      for (ChunkInfo info : chunks) {
+        futures.add(subject.readChunkAsync(container, blockID, info, null));
+      }
+      for (int x = 0; x < chunkCount; x++) {
+        assertEquals(written.get(x), futures.get(x).get().toByteString());
+      }
+    } finally {
+      subject.shutdown();
+    }
+  }
+
+  /**
+   * Write chunks with sync group commit, deferring the sync for some of them,
+   * and then read them back.
+   */
+  @Test
+  public void testWriteChunkSyncGroupCommit() throws Exception {
+    final int datalen = 1024;
+    final int chunkCount = 8;
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OzoneConfigKeys.HDDS_CONTAINER_CHUNK_WRITE_SYNC_GROUP_COMMIT_KEY, true);
+    FilePerBlockStrategy subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf));
+    try {
+      KeyValueContainer container = getKeyValueContainer();
+      BlockID blockID = getBlockID();
+      List<ChunkInfo> chunks = new ArrayList<>();
+      List<ByteString> written = new ArrayList<>();
+      List<CompletableFuture<Void>> syncs = new ArrayList<>();
+      for (int x = 0; x < chunkCount; x++) {
+        ChunkInfo info = getChunk(blockID.getLocalID(), x, x * datalen, datalen);
+        ChunkBuffer data = ContainerTestHelper.getData(datalen);
+        setDataChecksum(info, data);
+        DispatcherContext context = DispatcherContext
+            .newBuilder(DispatcherContext.Op.WRITE_STATE_MACHINE_DATA)
+            .setStage(DispatcherContext.WriteChunkStage.WRITE_DATA)
+            .setSyncDeferrable(x % 2 == 0)
+            .build();
+        subject.writeChunk(container, blockID, info, data, context);
+        if (context.isSyncDeferrable()) {
+          assertNotNull(context.getSyncFuture());
+          syncs.add(context.getSyncFuture());
+        }
+        chunks.add(info);
+        written.add(data.rewind().toByteString());
+      }
+      CompletableFuture.allOf(syncs.toArray(new CompletableFuture[0])).get();
+
+      for (int x = 0; x < chunkCount; x++) {
+        ChunkBufferToByteString read = subject.readChunk(container, blockID, chunks.get(x), null);
+        assertEquals(written.get(x), read.toByteString());
+      }
+    } finally {
+      subject.shutdown();
+    }
+  }
+
+  /**
+   * Read chunks of a closed container twice, the second read is served by the
+   * read cache until the block is deleted.
+   */
+  @Test
+  public void testReadChunkCache() throws Exception {
+    final int datalen = 1024;
+
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(ScmConfigKeys.OZONE_CHUNK_READ_CACHE_SIZE_KEY, "1MB");
+    FilePerBlockStrategy subject = new FilePerBlockStrategy(true,
+        new BlockManagerImpl(conf));
+    KeyValueContainer container = getKeyValueContainer();
+    BlockID blockID = getBlockID();
+    ChunkInfo info = getChunk(blockID.getLocalID(), 0, 0, datalen);
+    ChunkBuffer data = ContainerTestHelper.getData(datalen);
+    setDataChecksum(info, data);
+    subject.writeChunk(container, blockID, info, data, WRITE_STAGE);
+    ByteString written = data.rewind().toByteString();
+
+    // The data of an open container is not cached.
+    assertEquals(written, subject.readChunk(container, blockID, info, null).toByteString());
+    assertEquals(0, getHddsVolume().getVolumeIOStats().getReadCacheMisses());
+
+    getKeyValueContainerData().setState(ContainerProtos.ContainerDataProto.State.CLOSED);
+    for (int i = 0; i < 2; i++) {
+      assertEquals(written, subject.readChunk(container, blockID, info, null).toByteString());
+    }
+    assertEquals(1, getHddsVolume().getVolumeIOStats().getReadCacheMisses());
+    assertEquals(1, getHddsVolume().getVolumeIOStats().getReadCacheHits());
+    assertEquals(datalen, getHddsVolume().getVolumeIOStats().getReadCacheHitBytes());
+    checkReadIOStats(2 * datalen, 2);
+
+    subject.deleteChunks(container, new BlockData(blockID));
+    assertThrows(StorageContainerException.class, () -> subject.readChunk(container, blockID, info, null));
+  }
+
   @Override
   protected ContainerLayoutTestInfo getStrategy() {
     return ContainerLayoutTestInfo.FILE_PER_BLOCK;
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.keyvalue.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for {@link OpenFileCache}.
+ */
+public class TestOpenFileCache {
+
+  @TempDir
+  private Path dir;
+
+  private OpenFileCache files;
+
+  @BeforeEach
+  public void setup() {
+    // 16 stripes of 1 file each
+    files = new OpenFileCache(16);
+  }
+
+  @AfterEach
+  public void shutdown() {
+    files.closeAll();
+  }
+
+  @Test
+  public void testReuseFiles() throws Exception {
+    final File file = newFile("block");
+    final FileChannel reading;
+    try (OpenFileCache.Handle h = files.getForRead(file, null)) {
+      reading = h.getChannel();
+      assertThrows(NonWritableChannelException.class, () -> reading.write(ByteBuffer.allocate(1)));
+    }
+    try (OpenFileCache.Handle h = files.getForRead(file, null)) {
+      assertSame(reading, h.getChannel());
+    }
+
+    // A write replaces the read-only file, which is then reused by reads.
+    final FileChannel writing;
+    try (OpenFileCache.Handle h = files.getForWrite(file, false, null)) {
+      writing = h.getChannel();
+      assertNotSame(reading, writing);
+      writing.write(ByteBuffer.allocate(1));
+    }
+    assertFalse(reading.isOpen());
+    try (OpenFileCache.Handle h = files.getForRead(file, null)) {
+      assertSame(writing, h.getChannel());
+    }
+    assertEquals(1, files.size());
+  }
+
+  @Test
+  public void testEvictedFileClosedAfterRelease() throws Exception {
+    final File file = newFile("block");
+    final OpenFileCache.Handle handle = files.getForRead(file, null);
+    final FileChannel channel = handle.getChannel();
+
+    files.close(file, null);
+    assertFalse(files.isOpen(file, null));
+    // The file is still in use.
+    assertEquals(0, channel.read(ByteBuffer.allocate(1), 0));
+
+    handle.close();
+    assertFalse(channel.isOpen());
+    assertThrows(ClosedChannelException.class, () -> channel.read(ByteBuffer.allocate(1), 0));
+  }
+
+  @Test
+  public void testBounded() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      try (OpenFileCache.Handle ignored = files.getForRead(newFile("block" + i), null)) {
+        assertTrue(files.size() <= 16);
+      }
+    }
+    assertTrue(files.size() <= 16);
+  }
+
+  @Test
+  public void testCloseAll() throws Exception {
+    final Path sub = Files.createDirectory(dir.resolve("chunks"));
+    final File inside = Files.createFile(sub.resolve("block")).toFile();
+    final File outside = newFile("block");
+    files.getForRead(inside, null).close();
+    files.getForRead(outside, null).close();
+
+    files.closeAll(sub.toFile(), null);
+    assertFalse(files.isOpen(inside, null));
+    assertTrue(files.isOpen(outside, null));
+  }
+
+  private File newFile(String name) throws Exception {
+    return Files.createFile(dir.resolve(name)).toFile();
+  }
+}
@@ -19,6 +19,8 @@
 
 import com.google.protobuf.ServiceException;
 import io.opentracing.Span;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
@@ -102,6 +104,50 @@ public RESPONSE processRequest(
     }
   }
 
+  /**
+   * The same as {@link #processRequest}
+   * except that the response is returned asynchronously.
+   */
+  public CompletableFuture<RESPONSE> processRequestAsync(
+      REQUEST request,
+      Function<REQUEST, CompletableFuture<RESPONSE>> methodCall,
+      TYPE type,
+      String traceId) {
+    final Span span = TracingUtil.importAndCreateSpan(type.toString(), traceId);
+    if (logger.isTraceEnabled()) {
+      logger.trace(
+          "[service={}] [type={}] request is received: <json>{}</json>",
+          serviceName,
+          type,
+          escapeNewLines(requestPreprocessor.apply(request)));
+    } else if (logger.isDebugEnabled()) {
+      logger.debug("{} {} request is received",
+          serviceName, type);
+    }
+
+    final UncheckedAutoCloseable measure = protocolMessageMetrics.measure(type);
+    final CompletableFuture<RESPONSE> future;
+    try {
+      future = methodCall.apply(request);
+    } catch (RuntimeException e) {
+      measure.close();
+      span.finish();
+      throw e;
+    }
+    return future.whenComplete((response, e) -> {
+      measure.close();
+      if (response != null && logger.isTraceEnabled()) {
+        logger.trace(
+            "[service={}] [type={}] request is processed. Response: "
+                + "<json>{}</json>",
+            serviceName,
+            type,
+            escapeNewLines(responsePreprocessor.apply(response)));
+      }
+      span.finish();
+    });
+  }
+
   private static String escapeNewLines(Object input) {
     return input.toString().replaceAll("\n", "\\\\n");
   }
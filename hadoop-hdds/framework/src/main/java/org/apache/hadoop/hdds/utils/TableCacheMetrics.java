@@ -63,7 +63,8 @@ public void getMetrics(MetricsCollector collector, boolean all) {
         .addGauge(MetricsInfos.Size, cache.size())
         .addGauge(MetricsInfos.HitCount, stats.getCacheHits())
         .addGauge(MetricsInfos.MissCount, stats.getCacheMisses())
-        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes());
+        .addGauge(MetricsInfos.IterationCount, stats.getIterationTimes())
+        .addGauge(MetricsInfos.AllocatedBytes, cache.getAllocatedBytes());
   }
 
   public void unregister() {
@@ -76,7 +77,8 @@ private enum MetricsInfos implements MetricsInfo {
     Size("Size of the cache."),
     HitCount("Number of time the lookup methods return a cached value."),
     MissCount("Number of times the requested value is not in the cache."),
-    IterationCount("Number of times the table cache is iterated through.");
+    IterationCount("Number of times the table cache is iterated through."),
+    AllocatedBytes("Direct memory allocated for the cached values.");
 
     private final String desc;
 
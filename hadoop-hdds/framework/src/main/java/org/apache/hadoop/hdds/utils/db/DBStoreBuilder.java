@@ -89,6 +89,8 @@ public final class DBStoreBuilder {
   // added with. Value will be null if the column family was not added with
   // any options. On build, this will be replaced with defaultCfOptions.
   private Map<String, ManagedColumnFamilyOptions> cfOptions;
+  // Maps column family names to the profiles tuning their default options.
+  private final Map<String, TableProfile> tableProfiles = new HashMap<>();
   private ConfigurationSource configuration;
   private String rocksDbStat;
   // RocksDB column family write buffer size
@@ -252,6 +254,17 @@ public DBStoreBuilder addTable(String tableName,
     return this;
   }
 
+  /**
+   * Tune the default column family options of the given table
+   * with the given profile.
+   * It has no effect if the table is added with its own options.
+   */
+  public DBStoreBuilder setTableProfile(String tableName,
+      TableProfile profile) {
+    tableProfiles.put(tableName, profile);
+    return this;
+  }
+
   public DBStoreBuilder setDBOptions(ManagedDBOptions option) {
     rocksDBOption = option;
     return this;
@@ -322,7 +335,13 @@ private Set<TableConfig> makeTableConfigs() {
       String name = entry.getKey();
       ManagedColumnFamilyOptions options = entry.getValue();
 
-      if (options == null) {
+      final TableProfile profile = tableProfiles.get(name);
+      if (options == null && profile != null) {
+        LOG.info("Using column family options for table {} tuned by {}",
+            name, profile);
+        tableConfigs.add(new TableConfig(name,
+            getCfOptions(profile, rocksDbCfWriteBufferSize)));
+      } else if (options == null) {
         LOG.debug("using default column family options for table: {}", name);
         tableConfigs.add(new TableConfig(name,
                 getCfOptions(rocksDbCfWriteBufferSize)));
@@ -365,6 +384,22 @@ private ManagedColumnFamilyOptions getCfOptions(long writeBufferSize) {
     return cfOpts;
   }
 
+  /**
+   * Get column family options tuned by the given profile, with the write
+   * buffer size and the auto compaction flag of the default options.
+   */
+  private ManagedColumnFamilyOptions getCfOptions(TableProfile profile,
+      long writeBufferSize) {
+    ManagedColumnFamilyOptions cfOpts =
+        profile.getColumnFamilyOptions(defaultCfProfile);
+    cfOpts.setWriteBufferSize(writeBufferSize);
+    if (defaultCfOptions != null) {
+      cfOpts.setDisableAutoCompactions(
+          defaultCfOptions.disableAutoCompactions());
+    }
+    return cfOpts;
+  }
+
   /**
    * Attempts to get RocksDB {@link ManagedDBOptions} from an ini config
    * file. If that file does not exist, the value of {@code defaultDBOptions}
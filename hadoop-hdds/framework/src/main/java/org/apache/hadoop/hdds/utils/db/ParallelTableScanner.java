@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.hadoop.hdds.utils.db.Table.Projection;
+import org.apache.ratis.util.function.CheckedConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scan a table in parallel.
+ * <p>
+ * The keys are split into ranges at the smallest keys of the SST files of
+ * the table, and each range is scanned with its own iterator by a task in a
+ * {@link ForkJoinPool}.
+ * The entries are passed to the action as they are read, so that the memory
+ * usage is bounded by the parallelism of the pool, not by the table size.
+ * There are a few ranges for each thread to balance the load,
+ * since the ranges may have different numbers of entries.
+ * <p>
+ * Each iterator reads the db at the time it is created,
+ * so the ranges are not read from the same point in time.
+ */
+final class ParallelTableScanner<T> {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ParallelTableScanner.class);
+
+  static final int RANGES_PER_THREAD = 4;
+
+  private final RDBTable table;
+  private final byte[] prefix;
+  private final Projection<T> projection;
+  private final CheckedConsumer<T, IOException> action;
+  /** Set when a range fails, so that the other ranges stop early. */
+  private final AtomicBoolean stopped = new AtomicBoolean();
+
+  ParallelTableScanner(RDBTable table, byte[] prefix,
+      Projection<T> projection, CheckedConsumer<T, IOException> action) {
+    this.table = table;
+    this.prefix = prefix;
+    this.projection = projection;
+    this.action = action;
+  }
+
+  /** @return the number of the entries scanned. */
+  long scan(ForkJoinPool pool) throws IOException {
+    final List<byte[]> splitKeys = selectSplitKeys(
+        table.getSstFileSmallestKeys(), prefix,
+        pool.getParallelism() * RANGES_PER_THREAD);
+    final List<Callable<Long>> ranges = new ArrayList<>();
+    for (int i = 0; i <= splitKeys.size(); i++) {
+      final byte[] start = i == 0 ? null : splitKeys.get(i - 1);
+      final byte[] end = i == splitKeys.size() ? null : splitKeys.get(i);
+      ranges.add(() -> scanRange(start, end));
+    }
+    LOG.debug("Scanning {} in {} ranges", table.getName(), ranges.size());
+
+    long count = 0;
+    try {
+      for (Future<Long> f : pool.invokeAll(ranges)) {
+        count += f.get();
+      }
+      return count;
+    } catch (InterruptedException e) {
+      stopped.set(true);
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Interrupted while scanning " + table.getName()).initCause(e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("Failed to scan " + table.getName(), cause);
+    }
+  }
+
+  /**
+   * Select the split keys evenly from the given sorted keys.
+   *
+   * @return at most (numRanges - 1) split keys with the prefix, in ascending
+   *         order, which split the keys with the prefix into ranges.
+   */
+  @VisibleForTesting
+  static List<byte[]> selectSplitKeys(List<byte[]> sortedKeys, byte[] prefix,
+      int numRanges) {
+    final List<byte[]> candidates = new ArrayList<>(sortedKeys.size());
+    for (byte[] key : sortedKeys) {
+      // The first range starts from the prefix, so the prefix is not a split.
+      if (prefix == null || (key.length > prefix.length
+          && compare(ByteBuffer.wrap(key, 0, prefix.length), prefix) == 0)) {
+        candidates.add(key);
+      }
+    }
+    final int n = candidates.size();
+    if (n < numRanges) {
+      return candidates;
+    }
+    final List<byte[]> selected = new ArrayList<>(numRanges - 1);
+    for (int i = 1; i < numRanges; i++) {
+      selected.add(candidates.get((int) ((long) i * n / numRanges)));
+    }
+    return selected;
+  }
+
+  /** Scan the keys in [start, end), where null means unbounded. */
+  private long scanRange(byte[] start, byte[] end) throws IOException {
+    long count = 0;
+    try (TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> i =
+             newIterator()) {
+      if (start != null) {
+        final CodecBuffer startBuffer = toDirect(start);
+        try {
+          i.seek(startBuffer);
+        } finally {
+          startBuffer.release();
+        }
+      }
+      while (!stopped.get() && i.hasNext()) {
+        final KeyValue<CodecBuffer, CodecBuffer> raw = i.next();
+        if (end != null
+            && compare(raw.getKey().asReadOnlyByteBuffer(), end) >= 0) {
+          break;
+        }
+        action.accept(projection.apply(raw.getKey(), raw.getValue()));
+        count++;
+      }
+    } catch (IOException | RuntimeException e) {
+      stopped.set(true);
+      throw e;
+    }
+    return count;
+  }
+
+  private TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>>
+      newIterator() throws IOException {
+    // The iterator releases its prefix buffer, so each range has its own.
+    final CodecBuffer prefixBuffer = prefix == null ? null : toDirect(prefix);
+    try {
+      return table.iterator(prefixBuffer);
+    } catch (Throwable t) {
+      if (prefixBuffer != null) {
+        prefixBuffer.release();
+      }
+      throw t;
+    }
+  }
+
+  private static CodecBuffer toDirect(byte[] array) {
+    return CodecBuffer.allocateDirect(array.length)
+        .put(ByteBuffer.wrap(array));
+  }
+
+  /**
+   * Compare the remaining bytes of the given buffer with the given array
+   * lexicographically as unsigned bytes, which is the default order of
+   * RocksDB.
+   */
+  static int compare(ByteBuffer buffer, byte[] array) {
+    final int position = buffer.position();
+    final int length = buffer.remaining();
+    final int n = Math.min(length, array.length);
+    for (int i = 0; i < n; i++) {
+      final int diff = (buffer.get(position + i) & 0xFF) - (array[i] & 0xFF);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length - array.length;
+  }
+}
@@ -65,6 +65,10 @@ public void incNumDBKeyGets() {
     this.numDBKeyGets.incr();
   }
 
+  public void incNumDBKeyGets(int count) {
+    this.numDBKeyGets.incr(count);
+  }
+
   public long getNumDBKeyGetIfExistGets() {
     return numDBKeyGetIfExistGets.value();
   }
@@ -17,17 +17,21 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import com.google.common.primitives.UnsignedBytes;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.TreeSet;
 import java.util.function.Supplier;
+import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
 import org.apache.hadoop.util.Time;
+import org.rocksdb.LiveFileMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -130,6 +134,12 @@ Integer get(ByteBuffer key, ByteBuffer outValue) throws IOException {
     return db.get(family, key, outValue);
   }
 
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) throws IOException {
+    rdbMetrics.incNumDBKeyGets(keys.size());
+    return db.multiGet(family, keys);
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -243,6 +253,21 @@ public long getEstimatedKeyCount() throws IOException {
     return db.estimateNumKeys(family);
   }
 
+  /**
+   * @return the smallest keys of the live SST files of this table,
+   *         in ascending order without duplicates.
+   */
+  List<byte[]> getSstFileSmallestKeys() throws IOException {
+    final TreeSet<byte[]> keys =
+        new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+    for (LiveFileMetaData file : db.getLiveFilesMetaData()) {
+      if (getName().equals(StringUtils.bytes2String(file.columnFamilyName()))) {
+        keys.add(file.smallestKey());
+      }
+    }
+    return new ArrayList<>(keys);
+  }
+
   @Override
   public List<KeyValue<byte[], byte[]>> getRangeKVs(byte[] startKey,
       int count, byte[] prefix,
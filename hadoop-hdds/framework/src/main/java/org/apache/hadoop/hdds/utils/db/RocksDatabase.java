@@ -660,6 +660,25 @@ byte[] get(ColumnFamily family, byte[] key) throws RocksDatabaseException {
     }
   }
 
+  /**
+   * Get the values mapped to the given keys with a single RocksDB multiGet,
+   * which looks up the keys in a batch instead of one by one.
+   *
+   * @return the values in the order of the keys,
+   *         where the value is null if the key is not found.
+   */
+  List<byte[]> multiGet(ColumnFamily family, List<byte[]> keys)
+      throws RocksDatabaseException {
+    try (UncheckedAutoCloseable ignored = acquire()) {
+      return db.get().multiGetAsList(
+          Collections.nCopies(keys.size(), family.getHandle()), keys);
+    } catch (RocksDBException e) {
+      closeOnError(e);
+      final String message = "multiGet " + keys.size() + " keys from " + family;
+      throw toRocksDatabaseException(this, message, e);
+    }
+  }
+
   /**
    * Get the value mapped to the given key.
    *
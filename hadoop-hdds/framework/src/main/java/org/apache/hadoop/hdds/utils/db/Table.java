@@ -19,16 +19,19 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.ratis.util.function.CheckedConsumer;
 
 /**
  * Interface for key-value store that stores ozone metadata. Ozone metadata is
@@ -83,6 +86,24 @@ void putWithBatch(BatchOperation batch, KEY key, VALUE value)
    */
   VALUE get(KEY key) throws IOException;
 
+  /**
+   * Returns the values mapped to the given keys.
+   * The implementations may look up the keys in a batch,
+   * which is faster than calling {@link #get(Object)} for each key.
+   *
+   * @param keys metadata keys
+   * @return the values in the order of the keys,
+   *         where the value is null if the key is not found.
+   * @throws IOException on Failure
+   */
+  default List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    for (KEY key : keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -170,6 +191,52 @@ default VALUE getReadCopy(KEY key) throws IOException {
   TableIterator<KEY, ? extends KeyValue<KEY, VALUE>> iterator(KEY prefix)
       throws IOException;
 
+  /**
+   * Returns a prefixed iterator for this metadata store,
+   * which returns the results of the given projection applied to
+   * the raw key and value of each entry, instead of decoding them.
+   * Note that the table cache is not used.
+   *
+   * @param prefix the prefix of the keys, or null to iterate all the keys.
+   * @param projection to compute the result from the raw key and value.
+   * @return an iterator of the projected results.
+   */
+  default <T> TableIterator<KEY, T> iterator(KEY prefix,
+      Projection<T> projection) throws IOException {
+    throw new NotImplementedException(
+        "iterator with projection is not implemented");
+  }
+
+  /**
+   * Scan the entries with the given prefix in parallel,
+   * by splitting the keys into ranges, which are scanned by the given pool.
+   * The projection and the action are called by the threads of the pool
+   * concurrently, so they must be thread-safe.
+   * Note that the table cache is not used
+   * and the entries are not processed in order.
+   *
+   * @param prefix the prefix of the keys, or null to scan all the keys.
+   * @param projection to compute the result from the raw key and value.
+   * @param pool to scan the ranges.
+   * @param action to process the projected results.
+   * @return the number of the entries scanned.
+   */
+  default <T> long parallelScan(KEY prefix, Projection<T> projection,
+      ForkJoinPool pool, CheckedConsumer<T, IOException> action)
+      throws IOException {
+    throw new NotImplementedException("parallelScan is not implemented");
+  }
+
+  /**
+   * The same as {@link #parallelScan(Object, Projection, ForkJoinPool,
+   * CheckedConsumer)} for processing the decoded entries.
+   */
+  default long parallelScan(KEY prefix, ForkJoinPool pool,
+      CheckedConsumer<KeyValue<KEY, VALUE>, IOException> action)
+      throws IOException {
+    throw new NotImplementedException("parallelScan is not implemented");
+  }
+
   /**
    * Returns the Name of this Table.
    * @return - Table Name.
@@ -231,6 +298,16 @@ default void cleanupCache(List<Long> epochs) {
     throw new NotImplementedException("cacheIterator is not implemented");
   }
 
+  /**
+   * Return a cache iterator maintained for this table, which starts from the
+   * given key and iterates in the order of the keys.
+   * See {@link org.apache.hadoop.hdds.utils.db.cache.TableCache#iterator(Object)}.
+   */
+  default Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>
+      cacheIterator(KEY startKey) {
+    throw new NotImplementedException("cacheIterator is not implemented");
+  }
+
   /**
    * Create the metrics datasource that emits table cache metrics.
    */
@@ -415,6 +492,21 @@ public int hashCode() {
     };
   }
 
+  /**
+   * Compute a result from the raw key and value of an entry,
+   * such as decoding only the key or only a few fields of the value.
+   * <p>
+   * The buffers are owned by the iterator and are reused for the next entry,
+   * so they are valid only during the call
+   * and must not be released or retained.
+   *
+   * @param <T> the type of the result.
+   */
+  @FunctionalInterface
+  interface Projection<T> {
+    T apply(CodecBuffer key, CodecBuffer value) throws IOException;
+  }
+
   /** A {@link TableIterator} to iterate {@link KeyValue}s. */
   interface KeyValueIterator<KEY, VALUE>
       extends TableIterator<KEY, KeyValue<KEY, VALUE>> {
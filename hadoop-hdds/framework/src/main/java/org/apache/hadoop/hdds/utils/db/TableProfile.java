@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import java.util.Locale;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedBlockBasedTableConfig;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.IndexType;
+
+/**
+ * The tuning of a column family on top of the {@link DBProfile} options,
+ * for a table with a specific access pattern.
+ * <p>
+ * For a large table, the index and the bloom filter can be partitioned, so
+ * that only the top level index is pinned in the block cache and the
+ * partitions are cached as the data blocks, instead of loading the index and
+ * the filter of all the files in memory.
+ * The block size and the compression can also be set for each table.
+ * See https://github.com/facebook/rocksdb/wiki/Partitioned-Index-Filters
+ */
+public final class TableProfile {
+  private static final long METADATA_BLOCK_SIZE = 4096;
+
+  private final long blockSize;
+  private final CompressionType compression;
+  private final boolean partitionedIndexAndFilters;
+
+  /**
+   * @param blockSize the block size, or 0 to use the {@link DBProfile} value.
+   * @param compression the name of a {@link CompressionType}, such as
+   *                    LZ4_COMPRESSION, or empty to use the default.
+   * @param partitionedIndexAndFilters use partitioned index and filters?
+   */
+  public TableProfile(long blockSize, String compression,
+      boolean partitionedIndexAndFilters) {
+    this.blockSize = blockSize;
+    this.compression = compression == null || compression.trim().isEmpty()
+        ? null : CompressionType.valueOf(compression.trim().toUpperCase(Locale.ROOT));
+    this.partitionedIndexAndFilters = partitionedIndexAndFilters;
+  }
+
+  /**
+   * @return new column family options of the given {@link DBProfile}
+   *         tuned by this profile.
+   */
+  ManagedColumnFamilyOptions getColumnFamilyOptions(DBProfile dbProfile) {
+    final ManagedBlockBasedTableConfig tableConfig =
+        dbProfile.getBlockBasedTableConfig();
+    // Whole key filtering is for the point lookups by the full keys.
+    tableConfig.setWholeKeyFiltering(true);
+    if (blockSize > 0) {
+      tableConfig.setBlockSize(blockSize);
+    }
+    if (partitionedIndexAndFilters) {
+      tableConfig.setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setPartitionFilters(true)
+          .setMetadataBlockSize(METADATA_BLOCK_SIZE)
+          .setCacheIndexAndFilterBlocks(true)
+          .setCacheIndexAndFilterBlocksWithHighPriority(true)
+          .setPinTopLevelIndexAndFilter(true);
+    }
+
+    final ManagedColumnFamilyOptions options =
+        dbProfile.getColumnFamilyOptions();
+    if (compression != null) {
+      options.setCompressionType(compression);
+    }
+    return options.closeAndSetTableFormatConfig(tableConfig);
+  }
+
+  @Override
+  public String toString() {
+    return "blockSize=" + blockSize
+        + ", compression=" + compression
+        + ", partitionedIndexAndFilters=" + partitionedIndexAndFilters;
+  }
+}
@@ -30,6 +30,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.hadoop.hdds.utils.IOUtils;
 import org.apache.hadoop.hdds.utils.MetadataKeyFilters;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
@@ -37,12 +38,14 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapPartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.hdds.utils.db.cache.TableNoCache;
 import org.apache.ratis.util.Preconditions;
 import org.apache.ratis.util.function.CheckedBiFunction;
+import org.apache.ratis.util.function.CheckedConsumer;
 
 /**
  * Strongly typed table implementation.
@@ -104,7 +107,9 @@
               CacheValue.get(EPOCH_DEFAULT, kv.getValue()));
         }
       }
-    } else if (cacheType == CacheType.PARTIAL_CACHE) {
+    } else if (cacheType == CacheType.PARTIAL_OFF_HEAP_CACHE && valueCodec.supportCodecBuffer()) {
+      cache = new OffHeapPartialTableCache<>(threadNamePrefix, valueCodec);
+    } else if (cacheType == CacheType.PARTIAL_CACHE || cacheType == CacheType.PARTIAL_OFF_HEAP_CACHE) {
       cache = new PartialTableCache<>(threadNamePrefix);
     } else {
       cache = TableNoCache.instance();
@@ -115,6 +120,18 @@ private CodecBuffer encodeKeyCodecBuffer(KEY key) throws IOException {
     return key == null ? null : keyCodec.toDirectCodecBuffer(key);
   }
 
+  /** Encode the key to a direct buffer even if the codec does not support it. */
+  private CodecBuffer encodeKeyDirect(KEY key) throws IOException {
+    if (key == null) {
+      return null;
+    } else if (keyCodec.supportCodecBuffer()) {
+      return keyCodec.toDirectCodecBuffer(key);
+    }
+    final byte[] array = keyCodec.toPersistedFormat(key);
+    return CodecBuffer.allocateDirect(array.length)
+        .put(ByteBuffer.wrap(array));
+  }
+
   private byte[] encodeKey(KEY key) throws IOException {
     return key == null ? null : keyCodec.toPersistedFormat(key);
   }
@@ -123,6 +140,16 @@ private byte[] encodeValue(VALUE value) throws IOException {
     return value == null ? null : valueCodec.toPersistedFormat(value);
   }
 
+  private KEY decodeKey(CodecBuffer key) throws IOException {
+    return keyCodec.supportCodecBuffer() ? keyCodec.fromCodecBuffer(key)
+        : keyCodec.fromPersistedFormat(key.getArray());
+  }
+
+  private VALUE decodeValue(CodecBuffer value) throws IOException {
+    return valueCodec.supportCodecBuffer() ? valueCodec.fromCodecBuffer(value)
+        : valueCodec.fromPersistedFormat(value.getArray());
+  }
+
   private KEY decodeKey(byte[] key) throws IOException {
     return key == null ? null : keyCodec.fromPersistedFormat(key);
   }
@@ -211,7 +238,7 @@ public VALUE get(KEY key) throws IOException {
         cache.lookup(new CacheKey<>(key));
 
     if (cacheResult.getCacheStatus() == EXISTS) {
-      return valueCodec.copyObject(cacheResult.getValue().getCacheValue());
+      return copyCacheValue(cacheResult.getValue().getCacheValue());
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
@@ -219,6 +246,45 @@ public VALUE get(KEY key) throws IOException {
     }
   }
 
+  /**
+   * Similar to {@link #get(Object)} except that the keys not in the cache
+   * are looked up with a single {@link RDBTable#multiGet(List)}.
+   */
+  @Override
+  public List<VALUE> multiGet(List<KEY> keys) throws IOException {
+    final List<VALUE> values = new ArrayList<>(keys.size());
+    final List<Integer> indices = new ArrayList<>();
+    final List<byte[]> keyBytes = new ArrayList<>();
+    for (KEY key : keys) {
+      final CacheResult<VALUE> cacheResult = cache.lookup(new CacheKey<>(key));
+      if (cacheResult.getCacheStatus() == EXISTS) {
+        values.add(copyCacheValue(cacheResult.getValue().getCacheValue()));
+        continue;
+      }
+      values.add(null);
+      if (cacheResult.getCacheStatus() != NOT_EXIST) {
+        indices.add(values.size() - 1);
+        keyBytes.add(encodeKey(key));
+      }
+    }
+
+    if (!keyBytes.isEmpty()) {
+      final List<byte[]> valueBytes = rawTable.multiGet(keyBytes);
+      for (int i = 0; i < indices.size(); i++) {
+        values.set(indices.get(i), decodeValue(valueBytes.get(i)));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return a copy of the given cached value,
+   *         or the value itself if the cache already decodes a new object for each lookup.
+   */
+  private VALUE copyCacheValue(VALUE cached) {
+    return cache.getCacheType() == CacheType.PARTIAL_OFF_HEAP_CACHE ? cached : valueCodec.copyObject(cached);
+  }
+
   /**
    * Skip checking cache and get the value mapped to the given key in byte
    * array or returns null if the key is not found.
@@ -277,7 +343,7 @@ public VALUE getIfExist(KEY key) throws IOException {
         cache.lookup(new CacheKey<>(key));
 
     if (cacheResult.getCacheStatus() == EXISTS) {
-      return valueCodec.copyObject(cacheResult.getValue().getCacheValue());
+      return copyCacheValue(cacheResult.getValue().getCacheValue());
     } else if (cacheResult.getCacheStatus() == NOT_EXIST) {
       return null;
     } else {
@@ -418,6 +484,46 @@ public Table.KeyValueIterator<KEY, VALUE> iterator(KEY prefix)
     }
   }
 
+  /**
+   * The raw iterator always uses {@link CodecBuffer}s,
+   * so that the projection can read the direct buffers without copying them
+   * even if the codecs do not support {@link CodecBuffer}.
+   */
+  @Override
+  public <T> TableIterator<KEY, T> iterator(KEY prefix,
+      Projection<T> projection) throws IOException {
+    Objects.requireNonNull(projection, "projection == null");
+    final CodecBuffer prefixBuffer = encodeKeyDirect(prefix);
+    try {
+      return new ProjectionIterator<>(rawTable.iterator(prefixBuffer),
+          projection);
+    } catch (Throwable t) {
+      if (prefixBuffer != null) {
+        prefixBuffer.release();
+      }
+      throw t;
+    }
+  }
+
+  @Override
+  public <T> long parallelScan(KEY prefix, Projection<T> projection,
+      ForkJoinPool pool, CheckedConsumer<T, IOException> action)
+      throws IOException {
+    Objects.requireNonNull(projection, "projection == null");
+    return new ParallelTableScanner<>(rawTable, encodeKey(prefix), projection,
+        action).scan(pool);
+  }
+
+  @Override
+  public long parallelScan(KEY prefix, ForkJoinPool pool,
+      CheckedConsumer<KeyValue<KEY, VALUE>, IOException> action)
+      throws IOException {
+    return parallelScan(prefix, (key, value) -> {
+      final int rawSize = value.readableBytes();
+      return Table.newKeyValue(decodeKey(key), decodeValue(value), rawSize);
+    }, pool, action);
+  }
+
   @Override
   public String getName() {
     return rawTable.getName();
@@ -459,6 +565,12 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator() {
     return cache.iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> cacheIterator(
+      KEY startKey) {
+    return cache.iterator(startKey);
+  }
+
   @Override
   public TableCacheMetrics createCacheMetrics() {
     return TableCacheMetrics.create(cache, getName());
@@ -584,6 +696,76 @@ KeyValue<KEY, VALUE> convert(KeyValue<CodecBuffer, CodecBuffer> raw)
     };
   }
 
+  /**
+   * A {@link TableIterator} applying a {@link Projection}
+   * to the raw {@link CodecBuffer}s.
+   *
+   * @param <T> The type of the projected results.
+   */
+  private final class ProjectionIterator<T> implements TableIterator<KEY, T> {
+    private final TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>>
+        rawIterator;
+    private final Projection<T> projection;
+
+    private ProjectionIterator(
+        TableIterator<CodecBuffer, KeyValue<CodecBuffer, CodecBuffer>> rawIterator,
+        Projection<T> projection) {
+      this.rawIterator = rawIterator;
+      this.projection = projection;
+    }
+
+    private T apply(KeyValue<CodecBuffer, CodecBuffer> raw)
+        throws IOException {
+      return raw == null ? null : projection.apply(raw.getKey(), raw.getValue());
+    }
+
+    @Override
+    public void seekToFirst() {
+      rawIterator.seekToFirst();
+    }
+
+    @Override
+    public void seekToLast() {
+      rawIterator.seekToLast();
+    }
+
+    @Override
+    public T seek(KEY key) throws IOException {
+      final CodecBuffer buffer = encodeKeyDirect(key);
+      try {
+        return apply(rawIterator.seek(buffer));
+      } finally {
+        if (buffer != null) {
+          buffer.release();
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      rawIterator.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return rawIterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+      try {
+        return apply(rawIterator.next());
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed next()", e);
+      }
+    }
+
+    @Override
+    public void removeFromDB() throws IOException {
+      rawIterator.removeFromDB();
+    }
+  }
+
   /**
    * Table Iterator implementation for strongly typed tables.
    */
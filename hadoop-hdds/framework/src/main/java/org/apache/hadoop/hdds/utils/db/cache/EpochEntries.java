@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * The cache keys of a table cache indexed by epoch, for cleanup.
+ * <p>
+ * Adding a key never blocks: the request threads append it to a lock-free
+ * multi-producer single-consumer queue, allocating one node per key.
+ * The cleanup moves the queued nodes to a sorted map of per-epoch node chains,
+ * which is accessed only while holding the lock of this object,
+ * so that the request threads do not contend with the cleanup.
+ *
+ * @param <KEY> the type of the cache keys.
+ */
+final class EpochEntries<KEY> {
+
+  /** A queued cache key, chained with the other keys of the same epoch once it is removed from the queue. */
+  private static final class Node<KEY> {
+    private final long epoch;
+    private CacheKey<KEY> key;
+    /** The next node in the queue. */
+    private volatile Node<KEY> next;
+    /** The next node of the same epoch, set by the cleanup. */
+    private Node<KEY> nextInEpoch;
+
+    Node(long epoch, CacheKey<KEY> key) {
+      this.epoch = epoch;
+      this.key = key;
+    }
+  }
+
+  /** The last node of the queue, updated by the request threads. */
+  private final AtomicReference<Node<KEY>> tail;
+  /** The node before the first node of the queue, updated by the cleanup. */
+  private Node<KEY> head;
+  /** The first node of each epoch removed from the queue, updated by the cleanup. */
+  private final NavigableMap<Long, Node<KEY>> epochs = new TreeMap<>();
+
+  EpochEntries() {
+    head = new Node<>(-1, null);
+    tail = new AtomicReference<>(head);
+  }
+
+  /** Add the given key with the given epoch. */
+  void add(long epoch, CacheKey<KEY> key) {
+    final Node<KEY> node = new Node<>(epoch, key);
+    tail.getAndSet(node).next = node;
+  }
+
+  /** Move the queued nodes to {@link #epochs}. */
+  private void drain() {
+    for (Node<KEY> next = head.next; next != null; next = next.next) {
+      final Node<KEY> first = epochs.put(next.epoch, next);
+      next.nextInEpoch = first;
+      head = next;
+    }
+  }
+
+  /** @return true if there are no keys. */
+  synchronized boolean isEmpty() {
+    drain();
+    return epochs.isEmpty();
+  }
+
+  /** Remove the keys with an epoch less than or equal to the given epoch. */
+  synchronized void removeUpTo(long lastEpoch, ObjLongConsumer<CacheKey<KEY>> evict) {
+    drain();
+    while (!epochs.isEmpty() && epochs.firstKey() <= lastEpoch) {
+      evictChain(epochs.pollFirstEntry().getValue(), evict);
+    }
+  }
+
+  /** Remove the keys with any of the given epochs. */
+  synchronized void remove(List<Long> epochList, ObjLongConsumer<CacheKey<KEY>> evict) {
+    drain();
+    for (Long epoch : epochList) {
+      final Node<KEY> first = epochs.remove(epoch);
+      if (first != null) {
+        evictChain(first, evict);
+      }
+    }
+  }
+
+  private void evictChain(Node<KEY> first, ObjLongConsumer<CacheKey<KEY>> evict) {
+    for (Node<KEY> node = first; node != null;) {
+      evict.accept(node.key, node.epoch);
+      // The last node stays in the queue as the head node, do not hold the key.
+      node.key = null;
+      final Node<KEY> next = node.nextInEpoch;
+      node.nextInEpoch = null;
+      node = next;
+    }
+  }
+
+  /** @return a copy of the keys indexed by epoch. */
+  synchronized NavigableMap<Long, Set<CacheKey<KEY>>> toMap() {
+    drain();
+    final NavigableMap<Long, Set<CacheKey<KEY>>> map = new TreeMap<>();
+    epochs.forEach((epoch, first) -> {
+      final Set<CacheKey<KEY>> keys = new HashSet<>();
+      for (Node<KEY> node = first; node != null; node = node.nextInEpoch) {
+        keys.add(node.key);
+      }
+      map.put(epoch, keys);
+    });
+    return map;
+  }
+}
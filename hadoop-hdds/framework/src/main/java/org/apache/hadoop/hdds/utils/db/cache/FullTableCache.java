@@ -28,13 +28,10 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
 import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
 import org.slf4j.Logger;
@@ -53,13 +50,12 @@
   private static final Logger LOG =
       LoggerFactory.getLogger(FullTableCache.class);
 
-  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
-  private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
+  private final ConcurrentSkipListMap<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  /** The keys of the delete entries, which are removed from the cache once flushed. */
+  private final EpochEntries<KEY> epochEntries = new EpochEntries<>();
   private final ScheduledExecutorService executorService;
   private final Queue<Long> epochCleanupQueue = new ConcurrentLinkedQueue<>();
 
-  private final ReadWriteLock lock;
-
   private final CacheStatsRecorder statsRecorder;
 
   public FullTableCache(String threadNamePrefix) {
@@ -67,16 +63,12 @@ public FullTableCache(String threadNamePrefix) {
     // manner, so that list will be easy. But look ups have log(N) time
     // complexity.
 
-    // Here lock is required to protect cache because cleanup is not done
-    // under any ozone level locks like bucket/volume, there is a chance of
-    // cleanup which are not flushed to disks when request processing thread
-    // updates entries.
+    // Cleanup is not done under any ozone level locks like bucket/volume,
+    // so a request processing thread may update an entry being cleaned up.
+    // No cache level lock is required, since the entry is removed atomically
+    // by computeIfPresent only if it has not been updated.
     cache = new ConcurrentSkipListMap<>();
 
-    lock = new ReentrantReadWriteLock();
-
-    epochEntries = new ConcurrentSkipListMap<>();
-
     // Created a singleThreadExecutor, so one cleanup will be running at a
     // time.
     ThreadFactory threadFactory = new ThreadFactoryBuilder()
@@ -90,14 +82,9 @@ public FullTableCache(String threadNamePrefix) {
 
   @Override
   public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
-    try {
-      lock.readLock().lock();
-      CacheValue<VALUE> cachevalue = cache.get(cachekey);
-      statsRecorder.recordValue(cachevalue);
-      return cachevalue;
-    } finally {
-      lock.readLock().unlock();
-    }
+    CacheValue<VALUE> cachevalue = cache.get(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    return cachevalue;
   }
 
   @Override
@@ -111,16 +98,10 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
 
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
-    try {
-      lock.readLock().lock();
-      cache.put(cacheKey, value);
-      // add in case of null value for cleanup purpose only when key is deleted
-      if (value.getCacheValue() == null) {
-        epochEntries.computeIfAbsent(value.getEpoch(),
-            v -> new CopyOnWriteArraySet<>()).add(cacheKey);
-      }
-    } finally {
-      lock.readLock().unlock();
+    cache.put(cacheKey, value);
+    // add in case of null value for cleanup purpose only when key is deleted
+    if (value.getCacheValue() == null) {
+      epochEntries.add(value.getEpoch(), cacheKey);
     }
   }
 
@@ -150,6 +131,14 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    statsRecorder.recordIteration();
+    return (startKey == null ? cache
+        : cache.tailMap(new CacheKey<>(startKey))).entrySet().iterator();
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
@@ -158,42 +147,22 @@ public void evictCache(List<Long> epochs) {
       return;
     }
 
-    Set<CacheKey<KEY>> currentCacheKeys;
-
-    long lastEpoch = epochs.get(epochs.size() - 1);
-    // Acquire lock to avoid race between cleanup and add to cache entry by
-    // client requests.
-    try {
-      lock.writeLock().lock();
-      for (long currentEpoch : epochEntries.keySet()) {
-        currentCacheKeys = epochEntries.get(currentEpoch);
-
-        // If currentEntry epoch is greater than last epoch provided, we have
-        // deleted all entries less than specified epoch. So, we can break.
-        if (currentEpoch > lastEpoch) {
-          break;
-        }
-
-        for (CacheKey<KEY> currentCacheKey : currentCacheKeys) {
-          cache.computeIfPresent(currentCacheKey, ((k, v) -> {
-            // If cache epoch entry matches with current Epoch, remove entry
-            // from cache.
-            if (v.getCacheValue() == null && v.getEpoch() == currentEpoch) {
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("CacheKey {} with epoch {} is removed from cache",
-                    k.getCacheKey(), currentEpoch);
-              }
-              return null;
+    // All the entries with epoch less than or equal to the last epoch
+    // provided are flushed, so they can be removed.
+    final long lastEpoch = epochs.get(epochs.size() - 1);
+    epochEntries.removeUpTo(lastEpoch, (cacheKey, epoch) ->
+        cache.computeIfPresent(cacheKey, ((k, v) -> {
+          // If cache epoch entry matches with current Epoch, remove entry
+          // from cache.
+          if (v.getCacheValue() == null && v.getEpoch() == epoch) {
+            if (LOG.isDebugEnabled()) {
+              LOG.debug("CacheKey {} with epoch {} is removed from cache",
+                  k.getCacheKey(), epoch);
             }
-            return v;
-          }));
-          // Remove epoch entry, as the entry is there in epoch list.
-          epochEntries.remove(currentEpoch);
-        }
-      }
-    } finally {
-      lock.writeLock().unlock();
-    }
+            return null;
+          }
+          return v;
+        })));
   }
 
   @Override
@@ -218,7 +187,7 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
   @VisibleForTesting
   @Override
   public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
-    return epochEntries;
+    return epochEntries.toMap();
   }
 
   @Override
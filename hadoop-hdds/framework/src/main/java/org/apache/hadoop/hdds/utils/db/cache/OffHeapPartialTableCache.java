@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.annotation.InterfaceAudience.Private;
+import org.apache.hadoop.hdds.annotation.InterfaceStability.Evolving;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.CodecException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The same as {@link PartialTableCache} except that the values are stored
+ * serialized in direct {@link CodecBuffer}s instead of as Java objects.
+ * <p>
+ * A value is encoded once when it is put
+ * and then decoded to a new object for each read,
+ * so that the entries do not occupy the heap
+ * other than a small fixed size overhead.
+ * Since the callers always get a new object,
+ * they may modify it without copying.
+ * <p>
+ * A buffer is released when its entry is evicted or overridden.
+ * The readers retain the buffer while decoding it,
+ * so that an entry can be evicted concurrently.
+ * <p>
+ * The direct memory allocated by all the instances is bounded by
+ * {@link #setMaxAllocatedBytes(long)}.
+ * When the limit is reached, the new values are kept on the heap
+ * and copied for each read, as {@link PartialTableCache} does.
+ *
+ * @param <KEY>
+ * @param <VALUE>
+ */
+@Private
+@Evolving
+public class OffHeapPartialTableCache<KEY, VALUE>
+    implements TableCache<KEY, VALUE> {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(OffHeapPartialTableCache.class);
+
+  /** The direct memory allocated by all the instances. */
+  private static final AtomicLong TOTAL_ALLOCATED_BYTES = new AtomicLong();
+  private static volatile long maxAllocatedBytes = Long.MAX_VALUE;
+
+  /** A cache entry with a reference counted buffer. */
+  private final class Entry {
+    private final long epoch;
+    /** The serialized value; null if the value is on the heap or the entry is marked for delete. */
+    private final CodecBuffer buffer;
+    /** The value if it is not serialized since the direct memory limit is reached. */
+    private final VALUE heapValue;
+    /** One reference is held by the cache and one by each reader. */
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    Entry(long epoch, CodecBuffer buffer, VALUE heapValue) {
+      this.epoch = epoch;
+      this.buffer = buffer;
+      this.heapValue = heapValue;
+    }
+
+    /** @return true if the buffer is retained; false if it is released. */
+    boolean retain() {
+      for (int r = references.get(); r > 0; r = references.get()) {
+        if (references.compareAndSet(r, r + 1)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0 && buffer != null) {
+        final int size = buffer.readableBytes();
+        buffer.release();
+        allocatedBytes.addAndGet(-size);
+        TOTAL_ALLOCATED_BYTES.addAndGet(-size);
+      }
+    }
+  }
+
+  private final Codec<VALUE> valueCodec;
+  // Sorted, so that an iteration from a start key can seek (see PartialTableCache).
+  private final NavigableMap<CacheKey<KEY>, Entry> cache = new ConcurrentSkipListMap<>();
+  private final EpochEntries<KEY> epochEntries = new EpochEntries<>();
+  private final ExecutorService executorService;
+  private final CacheStatsRecorder statsRecorder = new CacheStatsRecorder();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+
+  public OffHeapPartialTableCache(String threadNamePrefix,
+      Codec<VALUE> valueCodec) {
+    Preconditions.checkArgument(valueCodec.supportCodecBuffer(),
+        "%s does not support CodecBuffer", valueCodec);
+    this.valueCodec = valueCodec;
+
+    // Created a singleThreadExecutor, so one cleanup will be running at a
+    // time.
+    ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(threadNamePrefix + "OffHeapPartialTableCache-Cleanup-%d")
+        .build();
+    executorService = Executors.newSingleThreadExecutor(threadFactory);
+  }
+
+  /**
+   * Set the limit of the direct memory allocated by all the instances.
+   * It does not release the memory already allocated.
+   */
+  public static void setMaxAllocatedBytes(long maxBytes) {
+    Preconditions.checkArgument(maxBytes >= 0, "maxBytes = %s < 0", maxBytes);
+    maxAllocatedBytes = maxBytes;
+  }
+
+  /** @return the direct memory allocated by all the instances. */
+  public static long getTotalAllocatedBytes() {
+    return TOTAL_ALLOCATED_BYTES.get();
+  }
+
+  /** @return true if the given number of bytes is reserved within the limit. */
+  private static boolean reserve(long size) {
+    for (long total = TOTAL_ALLOCATED_BYTES.get(); total + size <= maxAllocatedBytes;
+         total = TOTAL_ALLOCATED_BYTES.get()) {
+      if (TOTAL_ALLOCATED_BYTES.compareAndSet(total, total + size)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public CacheValue<VALUE> get(CacheKey<KEY> cachekey) {
+    CacheValue<VALUE> value = getValue(cachekey);
+    statsRecorder.recordValue(value);
+    return value;
+  }
+
+  private CacheValue<VALUE> getValue(CacheKey<KEY> cachekey) {
+    while (true) {
+      final Entry entry = cache.get(cachekey);
+      if (entry == null) {
+        return null;
+      }
+      final CacheValue<VALUE> value = decode(entry);
+      if (value != null) {
+        return value;
+      }
+      // The entry was evicted or overridden after it was found, look it up again.
+    }
+  }
+
+  /** @return the decoded value; or null if the entry is already released. */
+  private CacheValue<VALUE> decode(Entry entry) {
+    if (entry.buffer == null) {
+      return entry.heapValue == null ? CacheValue.get(entry.epoch)
+          : CacheValue.get(entry.epoch, valueCodec.copyObject(entry.heapValue));
+    }
+    if (!entry.retain()) {
+      return null;
+    }
+    try {
+      return CacheValue.get(entry.epoch,
+          valueCodec.fromCodecBuffer(entry.buffer));
+    } catch (CodecException e) {
+      throw new IllegalStateException("Failed to decode cache value "
+          + entry.buffer + " with " + valueCodec, e);
+    } finally {
+      entry.release();
+    }
+  }
+
+  @Override
+  public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
+    // Do nothing for partial table cache.
+  }
+
+  @Override
+  public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    final Entry previous = cache.put(cacheKey, newEntry(cacheKey, value));
+    if (previous != null) {
+      previous.release();
+    }
+    epochEntries.add(value.getEpoch(), cacheKey);
+  }
+
+  private Entry newEntry(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
+    final VALUE v = value.getCacheValue();
+    if (v == null) {
+      return new Entry(value.getEpoch(), null, null);
+    }
+    final CodecBuffer buffer;
+    try {
+      buffer = valueCodec.toDirectCodecBuffer(v);
+    } catch (CodecException e) {
+      throw new IllegalStateException("Failed to encode cache value for "
+          + cacheKey.getCacheKey() + " with " + valueCodec, e);
+    }
+    final int size = buffer.readableBytes();
+    if (!reserve(size)) {
+      // The limit is reached, keep the value on the heap.
+      buffer.release();
+      return new Entry(value.getEpoch(), null, v);
+    }
+    allocatedBytes.addAndGet(size);
+    return new Entry(value.getEpoch(), buffer, null);
+  }
+
+  @Override
+  public void cleanup(List<Long> epochs) {
+    executorService.execute(() -> evictCache(epochs));
+  }
+
+  @Override
+  public int size() {
+    return cache.size();
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
+    statsRecorder.recordIteration();
+    return decodeIterator(cache);
+  }
+
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    statsRecorder.recordIteration();
+    return decodeIterator(startKey == null ? cache
+        : cache.tailMap(new CacheKey<>(startKey)));
+  }
+
+  /** Decode the values lazily, as an iteration is usually stopped early. */
+  private Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> decodeIterator(
+      Map<CacheKey<KEY>, Entry> map) {
+    final Iterator<Map.Entry<CacheKey<KEY>, Entry>> entries =
+        map.entrySet().iterator();
+    return new Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>>() {
+      private Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> next = findNext();
+
+      private Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> findNext() {
+        while (entries.hasNext()) {
+          final Map.Entry<CacheKey<KEY>, Entry> e = entries.next();
+          final CacheValue<VALUE> value = decode(e.getValue());
+          // Skip the entries evicted during the iteration.
+          if (value != null) {
+            return new AbstractMap.SimpleImmutableEntry<>(e.getKey(), value);
+          }
+        }
+        return null;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        final Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> current = next;
+        next = findNext();
+        return current;
+      }
+    };
+  }
+
+  @VisibleForTesting
+  @Override
+  public void evictCache(List<Long> epochs) {
+    // The function of ConcurrentSkipListMap computeIfPresent may be applied
+    // more than once, so the entry is removed only if it is not replaced
+    // and then released exactly once.
+    epochEntries.remove(epochs, (cacheKey, epoch) -> {
+      final Entry entry = cache.get(cacheKey);
+      // If cache epoch entry matches with current Epoch, remove entry
+      // from cache.
+      if (entry != null && entry.epoch == epoch && cache.remove(cacheKey, entry)) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("CacheKey {} with epoch {} is removed from cache",
+              cacheKey.getCacheKey(), epoch);
+        }
+        entry.release();
+      }
+    });
+  }
+
+  @Override
+  public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
+
+    CacheValue<VALUE> cachevalue = getValue(cachekey);
+    statsRecorder.recordValue(cachevalue);
+    if (cachevalue == null) {
+      return (CacheResult<VALUE>) MAY_EXIST;
+    } else {
+      if (cachevalue.getCacheValue() != null) {
+        return new CacheResult<>(CacheResult.CacheStatus.EXISTS, cachevalue);
+      } else {
+        // When entity is marked for delete, cacheValue will be set to null.
+        return new CacheResult<>(CacheResult.CacheStatus.NOT_EXIST, null);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  @Override
+  public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
+    return epochEntries.toMap();
+  }
+
+  @Override
+  public CacheStats getStats() {
+    return statsRecorder.snapshot();
+  }
+
+  @Override
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  @Override
+  public CacheType getCacheType() {
+    return CacheType.PARTIAL_OFF_HEAP_CACHE;
+  }
+}
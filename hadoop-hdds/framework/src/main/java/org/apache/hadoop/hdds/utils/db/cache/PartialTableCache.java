@@ -19,13 +19,11 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -49,28 +47,27 @@
   private static final Logger LOG =
       LoggerFactory.getLogger(PartialTableCache.class);
 
-  private final Map<CacheKey<KEY>, CacheValue<VALUE>> cache;
-  private final NavigableMap<Long, Set<CacheKey<KEY>>> epochEntries;
+  private final ConcurrentSkipListMap<CacheKey<KEY>, CacheValue<VALUE>> cache;
+  private final EpochEntries<KEY> epochEntries = new EpochEntries<>();
   private final ExecutorService executorService;
   private final CacheStatsRecorder statsRecorder;
 
   public PartialTableCache(String threadNamePrefix) {
-    // We use concurrent Hash map for O(1) lookup for get API.
-    // During list operation for partial cache we anyway merge between DB and
-    // cache state. So entries in cache does not need to be in sorted order.
+    // The entries are sorted, so that a list operation can seek to its start
+    // key in the cache and merge it with the DB iterator, instead of scanning
+    // and sorting the whole cache. But look ups have log(N) time complexity.
 
-    // And as concurrentHashMap computeIfPresent which is used by cleanup is
-    // atomic operation, and ozone level locks like bucket/volume locks
-    // protect updating same key, here it is not required to hold cache
-    // level locks during update/cleanup operation.
+    // And as computeIfPresent used by cleanup removes an entry atomically
+    // only if it has not been updated, and ozone level locks like
+    // bucket/volume locks protect updating same key, here it is not required
+    // to hold cache level locks during update/cleanup operation.
 
     // 1. During update, it is caller responsibility to hold volume/bucket
     // locks.
     // 2. During cleanup which removes entry, while request is updating cache
-    // that should be guarded by concurrentHashMap guaranty.
-    cache = new ConcurrentHashMap<>();
+    // that should be guarded by ConcurrentSkipListMap guaranty.
+    cache = new ConcurrentSkipListMap<>();
 
-    epochEntries = new ConcurrentSkipListMap<>();
     // Created a singleThreadExecutor, so one cleanup will be running at a
     // time.
     ThreadFactory threadFactory = new ThreadFactoryBuilder()
@@ -97,8 +94,7 @@ public void loadInitial(CacheKey<KEY> key, CacheValue<VALUE> value) {
   @Override
   public void put(CacheKey<KEY> cacheKey, CacheValue<VALUE> value) {
     cache.put(cacheKey, value);
-    epochEntries.computeIfAbsent(value.getEpoch(), v -> new HashSet<>())
-            .add(cacheKey);
+    epochEntries.add(value.getEpoch(), cacheKey);
   }
 
   @Override
@@ -117,41 +113,33 @@ public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator() {
     return cache.entrySet().iterator();
   }
 
+  @Override
+  public Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    statsRecorder.recordIteration();
+    return (startKey == null ? cache
+        : cache.tailMap(new CacheKey<>(startKey))).entrySet().iterator();
+  }
+
   @VisibleForTesting
   @Override
   public void evictCache(List<Long> epochs) {
-    Set<CacheKey<KEY>> currentCacheKeys;
-
-    long lastEpoch = epochs.get(epochs.size() - 1);
-    for (long currentEpoch : epochEntries.keySet()) {
-      currentCacheKeys = epochEntries.get(currentEpoch);
-
-      // If currentEntry epoch is greater than last epoch provided, we have
-      // deleted all entries less than specified epoch. So, we can break.
-      if (currentEpoch > lastEpoch) {
-        break;
-      }
-      // As ConcurrentHashMap computeIfPresent is atomic, there is no race
-      // condition between cache cleanup and requests updating same cache entry.
-      if (epochs.contains(currentEpoch)) {
-        for (CacheKey<KEY> currentCacheKey : currentCacheKeys) {
-          cache.computeIfPresent(currentCacheKey, ((k, v) -> {
-            // If cache epoch entry matches with current Epoch, remove entry
-            // from cache.
-            if (v.getEpoch() == currentEpoch) {
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("CacheKey {} with epoch {} is removed from cache",
-                        k.getCacheKey(), currentEpoch);
-              }
-              return null;
+    // As ConcurrentSkipListMap computeIfPresent replaces the entry atomically,
+    // there is no race condition between cache cleanup and requests updating
+    // same cache entry.
+    epochEntries.remove(epochs, (cacheKey, epoch) ->
+        cache.computeIfPresent(cacheKey, ((k, v) -> {
+          // If cache epoch entry matches with current Epoch, remove entry
+          // from cache.
+          if (v.getEpoch() == epoch) {
+            if (LOG.isDebugEnabled()) {
+              LOG.debug("CacheKey {} with epoch {} is removed from cache",
+                  k.getCacheKey(), epoch);
             }
-            return v;
-          }));
-        }
-        // Remove epoch entry, as the entry is there in epoch list.
-        epochEntries.remove(currentEpoch);
-      }
-    }
+            return null;
+          }
+          return v;
+        })));
   }
 
   @Override
@@ -174,7 +162,7 @@ public CacheResult<VALUE> lookup(CacheKey<KEY> cachekey) {
   @VisibleForTesting
   @Override
   public NavigableMap<Long, Set<CacheKey<KEY>>> getEpochEntries() {
-    return epochEntries;
+    return epochEntries.toMap();
   }
 
   @Override
@@ -18,6 +18,7 @@
 package org.apache.hadoop.hdds.utils.db.cache;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +79,33 @@
    */
   Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator();
 
+  /**
+   * Return an iterator for the cache entries with the keys greater than or
+   * equal to the given key, in the order of the keys.
+   * <p>
+   * The default implementation sorts the entries of {@link #iterator()};
+   * a sorted cache should override it to seek without the sorting.
+   *
+   * @param startKey the key to start, or null to start from the first key.
+   * @return a sorted iterator of the underlying cache for the table.
+   */
+  default Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> iterator(
+      KEY startKey) {
+    final CacheKey<KEY> start = startKey == null ? null
+        : new CacheKey<>(startKey);
+    final List<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> entries =
+        new ArrayList<>();
+    for (Iterator<Map.Entry<CacheKey<KEY>, CacheValue<VALUE>>> i = iterator();
+         i.hasNext();) {
+      final Map.Entry<CacheKey<KEY>, CacheValue<VALUE>> entry = i.next();
+      if (start == null || entry.getKey().compareTo(start) >= 0) {
+        entries.add(entry);
+      }
+    }
+    entries.sort(Map.Entry.comparingByKey());
+    return entries.iterator();
+  }
+
   /**
    * Check key exist in cache or not.
    *
@@ -103,6 +131,13 @@
    */
   CacheStats getStats();
 
+  /**
+   * @return the direct memory allocated for the cached values.
+   */
+  default long getAllocatedBytes() {
+    return 0;
+  }
+
   /**
    * Return the cache type.
    */
@@ -116,6 +151,8 @@ enum CacheType {
     // state are same.
     PARTIAL_CACHE, // This is partial table cache, cache state is partial state
     // compared to DB state.
+    PARTIAL_OFF_HEAP_CACHE, // The same as PARTIAL_CACHE except that the values
+    // are stored serialized in off-heap buffers.
     NO_CACHE
   }
 }
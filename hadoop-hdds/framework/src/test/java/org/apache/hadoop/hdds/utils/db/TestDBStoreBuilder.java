@@ -39,6 +39,8 @@
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
 
 /**
  * Tests RDBStore creation.
@@ -161,6 +163,43 @@ public void builderWithDiskProfileWrites(@TempDir Path tempDir)
     }
   }
 
+  @Test
+  public void builderWithTableProfile(@TempDir Path tempDir) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    try (RDBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Test.db")
+        .setPath(tempDir)
+        .addTable("First")
+        .addTable("Second")
+        .setTableProfile("First",
+            new TableProfile(32 << 10, "lz4_compression", true))
+        .disableDefaultCFAutoCompaction(true)
+        .build()) {
+      try (Table<byte[], byte[]> firstTable = dbStore.getTable("First")) {
+        byte[] key =
+            RandomStringUtils.secure().next(9).getBytes(StandardCharsets.UTF_8);
+        byte[] value =
+            RandomStringUtils.secure().next(9).getBytes(StandardCharsets.UTF_8);
+        firstTable.put(key, value);
+        dbStore.flushDB();
+        assertArrayEquals(value, firstTable.get(key));
+      }
+
+      for (RocksDatabase.ColumnFamily cf : dbStore.getColumnFamilies()) {
+        final ColumnFamilyOptions options =
+            cf.getHandle().getDescriptor().getOptions();
+        assertTrue(options.disableAutoCompactions());
+        if (cf.getName().equals("First")) {
+          assertEquals(CompressionType.LZ4_COMPRESSION,
+              options.compressionType());
+        } else {
+          assertNotEquals(CompressionType.LZ4_COMPRESSION,
+              options.compressionType());
+        }
+      }
+    }
+  }
+
   @Test
   public void builderWithColumnFamilyOptions(@TempDir Path tempDir)
       throws Exception {
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import static org.apache.hadoop.hdds.StringUtils.string2Bytes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.hadoop.hdds.StringUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link ParallelTableScanner}.
+ */
+public class TestParallelTableScanner {
+
+  @Test
+  public void testSelectSplitKeys() {
+    final List<byte[]> keys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      keys.add(string2Bytes("a" + i));
+      keys.add(string2Bytes("b" + i));
+    }
+    keys.sort(UnsignedBytes.lexicographicalComparator());
+
+    // fewer keys than the ranges
+    assertEquals(Arrays.asList("b0", "b1", "b2"),
+        selectSplitKeys(keys.subList(10, 13), null, 4));
+    // the keys are selected evenly
+    assertEquals(Arrays.asList("a5", "b0", "b5"),
+        selectSplitKeys(keys, null, 4));
+    // only the keys with the prefix, excluding the prefix itself
+    keys.add(10, string2Bytes("b"));
+    assertEquals(Arrays.asList("b2", "b5", "b7"),
+        selectSplitKeys(keys, string2Bytes("b"), 4));
+  }
+
+  @Test
+  public void testCompare() {
+    final byte[] array = {1, (byte) 0xFF};
+    assertEquals(0, ParallelTableScanner.compare(ByteBuffer.wrap(array), array));
+    // unsigned
+    assertThat(ParallelTableScanner.compare(
+        ByteBuffer.wrap(new byte[] {1, 0x7F}), array)).isNegative();
+    // a prefix is smaller
+    assertThat(ParallelTableScanner.compare(
+        ByteBuffer.wrap(new byte[] {1}), array)).isNegative();
+    assertThat(ParallelTableScanner.compare(
+        ByteBuffer.wrap(new byte[] {1, (byte) 0xFF, 0}), array)).isPositive();
+  }
+
+  private static List<String> selectSplitKeys(List<byte[]> keys,
+      byte[] prefix, int numRanges) {
+    return ParallelTableScanner.selectSplitKeys(keys, prefix, numRanges)
+        .stream()
+        .map(StringUtils::bytes2String)
+        .collect(Collectors.toList());
+  }
+}
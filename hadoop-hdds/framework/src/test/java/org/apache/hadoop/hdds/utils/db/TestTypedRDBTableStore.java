@@ -39,6 +39,8 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
@@ -243,6 +245,68 @@ public void forEachAndIterator() throws Exception {
     }
   }
 
+  @Test
+  public void testIteratorWithProjection() throws Exception {
+    try (Table<String, String> testTable = createTypedTable("Fifth")) {
+      testTable.put("a1", "v1");
+      testTable.put("a2", "value2");
+      testTable.put("b1", "v3");
+      // The cache is not used.
+      testTable.addCacheEntry(new CacheKey<>("a3"), CacheValue.get(1, "v4"));
+
+      final Table.Projection<String> keyAndSize = (key, value) ->
+          StringCodec.get().fromCodecBuffer(key) + ":" + value.readableBytes();
+      final List<String> projected = new ArrayList<>();
+      try (TableIterator<String, String> i =
+               testTable.iterator("a", keyAndSize)) {
+        i.forEachRemaining(projected::add);
+        assertEquals("a2:6", i.seek("a2"));
+      }
+      assertEquals(Arrays.asList("a1:2", "a2:6"), projected);
+
+      try (TableIterator<String, String> i =
+               testTable.iterator(null, keyAndSize)) {
+        assertEquals("b1:2", i.seek("a3"));
+        assertNull(i.seek("c"));
+      }
+    }
+  }
+
+  @Test
+  public void testParallelScan() throws Exception {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try (Table<String, String> testTable = createTypedTable("Seven")) {
+      final Set<String> expected = new HashSet<>();
+      for (char c = 'a'; c <= 'c'; c++) {
+        for (int i = 0; i < 100; i++) {
+          final String key = String.format("%c%03d", c, i);
+          testTable.put(key, "value-" + key);
+          if (c == 'b') {
+            expected.add(key);
+          }
+          // flush to create SST files with different key ranges
+          if (i % 10 == 9) {
+            rdbStore.flushDB();
+          }
+        }
+      }
+
+      final Set<String> keys = ConcurrentHashMap.newKeySet();
+      assertEquals(100, testTable.parallelScan("b",
+          (key, value) -> StringCodec.get().fromCodecBuffer(key), pool,
+          keys::add));
+      assertEquals(expected, keys);
+
+      final Set<String> values = ConcurrentHashMap.newKeySet();
+      assertEquals(300, testTable.parallelScan(null, pool,
+          kv -> values.add(kv.getValue())));
+      assertEquals(300, values.size());
+      assertTrue(values.contains("value-c099"));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
   @Test
   public void testIteratorOnException() throws Exception {
     RDBTable rdbTable = mock(RDBTable.class);
@@ -368,6 +432,24 @@ public void testGetIfExist() throws Exception {
     }
   }
 
+  @Test
+  public void testMultiGet() throws Exception {
+    try (Table<String, String> testTable = createTypedTable(
+        "Ninth")) {
+      testTable.put("a", "db-a");
+      testTable.put("b", "db-b");
+      testTable.put("c", "db-c");
+      // The cache overrides the db.
+      testTable.addCacheEntry(new CacheKey<>("b"), CacheValue.get(1, "cache-b"));
+      testTable.addCacheEntry(new CacheKey<>("c"), CacheValue.get(1));
+      testTable.addCacheEntry(new CacheKey<>("d"), CacheValue.get(1, "cache-d"));
+
+      assertEquals(Arrays.asList("db-a", "cache-b", null, "cache-d", null),
+          testTable.multiGet(Arrays.asList("a", "b", "c", "d", "e")));
+      assertEquals(new ArrayList<>(), testTable.multiGet(new ArrayList<>()));
+    }
+  }
+
   @Test
   public void testIsExistCache() throws Exception {
     try (Table<String, String> testTable = createTypedTable(
@@ -24,9 +24,12 @@
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -51,13 +54,16 @@ private void createTableCache(TableCache.CacheType cacheType) {
       tableCache = new FullTableCache<>("");
     } else if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
       tableCache = new PartialTableCache<>("");
+    } else if (cacheType == TableCache.CacheType.PARTIAL_OFF_HEAP_CACHE) {
+      tableCache = new OffHeapPartialTableCache<>("", StringCodec.get());
     } else {
       tableCache = TableNoCache.instance();
     }
   }
 
   private static Stream<TableCache.CacheType> cacheTypeList() {
-    return Stream.of(TableCache.CacheType.FULL_CACHE, TableCache.CacheType.PARTIAL_CACHE);
+    return Stream.of(TableCache.CacheType.FULL_CACHE, TableCache.CacheType.PARTIAL_CACHE,
+        TableCache.CacheType.PARTIAL_OFF_HEAP_CACHE);
   }
 
   @ParameterizedTest
@@ -151,7 +157,7 @@ public void testTableCacheWithRenameKey(TableCache.CacheType cacheType) {
 
     assertEquals(0, tableCache.getEpochEntries().size());
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(0, tableCache.size());
     } else {
       assertEquals(3, tableCache.size());
@@ -189,7 +195,7 @@ public void testPartialTableCacheWithNotContinuousEntries(
     final int count = totalCount;
 
     // If cleanup policy is manual entries should have been removed.
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(count - epochs.size(), tableCache.size());
 
       // Check remaining entries exist or not and deleted entries does not
@@ -255,7 +261,7 @@ public void testPartialTableCacheWithOverrideEntries(
     epochs.add(3L);
     epochs.add(4L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
 
       tableCache.evictCache(epochs);
 
@@ -270,7 +276,7 @@ public void testPartialTableCacheWithOverrideEntries(
 
     epochs = new ArrayList<>();
     epochs.add(5L);
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -336,7 +342,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs.add(6L);
 
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -358,7 +364,7 @@ public void testPartialTableCacheWithOverrideAndDelete(
     epochs = new ArrayList<>();
     epochs.add(7L);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       tableCache.evictCache(epochs);
 
       assertEquals(0, tableCache.size());
@@ -423,7 +429,7 @@ public void testPartialTableCacheParallel(
 
     totalCount += value;
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       int deleted = 5;
 
       // cleanup first 5 entries
@@ -463,6 +469,52 @@ public void testPartialTableCacheParallel(
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("cacheTypeList")
+  public void testConcurrentPutAndEvict(TableCache.CacheType cacheType)
+      throws Exception {
+
+    createTableCache(cacheType);
+
+    final int writers = 4;
+    final int epochsPerWriter = 1000;
+    final AtomicLong nextEpoch = new AtomicLong();
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < epochsPerWriter; i++) {
+          final long epoch = nextEpoch.getAndIncrement();
+          // Deleted entries are cleaned up by both cache types.
+          tableCache.put(new CacheKey<>(Long.toString(epoch)),
+              CacheValue.get(epoch));
+        }
+      }));
+    }
+
+    // Evict while the writers are adding entries.
+    final long total = (long) writers * epochsPerWriter;
+    while (!futures.stream().allMatch(CompletableFuture::isDone)) {
+      final long last = nextEpoch.get() - 1;
+      final List<Long> epochs = new ArrayList<>();
+      for (long e = Math.max(0, last - 100); e <= last; e++) {
+        epochs.add(e);
+      }
+      if (!epochs.isEmpty()) {
+        tableCache.evictCache(epochs);
+      }
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    final List<Long> epochs = new ArrayList<>();
+    for (long e = 0; e < total; e++) {
+      epochs.add(e);
+    }
+    tableCache.evictCache(epochs);
+
+    assertEquals(0, tableCache.size());
+    assertEquals(0, tableCache.getEpochEntries().size());
+  }
+
   @ParameterizedTest
   @MethodSource("cacheTypeList")
   public void testTableCache(TableCache.CacheType cacheType) {
@@ -546,7 +598,7 @@ public void testTableCacheWithNonConsecutiveEpochList(
 
     tableCache.evictCache(epochs);
 
-    if (cacheType == TableCache.CacheType.PARTIAL_CACHE) {
+    if (cacheType != TableCache.CacheType.FULL_CACHE) {
       assertEquals(0, tableCache.size());
       assertEquals(0, tableCache.getEpochEntries().size());
     } else {
@@ -589,6 +641,60 @@ public void testTableCacheStats(TableCache.CacheType cacheType) {
     verifyStats(tableCache, 3, 2, 2);
   }
 
+  @ParameterizedTest
+  @MethodSource("cacheTypeList")
+  public void testIteratorFromStartKey(TableCache.CacheType cacheType) {
+    createTableCache(cacheType);
+    for (String key : new String[] {"b/2", "a/1", "b/1", "c/1", "b/3"}) {
+      tableCache.put(new CacheKey<>(key), CacheValue.get(0, key));
+    }
+    tableCache.put(new CacheKey<>("b/0"), CacheValue.get(1));
+
+    final List<String> keys = new ArrayList<>();
+    final List<String> values = new ArrayList<>();
+    tableCache.iterator("b/").forEachRemaining(e -> {
+      keys.add(e.getKey().getCacheKey());
+      values.add(e.getValue().getCacheValue());
+    });
+    assertEquals(Arrays.asList("b/0", "b/1", "b/2", "b/3", "c/1"), keys);
+    assertEquals(Arrays.asList(null, "b/1", "b/2", "b/3", "c/1"), values);
+
+    keys.clear();
+    tableCache.iterator(null)
+        .forEachRemaining(e -> keys.add(e.getKey().getCacheKey()));
+    assertEquals(Arrays.asList("a/1", "b/0", "b/1", "b/2", "b/3", "c/1"),
+        keys);
+  }
+
+  @Test
+  public void testOffHeapAllocatedBytes() {
+    final OffHeapPartialTableCache<String, String> cache
+        = new OffHeapPartialTableCache<>("", StringCodec.get());
+    cache.put(new CacheKey<>("0"), CacheValue.get(0, "aaaa"));
+    assertEquals(4, cache.getAllocatedBytes());
+
+    OffHeapPartialTableCache.setMaxAllocatedBytes(OffHeapPartialTableCache.getTotalAllocatedBytes());
+    try {
+      // The limit is reached, the values are kept on the heap.
+      cache.put(new CacheKey<>("1"), CacheValue.get(1, "bbbb"));
+      cache.put(new CacheKey<>("0"), CacheValue.get(2, "cc"));
+      assertEquals(0, cache.getAllocatedBytes());
+      assertEquals("bbbb", cache.get(new CacheKey<>("1")).getCacheValue());
+      assertEquals("cc", cache.get(new CacheKey<>("0")).getCacheValue());
+
+      // The memory of the overridden value is available again.
+      cache.put(new CacheKey<>("2"), CacheValue.get(3, "dd"));
+      assertEquals(2, cache.getAllocatedBytes());
+      assertEquals("dd", cache.get(new CacheKey<>("2")).getCacheValue());
+
+      cache.evictCache(Arrays.asList(1L, 2L, 3L));
+      assertEquals(0, cache.size());
+      assertEquals(0, cache.getAllocatedBytes());
+    } finally {
+      OffHeapPartialTableCache.setMaxAllocatedBytes(Long.MAX_VALUE);
+    }
+  }
+
   @Test
   public void testNoCache() {
     createTableCache(TableCache.CacheType.NO_CACHE);
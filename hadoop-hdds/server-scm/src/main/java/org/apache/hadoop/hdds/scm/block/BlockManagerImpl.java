@@ -18,7 +18,6 @@
 package org.apache.hadoop.hdds.scm.block;
 
 import static org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes.INVALID_BLOCK_SIZE;
-import static org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator.LOCAL_ID;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -38,7 +37,6 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
-import org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineManager;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineNotFoundException;
@@ -68,7 +66,7 @@ public class BlockManagerImpl implements BlockManager, BlockmanagerMXBean {
   private final SCMBlockDeletingService blockDeletingService;
 
   private ObjectName mxBean;
-  private final SequenceIdGenerator sequenceIdGen;
+  private final LocalIdAllocator localIdAllocator;
   private ScmBlockDeletingServiceMetrics metrics;
 
   /**
@@ -84,7 +82,11 @@ public BlockManagerImpl(final ConfigurationSource conf,
     Objects.requireNonNull(scm, "SCM cannot be null");
     this.scm = scm;
     this.pipelineManager = scm.getPipelineManager();
-    this.sequenceIdGen = scm.getSequenceIdGen();
+    this.localIdAllocator = new LocalIdAllocator(scm.getSequenceIdGen(),
+        conf.getInt(ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_SHARDS,
+            ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_SHARDS_DEFAULT),
+        conf.getInt(ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_ID_RANGE_SIZE,
+            ScmConfigKeys.OZONE_SCM_BLOCK_ALLOCATION_ID_RANGE_SIZE_DEFAULT));
     this.containerSize = (long)conf.getStorageSize(
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE,
         ScmConfigKeys.OZONE_SCM_CONTAINER_SIZE_DEFAULT,
@@ -184,7 +186,7 @@ private AllocatedBlock newBlock(ContainerInfo containerInfo)
     try {
       final Pipeline pipeline = pipelineManager
           .getPipeline(containerInfo.getPipelineID());
-      long localID = sequenceIdGen.getNextId(LOCAL_ID);
+      long localID = localIdAllocator.next(pipeline.getId());
       long containerID = containerInfo.getContainerID();
       AllocatedBlock.Builder abb =  new AllocatedBlock.Builder()
           .setContainerBlockID(new ContainerBlockID(containerID, localID))
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.block;
+
+import static org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator.LOCAL_ID;
+
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.ha.SequenceIdGenerator;
+import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+
+/**
+ * Allocate the local ids of blocks from ranges reserved
+ * from {@link SequenceIdGenerator}.
+ * <p>
+ * The ranges are kept in shards selected by the pipeline,
+ * so that the allocations on different pipelines do not contend on a single
+ * lock, and only the shard refilling its range has to wait for
+ * {@link SequenceIdGenerator}, which may replicate a new batch.
+ */
+final class LocalIdAllocator {
+  private final SequenceIdGenerator sequenceIdGen;
+  private final int rangeSize;
+  private final Shard[] shards;
+
+  LocalIdAllocator(SequenceIdGenerator sequenceIdGen, int numShards,
+      int rangeSize) {
+    this.sequenceIdGen = sequenceIdGen;
+    this.rangeSize = (int) Math.max(1,
+        Math.min(rangeSize, sequenceIdGen.getBatchSize()));
+    this.shards = new Shard[Math.max(1, numShards)];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = new Shard();
+    }
+  }
+
+  /** @return the next local id for a block in the given pipeline. */
+  long next(PipelineID pipelineID) throws SCMException {
+    return shards[Math.floorMod(pipelineID.hashCode(), shards.length)].next();
+  }
+
+  /** A range of local ids [nextId, lastId]. */
+  private final class Shard {
+    private long nextId = 1;
+    private long lastId = 0;
+    private long generation;
+
+    synchronized long next() throws SCMException {
+      final long current = sequenceIdGen.getGeneration();
+      if (nextId > lastId || generation != current) {
+        // Discard the remaining ids when the batches were invalidated.
+        nextId = sequenceIdGen.getNextIds(LOCAL_ID, rangeSize);
+        lastId = nextId + rangeSize - 1;
+        generation = current;
+      }
+      return nextId++;
+    }
+  }
+}
@@ -18,10 +18,21 @@
 package org.apache.hadoop.hdds.scm.container;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.ScmConfig;
@@ -49,6 +60,15 @@ public class ContainerReportHandler extends AbstractContainerReportHandler
 
   private final UnknownContainerAction unknownContainerHandleAction;
 
+  /** The number of replicas in a partition, see {@link #processPartitions}. */
+  private final int partitionSize;
+  /** Process the partitions of large reports; null means sequential. */
+  private final ForkJoinPool partitionPool;
+
+  /** The checksums of the last processed reports, see {@link #isApplicable}. */
+  private final Map<DatanodeID, Long> reportChecksums =
+      new ConcurrentHashMap<>();
+
   /**
    * Constructs ContainerReportHandler instance with the
    * given NodeManager and ContainerManager instance.
@@ -66,8 +86,35 @@ public ContainerReportHandler(final NodeManager nodeManager,
     if (conf != null) {
       ScmConfig scmConfig = conf.getObject(ScmConfig.class);
       unknownContainerHandleAction = UnknownContainerAction.parse(scmConfig.getUnknownContainerAction());
+      partitionSize = Math.max(1, scmConfig.getContainerReportPartitionSize());
+      partitionPool = newPartitionPool(scmConfig.getContainerReportParallelism());
     } else {
       unknownContainerHandleAction = UnknownContainerAction.WARN;
+      partitionSize = Integer.MAX_VALUE;
+      partitionPool = null;
+    }
+  }
+
+  private static ForkJoinPool newPartitionPool(int parallelism) {
+    if (parallelism <= 0) {
+      return null;
+    }
+    return new ForkJoinPool(parallelism, pool -> {
+      final ForkJoinWorkerThread t =
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("ContainerReportPartition-" + t.getPoolIndex());
+      return t;
+    }, null, false);
+  }
+
+  /**
+   * Stop the threads processing the partitions.
+   * It is called after the event queue is closed,
+   * so that no more reports are processed.
+   */
+  public void stop() {
+    if (partitionPool != null) {
+      partitionPool.shutdownNow();
     }
   }
 
@@ -127,6 +174,15 @@ public ContainerReportHandler(final NodeManager nodeManager,
    *  full and incremental reports processing in parallel for the same datanode
    *  on SCM.
    *
+   *  A large report is split by container id ranges into partitions, which
+   *  are processed in parallel; see {@link #processPartitions}.
+   *
+   *  A datanode may send a delta report, which has only the replicas changed
+   *  since its previous report and the containers removed since then.  It is
+   *  processed in the same way, except that only the removed containers are
+   *  missing on the datanode.  A delta report is ignored if the previous report
+   *  of the datanode was not processed; see {@link #isApplicable}.
+   *
    * @param reportFromDatanode Container Report
    * @param publisher EventPublisher reference
    */
@@ -149,43 +205,49 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
       // issue between the container list in NodeManager and the replicas in
       // ContainerManager.
       synchronized (datanodeDetails) {
+        if (!isApplicable(datanodeDetails, containerReport)) {
+          return;
+        }
         final List<ContainerReplicaProto> replicas =
             containerReport.getReportsList();
-        final Set<ContainerID> expectedContainersInDatanode =
-            getNodeManager().getContainers(datanodeDetails);
-
-        for (ContainerReplicaProto replica : replicas) {
-          ContainerID cid = ContainerID.valueOf(replica.getContainerID());
-          ContainerInfo container = null;
-          try {
-            // We get the container using the ContainerID object we obtained
-            // from protobuf. However we don't want to store that object if
-            // there is already an instance for the same ContainerID we can
-            // reuse.
-            container = getContainerManager().getContainer(cid);
-            cid = container.containerID();
-          } catch (ContainerNotFoundException e) {
-            // Ignore this for now. It will be handled later with a null check
-            // and the code will either log a warning or remove this replica
-            // from the datanode, depending on the cluster setting for handling
-            // unexpected containers.
-          }
-
-          boolean alreadyInDn = expectedContainersInDatanode.remove(cid);
-          if (!alreadyInDn) {
-            // This is a new Container not in the nodeManager -> dn map yet
-            getNodeManager().addContainer(datanodeDetails, cid);
+        final Set<ContainerID> expectedContainersInDatanode;
+        if (partitionPool == null || replicas.size() <= partitionSize) {
+          expectedContainersInDatanode =
+              getNodeManager().getContainers(datanodeDetails);
+          processReplicas(datanodeDetails, replicas,
+              expectedContainersInDatanode, publisher);
+        } else {
+          expectedContainersInDatanode = ConcurrentHashMap.newKeySet();
+          expectedContainersInDatanode.addAll(
+              getNodeManager().getContainers(datanodeDetails));
+          if (!processPartitions(datanodeDetails, replicas,
+              expectedContainersInDatanode, publisher)) {
+            // Some replicas were not processed, so the missing replicas
+            // cannot be determined.
+            reportChecksums.remove(datanodeDetails.getID());
+            getContainerManager().notifyContainerReportProcessing(true, false);
+            return;
           }
-          if (container == null || ContainerReportValidator
-                  .validate(container, datanodeDetails, replica)) {
-            processSingleReplica(datanodeDetails, container,
-                    replica, publisher);
+        }
+        if (containerReport.getDelta()) {
+          // Only the removed containers are missing in a delta report.
+          final Set<ContainerID> removed = new HashSet<>();
+          for (long id : containerReport.getRemovedContainerIdsList()) {
+            removed.add(ContainerID.valueOf(id));
           }
+          processMissingReplicas(datanodeDetails, removed);
+        } else {
+          // Anything left in expectedContainersInDatanode was not in the full
+          // report, so it is now missing on the DN. We need to remove it from
+          // the list
+          processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
+        }
+        if (containerReport.hasChecksum()) {
+          reportChecksums.put(datanodeDetails.getID(),
+              containerReport.getChecksum());
+        } else {
+          reportChecksums.remove(datanodeDetails.getID());
         }
-        // Anything left in expectedContainersInDatanode was not in the full
-        // report, so it is now missing on the DN. We need to remove it from the
-        // list
-        processMissingReplicas(datanodeDetails, expectedContainersInDatanode);
         getContainerManager().notifyContainerReportProcessing(true, true);
         if (reportFromDatanode.isRegister()) {
           publisher.fireEvent(SCMEvents.CONTAINER_REGISTRATION_REPORT,
@@ -200,6 +262,119 @@ public void onMessage(final ContainerReportFromDatanode reportFromDatanode,
 
   }
 
+  /**
+   * Process the given replicas from the datanode.  The containers of the
+   * replicas are removed from expectedContainersInDatanode.
+   */
+  private void processReplicas(final DatanodeDetails datanodeDetails,
+      final List<ContainerReplicaProto> replicas,
+      final Set<ContainerID> expectedContainersInDatanode,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    for (ContainerReplicaProto replica : replicas) {
+      ContainerID cid = ContainerID.valueOf(replica.getContainerID());
+      ContainerInfo container = null;
+      try {
+        // We get the container using the ContainerID object we obtained
+        // from protobuf. However we don't want to store that object if
+        // there is already an instance for the same ContainerID we can
+        // reuse.
+        container = getContainerManager().getContainer(cid);
+        cid = container.containerID();
+      } catch (ContainerNotFoundException e) {
+        // Ignore this for now. It will be handled later with a null check
+        // and the code will either log a warning or remove this replica
+        // from the datanode, depending on the cluster setting for handling
+        // unexpected containers.
+      }
+
+      boolean alreadyInDn = expectedContainersInDatanode.remove(cid);
+      if (!alreadyInDn) {
+        // This is a new Container not in the nodeManager -> dn map yet
+        getNodeManager().addContainer(datanodeDetails, cid);
+      }
+      if (container == null || ContainerReportValidator
+              .validate(container, datanodeDetails, replica)) {
+        processSingleReplica(datanodeDetails, container,
+                replica, publisher);
+      }
+    }
+  }
+
+  /**
+   * Split the replicas by container id ranges into partitions of
+   * {@link #partitionSize} replicas, and process the partitions in parallel
+   * in {@link #partitionPool}.
+   * Each replica is of a different container, and a container is updated
+   * under its own lock, i.e. the container lock in
+   * {@link #processContainerReplica} and the striped locks in
+   * {@link ContainerStateManager}, so that the partitions do not contend
+   * with each other.
+   *
+   * @return true iff all the partitions are processed.
+   */
+  private boolean processPartitions(final DatanodeDetails datanodeDetails,
+      final List<ContainerReplicaProto> replicas,
+      final Set<ContainerID> expectedContainersInDatanode,
+      final EventPublisher publisher) throws NodeNotFoundException {
+    final List<ContainerReplicaProto> sorted = new ArrayList<>(replicas);
+    sorted.sort(Comparator.comparingLong(ContainerReplicaProto::getContainerID));
+    final List<Callable<Void>> partitions = new ArrayList<>();
+    for (int i = 0; i < sorted.size(); i += partitionSize) {
+      final List<ContainerReplicaProto> partition =
+          sorted.subList(i, Math.min(i + partitionSize, sorted.size()));
+      partitions.add(() -> {
+        processReplicas(datanodeDetails, partition,
+            expectedContainersInDatanode, publisher);
+        return null;
+      });
+    }
+    getLogger().debug("Processing {} replicas from {} in {} partitions",
+        sorted.size(), datanodeDetails, partitions.size());
+
+    try {
+      for (Future<Void> f : partitionPool.invokeAll(partitions)) {
+        f.get();
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      getLogger().warn("Interrupted while processing the container report"
+          + " from {}", datanodeDetails);
+      return false;
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof NodeNotFoundException) {
+        throw (NodeNotFoundException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Failed to process the container"
+          + " report from " + datanodeDetails, cause);
+    }
+  }
+
+  /**
+   * A full report is always applicable.  A delta report is applicable only if
+   * its previous checksum is the checksum of the last processed report from
+   * the same datanode.  Otherwise, some report was missed, e.g. it was dropped
+   * from the queue or SCM was restarted, so the delta reports are ignored
+   * until the next full report.
+   */
+  private boolean isApplicable(DatanodeDetails datanode,
+      ContainerReportsProto report) {
+    if (!report.getDelta()) {
+      return true;
+    }
+    final Long checksum = reportChecksums.remove(datanode.getID());
+    if (checksum != null && checksum == report.getPreviousChecksum()) {
+      return true;
+    }
+    getLogger().info("Ignoring the delta container report from {}: checksum"
+        + " mismatched, expected {} but the last processed is {}.", datanode,
+        report.getPreviousChecksum(), checksum);
+    return false;
+  }
+
   /**
    * Processes the ContainerReport.
    * Any unknown container reported by DN and not present in SCM
@@ -78,7 +78,10 @@
  * holds the Container States in-memory which is backed by a persistent store.
  * The persistent store is always kept in sync with the in-memory state changes.
  *
- * This class is NOT thread safe. All the calls are idempotent.
+ * The in-memory container states are kept in concurrent maps, so that the
+ * queries, e.g. for block allocation, do not take any global lock and do not
+ * block the updates from the container reports.  The updates of a container
+ * are serialized by a striped lock.  All the calls are idempotent.
  */
 public final class ContainerStateManagerImpl
     implements ContainerStateManager {
@@ -99,12 +102,12 @@
   /**
    * In-memory representation of Container States.
    */
-  private ContainerStateMap containers;
+  private volatile ContainerStateMap containers;
 
   /**
    * Persistent store for Container States.
    */
-  private Table<ContainerID, ContainerInfo> containerStore;
+  private volatile Table<ContainerID, ContainerInfo> containerStore;
 
   private final DBTransactionBuffer transactionBuffer;
 
@@ -135,7 +138,9 @@
       containerStateChangeActions;
 
   // Protect containers and containerStore against the potential
-  // contentions between RaftServer and ContainerManager.
+  // contentions between RaftServer and ContainerManager:
+  // reinitialize takes the write lock, and adding or removing a container
+  // takes the read lock.  The queries do not take this lock.
   private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
 
   /**
@@ -156,7 +161,6 @@ private ContainerStateManagerImpl(final Configuration conf,
     this.containerStore = containerStore;
     this.stateMachine = newStateMachine();
     this.containerSize = getConfiguredContainerSize(conf);
-    this.containers = new ContainerStateMap();
     this.lastUsedMap = new ConcurrentHashMap<>();
     this.containerStateChangeActions = getContainerStateChangeActions();
     this.transactionBuffer = buffer;
@@ -164,7 +168,7 @@ private ContainerStateManagerImpl(final Configuration conf,
         OZONE_SCM_CONTAINER_LOCK_STRIPE_SIZE,
         OZONE_SCM_CONTAINER_LOCK_STRIPE_SIZE_DEFAULT));
     this.containerReplicaPendingOps = pendingOps;
-    initialize();
+    this.containers = loadContainers();
   }
 
   /**
@@ -231,9 +235,11 @@ private long getConfiguredContainerSize(final Configuration conf) {
   /**
    * Loads the containers from container store into memory.
    *
+   * @return the loaded containers.
    * @throws IOException in case of error while loading the containers
    */
-  private void initialize() throws IOException {
+  private ContainerStateMap loadContainers() throws IOException {
+    final ContainerStateMap loaded = new ContainerStateMap();
     try (TableIterator<ContainerID,
         ? extends KeyValue<ContainerID, ContainerInfo>> iterator =
              containerStore.iterator()) {
@@ -241,7 +247,7 @@ private void initialize() throws IOException {
       while (iterator.hasNext()) {
         final ContainerInfo container = iterator.next().getValue();
         Objects.requireNonNull(container, "container == null");
-        containers.addContainer(container);
+        loaded.addContainer(container);
         if (container.getState() == LifeCycleState.OPEN) {
           try {
             pipelineManager.addContainerToPipelineSCMStart(
@@ -257,6 +263,7 @@ private void initialize() throws IOException {
         }
       }
     }
+    return loaded;
   }
 
   private Map<LifeCycleEvent, CheckedConsumer<ContainerInfo, IOException>>
@@ -270,37 +277,27 @@ private void initialize() throws IOException {
 
   @Override
   public List<ContainerInfo> getContainerInfos(ContainerID start, int count) {
-    try (AutoCloseableLock ignored = readLock()) {
-      return containers.getContainerInfos(start, count);
-    }
+    return containers.getContainerInfos(start, count);
   }
 
   @Override
   public List<ContainerInfo> getContainerInfos(LifeCycleState state, ContainerID start, int count) {
-    try (AutoCloseableLock ignored = readLock()) {
-      return containers.getContainerInfos(state, start, count);
-    }
+    return containers.getContainerInfos(state, start, count);
   }
 
   @Override
   public List<ContainerInfo> getContainerInfos(final LifeCycleState state) {
-    try (AutoCloseableLock ignored = readLock()) {
-      return containers.getContainerInfos(state);
-    }
+    return containers.getContainerInfos(state);
   }
 
   @Override
   public List<ContainerInfo> getContainerInfos(ReplicationType type) {
-    try (AutoCloseableLock ignored = readLock()) {
-      return containers.getContainerInfos(type);
-    }
+    return containers.getContainerInfos(type);
   }
 
   @Override
   public int getContainerCount(final LifeCycleState state) {
-    try (AutoCloseableLock ignored = readLock()) {
-      return containers.getContainerCount(state);
-    }
+    return containers.getContainerCount(state);
   }
 
   @Override
@@ -323,7 +320,7 @@ public void addContainer(final ContainerInfoProto containerInfo)
     final ContainerID containerID = container.containerID();
     final PipelineID pipelineID = container.getPipelineID();
 
-    try (AutoCloseableLock ignoredGlobal = writeLock();
+    try (AutoCloseableLock ignoredGlobal = readLock();
         AutoCloseableLock ignored = writeLock(containerID)) {
       if (!containers.contains(containerID)) {
         ExecutionUtil.create(() -> {
@@ -521,7 +518,7 @@ private ContainerInfo findContainerWithSpace(final long size,
   public void removeContainer(final HddsProtos.ContainerID id)
       throws IOException {
     final ContainerID cid = ContainerID.getFromProtobuf(id);
-    try (AutoCloseableLock ignoredGlobal = writeLock();
+    try (AutoCloseableLock ignoredGlobal = readLock();
          AutoCloseableLock ignored = writeLock(cid)) {
       final ContainerInfo containerInfo = containers.getContainerInfo(cid);
       ExecutionUtil.create(() -> {
@@ -537,9 +534,8 @@ public void reinitialize(
     try (AutoCloseableLock ignored = writeLock()) {
       close();
       this.containerStore = store;
-      this.containers = new ContainerStateMap();
+      this.containers = loadContainers();
       this.lastUsedMap = new ConcurrentHashMap<>();
-      initialize();
     }
   }
 
@@ -27,7 +27,8 @@
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
@@ -49,20 +50,20 @@
  * container size --say we make it 10GB average size, then we can deal with a
  * cluster size of 1.5 exa bytes with the same metadata in SCMs memory.
  * <p>
- * Please note: **This class is not thread safe**. This used to be thread safe,
- * while bench marking we found that ContainerStateMap would be taking 5
- * locks for a single container insert. If we remove locks in this class,
- * then we are able to perform about 540K operations per second, with the
- * locks in this class it goes down to 246K operations per second. Hence we
- * are going to rely on ContainerStateMap locks to maintain consistency of
- * data in these classes too, since ContainerAttribute is only used by
- * ContainerStateMap class.
+ * This class is thread safe without locking: each attribute value is mapped
+ * to a {@link ConcurrentSkipListMap}, so that the lookups and the scans,
+ * e.g. for block allocation, do not block the updates from the container
+ * reports and vice versa.  The scans are weakly consistent.  Moving a
+ * container from one attribute value to another is not atomic; the
+ * callers serialize the updates of the same container.
  *
  * @param <T> Attribute type
  */
 public class ContainerAttribute<T extends Enum<T>> {
   private final Class<T> attributeClass;
   private final ImmutableMap<T, NavigableMap<ContainerID, ContainerInfo>> attributeMap;
+  /** The sizes of the maps, since {@link ConcurrentSkipListMap#size()} is not constant time. */
+  private final ImmutableMap<T, AtomicInteger> counts;
 
   /**
    * Create an empty Container Attribute map.
@@ -71,10 +72,13 @@ public ContainerAttribute(Class<T> attributeClass) {
     this.attributeClass = attributeClass;
 
     final EnumMap<T, NavigableMap<ContainerID, ContainerInfo>> map = new EnumMap<>(attributeClass);
+    final EnumMap<T, AtomicInteger> sizes = new EnumMap<>(attributeClass);
     for (T t : attributeClass.getEnumConstants()) {
-      map.put(t, new TreeMap<>());
+      map.put(t, new ConcurrentSkipListMap<>());
+      sizes.put(t, new AtomicInteger());
     }
     this.attributeMap = Maps.immutableEnumMap(map);
+    this.counts = Maps.immutableEnumMap(sizes);
   }
 
   /**
@@ -83,8 +87,9 @@ public ContainerAttribute(Class<T> attributeClass) {
    */
   public void addNonExisting(T key, ContainerInfo info) {
     Objects.requireNonNull(info, "value == null");
-    final ContainerInfo previous = get(key).put(info.containerID(), info);
+    final ContainerInfo previous = get(key).putIfAbsent(info.containerID(), info);
     Preconditions.assertNull(previous, "previous");
+    counts.get(key).incrementAndGet();
   }
 
   /**
@@ -93,7 +98,10 @@ public void addNonExisting(T key, ContainerInfo info) {
    * @param key - Key that identifies the Set.
    */
   public void clearSet(T key) {
-    get(key).clear();
+    final NavigableMap<ContainerID, ContainerInfo> map = get(key);
+    for (ContainerID id : map.keySet()) {
+      remove(key, id);
+    }
   }
 
   /**
@@ -102,7 +110,11 @@ public void clearSet(T key) {
    */
   public ContainerInfo remove(T key, ContainerID id) {
     Objects.requireNonNull(id, "id == null");
-    return get(key).remove(id);
+    final ContainerInfo removed = get(key).remove(id);
+    if (removed != null) {
+      counts.get(key).decrementAndGet();
+    }
+    return removed;
   }
 
   /** Remove an existing {@link ContainerInfo}. */
@@ -139,7 +151,8 @@ public SortedMap<ContainerID, ContainerInfo> tailMap(T key, ContainerID start) {
   }
 
   public int count(T key) {
-    return get(key).size();
+    Objects.requireNonNull(key, "key == null");
+    return counts.get(key).get();
   }
 
   /**
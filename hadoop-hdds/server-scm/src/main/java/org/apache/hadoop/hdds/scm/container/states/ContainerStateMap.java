@@ -21,7 +21,7 @@
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.LifeCycleState;
@@ -67,7 +67,9 @@
  * <p>
  * All the calls are idempotent.
  * <p>
- * This class is NOT thread-safe.
+ * The maps are concurrent so that the calls for different containers do not
+ * block each other, and the queries do not need any lock.
+ * The callers serialize the updates of the same container.
  */
 public class ContainerStateMap {
   private static final Logger LOG =
@@ -98,7 +100,7 @@ public class ContainerStateMap {
    * Inner replica map: {@link DatanodeID} -> {@link ContainerReplica}
    */
   private static class ContainerMap {
-    private final NavigableMap<ContainerID, ContainerEntry> map = new TreeMap<>();
+    private final NavigableMap<ContainerID, ContainerEntry> map = new ConcurrentSkipListMap<>();
 
     boolean contains(ContainerID id) {
       return map.containsKey(id);
@@ -131,13 +133,7 @@ Set<ContainerReplica> getReplicas(ContainerID id) {
      */
     boolean addIfAbsent(ContainerInfo info) {
       Objects.requireNonNull(info, "info == null");
-      final ContainerID id = info.containerID();
-      if (map.containsKey(id)) {
-        return false; // already exist
-      }
-      final ContainerEntry previous = map.put(id, new ContainerEntry(info));
-      Preconditions.assertNull(previous, "previous");
-      return true;
+      return map.putIfAbsent(info.containerID(), new ContainerEntry(info)) == null;
     }
 
     ContainerReplica put(ContainerReplica replica) {
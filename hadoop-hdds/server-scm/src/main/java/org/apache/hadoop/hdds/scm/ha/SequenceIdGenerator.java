@@ -30,6 +30,7 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
@@ -81,6 +82,8 @@ public class SequenceIdGenerator {
   private final Lock lock;
   private final long batchSize;
   private final StateManager stateManager;
+  /** Incremented when the batches are invalidated. */
+  private final AtomicLong generation = new AtomicLong();
 
   /**
    * @param conf            : conf
@@ -112,16 +115,32 @@ public StateManager createStateManager(SCMHAManager scmhaManager,
    * @return : next id of this sequenceId.
    */
   public long getNextId(String sequenceIdName) throws SCMException {
+    return getNextIds(sequenceIdName, 1);
+  }
+
+  /**
+   * Reserve a range of consecutive ids.  When the current batch does not have
+   * enough ids, its remaining ids are skipped.
+   *
+   * @param sequenceIdName : name of the sequenceId
+   * @param count : number of ids, at most the batch size.
+   * @return : the first id of the range [first, first + count).
+   */
+  public long getNextIds(String sequenceIdName, int count)
+      throws SCMException {
+    final long maxCount = sequenceIdName.equals(CERTIFICATE_ID) ? 1 : batchSize;
+    Preconditions.checkArgument(count > 0 && count <= maxCount,
+        "count = %s is not in the range [1, %s]", count, maxCount);
     lock.lock();
     try {
       Batch batch = sequenceIdToBatchMap.computeIfAbsent(
           sequenceIdName, key -> new Batch());
 
-      if (batch.nextId <= batch.lastId) {
-        return batch.nextId++;
+      if (batch.lastId - batch.nextId + 1 >= count) {
+        return nextIds(batch, count);
       }
 
-      Preconditions.checkArgument(batch.nextId == batch.lastId + 1);
+      batch.nextId = batch.lastId + 1;
       while (true) {
         Long prevLastId = batch.lastId;
         batch.nextId = prevLastId + 1;
@@ -142,14 +161,32 @@ public long getNextId(String sequenceIdName) throws SCMException {
         batch.lastId = stateManager.getLastId(sequenceIdName);
       }
 
-      Preconditions.checkArgument(batch.nextId <= batch.lastId);
-      return batch.nextId++;
+      Preconditions.checkArgument(batch.lastId - batch.nextId + 1 >= count);
+      return nextIds(batch, count);
 
     } finally {
       lock.unlock();
     }
   }
 
+  private static long nextIds(Batch batch, int count) {
+    final long first = batch.nextId;
+    batch.nextId += count;
+    return first;
+  }
+
+  public long getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * @return the generation, which changes when the batches are invalidated,
+   *         so that the ranges reserved before can be discarded.
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
   /**
    * Invalidate any un-exhausted batch, next getNextId() call will
    * allocate a new batch.
@@ -164,6 +201,7 @@ public void invalidateBatch() {
   }
 
   private void invalidateBatchInternal() {
+    generation.incrementAndGet();
     sequenceIdToBatchMap
         .forEach((sequenceId, batch) -> batch.nextId = batch.lastId + 1);
   }
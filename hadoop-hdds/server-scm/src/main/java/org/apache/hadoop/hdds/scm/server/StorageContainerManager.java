@@ -275,6 +275,7 @@ public final class StorageContainerManager extends ServiceRuntimeInfoImpl
   private ObjectName scmInfoBeanName;
 
   private ReplicationManager replicationManager;
+  private ContainerReportHandler containerReportHandler;
 
   private SCMSafeModeManager scmSafeModeManager;
   private SCMCertificateClient scmCertificateClient;
@@ -486,7 +487,7 @@ private void initializeEventHandlers() {
             pipelineManager);
     ContainerActionsHandler actionsHandler = new ContainerActionsHandler();
 
-    ContainerReportHandler containerReportHandler =
+    containerReportHandler =
         new ContainerReportHandler(scmNodeManager, containerManager,
             scmContext, configuration);
 
@@ -1693,6 +1694,9 @@ public void stop() {
     } catch (Exception ex) {
       LOG.error("SCM Event Queue stop failed", ex);
     }
+    if (containerReportHandler != null) {
+      containerReportHandler.stop();
+    }
 
     try {
       LOG.info("Stopping SCM HA services.");
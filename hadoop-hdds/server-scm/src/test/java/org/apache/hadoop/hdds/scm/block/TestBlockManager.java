@@ -25,6 +25,7 @@
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,8 +33,10 @@
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
@@ -266,6 +269,12 @@ void testAllocateBlockInParallel() throws Exception {
     CompletableFuture
         .allOf(futureList.toArray(new CompletableFuture[0]))
         .get();
+
+    // The local ids allocated by different shards are still unique.
+    final Set<Long> localIds = new HashSet<>();
+    for (CompletableFuture<AllocatedBlock> future : futureList) {
+      assertTrue(localIds.add(future.get().getBlockID().getLocalID()));
+    }
   }
 
   @Test
@@ -55,8 +55,10 @@
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReportsProto;
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
+import org.apache.hadoop.hdds.scm.ScmConfig;
 import org.apache.hadoop.hdds.scm.container.replication.ContainerReplicaPendingOps;
 import org.apache.hadoop.hdds.scm.events.SCMEvents;
+import org.apache.hadoop.hdds.scm.ha.SCMContext;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManager;
 import org.apache.hadoop.hdds.scm.ha.SCMHAManagerStub;
 import org.apache.hadoop.hdds.scm.metadata.SCMDBDefinition;
@@ -1176,6 +1178,89 @@ public void testStaleReplicaOfDeletedContainer(boolean isEmpty) throws NodeNotFo
     assertEquals(1, containerManager.getContainerReplicas(containerOne.containerID()).size());
   }
 
+  @Test
+  public void testDeltaContainerReport() throws Exception {
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(nodeManager, containerManager);
+    final DatanodeDetails datanode = nodeManager.getNodes(NodeStatus.inServiceHealthy()).iterator().next();
+    final ContainerInfo containerOne = getContainer(LifeCycleState.CLOSED);
+    final ContainerInfo containerTwo = getContainer(LifeCycleState.CLOSED);
+    containerStateManager.addContainer(containerOne.getProtobuf());
+    containerStateManager.addContainer(containerTwo.getProtobuf());
+    nodeManager.setContainers(datanode, Stream.of(containerOne.containerID(), containerTwo.containerID())
+        .collect(Collectors.toSet()));
+
+    final ContainerReportsProto full = ContainerReportsProto.newBuilder()
+        .addReports(getContainerReportsProto(containerOne.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString()).getReports(0))
+        .addReports(getContainerReportsProto(containerTwo.containerID(), ContainerReplicaProto.State.CLOSED,
+            datanode.getUuidString()).getReports(0))
+        .setChecksum(1)
+        .build();
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, full), publisher);
+    assertEquals(1, containerManager.getContainerReplicas(containerOne.containerID()).size());
+    assertEquals(1, containerManager.getContainerReplicas(containerTwo.containerID()).size());
+
+    // The delta report removes containerTwo.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        newDeltaReport(1, 2, containerTwo.containerID())), publisher);
+    assertEquals(1, containerManager.getContainerReplicas(containerOne.containerID()).size());
+    assertEquals(0, containerManager.getContainerReplicas(containerTwo.containerID()).size());
+
+    // A delta report not applying to the last processed report is ignored,
+    // so are the following delta reports until a full report.
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        newDeltaReport(3, 4, containerOne.containerID())), publisher);
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode,
+        newDeltaReport(2, 5, containerOne.containerID())), publisher);
+    assertEquals(1, containerManager.getContainerReplicas(containerOne.containerID()).size());
+  }
+
+  @Test
+  public void testPartitionedContainerReport() throws Exception {
+    final OzoneConfiguration conf = new OzoneConfiguration();
+    final ScmConfig scmConfig = conf.getObject(ScmConfig.class);
+    scmConfig.setContainerReportParallelism(2);
+    scmConfig.setContainerReportPartitionSize(2);
+    conf.setFromObject(scmConfig);
+    final ContainerReportHandler reportHandler = new ContainerReportHandler(
+        nodeManager, containerManager, SCMContext.emptyContext(), conf);
+    final DatanodeDetails datanode = nodeManager.getNodes(NodeStatus.inServiceHealthy()).iterator().next();
+
+    final List<ContainerInfo> containers = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      final ContainerInfo container = getContainer(LifeCycleState.CLOSED);
+      containerStateManager.addContainer(container.getProtobuf());
+      containers.add(container);
+    }
+    nodeManager.setContainers(datanode, containers.stream()
+        .map(ContainerInfo::containerID).collect(Collectors.toSet()));
+    final ContainerInfo missing = containers.remove(containers.size() - 1);
+    getReplicas(missing.containerID(), ContainerReplicaProto.State.CLOSED, datanode)
+        .forEach(containerStateManager::updateContainerReplica);
+
+    // The replicas are reported in reverse order, in 3 partitions.
+    final ContainerReportsProto.Builder report = ContainerReportsProto.newBuilder();
+    for (int i = containers.size() - 1; i >= 0; i--) {
+      report.addReports(getContainerReportsProto(containers.get(i).containerID(),
+          ContainerReplicaProto.State.CLOSED, datanode.getUuidString()).getReports(0));
+    }
+    reportHandler.onMessage(new ContainerReportFromDatanode(datanode, report.build()), publisher);
+
+    for (ContainerInfo container : containers) {
+      assertEquals(1, containerManager.getContainerReplicas(container.containerID()).size());
+    }
+    assertEquals(0, containerManager.getContainerReplicas(missing.containerID()).size());
+  }
+
+  private static ContainerReportsProto newDeltaReport(long previousChecksum, long checksum, ContainerID removed) {
+    return ContainerReportsProto.newBuilder()
+        .setDelta(true)
+        .setPreviousChecksum(previousChecksum)
+        .setChecksum(checksum)
+        .addRemovedContainerIds(removed.getId())
+        .build();
+  }
+
   private ContainerReportFromDatanode getContainerReportFromDatanode(
       ContainerID containerId, ContainerReplicaProto.State state,
       DatanodeDetails dn, long bytesUsed, long keyCount) {
@@ -23,7 +23,10 @@
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.exceptions.SCMException;
@@ -122,5 +125,40 @@ public void tesUpdate() throws SCMException {
         () -> containerAttribute.update(key3, key1, id));
   }
 
+  @Test
+  public void testConcurrentUpdates() {
+    final ContainerAttribute<Key> containerAttribute = new ContainerAttribute<>(Key.class);
+    final int threads = 8;
+    final int perThread = 1000;
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int first = t * perThread;
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int x = first; x < first + perThread; x++) {
+          ContainerInfo info = new ContainerInfo.Builder().setContainerID(x).build();
+          containerAttribute.addNonExisting(key1, info);
+          if (x % 2 == 0) {
+            try {
+              containerAttribute.update(key1, key2, info.containerID());
+            } catch (SCMException e) {
+              throw new IllegalStateException(e);
+            }
+          }
+          // Queries do not need any lock.
+          assertThat(containerAttribute.count(key1)).isGreaterThanOrEqualTo(0);
+          containerAttribute.getCollection(key2);
+        }
+      }));
+    }
+    futures.forEach(CompletableFuture::join);
+
+    final int expected = threads * perThread / 2;
+    assertEquals(expected, containerAttribute.count(key1));
+    assertEquals(expected, containerAttribute.getCollection(key1).size());
+    assertEquals(expected, containerAttribute.count(key2));
+    assertEquals(expected, containerAttribute.getCollection(key2).size());
+    assertEquals(0, containerAttribute.count(key3));
+  }
+
   enum Key { K1, K2, K3 }
 }
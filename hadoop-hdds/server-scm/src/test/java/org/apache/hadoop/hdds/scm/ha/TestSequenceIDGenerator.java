@@ -19,6 +19,7 @@
 
 import static org.apache.hadoop.hdds.scm.ScmConfigKeys.OZONE_SCM_SEQUENCE_ID_BATCH_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
@@ -132,6 +133,36 @@ public void testSequenceIDGenUponRatis() throws Exception {
     assertEquals(203, sequenceIdGen.getNextId("otherKey"));
   }
 
+  @Test
+  public void testGetNextIds() throws Exception {
+    OzoneConfiguration conf = SCMTestUtils.getConf(testDir);
+    conf.setInt(OZONE_SCM_SEQUENCE_ID_BATCH_SIZE, 100);
+    SCMMetadataStore scmMetadataStore = new SCMMetadataStoreImpl(conf);
+    scmMetadataStore.start(conf);
+    SCMHAManager scmHAManager = SCMHAManagerStub
+        .getInstance(true, new SCMDBTransactionBufferImpl());
+    SequenceIdGenerator sequenceIdGen = new SequenceIdGenerator(
+        conf, scmHAManager, scmMetadataStore.getSequenceIdTable());
+
+    // the first batch is [1, 100]
+    assertEquals(1L, sequenceIdGen.getNextIds("someKey", 30));
+    assertEquals(31L, sequenceIdGen.getNextIds("someKey", 30));
+    assertEquals(61L, sequenceIdGen.getNextIds("someKey", 30));
+    // [91, 100] is not enough, the next batch is [101, 200]
+    assertEquals(101L, sequenceIdGen.getNextIds("someKey", 30));
+    assertEquals(131L, sequenceIdGen.getNextId("someKey"));
+
+    final long generation = sequenceIdGen.getGeneration();
+    sequenceIdGen.invalidateBatch();
+    assertEquals(generation + 1, sequenceIdGen.getGeneration());
+    assertEquals(201L, sequenceIdGen.getNextIds("someKey", 100));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> sequenceIdGen.getNextIds("someKey", 101));
+    assertThrows(IllegalArgumentException.class,
+        () -> sequenceIdGen.getNextIds("someKey", 0));
+  }
+
   @Test
   public void testSequenceIDGenUponRatisWhenCurrentScmIsNotALeader()
       throws Exception {
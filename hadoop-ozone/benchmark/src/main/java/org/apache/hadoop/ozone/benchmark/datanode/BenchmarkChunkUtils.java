@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.datanode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
+import org.apache.hadoop.ozone.common.ChunkBuffer;
+import org.apache.hadoop.ozone.container.keyvalue.helpers.ChunkUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link ChunkUtils#writeData} and {@link ChunkUtils#readData}
+ * against a block file on the local file system.
+ * <p>
+ * The directory can be pointed to a real datanode disk with
+ * {@code -Dozone.benchmark.dir=/path}, otherwise the default temp directory
+ * is used.
+ * <p>
+ * The parameters of only one of the benchmarks are in their own states,
+ * so that they do not multiply the runs of the other benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkChunkUtils {
+
+  private static final int BLOCK_SIZE = 64 * 1024 * 1024;
+
+  @Param({"4096", "65536", "4194304"})
+  private int chunkSize;
+
+  private File dir;
+  private File blockFile;
+  private ByteBuffer data;
+  private long writeOffset;
+  private long readOffset;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final String base = System.getProperty("ozone.benchmark.dir");
+    dir = base == null
+        ? Files.createTempDirectory("chunk-utils-bench").toFile()
+        : Files.createTempDirectory(new File(base).toPath(), "chunk-utils-bench").toFile();
+    blockFile = new File(dir, "1.block");
+    final byte[] bytes = new byte[chunkSize];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    data = ByteBuffer.allocateDirect(chunkSize);
+    data.put(bytes);
+    data.flip();
+
+    // Pre-fill the block so that reads never go past the end of the file.
+    for (long off = 0; off < BLOCK_SIZE; off += chunkSize) {
+      ChunkUtils.writeData(blockFile, ChunkBuffer.wrap(data.duplicate()), off, chunkSize, null, false);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  /** The parameters of {@link #writeData}. */
+  @State(Scope.Thread)
+  public static class WriteParams {
+    @Param({"false", "true"})
+    private boolean sync;
+  }
+
+  /** The parameters of {@link #readData}. */
+  @State(Scope.Thread)
+  public static class ReadParams {
+    @Param({"65536"})
+    private int bufferCapacity;
+  }
+
+  private long nextOffset(long offset) {
+    final long next = offset + chunkSize;
+    return next + chunkSize > BLOCK_SIZE ? 0 : next;
+  }
+
+  @Benchmark
+  public void writeData(WriteParams params) throws StorageContainerException {
+    ChunkUtils.writeData(blockFile, ChunkBuffer.wrap(data.duplicate()), writeOffset, chunkSize, null, params.sync);
+    writeOffset = nextOffset(writeOffset);
+  }
+
+  @Benchmark
+  public ChunkBuffer readData(ReadParams params) throws StorageContainerException {
+    final ChunkBuffer buffer = ChunkUtils.readData(chunkSize, params.bufferCapacity, blockFile, readOffset,
+        null, Integer.MAX_VALUE, false, null);
+    readOffset = nextOffset(readOffset);
+    return buffer;
+  }
+}
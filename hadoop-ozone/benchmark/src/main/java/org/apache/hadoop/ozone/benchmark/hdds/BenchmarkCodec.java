@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.hdds;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.Codec;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.CodecException;
+import org.apache.hadoop.hdds.utils.db.LongCodec;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
+import org.apache.hadoop.hdds.utils.db.UuidCodec;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.util.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the {@link Codec} implementations used by the DB tables,
+ * for both the byte[] and the {@link CodecBuffer} code paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkCodec {
+
+  /** The codecs under test, each with a representative value. */
+  public enum CodecType {
+    STRING {
+      @Override
+      Object newValue() {
+        return "/vol/bucket/dir1/dir2/dir3/key-" + java.util.UUID.randomUUID();
+      }
+
+      @Override
+      Codec<?> getCodec() {
+        return StringCodec.get();
+      }
+    },
+    LONG {
+      @Override
+      Object newValue() {
+        return System.nanoTime();
+      }
+
+      @Override
+      Codec<?> getCodec() {
+        return LongCodec.get();
+      }
+    },
+    UUID {
+      @Override
+      Object newValue() {
+        return java.util.UUID.randomUUID();
+      }
+
+      @Override
+      Codec<?> getCodec() {
+        return UuidCodec.get();
+      }
+    },
+    OM_KEY_INFO {
+      @Override
+      Object newValue() {
+        return new OmKeyInfo.Builder()
+            .setVolumeName("vol")
+            .setBucketName("bucket")
+            .setKeyName("dir1/dir2/dir3/key-" + java.util.UUID.randomUUID())
+            .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+            .setObjectID(1L << 40)
+            .setUpdateID(1L << 20)
+            .setDataSize(4096)
+            .setCreationTime(Time.now())
+            .setModificationTime(Time.now())
+            .build();
+      }
+
+      @Override
+      Codec<?> getCodec() {
+        return OmKeyInfo.getCodec(true);
+      }
+    };
+
+    abstract Object newValue();
+
+    abstract Codec<?> getCodec();
+  }
+
+  @Param({"STRING", "LONG", "UUID", "OM_KEY_INFO"})
+  private CodecType codecType;
+
+  private Codec<Object> codec;
+  private Object value;
+  private byte[] serialized;
+  private CodecBuffer serializedBuffer;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setup() throws CodecException {
+    codec = (Codec<Object>) codecType.getCodec();
+    value = codecType.newValue();
+    serialized = codec.toPersistedFormat(value);
+    if (codec.supportCodecBuffer()) {
+      serializedBuffer = codec.toHeapCodecBuffer(value);
+    }
+  }
+
+  @Benchmark
+  public byte[] toPersistedFormat() throws CodecException {
+    return codec.toPersistedFormat(value);
+  }
+
+  @Benchmark
+  public Object fromPersistedFormat() throws CodecException {
+    return codec.fromPersistedFormat(serialized);
+  }
+
+  @Benchmark
+  public int toDirectCodecBuffer() throws CodecException {
+    if (!codec.supportCodecBuffer()) {
+      return codec.toPersistedFormat(value).length;
+    }
+    try (CodecBuffer buffer = codec.toDirectCodecBuffer(value)) {
+      return buffer.readableBytes();
+    }
+  }
+
+  @Benchmark
+  public Object fromCodecBuffer() throws CodecException {
+    if (serializedBuffer == null) {
+      return codec.fromPersistedFormat(serialized);
+    }
+    return codec.fromCodecBuffer(serializedBuffer);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.hdds;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
+import org.apache.ozone.erasurecode.rawcoder.RSRawDecoder;
+import org.apache.ozone.erasurecode.rawcoder.RSRawEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the pure Java {@link RSRawEncoder} and {@link RSRawDecoder}.
+ * <p>
+ * The decoder benchmark recovers the first data unit and the first parity
+ * unit, which is the common case of a single lost datanode plus one unit
+ * dropped to keep the read set at exactly data units.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkRSRawCoder {
+
+  @Param({"rs-3-2-1024k", "rs-6-3-1024k", "rs-10-4-1024k"})
+  private String ecConfig;
+
+  @Param({"false", "true"})
+  private boolean direct;
+
+  private RSRawEncoder encoder;
+  private RSRawDecoder decoder;
+  private ByteBuffer[] dataUnits;
+  private ByteBuffer[] parityUnits;
+  private ByteBuffer[] decodeInputs;
+  private ByteBuffer[] decodeOutputs;
+  private int[] erasedIndexes;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    final ECReplicationConfig config = new ECReplicationConfig(ecConfig);
+    final int cellSize = config.getEcChunkSize();
+    final int data = config.getData();
+    final int parity = config.getParity();
+    encoder = new RSRawEncoder(config);
+    decoder = new RSRawDecoder(config);
+
+    dataUnits = new ByteBuffer[data];
+    for (int i = 0; i < data; i++) {
+      dataUnits[i] = allocate(cellSize);
+      final byte[] bytes = new byte[cellSize];
+      ThreadLocalRandom.current().nextBytes(bytes);
+      dataUnits[i].put(bytes);
+      dataUnits[i].flip();
+    }
+    parityUnits = new ByteBuffer[parity];
+    for (int i = 0; i < parity; i++) {
+      parityUnits[i] = allocate(cellSize);
+    }
+    encoder.encode(duplicate(dataUnits), duplicate(parityUnits));
+
+    erasedIndexes = new int[] {0, data};
+    decodeInputs = new ByteBuffer[data + parity];
+    for (int i = 1; i < data; i++) {
+      decodeInputs[i] = dataUnits[i];
+    }
+    for (int i = 1; i < parity; i++) {
+      decodeInputs[data + i] = parityUnits[i];
+    }
+    decodeOutputs = new ByteBuffer[erasedIndexes.length];
+    for (int i = 0; i < decodeOutputs.length; i++) {
+      decodeOutputs[i] = allocate(cellSize);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    encoder.release();
+    decoder.release();
+  }
+
+  private ByteBuffer allocate(int size) {
+    return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+  }
+
+  private static ByteBuffer[] duplicate(ByteBuffer[] buffers) {
+    final ByteBuffer[] copy = new ByteBuffer[buffers.length];
+    for (int i = 0; i < buffers.length; i++) {
+      if (buffers[i] != null) {
+        copy[i] = buffers[i].duplicate();
+      }
+    }
+    return copy;
+  }
+
+  private static ByteBuffer[] clear(ByteBuffer[] buffers) {
+    for (ByteBuffer b : buffers) {
+      b.clear();
+    }
+    return buffers;
+  }
+
+  @Benchmark
+  public ByteBuffer[] encode() throws IOException {
+    final ByteBuffer[] outputs = clear(parityUnits);
+    encoder.encode(duplicate(dataUnits), outputs);
+    return outputs;
+  }
+
+  @Benchmark
+  public ByteBuffer[] decode() throws IOException {
+    final ByteBuffer[] outputs = clear(decodeOutputs);
+    decoder.decode(duplicate(decodeInputs), erasedIndexes, outputs);
+    return outputs;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.hdds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheResult;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.FullTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.PartialTableCache;
+import org.apache.hadoop.hdds.utils.db.cache.TableCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for {@link FullTableCache} and {@link PartialTableCache}.
+ * <p>
+ * Measures lookups of existing keys, and a mixed workload where request
+ * threads look up keys while another thread keeps adding entries and
+ * evicting flushed epochs, as the OM double buffer does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkTableCache {
+
+  @Param({"FULL_CACHE", "PARTIAL_CACHE"})
+  private TableCache.CacheType cacheType;
+
+  @Param({"100000"})
+  private int cacheSize;
+
+  private TableCache<String, String> cache;
+  private List<CacheKey<String>> keys;
+  private long epoch;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    cache = cacheType == TableCache.CacheType.FULL_CACHE
+        ? new FullTableCache<>("bench-")
+        : new PartialTableCache<>("bench-");
+    keys = new ArrayList<>(cacheSize);
+    for (int i = 0; i < cacheSize; i++) {
+      final CacheKey<String> key = new CacheKey<>("/vol/bucket/key-" + i);
+      keys.add(key);
+      if (cacheType == TableCache.CacheType.FULL_CACHE) {
+        cache.loadInitial(key, CacheValue.get(0, "value-" + i));
+      } else {
+        cache.put(key, CacheValue.get(0, "value-" + i));
+      }
+    }
+    epoch = 0;
+  }
+
+  private CacheKey<String> randomKey() {
+    return keys.get(ThreadLocalRandom.current().nextInt(cacheSize));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public CacheResult<String> lookup() {
+    return cache.lookup(randomKey());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public CacheValue<String> get() {
+    return cache.get(randomKey());
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(4)
+  public void readWhileUpdating(Blackhole bh) {
+    bh.consume(cache.get(randomKey()));
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(1)
+  public void updateAndEvict() {
+    // Single writer thread in the group, like the OM apply/flush threads.
+    final long e = ++epoch;
+    cache.put(randomKey(), CacheValue.get(e));
+    cache.evictCache(Collections.singletonList(e));
+  }
+}
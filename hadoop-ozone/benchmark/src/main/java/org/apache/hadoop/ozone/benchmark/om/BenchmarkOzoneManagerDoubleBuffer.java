@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.om;
+
+import static org.apache.hadoop.hdds.HddsConfigKeys.OZONE_METADATA_DIRS;
+import static org.apache.hadoop.ozone.om.codec.OMDBDefinition.KEY_TABLE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerDoubleBuffer;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.util.Time;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link OzoneManagerDoubleBuffer#flushTransactions()}.
+ * <p>
+ * Each invocation adds {@link #BATCH_SIZE} key-create responses to the
+ * double buffer and waits until the flush thread has committed them to a
+ * local OM DB, so the score covers batch building, the RocksDB commit and
+ * the table cache cleanup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BenchmarkOzoneManagerDoubleBuffer {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"0", "1024"})
+  private int metadataSize;
+
+  private File metadataDir;
+  private OMMetadataManager omMetadataManager;
+  private OzoneManagerDoubleBuffer doubleBuffer;
+  private long term = 1;
+  private long index;
+  private long keyCounter;
+  private List<String> metadataValues;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    metadataDir = Files.createTempDirectory("om-double-buffer-bench").toFile();
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_METADATA_DIRS, metadataDir.getAbsolutePath());
+    omMetadataManager = new OmMetadataManagerImpl(conf, null);
+    doubleBuffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(omMetadataManager)
+        .setMaxUnFlushedTransactionCount(BATCH_SIZE * 10)
+        .build()
+        .start();
+    metadataValues = new ArrayList<>();
+    if (metadataSize > 0) {
+      StringBuilder sb = new StringBuilder(metadataSize);
+      for (int i = 0; i < metadataSize; i++) {
+        sb.append((char) ('a' + i % 26));
+      }
+      metadataValues.add(sb.toString());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    doubleBuffer.stop();
+    omMetadataManager.stop();
+    FileUtils.deleteDirectory(metadataDir);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void flushTransactions() throws Exception {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      doubleBuffer.acquireUnFlushedTransactions(1);
+      doubleBuffer.add(newResponse(), TermIndex.valueOf(term, ++index));
+    }
+    doubleBuffer.awaitFlush();
+  }
+
+  private OMClientResponse newResponse() {
+    OmKeyInfo.Builder builder = new OmKeyInfo.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName("key-" + keyCounter++)
+        .setReplicationConfig(RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+        .setObjectID(keyCounter)
+        .setUpdateID(index)
+        .setDataSize(4096)
+        .setCreationTime(Time.now())
+        .setModificationTime(Time.now());
+    for (String value : metadataValues) {
+      builder.addMetadata("bench", value);
+    }
+    return new BenchmarkKeyCreateResponse(builder.build(), OMResponse.newBuilder()
+        .setCmdType(OzoneManagerProtocolProtos.Type.CreateKey)
+        .setStatus(OzoneManagerProtocolProtos.Status.OK)
+        .setCreateKeyResponse(CreateKeyResponse.newBuilder().build())
+        .build());
+  }
+
+  /**
+   * Writes a single {@link OmKeyInfo} to the key table.
+   */
+  @CleanupTableInfo(cleanupTables = {KEY_TABLE})
+  private static final class BenchmarkKeyCreateResponse extends OMClientResponse {
+    private final OmKeyInfo keyInfo;
+
+    BenchmarkKeyCreateResponse(OmKeyInfo keyInfo, OMResponse omResponse) {
+      super(omResponse);
+      this.keyInfo = keyInfo;
+    }
+
+    @Override
+    public void addToDBBatch(OMMetadataManager metadataManager,
+        BatchOperation batchOperation) throws IOException {
+      String dbKey = metadataManager.getOzoneKey(keyInfo.getVolumeName(),
+          keyInfo.getBucketName(), keyInfo.getKeyName());
+      metadataManager.getKeyTable(BucketLayout.OBJECT_STORE)
+          .putWithBatch(batchOperation, dbKey, keyInfo);
+    }
+  }
+}
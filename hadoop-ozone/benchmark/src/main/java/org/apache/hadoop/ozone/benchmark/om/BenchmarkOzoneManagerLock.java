@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.benchmark.om;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.VOLUME_LOCK;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.lock.OzoneManagerLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link OzoneManagerLock} acquire and release.
+ * <p>
+ * {@link #bucketCount} controls how many distinct buckets the threads
+ * spread over; a value of 1 models a single hot bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class BenchmarkOzoneManagerLock {
+
+  @Param({"1", "1024"})
+  private int bucketCount;
+
+  private OzoneManagerLock lock;
+  private String[] buckets;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    lock = new OzoneManagerLock(new OzoneConfiguration());
+    buckets = new String[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      buckets[i] = "bucket-" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lock.cleanup();
+  }
+
+  private String randomBucket() {
+    return buckets[ThreadLocalRandom.current().nextInt(bucketCount)];
+  }
+
+  @Benchmark
+  public void bucketReadLock() {
+    final String bucket = randomBucket();
+    lock.acquireReadLock(BUCKET_LOCK, "vol", bucket);
+    lock.releaseReadLock(BUCKET_LOCK, "vol", bucket);
+  }
+
+  @Benchmark
+  public void bucketWriteLock() {
+    final String bucket = randomBucket();
+    lock.acquireWriteLock(BUCKET_LOCK, "vol", bucket);
+    lock.releaseWriteLock(BUCKET_LOCK, "vol", bucket);
+  }
+
+  @Benchmark
+  public void volumeReadThenBucketWriteLock() {
+    final String bucket = randomBucket();
+    lock.acquireReadLock(VOLUME_LOCK, "vol");
+    lock.acquireWriteLock(BUCKET_LOCK, "vol", bucket);
+    lock.releaseWriteLock(BUCKET_LOCK, "vol", bucket);
+    lock.releaseReadLock(VOLUME_LOCK, "vol");
+  }
+}
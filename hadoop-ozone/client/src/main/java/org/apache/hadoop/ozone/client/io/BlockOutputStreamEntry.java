@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.client.io;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
@@ -66,7 +67,7 @@ public class BlockOutputStreamEntry extends OutputStream {
   private long currentPosition;
   private final Token<OzoneBlockTokenIdentifier> token;
 
-  private final BufferPool bufferPool;
+  private BufferPool bufferPool;
   private final ContainerClientMetrics clientMetrics;
   private final StreamBufferArgs streamBufferArgs;
   private final Supplier<ExecutorService> executorServiceSupplier;
@@ -398,6 +399,16 @@ BufferPool getBufferPool() {
     return this.bufferPool;
   }
 
+  /**
+   * Use the given {@link BufferPool}, which holds the data of a failed entry
+   * to be rewritten by this entry.
+   */
+  void setBufferPool(BufferPool pool) {
+    Preconditions.checkState(!isInitialized(),
+        "%s is already initialized", this);
+    this.bufferPool = pool;
+  }
+
   /**
    * Builder class for ChunkGroupOutputStreamEntry.
    * */
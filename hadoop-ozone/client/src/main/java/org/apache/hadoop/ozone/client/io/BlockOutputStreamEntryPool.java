@@ -36,6 +36,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.BufferPool;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
@@ -79,6 +80,13 @@ public class BlockOutputStreamEntryPool implements KeyMetadataAware {
    * the entries in the pool.
    */
   private final BufferPool bufferPool;
+  /**
+   * When the blocks are written concurrently, each entry has its own
+   * {@link BufferPool} created by this factory,
+   * since the buffers of the blocks are released in any order.
+   */
+  private final Supplier<BufferPool> bufferPoolFactory;
+  private final boolean bufferPoolPerEntry;
   private OmMultipartCommitUploadPartInfo commitUploadPartInfo;
   private final long openID;
   private final ExcludeList excludeList;
@@ -106,12 +114,17 @@ public BlockOutputStreamEntryPool(KeyOutputStream.Builder b) {
     this.excludeList = createExcludeList();
 
     this.streamBufferArgs = b.getStreamBufferArgs();
-    this.bufferPool =
+    final boolean unsafeConversion = b.isUnsafeByteBufferConversionEnabled();
+    final BufferArena bufferArena = b.getBufferArena();
+    this.bufferPoolFactory = () ->
         new BufferPool(streamBufferArgs.getStreamBufferSize(),
             (int) (streamBufferArgs.getStreamBufferMaxSize() / streamBufferArgs
                 .getStreamBufferSize()),
             ByteStringConversion
-                .createByteBufferConversion(b.isUnsafeByteBufferConversionEnabled()));
+                .createByteBufferConversion(unsafeConversion),
+            bufferArena);
+    this.bufferPool = bufferPoolFactory.get();
+    this.bufferPoolPerEntry = config.getParallelBlocksPerKey() > 1;
     this.clientMetrics = b.getClientMetrics();
     this.executorServiceSupplier = b.getExecutorServiceSupplier();
   }
@@ -160,7 +173,7 @@ BlockOutputStreamEntry createStreamEntry(OmKeyLocationInfo subKeyInfo, boolean f
             .setPipeline(subKeyInfo.getPipeline())
             .setConfig(config)
             .setLength(subKeyInfo.getLength())
-            .setBufferPool(bufferPool)
+            .setBufferPool(bufferPoolPerEntry ? bufferPoolFactory.get() : bufferPool)
             .setToken(subKeyInfo.getToken())
             .setClientMetrics(clientMetrics)
             .setStreamBufferArgs(streamBufferArgs)
@@ -380,11 +393,13 @@ BlockOutputStreamEntry getCurrentStreamEntry() {
    */
   synchronized BlockOutputStreamEntry allocateBlockIfNeeded(boolean forRetry) throws IOException {
     BlockOutputStreamEntry streamEntry = getCurrentStreamEntry();
+    BufferPool retryBufferPool = null;
     if (streamEntry != null && streamEntry.isClosed()) {
       // a stream entry gets closed either by :
       // a. If the stream gets full
       // b. it has encountered an exception
       currentStreamIndex++;
+      retryBufferPool = streamEntry.getBufferPool();
     }
     if (streamEntries.size() <= currentStreamIndex) {
       Preconditions.checkNotNull(omClient);
@@ -396,7 +411,48 @@ synchronized BlockOutputStreamEntry allocateBlockIfNeeded(boolean forRetry) thro
     // still do a sanity check.
     Preconditions.checkArgument(currentStreamIndex < streamEntries.size(),
         "currentStreamIndex(%s) must be < streamEntries.size(%s)", currentStreamIndex, streamEntries.size());
-    return streamEntries.get(currentStreamIndex);
+    final BlockOutputStreamEntry current = streamEntries.get(currentStreamIndex);
+    if (forRetry && bufferPoolPerEntry && retryBufferPool != null
+        && !current.isInitialized()) {
+      // The data to retry is in the buffers of the failed entry.
+      current.setBufferPool(retryBufferPool);
+    }
+    return current;
+  }
+
+  /**
+   * Move to the next entry, while the current entry, which is full,
+   * is being closed in the background.
+   */
+  synchronized void skipCurrentStreamEntry() {
+    currentStreamIndex++;
+  }
+
+  /**
+   * Allocate a new block right after the given entry, which failed to close
+   * in the background, in order to rewrite its unacknowledged data.
+   * The new entry uses the {@link BufferPool} of the failed entry,
+   * which holds the data.
+   *
+   * @return the new entry.
+   */
+  synchronized BlockOutputStreamEntry allocateBlockAfter(
+      BlockOutputStreamEntry failed) throws IOException {
+    final int index = streamEntries.indexOf(failed);
+    Preconditions.checkArgument(index >= 0 && index < currentStreamIndex,
+        "%s is not a previous entry, index = %s, currentStreamIndex = %s",
+        failed, index, currentStreamIndex);
+    if (!excludeList.isEmpty()) {
+      LOG.debug("Allocating block after {} with {}", failed, excludeList);
+    }
+    final OmKeyLocationInfo subKeyInfo =
+        omClient.allocateBlock(keyArgs, openID, excludeList);
+    Preconditions.checkNotNull(subKeyInfo.getPipeline());
+    final BlockOutputStreamEntry entry = createStreamEntry(subKeyInfo, false);
+    entry.setBufferPool(failed.getBufferPool());
+    streamEntries.add(index + 1, entry);
+    currentStreamIndex++;
+    return entry;
   }
 
   long computeBufferData() {
@@ -412,6 +468,11 @@ void cleanup() {
     }
 
     if (streamEntries != null) {
+      if (bufferPoolPerEntry) {
+        for (BlockOutputStreamEntry entry : streamEntries) {
+          entry.getBufferPool().clearBufferPool();
+        }
+      }
       streamEntries.clear();
     }
   }
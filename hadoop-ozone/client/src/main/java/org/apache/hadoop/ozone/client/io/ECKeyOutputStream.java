@@ -40,6 +40,7 @@
 import org.apache.hadoop.hdds.scm.client.HddsClientUtils;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.ECBlockOutputStream;
 import org.apache.hadoop.io.ByteBufferPool;
 import org.apache.hadoop.ozone.om.protocol.S3Auth;
@@ -59,6 +60,7 @@ public final class ECKeyOutputStream extends KeyOutputStream
   private static final Logger LOG = LoggerFactory.getLogger(KeyOutputStream.class);
 
   private OzoneClientConfig config;
+  // The stripe being written; allocated on the first write to the stripe.
   private ECChunkBuffers ecChunkBufferCache;
   private final BlockingQueue<ECChunkBuffers> ecStripeQueue;
   private int chunkIndex;
@@ -66,6 +68,7 @@ public final class ECKeyOutputStream extends KeyOutputStream
   private final int numDataBlks;
   private final int numParityBlks;
   private final ByteBufferPool bufferPool;
+  private final BufferArena bufferArena;
   private final RawErasureEncoder encoder;
   private final Future<Boolean> flushFuture;
   private final AtomicLong flushCheckpoint;
@@ -99,12 +102,11 @@ private ECKeyOutputStream(Builder builder) {
     super(builder.getReplicationConfig(), new ECBlockOutputStreamEntryPool(builder));
     this.config = builder.getClientConfig();
     this.bufferPool = builder.getByteBufferPool();
+    this.bufferArena = builder.getBufferArena();
     // For EC, cell/chunk size and buffer size can be same for now.
     ecChunkSize = builder.getReplicationConfig().getEcChunkSize();
     this.numDataBlks = builder.getReplicationConfig().getData();
     this.numParityBlks = builder.getReplicationConfig().getParity();
-    ecChunkBufferCache = new ECChunkBuffers(
-        ecChunkSize, numDataBlks, numParityBlks, bufferPool);
     chunkIndex = 0;
     ecStripeQueue = new ArrayBlockingQueue<>(config.getEcStripeQueueSize());
 
@@ -332,6 +334,9 @@ private void writeParityCells(ECChunkBuffers stripe) {
   }
 
   private int handleWrite(byte[] b, int off, int len) throws IOException {
+    if (ecChunkBufferCache == null) {
+      ecChunkBufferCache = newStripe();
+    }
     int bufferRem = ecChunkBufferCache.dataBuffers[chunkIndex].remaining();
     final int writeLen = Math.min(len, Math.min(bufferRem, ecChunkSize));
     int pos = ecChunkBufferCache.addToDataBuffer(chunkIndex, b, off, writeLen);
@@ -345,14 +350,37 @@ private int handleWrite(byte[] b, int off, int len) throws IOException {
       if (chunkIndex == numDataBlks) {
         generateParityCells();
         addStripeToQueue(ecChunkBufferCache);
-        ecChunkBufferCache = new ECChunkBuffers(ecChunkSize,
-            numDataBlks, numParityBlks, bufferPool);
+        ecChunkBufferCache = null;
         chunkIndex = 0;
       }
     }
     return writeLen;
   }
 
+  private ECChunkBuffers newStripe() throws IOException {
+    try {
+      return new ECChunkBuffers(ecChunkSize, numDataBlks, numParityBlks,
+          bufferPool, bufferArena);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while allocating stripe buffers", e);
+    }
+  }
+
+  /**
+   * Release the stripes which are not written,
+   * so that their buffers are returned to the {@link BufferArena}.
+   */
+  private void releaseUnwrittenStripes() {
+    if (ecChunkBufferCache != null) {
+      ecChunkBufferCache.release();
+      ecChunkBufferCache = null;
+    }
+    for (ECChunkBuffers stripe; (stripe = ecStripeQueue.poll()) != null;) {
+      stripe.release();
+    }
+  }
+
   private void handleOutputStreamWrite(ByteBuffer buffer, boolean isParity) {
     try {
       // Since it's a full cell, let's write all content from buffer.
@@ -465,9 +493,11 @@ public void close() throws IOException {
     try {
       if (!closing) {
         // If stripe buffer is not empty, encode and flush the stripe.
-        if (ecChunkBufferCache.getFirstDataCell().position() > 0) {
+        if (ecChunkBufferCache != null
+            && ecChunkBufferCache.getFirstDataCell().position() > 0) {
           generateParityCells();
           addStripeToQueue(ecChunkBufferCache);
+          ecChunkBufferCache = null;
         }
         // Send EOF mark to flush thread.
         addStripeToQueue(new EOFDummyStripe());
@@ -498,6 +528,7 @@ public void close() throws IOException {
     } catch (InterruptedException e) {
       throw new IOException("Flushing thread was interrupted", e);
     } finally {
+      releaseUnwrittenStripes();
       closeCurrentStreamEntry();
       blockOutputStreamEntryPool.cleanup();
     }
@@ -535,11 +566,16 @@ private boolean flushStripeFromQueue() throws IOException {
         if (stripe instanceof CheckpointDummyStripe) {
           flushCheckpoint.set(((CheckpointDummyStripe) stripe).version);
         } else {
-          flushStripeToDatanodes(stripe);
-          stripe.release();
+          try {
+            flushStripeToDatanodes(stripe);
+          } finally {
+            stripe.release();
+          }
         }
         stripe = ecStripeQueue.take();
       }
+      // The stripe taken after the stream is closing is not written.
+      stripe.release();
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new IOException("Interrupted while polling stripe from queue", e);
@@ -650,6 +686,7 @@ private static class ECChunkBuffers {
     private final ByteBuffer[] parityBuffers;
     private int cellSize;
     private ByteBufferPool byteBufferPool;
+    private BufferArena arena;
 
     ECChunkBuffers() {
       dataBuffers = null;
@@ -657,13 +694,20 @@ private static class ECChunkBuffers {
     }
 
     ECChunkBuffers(int cellSize, int numData, int numParity,
-        ByteBufferPool byteBufferPool) {
+        ByteBufferPool byteBufferPool, BufferArena arena)
+        throws InterruptedException {
       this.cellSize = cellSize;
       dataBuffers = new ByteBuffer[numData];
       parityBuffers = new ByteBuffer[numParity];
       this.byteBufferPool = byteBufferPool;
-      allocateBuffers(dataBuffers, this.cellSize);
-      allocateBuffers(parityBuffers, this.cellSize);
+      this.arena = arena;
+      try {
+        allocateBuffers(dataBuffers, this.cellSize);
+        allocateBuffers(parityBuffers, this.cellSize);
+      } catch (InterruptedException e) {
+        release();
+        throw e;
+      }
     }
 
     private ByteBuffer[] getDataBuffers() {
@@ -698,12 +742,17 @@ private void clear() {
     }
 
     private void release() {
-      releaseBuffers(dataBuffers);
-      releaseBuffers(parityBuffers);
+      // The dummy stripes do not have buffers.
+      if (dataBuffers != null) {
+        releaseBuffers(dataBuffers);
+        releaseBuffers(parityBuffers);
+      }
     }
 
-    private void allocateBuffers(ByteBuffer[] buffers, int bufferSize) {
+    private void allocateBuffers(ByteBuffer[] buffers, int bufferSize)
+        throws InterruptedException {
       for (int i = 0; i < buffers.length; i++) {
+        arena.reserve(cellSize);
         buffers[i] = byteBufferPool.getBuffer(false, cellSize);
         buffers[i].limit(bufferSize);
       }
@@ -720,6 +769,7 @@ private void releaseBuffers(ByteBuffer[] buffers) {
       for (int i = 0; i < buffers.length; i++) {
         if (buffers[i] != null) {
           byteBufferPool.putBuffer(buffers[i]);
+          arena.unreserve(cellSize);
           buffers[i] = null;
         }
       }
@@ -24,7 +24,9 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.hadoop.hdds.client.BlockID;
@@ -54,6 +56,12 @@ public KeyInputStream(String keyName,
     super(keyName, inputStreams);
   }
 
+  public KeyInputStream(String keyName,
+      List<? extends BlockExtendedInputStream> inputStreams,
+      Supplier<? extends Executor> vectoredReadExecutor) {
+    super(keyName, inputStreams, vectoredReadExecutor);
+  }
+
   private static List<BlockExtendedInputStream> createStreams(
       OmKeyInfo keyInfo,
       List<OmKeyLocationInfo> blockInfos,
@@ -127,12 +135,13 @@ private static LengthInputStream getFromOmKeyInfo(
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       List<OmKeyLocationInfo> locationInfos,
-      OzoneClientConfig config) throws IOException {
+      OzoneClientConfig config,
+      Supplier<? extends Executor> vectoredReadExecutor) throws IOException {
     List<BlockExtendedInputStream> streams = createStreams(keyInfo,
         locationInfos, xceiverClientFactory, retryFunction,
         blockStreamFactory, config);
-    KeyInputStream keyInputStream =
-        new KeyInputStream(keyInfo.getKeyName(), streams);
+    KeyInputStream keyInputStream = new KeyInputStream(keyInfo.getKeyName(),
+        streams, vectoredReadExecutor);
     return new LengthInputStream(keyInputStream, keyInputStream.getLength());
   }
 
@@ -144,12 +153,26 @@ public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
       Function<OmKeyInfo, OmKeyInfo> retryFunction,
       BlockInputStreamFactory blockStreamFactory,
       OzoneClientConfig config) throws IOException {
+    return getFromOmKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, config, null);
+  }
+
+  /**
+   * The same as the method above except that the blocks are read in parallel
+   * using the given executor for vectored reads.
+   */
+  public static LengthInputStream getFromOmKeyInfo(OmKeyInfo keyInfo,
+      XceiverClientFactory xceiverClientFactory,
+      Function<OmKeyInfo, OmKeyInfo> retryFunction,
+      BlockInputStreamFactory blockStreamFactory,
+      OzoneClientConfig config,
+      Supplier<? extends Executor> vectoredReadExecutor) throws IOException {
 
     List<OmKeyLocationInfo> keyLocationInfos = keyInfo
         .getLatestVersionLocations().getBlocksLatestVersionOnly();
 
-    return getFromOmKeyInfo(keyInfo, xceiverClientFactory,
-        retryFunction, blockStreamFactory, keyLocationInfos, config);
+    return getFromOmKeyInfo(keyInfo, xceiverClientFactory, retryFunction,
+        blockStreamFactory, keyLocationInfos, config, vectoredReadExecutor);
   }
 
   public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
@@ -172,7 +195,7 @@ public static List<LengthInputStream> getStreamsFromKeyInfo(OmKeyInfo keyInfo,
     for (List<OmKeyLocationInfo> locationInfo : partsToBlocksMap.values()) {
       lengthInputStreams.add(getFromOmKeyInfo(keyInfo, xceiverClientFactory,
           retryFunction, blockStreamFactory, locationInfo,
-          config));
+          config, null));
     }
     return lengthInputStreams;
   }
@@ -22,10 +22,16 @@
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -48,6 +54,7 @@
 import org.apache.hadoop.hdds.scm.container.common.helpers.StorageContainerException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.io.retry.RetryPolicies;
 import org.apache.hadoop.io.retry.RetryPolicy;
 import org.apache.hadoop.ozone.OzoneManagerVersion;
@@ -110,6 +117,12 @@ public class KeyOutputStream extends OutputStream
   private final int maxConcurrentWritePerKey;
   private final KeyOutputStreamSemaphore keyOutputStreamSemaphore;
 
+  // The max number of blocks written concurrently, see closeInBackground.
+  private final int parallelBlocks;
+  private final Supplier<ExecutorService> closeExecutor;
+  // The full blocks being closed in the background, in the block order.
+  private final Deque<ClosingEntry> closingEntries = new ArrayDeque<>();
+
   @VisibleForTesting
   KeyOutputStreamSemaphore getRequestSemaphore() {
     return keyOutputStreamSemaphore;
@@ -121,6 +134,8 @@ KeyOutputStreamSemaphore getRequestSemaphore() {
   KeyOutputStream() {
     maxConcurrentWritePerKey = 0;
     keyOutputStreamSemaphore = null;
+    parallelBlocks = 1;
+    closeExecutor = null;
     blockOutputStreamEntryPool = null;
     retryPolicyMap = null;
     replication = null;
@@ -140,6 +155,8 @@ public KeyOutputStream(ReplicationConfig replicationConfig, BlockOutputStreamEnt
     // At the moment, this constructor is only used by ECKeyOutputStream.
     this.maxConcurrentWritePerKey = 1;
     this.keyOutputStreamSemaphore = new KeyOutputStreamSemaphore(maxConcurrentWritePerKey);
+    this.parallelBlocks = 1;
+    this.closeExecutor = null;
   }
 
   protected BlockOutputStreamEntryPool getBlockOutputStreamEntryPool() {
@@ -172,6 +189,9 @@ public KeyOutputStream(Builder b) {
     final OzoneClientConfig config = b.getClientConfig();
     this.maxConcurrentWritePerKey = config.getMaxConcurrentWritePerKey();
     this.keyOutputStreamSemaphore = new KeyOutputStreamSemaphore(maxConcurrentWritePerKey);
+    this.closeExecutor = b.getExecutorServiceSupplier();
+    this.parallelBlocks = closeExecutor != null
+        ? Math.max(1, config.getParallelBlocksPerKey()) : 1;
     this.retryPolicyMap = HddsClientUtils.getRetryPolicyByException(
         config.getMaxRetryCount(), config.getRetryInterval());
     this.retryCount = 0;
@@ -274,8 +294,12 @@ void handleWrite(byte[] b, int off, long len, boolean retry)
                 writeToOutputStream(current, retry, len, b, expectedWriteLen,
                 off, currentPos);
         if (current.getRemaining() <= 0) {
-          // since the current block is already written close the stream.
-          handleFlushOrClose(StreamAction.FULL);
+          if (parallelBlocks > 1 && !retry) {
+            closeInBackground(current);
+          } else {
+            // since the current block is already written close the stream.
+            handleFlushOrClose(StreamAction.FULL);
+          }
         }
         len -= writtenLength;
         off += writtenLength;
@@ -286,6 +310,98 @@ void handleWrite(byte[] b, int off, long len, boolean retry)
     }
   }
 
+  /**
+   * Close the given full block in the background and move to the next block,
+   * so that the subsequent data is written to the next block while the full
+   * block is being flushed and committed.  The blocks are still committed to
+   * OM in order.  At most {@link #parallelBlocks} blocks, including the
+   * current one, are written concurrently.
+   */
+  private void closeInBackground(BlockOutputStreamEntry entry)
+      throws IOException {
+    final CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+      try {
+        entry.close();
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, closeExecutor.get());
+    closingEntries.add(new ClosingEntry(entry, future));
+    blockOutputStreamEntryPool.skipCurrentStreamEntry();
+    while (closingEntries.size() >= parallelBlocks) {
+      awaitClosingEntry();
+    }
+  }
+
+  /** Wait for all the blocks being closed in the background. */
+  private void awaitClosingEntries() throws IOException {
+    while (!closingEntries.isEmpty()) {
+      awaitClosingEntry();
+    }
+  }
+
+  private void awaitClosingEntry() throws IOException {
+    final ClosingEntry closing = closingEntries.removeFirst();
+    final BlockOutputStreamEntry entry = closing.getEntry();
+    try {
+      closing.getFuture().get();
+      addFailedServersToExcludeList(entry);
+      entry.getBufferPool().clearBufferPool();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw (IOException) new InterruptedIOException(
+          "Interrupted while closing " + entry).initCause(e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      handleCloseFailure(entry, cause instanceof IOException
+          ? (IOException) cause : new IOException(cause));
+    }
+  }
+
+  /**
+   * Rewrite the unacknowledged data of a block failed to close in the
+   * background to a new block right after it, since the subsequent blocks may
+   * have been written already.
+   */
+  private void handleCloseFailure(BlockOutputStreamEntry entry,
+      IOException exception) throws IOException {
+    BlockOutputStreamEntry failed = entry;
+    IOException ioe = exception;
+    while (true) {
+      final long bufferedDataLen = excludeAndCleanup(failed, ioe);
+      if (bufferedDataLen == 0) {
+        failed.getBufferPool().clearBufferPool();
+        return;
+      }
+      checkRetry(ioe);
+      failed = blockOutputStreamEntryPool.allocateBlockAfter(failed);
+      try {
+        failed.writeOnRetry(bufferedDataLen);
+        failed.close();
+        failed.getBufferPool().clearBufferPool();
+        retryCount = 0;
+        return;
+      } catch (IOException e) {
+        ioe = e;
+      }
+    }
+  }
+
+  /**
+   * Wait for the blocks being closed in the background to finish, ignoring
+   * the failures, before the buffers are released.
+   */
+  private void waitForClosingEntries() {
+    for (ClosingEntry closing : closingEntries) {
+      try {
+        closing.getFuture().join();
+      } catch (CompletionException | CancellationException e) {
+        LOG.debug("Failed to close {}", closing.getEntry(), e);
+      }
+    }
+    closingEntries.clear();
+  }
+
   private int writeToOutputStream(BlockOutputStreamEntry current,
       boolean retry, long len, byte[] b, int writeLen, int off, long currentPos)
       throws IOException {
@@ -348,6 +464,24 @@ private void handleException(BlockOutputStreamEntry entry, IOException exception
    * @throws IOException Throws IOException if Write fails
    */
   private void handleExceptionInternal(BlockOutputStreamEntry streamEntry, IOException exception) throws IOException {
+    final long bufferedDataLen = excludeAndCleanup(streamEntry, exception);
+    if (bufferedDataLen > 0) {
+      // If the data is still cached in the underlying stream, we need to
+      // allocate new block and write this data in the datanode.
+      handleRetry(exception, bufferedDataLen);
+      // reset the retryCount after handling the exception
+      retryCount = 0;
+    }
+  }
+
+  /**
+   * Exclude the failed datanodes, pipeline or container, and clean up the
+   * failed stream.
+   *
+   * @return the length of the unacknowledged data to be rewritten.
+   */
+  private long excludeAndCleanup(BlockOutputStreamEntry streamEntry,
+      IOException exception) throws IOException {
     try {
       // Wait for all pending flushes in the faulty stream. It's possible that a prior write is pending completion
       // successfully. Errors are ignored here and will be handled by the individual flush call. We just want to ensure
@@ -367,7 +501,7 @@ private void handleExceptionInternal(BlockOutputStreamEntry streamEntry, IOExcep
     PipelineID pipelineId = pipeline.getId();
     long totalSuccessfulFlushedData = streamEntry.getTotalAckDataLength();
     streamEntry.resetToAckedPosition();
-    long bufferedDataLen = blockOutputStreamEntryPool.computeBufferData();
+    long bufferedDataLen = streamEntry.getBufferPool().computeBufferData();
     if (containerExclusionException) {
       LOG.debug(
           "Encountered exception {}. The last committed block length is {}, "
@@ -419,21 +553,25 @@ private void handleExceptionInternal(BlockOutputStreamEntry streamEntry, IOExcep
       blockOutputStreamEntryPool
           .discardPreallocatedBlocks(-1, pipelineId);
     }
-    if (bufferedDataLen > 0) {
-      // If the data is still cached in the underlying stream, we need to
-      // allocate new block and write this data in the datanode.
-      handleRetry(exception, bufferedDataLen);
-      // reset the retryCount after handling the exception
-      retryCount = 0;
-    }
+    return bufferedDataLen;
   }
 
   private synchronized void markStreamClosed() {
+    waitForClosingEntries();
     blockOutputStreamEntryPool.cleanup();
     closed = true;
   }
 
   private void handleRetry(IOException exception, long len) throws IOException {
+    checkRetry(exception);
+    handleWrite(null, 0, len, true);
+  }
+
+  /**
+   * Check the retry policy for the exception, and sleep before the retry.
+   * @throws IOException if the retry fails.
+   */
+  private void checkRetry(IOException exception) throws IOException {
     RetryPolicy retryPolicy = retryPolicyMap
         .get(HddsClientUtils.checkForException(exception).getClass());
     if (retryPolicy == null) {
@@ -477,7 +615,6 @@ private void handleRetry(IOException exception, long len) throws IOException {
       LOG.trace("Retrying Write request. Already tried {} time(s); " +
           "retry policy is {} ", retryCount, retryPolicy);
     }
-    handleWrite(null, 0, len, true);
   }
 
   private void setExceptionAndThrow(IOException ioe) throws IOException {
@@ -506,6 +643,7 @@ public void flush() throws IOException {
     try {
       getRequestSemaphore().acquire();
       checkNotClosed();
+      doInWriteLock(this::awaitClosingEntries);
       handleFlushOrClose(StreamAction.FLUSH);
     } finally {
       getRequestSemaphore().release();
@@ -538,6 +676,7 @@ public void hsync() throws IOException {
       }
       checkNotClosed();
       final long hsyncPos = writeOffset;
+      doInWriteLock(this::awaitClosingEntries);
       handleFlushOrClose(StreamAction.HSYNC);
 
       doInWriteLock(() -> {
@@ -599,8 +738,7 @@ private void handleFlushOrClose(StreamAction op) throws IOException {
     }
   }
 
-  private void handleStreamAction(BlockOutputStreamEntry entry,
-                                  StreamAction op) throws IOException {
+  private void addFailedServersToExcludeList(BlockOutputStreamEntry entry) {
     Collection<DatanodeDetails> failedServers = entry.getFailedServers();
     // failed servers can be null in case there is no data written in
     // the stream
@@ -608,6 +746,11 @@ private void handleStreamAction(BlockOutputStreamEntry entry,
       blockOutputStreamEntryPool.getExcludeList().addDatanodes(
           failedServers);
     }
+  }
+
+  private void handleStreamAction(BlockOutputStreamEntry entry,
+                                  StreamAction op) throws IOException {
+    addFailedServersToExcludeList(entry);
     switch (op) {
     case CLOSE:
       entry.close();
@@ -644,6 +787,7 @@ private void closeInternal() throws IOException {
     }
     closed = true;
     try {
+      awaitClosingEntries();
       handleFlushOrClose(StreamAction.CLOSE);
       if (!isException) {
         Preconditions.checkArgument(writeOffset == offset);
@@ -656,10 +800,31 @@ private void closeInternal() throws IOException {
       }
       blockOutputStreamEntryPool.commitKey(offset);
     } finally {
+      waitForClosingEntries();
       blockOutputStreamEntryPool.cleanup();
     }
   }
 
+  /** A full block being closed in the background. */
+  private static final class ClosingEntry {
+    private final BlockOutputStreamEntry entry;
+    private final CompletableFuture<Void> future;
+
+    private ClosingEntry(BlockOutputStreamEntry entry,
+        CompletableFuture<Void> future) {
+      this.entry = entry;
+      this.future = future;
+    }
+
+    BlockOutputStreamEntry getEntry() {
+      return entry;
+    }
+
+    CompletableFuture<Void> getFuture() {
+      return future;
+    }
+  }
+
   synchronized OmMultipartCommitUploadPartInfo
       getCommitUploadPartInfo() {
     return blockOutputStreamEntryPool.getCommitUploadPartInfo();
@@ -692,6 +857,7 @@ public static class Builder {
     private ContainerClientMetrics clientMetrics;
     private boolean atomicKeyCreation = false;
     private StreamBufferArgs streamBufferArgs;
+    private BufferArena bufferArena = BufferArena.unbounded();
     private Supplier<ExecutorService> executorServiceSupplier;
     private OzoneManagerVersion ozoneManagerVersion;
 
@@ -771,6 +937,15 @@ public Builder setStreamBufferArgs(StreamBufferArgs streamBufferArgs) {
       return this;
     }
 
+    public BufferArena getBufferArena() {
+      return bufferArena;
+    }
+
+    public Builder setBufferArena(BufferArena arena) {
+      this.bufferArena = arena;
+      return this;
+    }
+
     public boolean isUnsafeByteBufferConversionEnabled() {
       return unsafeByteBufferConversion;
     }
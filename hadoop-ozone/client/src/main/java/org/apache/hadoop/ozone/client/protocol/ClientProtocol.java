@@ -535,6 +535,20 @@ OzoneKeyDetails getKeyDetails(String volumeName, String bucketName,
                                 String keyName)
       throws IOException;
 
+  /**
+   * Get the OzoneKeyDetails of the keys in the same bucket.
+   * The keys are looked up with a single call to OM,
+   * unless OM does not support it.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param keyNames Key names
+   * @return the {@link OzoneKeyDetails} in the order of the key names,
+   *         where the element is null if the key is not found.
+   * @throws IOException
+   */
+  List<OzoneKeyDetails> getKeyDetails(String volumeName, String bucketName,
+      List<String> keyNames) throws IOException;
+
   /**
    * Close and release the resources.
    */
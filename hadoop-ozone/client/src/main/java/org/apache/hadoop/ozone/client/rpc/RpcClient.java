@@ -49,6 +49,7 @@
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -83,6 +84,7 @@
 import org.apache.hadoop.hdds.scm.client.HddsClientUtils;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
 import org.apache.hadoop.hdds.scm.pipeline.PipelineID;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.hdds.scm.storage.ByteBufferStreamOutput;
 import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.security.x509.certificate.client.CACertificateProvider;
@@ -199,6 +201,10 @@ public class RpcClient implements ClientProtocol {
 
   private static final int WRITE_POOL_MIN_SIZE = 1;
 
+  private static final int VECTORED_READ_POOL_MIN_SIZE = 1;
+
+  private static final int READ_AHEAD_POOL_MIN_SIZE = 1;
+
   private final ConfigurationSource conf;
   private final OzoneManagerClientProtocol ozoneManagerClient;
   private final XceiverClientFactory xceiverClientManager;
@@ -214,11 +220,15 @@ public class RpcClient implements ClientProtocol {
   private final Cache<URI, KeyProvider> keyProviderCache;
   private final boolean getLatestVersionLocation;
   private final ByteBufferPool byteBufferPool;
+  /** Shared by the buffer pools of all the output streams. */
+  private final BufferArena bufferArena;
   private final BlockInputStreamFactory blockInputStreamFactory;
   private final OzoneManagerVersion omVersion;
   private final MemoizedSupplier<ExecutorService> ecReconstructExecutor;
   private final ContainerClientMetrics clientMetrics;
   private final MemoizedSupplier<ExecutorService> writeExecutor;
+  private final MemoizedSupplier<ExecutorService> vectoredReadExecutor;
+  private final MemoizedSupplier<ExecutorService> readAheadExecutor;
   private final AtomicBoolean isS3GRequest = new AtomicBoolean(false);
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
@@ -245,6 +255,14 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
         "ec-reconstruct-reader-TID-%d"));
     this.writeExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
         WRITE_POOL_MIN_SIZE, Integer.MAX_VALUE, "client-write-TID-%d"));
+    this.vectoredReadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        VECTORED_READ_POOL_MIN_SIZE, clientConfig.getVectoredReadPoolLimit(),
+        "client-vectored-read-TID-%d"));
+    this.readAheadExecutor = MemoizedSupplier.valueOf(() -> createThreadPoolExecutor(
+        READ_AHEAD_POOL_MIN_SIZE, clientConfig.getReadAheadPoolLimit(),
+        "client-read-ahead-TID-%d",
+        // A read ahead is skipped, instead of run by the reader, when the pool is full.
+        new ThreadPoolExecutor.AbortPolicy()));
 
     OmTransport omTransport = createOmTransport(omServiceId);
     OzoneManagerProtocolClientSideTranslatorPB
@@ -321,8 +339,11 @@ public void onRemoval(
           }
         }).build();
     this.byteBufferPool = new ElasticByteBufferPool();
+    this.bufferArena = new BufferArena(
+        clientConfig.getStreamBufferArenaMaxSize(),
+        clientConfig.getStreamBufferArenaWaitTimeout());
     this.blockInputStreamFactory = BlockInputStreamFactoryImpl
-        .getInstance(byteBufferPool, ecReconstructExecutor);
+        .getInstance(byteBufferPool, ecReconstructExecutor, readAheadExecutor);
     this.clientMetrics = ContainerClientMetrics.acquire();
 
     this.serverDefaultsValidityPeriod = conf.getTimeDuration(
@@ -333,6 +354,11 @@ public void onRemoval(
     TracingUtil.initTracing("client", conf);
   }
 
+  @VisibleForTesting
+  public BufferArena getBufferArena() {
+    return bufferArena;
+  }
+
   public XceiverClientFactory getXceiverClientManager() {
     return xceiverClientManager;
   }
@@ -1756,6 +1782,43 @@ public OzoneKeyDetails getKeyDetails(
     return getOzoneKeyDetails(keyInfo);
   }
 
+  @Override
+  public List<OzoneKeyDetails> getKeyDetails(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    Preconditions.checkNotNull(volumeName);
+    Preconditions.checkNotNull(bucketName);
+    Preconditions.checkNotNull(keyNames);
+    final List<OzoneKeyDetails> details = new ArrayList<>(keyNames.size());
+    if (omVersion.compareTo(OzoneManagerVersion.LOOKUP_KEYS) >= 0) {
+      // The key names are in the request, the key name of the args is
+      // required by the proto but not used.
+      OmKeyArgs keyArgs = new OmKeyArgs.Builder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setKeyName("")
+          .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+          .setLatestVersionLocation(getLatestVersionLocation)
+          .build();
+      for (OmKeyInfo keyInfo
+          : ozoneManagerClient.lookupKeys(keyArgs, keyNames)) {
+        details.add(keyInfo == null ? null : getOzoneKeyDetails(keyInfo));
+      }
+    } else {
+      for (String keyName : keyNames) {
+        OzoneKeyDetails d = null;
+        try {
+          d = getKeyDetails(volumeName, bucketName, keyName);
+        } catch (OMException e) {
+          if (e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+            throw e;
+          }
+        }
+        details.add(d);
+      }
+    }
+    return details;
+  }
+
   @Nonnull
   private OzoneKeyDetails getOzoneKeyDetails(OmKeyInfo keyInfo) {
     List<OzoneKeyLocation> ozoneKeyLocations = new ArrayList<>();
@@ -1891,6 +1954,12 @@ public void close() throws IOException {
     if (writeExecutor.isInitialized()) {
       writeExecutor.get().shutdownNow();
     }
+    if (vectoredReadExecutor.isInitialized()) {
+      vectoredReadExecutor.get().shutdownNow();
+    }
+    if (readAheadExecutor.isInitialized()) {
+      readAheadExecutor.get().shutdownNow();
+    }
     IOUtils.cleanupWithLogger(LOG, ozoneManagerClient, xceiverClientManager);
     keyProviderCache.invalidateAll();
     keyProviderCache.cleanUp();
@@ -2416,7 +2485,7 @@ private OzoneInputStream createInputStream(
     if (feInfo == null) {
       LengthInputStream lengthInputStream = KeyInputStream
           .getFromOmKeyInfo(keyInfo, xceiverClientManager, retryFunction,
-              blockInputStreamFactory, clientConfig);
+              blockInputStreamFactory, clientConfig, vectoredReadExecutor);
       try {
         final GDPRSymmetricKey gk = getGDPRSymmetricKey(
             keyInfo.getMetadata(), Cipher.DECRYPT_MODE);
@@ -2569,6 +2638,7 @@ private KeyOutputStream.Builder createKeyOutputStream(
         .setClientMetrics(clientMetrics)
         .setExecutorServiceSupplier(writeExecutor)
         .setStreamBufferArgs(streamBufferArgs)
+        .setBufferArena(bufferArena)
         .setOmVersion(omVersion);
   }
 
@@ -2791,9 +2861,16 @@ public void deleteObjectTagging(String volumeName, String bucketName,
 
   private static ExecutorService createThreadPoolExecutor(
        int corePoolSize, int maximumPoolSize, String threadNameFormat) {
+    return createThreadPoolExecutor(corePoolSize, maximumPoolSize, threadNameFormat,
+        new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  private static ExecutorService createThreadPoolExecutor(
+       int corePoolSize, int maximumPoolSize, String threadNameFormat,
+       RejectedExecutionHandler rejectedExecutionHandler) {
     return new ThreadPoolExecutor(corePoolSize, maximumPoolSize,
             60, TimeUnit.SECONDS, new SynchronousQueue<>(),
                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
-               new ThreadPoolExecutor.CallerRunsPolicy());
+               rejectedExecutionHandler);
   }
 }
@@ -71,7 +71,11 @@ private BlockID toBlockID(DatanodeBlockID datanodeBlockID) {
         datanodeBlockID.getLocalID());
   }
 
-  public void putBlock(DatanodeBlockID blockID, BlockData blockData) {
+  public void putBlock(DatanodeBlockID blockID, BlockData blockData)
+      throws IOException {
+    if (exception != null) {
+      throw exception;
+    }
     if (isIncrementalChunkList(blockData)) {
       LOG.debug("incremental chunk list");
       putBlockIncremental(blockID, blockData);
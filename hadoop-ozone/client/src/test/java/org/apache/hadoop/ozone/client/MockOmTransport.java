@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.client;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -28,6 +29,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.BucketInfo;
@@ -54,9 +56,13 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListOpenFilesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse.Builder;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceInfo;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
@@ -82,9 +88,17 @@ public class MockOmTransport implements OmTransport {
   //volumename -> bucketname -> keyName -> keys
   private Map<String, Map<String, Map<String, KeyInfo>>> keys =
       new HashMap<>();
+  // The version of the mock OM in the service list.
+  private final OzoneManagerVersion omVersion;
 
-  public MockOmTransport(MockBlockAllocator allocator) {
+  public MockOmTransport(MockBlockAllocator allocator,
+      OzoneManagerVersion omVersion) {
     this.blockAllocator = allocator;
+    this.omVersion = omVersion;
+  }
+
+  public MockOmTransport(MockBlockAllocator allocator) {
+    this(allocator, OzoneManagerVersion.CURRENT);
   }
 
   public MockOmTransport() {
@@ -126,6 +140,14 @@ public OMResponse submitRequest(OMRequest payload) throws IOException {
       return response(payload,
           r -> r.setLookupKeyResponse(
               lookupKey(payload.getLookupKeyRequest())));
+    case LookupKeys:
+      if (omVersion.compareTo(OzoneManagerVersion.LOOKUP_KEYS) < 0) {
+        throw new IllegalArgumentException(
+            "LookupKeys is not supported by OM version " + omVersion);
+      }
+      return response(payload,
+          r -> r.setLookupKeysResponse(
+              lookupKeys(payload.getLookupKeysRequest())));
     case ServiceList:
       return response(payload,
           r -> r.setServiceListResponse(
@@ -179,12 +201,34 @@ private LookupKeyResponse lookupKey(LookupKeyRequest lookupKeyRequest) {
         .build();
   }
 
+  private LookupKeysResponse lookupKeys(LookupKeysRequest request) {
+    final KeyArgs keyArgs = request.getKeyArgs();
+    final Map<String, KeyInfo> bucketKeys = keys
+        .getOrDefault(keyArgs.getVolumeName(), Collections.emptyMap())
+        .getOrDefault(keyArgs.getBucketName(), Collections.emptyMap());
+    final LookupKeysResponse.Builder builder = LookupKeysResponse.newBuilder();
+    for (String keyName : request.getKeyNamesList()) {
+      final LookupKeysResult.Builder result = LookupKeysResult.newBuilder();
+      final KeyInfo keyInfo = bucketKeys.get(keyName);
+      if (keyInfo != null) {
+        result.setKeyInfo(keyInfo);
+      }
+      builder.addResults(result);
+    }
+    return builder.build();
+  }
+
   private GetKeyInfoResponse getKeyInfo(GetKeyInfoRequest request) {
     final KeyArgs keyArgs = request.getKeyArgs();
+    final KeyInfo keyInfo = keys
+        .getOrDefault(keyArgs.getVolumeName(), Collections.emptyMap())
+        .getOrDefault(keyArgs.getBucketName(), Collections.emptyMap())
+        .get(keyArgs.getKeyName());
+    if (keyInfo == null) {
+      throw new MockOmException(Status.KEY_NOT_FOUND);
+    }
     return GetKeyInfoResponse.newBuilder()
-        .setKeyInfo(
-            keys.get(keyArgs.getVolumeName()).get(keyArgs.getBucketName())
-                .get(keyArgs.getKeyName()))
+        .setKeyInfo(keyInfo)
         .build();
   }
 
@@ -362,6 +406,10 @@ private CreateVolumeResponse createVolume(
   private ServiceListResponse serviceList(
       ServiceListRequest serviceListRequest) {
     return ServiceListResponse.newBuilder()
+        .addServiceInfo(ServiceInfo.newBuilder()
+            .setNodeType(HddsProtos.NodeType.OM)
+            .setHostname("localhost")
+            .setOMVersion(omVersion.toProtoValue()))
         .build();
   }
 
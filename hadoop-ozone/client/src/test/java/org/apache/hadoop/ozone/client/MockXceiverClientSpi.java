@@ -92,7 +92,13 @@ public XceiverClientReply sendCommandAsync(
           r -> r.setReadChunk(readChunk(request.getReadChunk())));
     case PutBlock:
       return result(request,
-          r -> r.setPutBlock(putBlock(request.getPutBlock())));
+          r -> {
+            try {
+              return r.setPutBlock(putBlock(request.getPutBlock()));
+            } catch (IOException e) {
+              return r.setResult(Result.IO_EXCEPTION);
+            }
+          });
     case GetBlock:
       return result(request,
           r -> r.setGetBlock(getBlock(request.getGetBlock())));
@@ -126,7 +132,8 @@ private ContainerProtos.ListBlockResponseProto listBlock(long containerID) {
         .addAllBlockData(datanodeStorage.listBlock(containerID)).build();
   }
 
-  private PutBlockResponseProto putBlock(PutBlockRequestProto putBlock) {
+  private PutBlockResponseProto putBlock(PutBlockRequestProto putBlock)
+      throws IOException {
     return PutBlockResponseProto.newBuilder()
         .setCommittedBlockLength(
             doPutBlock(putBlock.getBlockData()))
@@ -134,7 +141,7 @@ private PutBlockResponseProto putBlock(PutBlockRequestProto putBlock) {
   }
 
   private GetCommittedBlockLengthResponseProto doPutBlock(
-      ContainerProtos.BlockData blockData) {
+      ContainerProtos.BlockData blockData) throws IOException {
     long length = 0;
     for (ChunkInfo chunk : blockData.getChunksList()) {
       length += chunk.getLen();
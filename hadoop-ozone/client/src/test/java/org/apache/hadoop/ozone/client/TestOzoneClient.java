@@ -20,25 +20,36 @@
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.hadoop.hdds.client.ReplicationFactor.ONE;
 import static org.apache.ozone.test.GenericTestUtils.getTestStartTime;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.hadoop.conf.StorageUnit;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.ReplicationConfigValidator;
 import org.apache.hadoop.hdds.client.ReplicationType;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
 import org.apache.hadoop.ozone.client.io.OzoneInputStream;
 import org.apache.hadoop.ozone.client.io.OzoneOutputStream;
 import org.apache.hadoop.ozone.client.rpc.RpcClient;
@@ -60,6 +71,7 @@ public class TestOzoneClient {
 
   private OzoneClient client;
   private ObjectStore store;
+  private MockXceiverClientFactory xceiverClientFactory;
 
   public static <E extends Throwable> void expectOmException(
       OMException.ResultCodes code,
@@ -77,18 +89,24 @@ public void init() throws IOException {
 
   private void createNewClient(ConfigurationSource config,
       MockBlockAllocator blkAllocator) throws IOException {
+    createNewClient(config, new MockOmTransport(blkAllocator));
+  }
+
+  private void createNewClient(ConfigurationSource config,
+      MockOmTransport omTransport) throws IOException {
+    xceiverClientFactory = new MockXceiverClientFactory();
     client = new OzoneClient(config, new RpcClient(config, null) {
 
       @Override
       protected OmTransport createOmTransport(String omServiceId) {
-        return new MockOmTransport(blkAllocator);
+        return omTransport;
       }
 
       @Nonnull
       @Override
       protected XceiverClientFactory createXceiverClientFactory(
           ServiceInfoEx serviceInfo) {
-        return new MockXceiverClientFactory();
+        return xceiverClientFactory;
       }
     });
 
@@ -220,6 +238,118 @@ public void testPutKeyWithECReplicationConfig() throws IOException {
     }
   }
 
+  @Test
+  public void testPutKeyWithParallelBlocks() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setStorageSize(OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE, 2,
+        StorageUnit.KB);
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setParallelBlocksPerKey(3);
+    config.setFromObject(clientConfig);
+    createNewClient(config, new SinglePipelineBlockAllocator(config));
+    OzoneBucket bucket = getOzoneBucket();
+
+    byte[] data = new byte[10 * 1024 + 100];
+    ThreadLocalRandom.current().nextBytes(data);
+    String keyName = UUID.randomUUID().toString();
+    try (OzoneOutputStream out = bucket.createKey(keyName, data.length,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      for (int off = 0; off < data.length; off += 1000) {
+        out.write(data, off, Math.min(1000, data.length - off));
+      }
+    }
+
+    byte[] fileContent = new byte[data.length];
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      IOUtils.readFully(is, fileContent, 0, fileContent.length);
+    }
+    assertArrayEquals(data, fileContent);
+  }
+
+  @Test
+  public void testPutKeyWithParallelBlocksCloseFailure() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    config.setStorageSize(OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE, 2,
+        StorageUnit.KB);
+    OzoneClientConfig clientConfig = config.getObject(OzoneClientConfig.class);
+    clientConfig.setParallelBlocksPerKey(3);
+    config.setFromObject(clientConfig);
+    // Each block is on its own datanode.
+    MultiNodePipelineBlockAllocator allocator =
+        new MultiNodePipelineBlockAllocator(config, 1, 10);
+    createNewClient(config, allocator);
+    OzoneBucket bucket = getOzoneBucket();
+
+    // The data of a block is written to the datanode when the block is closed
+    // in the background, so the close of the first block fails.
+    xceiverClientFactory.setFailedStorages(Collections.singletonList(
+        DatanodeDetails.getFromProtoBuf(allocator.getClusterDns().get(0))));
+
+    byte[] data = new byte[5 * 1024 + 100];
+    ThreadLocalRandom.current().nextBytes(data);
+    String keyName = UUID.randomUUID().toString();
+    try (OzoneOutputStream out = bucket.createKey(keyName, data.length,
+        ReplicationType.RATIS, ONE, new HashMap<>())) {
+      for (int off = 0; off < data.length; off += 1000) {
+        out.write(data, off, Math.min(1000, data.length - off));
+      }
+    }
+
+    // The data of the failed block is rewritten to a new block,
+    // which is placed before the subsequent blocks.
+    List<Long> blocks = new ArrayList<>();
+    for (OzoneKeyLocation location
+        : bucket.getKey(keyName).getOzoneKeyLocations()) {
+      blocks.add(location.getLocalID());
+    }
+    assertEquals(Arrays.asList(3L, 1L, 2L), blocks);
+
+    byte[] fileContent = new byte[data.length];
+    try (OzoneInputStream is = bucket.readKey(keyName)) {
+      IOUtils.readFully(is, fileContent, 0, fileContent.length);
+    }
+    assertArrayEquals(data, fileContent);
+  }
+
+  @Test
+  public void testGetKeyDetailsInBatch() throws IOException {
+    assertGetKeyDetailsInBatch();
+  }
+
+  @Test
+  public void testGetKeyDetailsInBatchFromOlderOm() throws IOException {
+    close();
+    OzoneConfiguration config = new OzoneConfiguration();
+    // The keys are looked up one by one.
+    createNewClient(config, new MockOmTransport(
+        new SinglePipelineBlockAllocator(config),
+        OzoneManagerVersion.S3_LIST_MULTIPART_UPLOADS_PAGINATION));
+    assertGetKeyDetailsInBatch();
+  }
+
+  private void assertGetKeyDetailsInBatch() throws IOException {
+    OzoneBucket bucket = getOzoneBucket();
+    List<String> keyNames = Arrays.asList("key1", "missing", "dir/key2");
+    for (String keyName : Arrays.asList("key1", "dir/key2")) {
+      byte[] value = keyName.getBytes(UTF_8);
+      try (OzoneOutputStream out = bucket.createKey(keyName, value.length,
+          ReplicationType.RATIS, ONE, new HashMap<>())) {
+        out.write(value);
+      }
+    }
+
+    List<OzoneKeyDetails> details = client.getProxy().getKeyDetails(
+        bucket.getVolumeName(), bucket.getName(), keyNames);
+    assertEquals(keyNames.size(), details.size());
+    assertEquals("key1", details.get(0).getName());
+    assertEquals(4, details.get(0).getDataSize());
+    assertNull(details.get(1));
+    assertEquals("dir/key2", details.get(2).getName());
+    assertEquals(8, details.get(2).getDataSize());
+  }
+
   /**
    * This test validates that for S3G,
    * the key upload process needs to be atomic.
@@ -47,6 +47,7 @@
 import org.apache.hadoop.hdds.scm.XceiverClientFactory;
 import org.apache.hadoop.hdds.scm.container.common.helpers.ContainerNotOpenException;
 import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.storage.BufferArena;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.client.io.BlockOutputStreamEntry;
@@ -79,6 +80,7 @@ public class TestOzoneECClient {
   private int parityBlocks = 2;
   private int inputSize = chunkSize * dataBlocks;
   private OzoneClient client;
+  private RpcClient rpcClient;
   private ObjectStore store;
   private String keyName = UUID.randomUUID().toString();
   private String volumeName = UUID.randomUUID().toString();
@@ -106,7 +108,7 @@ private void createNewClient(ConfigurationSource config,
 
   private void createNewClient(ConfigurationSource config,
       final MockOmTransport transport) throws IOException {
-    client = new OzoneClient(config, new RpcClient(config, null) {
+    rpcClient = new RpcClient(config, null) {
 
       @Override
       protected OmTransport createOmTransport(String omServiceId) {
@@ -118,7 +120,8 @@ protected XceiverClientFactory createXceiverClientFactory(
           ServiceInfoEx serviceInfo) {
         return factoryStub;
       }
-    });
+    };
+    client = new OzoneClient(config, rpcClient);
 
     store = client.getObjectStore();
     initInputChunks();
@@ -163,6 +166,28 @@ public void testPutECKeyAndCheckDNStoredData() throws IOException {
     }
   }
 
+  @Test
+  public void testStripeBuffersReturnedToArena() throws IOException {
+    store.createVolume(volumeName);
+    OzoneVolume volume = store.getVolume(volumeName);
+    volume.createBucket(bucketName);
+    OzoneBucket bucket = volume.getBucket(bucketName);
+    final BufferArena arena = rpcClient.getBufferArena();
+
+    try (OzoneOutputStream out = bucket.createKey(keyName, inputSize + chunkSize,
+        new ECReplicationConfig(dataBlocks, parityBlocks,
+            ECReplicationConfig.EcCodec.RS, chunkSize), new HashMap<>())) {
+      out.write(inputChunks[0]);
+      assertEquals((dataBlocks + parityBlocks) * chunkSize,
+          arena.getUsedBytes());
+      for (int i = 1; i < dataBlocks; i++) {
+        out.write(inputChunks[i]);
+      }
+      out.write(inputChunks[0]);
+    }
+    assertEquals(0, arena.getUsedBytes());
+  }
+
   @Test
   public void testPutECKeyAndCheckParityData() throws IOException {
     OzoneBucket bucket = writeIntoECKey(inputChunks, keyName, null);
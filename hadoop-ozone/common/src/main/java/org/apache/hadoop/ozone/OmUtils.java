@@ -268,6 +268,7 @@ public static boolean isReadOnly(
       // Although indirectly the Ranger sync service task could invoke write
       // operation SetRangerServiceVersion.
     case GetKeyInfo:
+    case LookupKeys:
     case SnapshotDiff:
     case CancelSnapshotDiff:
     case ListSnapshotDiffJobs:
@@ -341,6 +342,7 @@ public static boolean isReadOnly(
     case QuotaRepair:
     case PutObjectTagging:
     case DeleteObjectTagging:
+    case PersistDb:
     case UnknownCommand:
       return false;
     case EchoRPC:
@@ -47,6 +47,17 @@ KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args,
                                       boolean assumeS3Context)
       throws IOException;
 
+  /**
+   * Look up the existing keys in the same bucket in a batch.
+   *
+   * @param args the args of the bucket, where the key name is ignored.
+   * @param keyNames the names of the keys.
+   * @return the OmKeyInfo in the order of the key names,
+   *         where the OmKeyInfo is null if the key is not found.
+   */
+  List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException;
+
   /**
    * List the status for a file or a directory and its contents.
    *
@@ -522,6 +522,19 @@ public final class OMConfigKeys {
   public static final TimeDuration OZONE_OM_CONTAINER_LOCATION_CACHE_TTL_DEFAULT
       = TimeDuration.valueOf(360, TimeUnit.MINUTES);
 
+  public static final String OZONE_OM_BLOCK_PREFETCH_ENABLED
+      = "ozone.om.block.prefetch.enabled";
+  public static final boolean OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT = false;
+
+  public static final String OZONE_OM_BLOCK_PREFETCH_SIZE
+      = "ozone.om.block.prefetch.size";
+  public static final int OZONE_OM_BLOCK_PREFETCH_SIZE_DEFAULT = 64;
+
+  public static final String OZONE_OM_BLOCK_PREFETCH_EXPIRY
+      = "ozone.om.block.prefetch.expiry";
+  public static final TimeDuration OZONE_OM_BLOCK_PREFETCH_EXPIRY_DEFAULT
+      = TimeDuration.valueOf(30, TimeUnit.SECONDS);
+
   public static final String OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR
       = "ozone.om.enable.ofs.shared.tmp.dir";
   public static final boolean OZONE_OM_ENABLE_OFS_SHARED_TMP_DIR_DEFAULT
@@ -642,6 +655,36 @@ public final class OMConfigKeys {
   public static final String OZONE_OM_COMPACTION_SERVICE_COLUMNFAMILIES_DEFAULT =
       "keyTable,fileTable,directoryTable,deletedTable,deletedDirectoryTable,multipartInfoTable";
 
+  /**
+   * Configuration properties for leader side execution of write requests.
+   */
+  public static final String OZONE_OM_LEADER_EXECUTION_ENABLED = "ozone.om.leader.execution.enabled";
+  public static final boolean OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES = "ozone.om.leader.execution.lock.stripes";
+  public static final int OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES_DEFAULT = 1024;
+
+  /**
+   * Whether to store the values of the key, file and directory table caches
+   * serialized in off-heap buffers.
+   */
+  public static final String OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED = "ozone.om.db.table.cache.off-heap.enabled";
+  public static final boolean OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT = false;
+  /** The limit of the direct memory allocated by the off-heap table caches. */
+  public static final String OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE = "ozone.om.db.table.cache.off-heap.max.size";
+  public static final String OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT = "1GB";
+
+  /**
+   * The tuning of the column families of the large OM tables.
+   */
+  public static final String OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED = "ozone.om.db.large.table.tuning.enabled";
+  public static final boolean OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED_DEFAULT = false;
+  public static final String OZONE_OM_DB_LARGE_TABLES = "ozone.om.db.large.tables";
+  public static final String OZONE_OM_DB_LARGE_TABLES_DEFAULT = "keyTable,fileTable,directoryTable";
+  public static final String OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE = "ozone.om.db.large.table.block.size";
+  public static final String OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE_DEFAULT = "16KB";
+  public static final String OZONE_OM_DB_LARGE_TABLE_COMPRESSION = "ozone.om.db.large.table.compression";
+  public static final String OZONE_OM_DB_LARGE_TABLE_COMPRESSION_DEFAULT = "LZ4_COMPRESSION";
+
   /**
    * Never constructed.
    */
@@ -257,11 +257,11 @@ public long getUsedNamespace() {
     return usedNamespace;
   }
 
-  public void incrUsedBytes(long bytes) {
+  public synchronized void incrUsedBytes(long bytes) {
     this.usedBytes += bytes;
   }
 
-  public void incrUsedNamespace(long namespaceToUse) {
+  public synchronized void incrUsedNamespace(long namespaceToUse) {
     this.usedNamespace += namespaceToUse;
   }
 
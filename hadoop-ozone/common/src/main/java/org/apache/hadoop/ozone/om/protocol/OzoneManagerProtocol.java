@@ -320,6 +320,20 @@ default OmKeyLocationInfo allocateBlock(OmKeyArgs args, long clientID,
   KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args, boolean assumeS3Context)
       throws IOException;
 
+  /**
+   * Look up the existing keys in the same bucket with a single call,
+   * instead of calling {@link #getKeyInfo} for each key.
+   *
+   * @param args the args of the bucket and the lookup options,
+   *             where the key name is ignored.
+   * @param keyNames the names of the keys.
+   * @return the OmKeyInfo in the order of the key names,
+   *         where the OmKeyInfo is null if the key is not found.
+   */
+  @Override
+  List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException;
+
   /**
    * Rename an existing key within a bucket.
    * @param args the args of the key.
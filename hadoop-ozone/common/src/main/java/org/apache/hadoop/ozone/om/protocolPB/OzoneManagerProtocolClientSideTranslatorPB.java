@@ -168,6 +168,9 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupFileResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.MultipartCommitUploadPartRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.MultipartCommitUploadPartResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.MultipartInfoInitiateRequest;
@@ -891,6 +894,28 @@ public KeyInfoWithVolumeContext getKeyInfo(OmKeyArgs args,
     return KeyInfoWithVolumeContext.fromProtobuf(resp);
   }
 
+  @Override
+  public List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException {
+    LookupKeysRequest req = LookupKeysRequest.newBuilder()
+        .setKeyArgs(args.toProtobuf())
+        .addAllKeyNames(keyNames)
+        .build();
+
+    OMRequest omRequest = createOMRequest(Type.LookupKeys)
+        .setLookupKeysRequest(req)
+        .build();
+
+    LookupKeysResponse resp =
+        handleError(submitRequest(omRequest)).getLookupKeysResponse();
+    List<OmKeyInfo> keyInfos = new ArrayList<>(resp.getResultsCount());
+    for (LookupKeysResult result : resp.getResultsList()) {
+      keyInfos.add(result.hasKeyInfo()
+          ? OmKeyInfo.getFromProtobuf(result.getKeyInfo()) : null);
+    }
+    return keyInfos;
+  }
+
   @Override
   @Deprecated
   public void renameKeys(OmRenameKeys omRenameKeys) throws IOException {
@@ -148,6 +148,38 @@ public XceiverClientReply sendCommandAsync(
     assertEquals(0, allDNs.size());
   }
 
+  @Test
+  public void testHedgedReadChunk() throws IOException {
+    OzoneClientConfig clientConfig = conf.getObject(OzoneClientConfig.class);
+    clientConfig.setReadHedgingEnabled(true);
+    clientConfig.setReadHedgingMinDelay(10);
+    conf.setFromObject(clientConfig);
+    XceiverClientMetrics metrics =
+        XceiverClientManager.getXceiverClientMetrics();
+    long hedgedReadOps = metrics.getHedgedReadOps();
+    long hedgedReadWins = metrics.getHedgedReadWins();
+
+    final List<DatanodeDetails> seenDNs = new ArrayList<>();
+    try (XceiverClientGrpc client = new XceiverClientGrpc(pipeline, conf) {
+      @Override
+      public XceiverClientReply sendCommandAsync(
+          ContainerProtos.ContainerCommandRequestProto request,
+          DatanodeDetails dn) {
+        seenDNs.add(dn);
+        // The first datanode never replies.
+        return seenDNs.size() == 1
+            ? new XceiverClientReply(new CompletableFuture<>())
+            : buildValidResponse();
+      }
+    }) {
+      invokeXceiverClientReadChunk(client);
+    }
+    assertEquals(2, seenDNs.size());
+    assertNotEquals(seenDNs.get(0), seenDNs.get(1));
+    assertEquals(hedgedReadOps + 1, metrics.getHedgedReadOps());
+    assertEquals(hedgedReadWins + 1, metrics.getHedgedReadWins());
+  }
+
   @Test
   public void testFirstNodeIsCorrectWithTopologyForCommandTarget()
       throws IOException {
@@ -35,6 +35,7 @@
 import static org.apache.hadoop.ozone.security.acl.IAccessAuthorizer.ACLType.WRITE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -853,6 +854,109 @@ private ResolvedBucket resolvedBucket() {
     return bucket;
   }
 
+  @ParameterizedTest
+  @EnumSource(value = BucketLayout.class,
+      names = {"FILE_SYSTEM_OPTIMIZED", "OBJECT_STORE"})
+  public void testLookupKeys(BucketLayout bucketLayout) throws IOException {
+    String bucketName = bucketLayout.isFileSystemOptimized()
+        ? "lookupkeys-fso" : "lookupkeys-obs";
+    writeClient.createBucket(OmBucketInfo.newBuilder()
+        .setVolumeName(VOLUME_NAME)
+        .setBucketName(bucketName)
+        .setBucketLayout(bucketLayout)
+        .build());
+    for (String keyName : Arrays.asList(
+        "a/b/file1", "a/b/file2", "a/file3", "file4")) {
+      commitEmptyKey(bucketName, keyName);
+    }
+
+    List<String> keyNames = Arrays.asList("a/b/file1", "missing", "a/file3",
+        "a/b/missing", "a/b", "missing/file", "a/b/file2", "file4");
+    OmKeyArgs keyArgs = createBuilder(bucketName).build();
+    ResolvedBucket bucket = new ResolvedBucket(VOLUME_NAME, bucketName,
+        VOLUME_NAME, bucketName, "", bucketLayout);
+    List<OmKeyInfo> fromKeyManager =
+        keyManager.getKeyInfos(keyArgs, keyNames, bucket, null);
+    List<OmKeyInfo> fromOm = om.lookupKeys(keyArgs, keyNames);
+    assertEquals(keyNames.size(), fromKeyManager.size());
+    assertEquals(keyNames.size(), fromOm.size());
+
+    // The same as looking up the keys one by one.
+    for (int i = 0; i < keyNames.size(); i++) {
+      OmKeyInfo expected;
+      try {
+        expected = keyManager.lookupKey(createBuilder(bucketName)
+            .setKeyName(keyNames.get(i)).build(), bucket, null);
+      } catch (OMException e) {
+        assertEquals(OMException.ResultCodes.KEY_NOT_FOUND, e.getResult());
+        expected = null;
+      }
+      assertSameKey(expected, fromKeyManager.get(i));
+      assertSameKey(expected, fromOm.get(i));
+    }
+
+    for (int i : new int[] {0, 2, 6, 7}) {
+      assertEquals(keyNames.get(i), fromOm.get(i).getKeyName());
+      assertTrue(fromOm.get(i).isFile());
+    }
+    for (int i : new int[] {1, 3, 5}) {
+      assertNull(fromOm.get(i));
+    }
+    // A directory is found only in an FSO bucket.
+    if (bucketLayout.isFileSystemOptimized()) {
+      assertEquals("a/b/", fromOm.get(4).getKeyName());
+      assertFalse(fromOm.get(4).isFile());
+    } else {
+      assertNull(fromOm.get(4));
+    }
+  }
+
+  @Test
+  public void testLookupKeysInSnapshot() throws Exception {
+    String bucketName = "lookupkeys-snapshot";
+    writeClient.createBucket(OmBucketInfo.newBuilder()
+        .setVolumeName(VOLUME_NAME)
+        .setBucketName(bucketName)
+        .setBucketLayout(BucketLayout.FILE_SYSTEM_OPTIMIZED)
+        .build());
+    commitEmptyKey(bucketName, "dir/file1");
+    writeClient.createSnapshot(VOLUME_NAME, bucketName, "snap1");
+    commitEmptyKey(bucketName, "dir/file2");
+    om.awaitDoubleBufferFlush();
+
+    // The snapshot keys and the active keys are mixed in a batch.
+    List<String> keyNames = Arrays.asList(".snapshot/snap1/dir/file1",
+        "dir/file2", ".snapshot/snap1/dir/file2", "dir/file1");
+    List<OmKeyInfo> keyInfos =
+        om.lookupKeys(createBuilder(bucketName).build(), keyNames);
+    assertEquals(keyNames.size(), keyInfos.size());
+    assertEquals(keyNames.get(0), keyInfos.get(0).getKeyName());
+    assertEquals(keyNames.get(1), keyInfos.get(1).getKeyName());
+    assertNull(keyInfos.get(2));
+    assertEquals(keyNames.get(3), keyInfos.get(3).getKeyName());
+    assertEquals(keyInfos.get(3).getObjectID(), keyInfos.get(0).getObjectID());
+  }
+
+  private static void assertSameKey(OmKeyInfo expected, OmKeyInfo actual) {
+    if (expected == null) {
+      assertNull(actual);
+      return;
+    }
+    assertNotNull(actual);
+    assertEquals(expected.getKeyName(), actual.getKeyName());
+    assertEquals(expected.getObjectID(), actual.getObjectID());
+    assertEquals(expected.isFile(), actual.isFile());
+  }
+
+  /** Commit a key without blocks, so that no container lookup is needed. */
+  private void commitEmptyKey(String bucketName, String keyName)
+      throws IOException {
+    OmKeyArgs keyArgs = createBuilder(bucketName).setKeyName(keyName).build();
+    OpenKeySession keySession = writeClient.openKey(keyArgs);
+    keyArgs.setLocationInfoList(new ArrayList<>());
+    writeClient.commitKey(keyArgs, keySession.getId());
+  }
+
   @Test
   public void testLatestLocationVersion() throws IOException {
     String keyName = RandomStringUtils.secure().nextAlphabetic(5);
@@ -86,6 +86,20 @@ OmKeyInfo lookupKey(OmKeyArgs args, ResolvedBucket bucketLayout,
   OmKeyInfo getKeyInfo(OmKeyArgs args, ResolvedBucket buctket,
       String clientAddress) throws IOException;
 
+  /**
+   * Return info of the existing keys in the same bucket to client side,
+   * similar to {@link #getKeyInfo} but the keys are looked up in a batch.
+   * @param args the args of the bucket and the options, except the key name.
+   * @param keyNames the names of the keys.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return the OmKeyInfo in the order of the key names,
+   *         where the OmKeyInfo is null if the key is not found.
+   * @throws IOException
+   */
+  List<OmKeyInfo> getKeyInfos(OmKeyArgs args, List<String> keyNames,
+      ResolvedBucket bucket, String clientAddress) throws IOException;
+
   /**
    * Returns a list of keys represented by {@link OmKeyInfo}
    * in the given bucket.
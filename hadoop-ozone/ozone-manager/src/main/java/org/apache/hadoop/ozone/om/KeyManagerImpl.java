@@ -86,6 +86,8 @@
 import com.google.common.base.Strings;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.PrivilegedExceptionAction;
 import java.time.Duration;
@@ -576,6 +578,64 @@ private OmKeyInfo readKeyInfo(OmKeyArgs args, BucketLayout bucketLayout)
     return value;
   }
 
+  /**
+   * Similar to {@link #readKeyInfo} except that the keys are looked up
+   * under a single bucket lock, and the values are null for the keys not
+   * found.
+   */
+  private List<OmKeyInfo> readKeyInfos(OmKeyArgs args, List<String> keyNames,
+      BucketLayout bucketLayout) throws IOException {
+    String volumeName = args.getVolumeName();
+    String bucketName = args.getBucketName();
+    List<OmKeyInfo> values;
+
+    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      List<String> normalizedKeyNames = new ArrayList<>(keyNames.size());
+      for (String keyName : keyNames) {
+        normalizedKeyNames.add(OMClientRequest.validateAndNormalizeKey(
+            ozoneManager.getEnableFileSystemPaths(), keyName, bucketLayout));
+      }
+
+      if (bucketLayout.isFileSystemOptimized()) {
+        values = getOmKeyInfosFSO(volumeName, bucketName, normalizedKeyNames);
+      } else {
+        List<String> dbKeys = new ArrayList<>(normalizedKeyNames.size());
+        for (String keyName : normalizedKeyNames) {
+          dbKeys.add(metadataManager.getOzoneKey(volumeName, bucketName,
+              keyName));
+        }
+        values = metadataManager.getKeyTable(bucketLayout).multiGet(dbKeys);
+        for (OmKeyInfo value : values) {
+          if (value != null) {
+            // For Legacy & OBS buckets, any key is a file by default.
+            value.setFile(true);
+          }
+        }
+      }
+    } catch (IOException ex) {
+      if (ex instanceof OMException) {
+        throw ex;
+      }
+      throw new OMException(
+          format("Error reading keys metadata: /%s/%s", volumeName,
+              bucketName), ex, INTERNAL_ERROR);
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+
+    if (args.getLatestVersionLocation()) {
+      for (OmKeyInfo value : values) {
+        if (value != null) {
+          slimLocationVersion(value);
+        }
+      }
+    }
+    return values;
+  }
+
   private OmKeyInfo getOmKeyInfo(String volumeName, String bucketName,
       String keyName, BucketLayout bucketLayout) throws IOException {
     String keyBytes =
@@ -607,15 +667,97 @@ private OmKeyInfo getOmKeyInfoFSO(String volumeName, String bucketName,
     return fileStatus.getKeyInfo();
   }
 
+  /**
+   * Look up the FSO keys in the same bucket.  The keys usually share a few
+   * parent directories, so each parent directory is resolved only once, and
+   * then the files are looked up with a single multiGet.  A key not found in
+   * the file table, e.g. a directory, falls back to {@link #getOmKeyInfoFSO}.
+   */
+  private List<OmKeyInfo> getOmKeyInfosFSO(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    final long volumeId = metadataManager.getVolumeId(volumeName);
+    final long bucketId = metadataManager.getBucketId(volumeName, bucketName);
+    final Map<Path, Long> directoryIds = new HashMap<>();
+
+    final List<Integer> indices = new ArrayList<>();
+    final List<String> dbKeys = new ArrayList<>();
+    for (int i = 0; i < keyNames.size(); i++) {
+      final String keyName = keyNames.get(i);
+      if (keyName.isEmpty() || keyName.endsWith(OZONE_URI_DELIMITER)) {
+        continue;
+      }
+      final Path path = Paths.get(keyName);
+      final Long parentId = getDirectoryId(volumeId, bucketId,
+          path.getParent(), directoryIds);
+      if (parentId != null) {
+        indices.add(i);
+        dbKeys.add(metadataManager.getOzonePathKey(volumeId, bucketId,
+            parentId, path.getFileName().toString()));
+      }
+    }
+
+    final List<OmKeyInfo> values = new ArrayList<>(
+        Collections.nCopies(keyNames.size(), null));
+    final List<OmKeyInfo> files = metadataManager
+        .getKeyTable(BucketLayout.FILE_SYSTEM_OPTIMIZED).multiGet(dbKeys);
+    for (int i = 0; i < indices.size(); i++) {
+      final OmKeyInfo file = files.get(i);
+      if (file != null) {
+        // The key name in the file table is only the file name.
+        file.setKeyName(keyNames.get(indices.get(i)));
+        file.setFile(true);
+        values.set(indices.get(i), file);
+      }
+    }
+
+    for (int i = 0; i < keyNames.size(); i++) {
+      if (values.get(i) == null) {
+        values.set(i, getOmKeyInfoFSO(volumeName, bucketName, keyNames.get(i)));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return the object id of the given directory, or null if it does not
+   *         exist.  The results are cached in the given map.
+   */
+  private Long getDirectoryId(long volumeId, long bucketId, Path directory,
+      Map<Path, Long> directoryIds) throws IOException {
+    if (directory == null) {
+      return bucketId;
+    }
+    if (directoryIds.containsKey(directory)) {
+      return directoryIds.get(directory);
+    }
+    final Long parentId = getDirectoryId(volumeId, bucketId,
+        directory.getParent(), directoryIds);
+    Long id = null;
+    if (parentId != null) {
+      final OmDirectoryInfo info = metadataManager.getDirectoryTable().get(
+          metadataManager.getOzonePathKey(volumeId, bucketId, parentId,
+              directory.getFileName().toString()));
+      id = info == null ? null : info.getObjectID();
+    }
+    directoryIds.put(directory, id);
+    return id;
+  }
+
   private void addBlockToken4Read(OmKeyInfo value) throws IOException {
     Preconditions.checkNotNull(value, "OMKeyInfo cannot be null");
+    addBlockToken4Read(Collections.singletonList(value));
+  }
+
+  private void addBlockToken4Read(List<OmKeyInfo> values) throws IOException {
     if (grpcBlockTokenEnabled) {
       String remoteUser = getRemoteUser().getShortUserName();
-      for (OmKeyLocationInfoGroup key : value.getKeyLocationVersions()) {
-        key.getLocationList().forEach(k -> {
-          k.setToken(secretManager.generateToken(remoteUser, k.getBlockID(),
-              EnumSet.of(READ), k.getLength()));
-        });
+      for (OmKeyInfo value : values) {
+        for (OmKeyLocationInfoGroup key : value.getKeyLocationVersions()) {
+          key.getLocationList().forEach(k -> {
+            k.setToken(secretManager.generateToken(remoteUser, k.getBlockID(),
+                EnumSet.of(READ), k.getLength()));
+          });
+        }
       }
     }
   }
@@ -1713,6 +1855,10 @@ private void listStatusFindKeyInTableCache(
       if (cacheKey.equals(keyArgs)) {
         continue;
       }
+      // The keys are sorted, so the remaining keys do not have the prefix.
+      if (!cacheKey.startsWith(keyArgs)) {
+        break;
+      }
       OmKeyInfo cacheOmKeyInfo = entry.getValue().getCacheValue();
       // cacheOmKeyInfo is null if an entry is deleted in cache
       if (cacheOmKeyInfo != null && cacheKey.startsWith(
@@ -1909,9 +2055,11 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       TreeMap<String, OzoneFileStatus> cacheKeyMap, String keyArgs,
       Table<String, OmKeyInfo> keyTable) throws IOException {
     TableIterator<String, ? extends Table.KeyValue<String, OmKeyInfo>> iterator;
-    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
-        cacheIter = keyTable.cacheIterator();
     String startCacheKey = metadataManager.getOzoneKey(volumeName, bucketName, startKey);
+    // Seek to the start key in the sorted cache instead of scanning it all.
+    Iterator<Map.Entry<CacheKey<String>, CacheValue<OmKeyInfo>>>
+        cacheIter = keyTable.cacheIterator(
+            startCacheKey.compareTo(keyArgs) > 0 ? startCacheKey : keyArgs);
 
     // First, find key in TableCache
     listStatusFindKeyInTableCache(cacheIter, keyArgs, startCacheKey,
@@ -2330,6 +2478,38 @@ public OmKeyInfo getKeyInfo(OmKeyArgs args, ResolvedBucket bucket,
     return value;
   }
 
+  @Override
+  public List<OmKeyInfo> getKeyInfos(OmKeyArgs args, List<String> keyNames,
+      ResolvedBucket bucket, String clientAddress) throws IOException {
+    Preconditions.checkNotNull(args);
+
+    List<OmKeyInfo> values = captureLatencyNs(
+        metrics.getGetKeyInfoReadKeyInfoLatencyNs(),
+        () -> readKeyInfos(args, keyNames, bucket.bucketLayout()));
+
+    // If operation is head, do not perform any additional steps based on flags.
+    if (!args.isHeadOp()) {
+      List<OmKeyInfo> found = values.stream()
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
+
+      // add block tokens for read, with a single remote user lookup.
+      captureLatencyNs(metrics.getGetKeyInfoGenerateBlockTokenLatencyNs(),
+          () -> addBlockToken4Read(found));
+
+      // get the container pipeline info of all the keys from cache,
+      // with a single call to SCM for the containers not in the cache.
+      captureLatencyNs(metrics.getGetKeyInfoRefreshLocationLatencyNs(),
+          () -> refreshPipelineFromCache(found));
+
+      if (args.getSortDatanodes()) {
+        captureLatencyNs(metrics.getGetKeyInfoSortDatanodesLatencyNs(),
+            () -> sortDatanodes(clientAddress, found));
+      }
+    }
+    return values;
+  }
+
   private void refreshPipelineFromCache(Iterable<OmKeyInfo> keyInfos)
       throws IOException {
     Set<Long> containerIds = new HashSet<>();
@@ -184,6 +184,12 @@ public void close() throws IOException {
 
   /**
    * Iterator for Cache entries in a Dir and File Table.
+   * <p>
+   * The cache is iterated in the order of the keys from the start key, and
+   * the entries are copied until the prefix is passed or the given limit of
+   * the entries not marked for delete is reached.
+   * The limit is enough for a listing of the same limit, since the listed
+   * entries cannot go beyond the last copied entry.
    */
   public static class CacheIter<Value>
       implements ClosableIterator {
@@ -191,58 +197,60 @@ public void close() throws IOException {
 
     private final Iterator<Map.Entry<String, Value>>
         cacheCreatedKeyIter;
+    private final Table<String, Value> table;
     private final String prefixKey;
-    private final String startKey;
     private final String tableName;
     private final int entryIteratorId;
+    /** The last copied key if the limit is reached; otherwise, null. */
+    private String lastKey;
 
-    CacheIter(int entryIteratorId, String tableName,
-              Iterator<Map.Entry<CacheKey<String>,
-                  CacheValue<Value>>> cacheIter, String startKey,
-              String prefixKey) {
+    CacheIter(int entryIteratorId, Table<String, Value> table,
+              String startKey, String prefixKey, long limit) {
       this.cacheKeyMap = new TreeMap<>();
-      this.startKey = startKey;
+      this.table = table;
       this.prefixKey = prefixKey;
-      this.tableName = tableName;
+      this.tableName = table.getName();
       this.entryIteratorId = entryIteratorId;
 
-      populateCacheMap(cacheIter);
+      // Same as DbTableIter, seek to the start key only if it is
+      // lexicographically after the prefix key.
+      final String seekKey = StringUtils.isBlank(startKey) ||
+          startKey.compareTo(prefixKey) <= 0 ? prefixKey : startKey;
+      populateCacheMap(table.cacheIterator(seekKey), limit);
 
       cacheCreatedKeyIter = cacheKeyMap.entrySet().stream().filter(e -> e.getValue() != null).iterator();
     }
 
     private void populateCacheMap(Iterator<Map.Entry<CacheKey<String>,
-        CacheValue<Value>>> cacheIter) {
+        CacheValue<Value>>> cacheIter, long limit) {
+      long count = 0;
       while (cacheIter.hasNext()) {
         Map.Entry<CacheKey<String>, CacheValue<Value>> entry =
             cacheIter.next();
         String cacheKey = entry.getKey().getCacheKey();
+        // The keys are sorted, so the remaining keys do not have the prefix.
+        if (!cacheKey.startsWith(prefixKey)) {
+          break;
+        }
         Value cacheOmInfo = entry.getValue().getCacheValue();
 
         // Copy cache value to local copy and work on it
         if (cacheOmInfo instanceof CopyObject) {
           cacheOmInfo = ((CopyObject<Value>) cacheOmInfo).copyObject();
         }
-        if (StringUtils.isBlank(startKey)) {
-          // startKey is null or empty, then the seekKeyInDB="1024/"
-          if (cacheKey.startsWith(prefixKey)) {
-            cacheKeyMap.put(cacheKey, cacheOmInfo);
-          }
-        } else {
-          // startKey not empty, then the seekKeyInDB="1024/b" and
-          // seekKeyInDBWithOnlyParentID = "1024/". This is to avoid case of
-          // parentID with "102444" cache entries.
-          // Here, it has to list all the keys after "1024/b" and requires >=0
-          // string comparison.
-          if (cacheKey.startsWith(prefixKey) &&
-              cacheKey.compareTo(startKey) >= 0) {
-            cacheKeyMap.put(cacheKey, cacheOmInfo);
-          }
+        cacheKeyMap.put(cacheKey, cacheOmInfo);
+        if (cacheOmInfo != null && ++count >= limit) {
+          lastKey = cacheKey;
+          break;
         }
       }
     }
 
     public boolean doesKeyExistInCache(String key) {
+      if (lastKey != null && key.compareTo(lastKey) > 0) {
+        // The key is after the copied entries, look it up from the cache.
+        return table.getCacheValue(new CacheKey<>(key)) != null;
+      }
       return cacheKeyMap.containsKey(key);
     }
 
@@ -288,25 +296,37 @@ public static class MinHeapIterator implements ClosableIterator {
     private final PriorityQueue<HeapEntry> minHeap = new PriorityQueue<>();
     private final ArrayList<ClosableIterator> iterators = new ArrayList<>();
 
+    /**
+     * @param limit the max number of entries to be taken by the caller,
+     *              so that the cache entries beyond it need not be copied.
+     */
     MinHeapIterator(OMMetadataManager omMetadataManager, String prefixKey,
                     BucketLayout bucketLayout, String startKey,
-                    String volumeName, String bucketName) throws IOException {
+                    String volumeName, String bucketName, long limit)
+        throws IOException {
 
       this(omMetadataManager, prefixKey, startKey, volumeName,
-          bucketName, omMetadataManager.getDirectoryTable(),
+          bucketName, limit, omMetadataManager.getDirectoryTable(),
           omMetadataManager.getKeyTable(bucketLayout));
     }
 
     MinHeapIterator(OMMetadataManager omMetadataManager, String prefixKey,
                     String startKey, String volumeName, String bucketName,
                     Table... tables) throws IOException {
+      this(omMetadataManager, prefixKey, startKey, volumeName, bucketName,
+          Long.MAX_VALUE, tables);
+    }
+
+    MinHeapIterator(OMMetadataManager omMetadataManager, String prefixKey,
+                    String startKey, String volumeName, String bucketName,
+                    long limit, Table... tables) throws IOException {
       omMetadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
           bucketName);
       try {
         int iteratorId = 0;
         for (Table table : tables) {
-          CacheIter cacheIter = new CacheIter<>(iteratorId, table.getName(),
-              table.cacheIterator(), startKey, prefixKey);
+          CacheIter cacheIter = new CacheIter<>(iteratorId, table, startKey,
+              prefixKey, limit);
           Predicate<String> doesKeyExistInCache = cacheIter::doesKeyExistInCache;
           iterators.add(cacheIter);
           iteratorId++;
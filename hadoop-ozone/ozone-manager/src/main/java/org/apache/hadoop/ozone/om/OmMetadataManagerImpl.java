@@ -21,8 +21,20 @@
 import static org.apache.hadoop.ozone.OzoneConsts.OM_DB_NAME;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_CHECKPOINT_DIR;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLES;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_COMPRESSION;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_COMPRESSION_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_MAX_OPEN_FILES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_ROCKSDB_METRICS_ENABLED;
@@ -63,6 +75,7 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
@@ -74,9 +87,11 @@
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
+import org.apache.hadoop.hdds.utils.db.TableProfile;
 import org.apache.hadoop.hdds.utils.db.TypedTable;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.hdds.utils.db.cache.OffHeapPartialTableCache;
 import org.apache.hadoop.hdds.utils.db.cache.TableCache.CacheType;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.OmUtils;
@@ -165,6 +180,8 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
   private TypedTable<String, SnapshotInfo> snapshotInfoTable;
   private TypedTable<String, String> snapshotRenamedTable;
   private TypedTable<String, CompactionLogEntry> compactionLogTable;
+  // The cache type of the key, file and directory tables.
+  private CacheType keyTableCacheType = CacheType.PARTIAL_CACHE;
 
   private OzoneManager ozoneManager;
 
@@ -410,6 +427,13 @@ public void start(OzoneConfiguration configuration) throws IOException {
           OZONE_OM_DB_MAX_OPEN_FILES_DEFAULT);
 
       this.store = loadDB(configuration, metaDir, maxOpenFiles);
+      if (configuration.getBoolean(OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED,
+          OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_ENABLED_DEFAULT)) {
+        keyTableCacheType = CacheType.PARTIAL_OFF_HEAP_CACHE;
+        OffHeapPartialTableCache.setMaxAllocatedBytes((long) configuration.getStorageSize(
+            OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE, OZONE_OM_DB_TABLE_CACHE_OFF_HEAP_MAX_SIZE_DEFAULT,
+            StorageUnit.BYTES));
+      }
 
       initializeOmTables(CacheType.FULL_CACHE, true);
     }
@@ -428,7 +452,18 @@ public static DBStore loadDB(OzoneConfiguration configuration, File metaDir, int
   }
 
   private static DBStoreBuilder newDBStoreBuilder(OzoneConfiguration conf, String name, File dir) {
-    return DBStoreBuilder.newBuilder(conf, OMDBDefinition.get(), name, dir.toPath());
+    final DBStoreBuilder builder = DBStoreBuilder.newBuilder(conf, OMDBDefinition.get(), name, dir.toPath());
+    if (conf.getBoolean(OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED, OZONE_OM_DB_LARGE_TABLE_TUNING_ENABLED_DEFAULT)) {
+      final TableProfile profile = new TableProfile(
+          (long) conf.getStorageSize(OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE,
+              OZONE_OM_DB_LARGE_TABLE_BLOCK_SIZE_DEFAULT, StorageUnit.BYTES),
+          conf.getTrimmed(OZONE_OM_DB_LARGE_TABLE_COMPRESSION, OZONE_OM_DB_LARGE_TABLE_COMPRESSION_DEFAULT),
+          true);
+      for (String table : conf.get(OZONE_OM_DB_LARGE_TABLES, OZONE_OM_DB_LARGE_TABLES_DEFAULT).split(",")) {
+        builder.setTableProfile(table.trim(), profile);
+      }
+    }
+    return builder;
   }
 
   /**
@@ -445,15 +480,15 @@ protected void initializeOmTables(CacheType cacheType,
 
     volumeTable = initializer.get(OMDBDefinition.VOLUME_TABLE_DEF, cacheType);
     bucketTable = initializer.get(OMDBDefinition.BUCKET_TABLE_DEF, cacheType);
-    keyTable = initializer.get(OMDBDefinition.KEY_TABLE_DEF);
+    keyTable = initializer.get(OMDBDefinition.KEY_TABLE_DEF, keyTableCacheType);
 
-    openKeyTable = initializer.get(OMDBDefinition.OPEN_KEY_TABLE_DEF);
+    openKeyTable = initializer.get(OMDBDefinition.OPEN_KEY_TABLE_DEF, keyTableCacheType);
     multipartInfoTable = initializer.get(OMDBDefinition.MULTIPART_INFO_TABLE_DEF);
     deletedTable = initializer.get(OMDBDefinition.DELETED_TABLE_DEF);
 
-    dirTable = initializer.get(OMDBDefinition.DIRECTORY_TABLE_DEF);
-    fileTable = initializer.get(OMDBDefinition.FILE_TABLE_DEF);
-    openFileTable = initializer.get(OMDBDefinition.OPEN_FILE_TABLE_DEF);
+    dirTable = initializer.get(OMDBDefinition.DIRECTORY_TABLE_DEF, keyTableCacheType);
+    fileTable = initializer.get(OMDBDefinition.FILE_TABLE_DEF, keyTableCacheType);
+    openFileTable = initializer.get(OMDBDefinition.OPEN_FILE_TABLE_DEF, keyTableCacheType);
     deletedDirTable = initializer.get(OMDBDefinition.DELETED_DIR_TABLE_DEF);
 
     dTokenTable = initializer.get(OMDBDefinition.DELEGATION_TOKEN_TABLE_DEF);
@@ -212,6 +212,46 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
     }
   }
 
+  @Override
+  public List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException {
+    long start = Time.monotonicNowNanos();
+    ResolvedBucket bucket = captureLatencyNs(
+        perfMetrics.getGetKeyInfoResolveBucketLatencyNs(),
+        () -> ozoneManager.resolveBucketLink(args));
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit(args.toAuditMap());
+    auditMap.put(OzoneConsts.KEY, String.join(",", keyNames));
+
+    OmKeyArgs resolvedArgs = bucket.update(args);
+
+    try {
+      if (isAclEnabled) {
+        captureLatencyNs(perfMetrics.getGetKeyInfoAclCheckLatencyNs(), () -> {
+          for (String keyName : keyNames) {
+            checkAcls(ResourceType.KEY, StoreType.OZONE, ACLType.READ,
+                bucket, keyName);
+          }
+        });
+      }
+      metrics.incNumKeyLookups();
+      return keyManager.getKeyInfos(resolvedArgs, keyNames, bucket,
+          getClientAddress());
+    } catch (Exception ex) {
+      metrics.incNumKeyLookupFails();
+      auditSuccess = false;
+      audit.logReadFailure(buildAuditMessageForFailure(OMAction.READ_KEYS,
+          auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(buildAuditMessageForSuccess(OMAction.READ_KEYS,
+            auditMap));
+      }
+      perfMetrics.addGetKeyInfoLatencyNs(Time.monotonicNowNanos() - start);
+    }
+  }
+
   @Override
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
@@ -116,6 +116,17 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
         assumeS3Context));
   }
 
+  @Override
+  public List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException {
+    List<String> normalized = keyNames.stream()
+        .map(this::normalizeKeyName)
+        .collect(Collectors.toList());
+    return omMetadataReader.lookupKeys(args, normalized).stream()
+        .map(this::denormalizeOmKeyInfo)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       String startKey, long numEntries, boolean allowPartialPrefixes)
@@ -234,7 +234,7 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
     try (
         ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
             metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
-            volumeName, bucketName)) {
+            volumeName, bucketName, numEntries)) {
 
       try {
         while (map.size() < numEntries && heapIterator.hasNext()) {
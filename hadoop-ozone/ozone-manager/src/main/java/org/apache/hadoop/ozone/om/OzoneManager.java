@@ -3011,6 +3011,40 @@ public KeyInfoWithVolumeContext getKeyInfo(final OmKeyArgs args,
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OmKeyInfo> lookupKeys(OmKeyArgs args, List<String> keyNames)
+      throws IOException {
+    // Group the keys by snapshot, so that each group is looked up
+    // in a batch by its own reader.
+    final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < keyNames.size(); i++) {
+      final String[] keyParts = keyNames.get(i).split(OM_KEY_PREFIX);
+      final String snapshot = OmSnapshotManager.isSnapshotKey(keyParts)
+          ? keyParts[1] : "";
+      groups.computeIfAbsent(snapshot, k -> new ArrayList<>()).add(i);
+    }
+
+    final List<OmKeyInfo> keyInfos = new ArrayList<>(
+        Collections.nCopies(keyNames.size(), null));
+    for (List<Integer> indices : groups.values()) {
+      final List<String> names = indices.stream()
+          .map(keyNames::get)
+          .collect(Collectors.toList());
+      try (UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader =
+               getReader(args.getVolumeName(), args.getBucketName(),
+                   names.get(0))) {
+        final List<OmKeyInfo> found = rcReader.get().lookupKeys(args, names);
+        for (int i = 0; i < indices.size(); i++) {
+          keyInfos.set(indices.get(i), found.get(i));
+        }
+      }
+    }
+    return keyInfos;
+  }
+
   /**
    * {@inheritDoc}
    */
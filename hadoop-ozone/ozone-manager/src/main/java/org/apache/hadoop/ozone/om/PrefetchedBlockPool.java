@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+import org.apache.hadoop.hdds.scm.container.ContainerID;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.apache.hadoop.util.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of blocks allocated from SCM in advance,
+ * for each block size, replication config and owner.
+ * <p>
+ * When a pool is less than half full, it is refilled in the background
+ * with a single allocateBlock call, so that the requests usually do not
+ * wait for SCM.
+ * The blocks not used within the expiry time are discarded.
+ * Since SCM does not reserve any space for the allocated blocks, discarding
+ * them is enough to return them.
+ * The blocks in the containers, pipelines or datanodes of an exclude list
+ * are discarded by {@link #exclude(ExcludeList)}.
+ */
+public class PrefetchedBlockPool {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PrefetchedBlockPool.class);
+
+  private final ScmBlockLocationProtocol blockClient;
+  private final int maxSize;
+  private final long expiryMs;
+  private final Executor executor;
+  private final ConcurrentMap<Key, Blocks> pools = new ConcurrentHashMap<>();
+
+  PrefetchedBlockPool(ScmBlockLocationProtocol blockClient, int maxSize,
+      long expiryMs, Executor executor) {
+    this.blockClient = blockClient;
+    this.maxSize = Math.max(1, maxSize);
+    this.expiryMs = expiryMs;
+    this.executor = executor;
+  }
+
+  /**
+   * Take the blocks from the pool, or allocate them from SCM
+   * when the pool does not have enough blocks.
+   *
+   * @return the blocks, which may be fewer than numBlocks as
+   *         {@link ScmBlockLocationProtocol#allocateBlock}.
+   */
+  public List<AllocatedBlock> allocateBlock(long size, int numBlocks,
+      ReplicationConfig replicationConfig, String owner) throws IOException {
+    final Blocks blocks = pools.computeIfAbsent(
+        new Key(size, replicationConfig, owner), Blocks::new);
+    final List<AllocatedBlock> allocated = blocks.poll(numBlocks);
+    final int remaining = numBlocks - allocated.size();
+    if (remaining > 0) {
+      allocated.addAll(blocks.allocate(remaining));
+    }
+    blocks.refillIfNeeded();
+    return allocated;
+  }
+
+  /** Discard the blocks excluded by the given list. */
+  public void exclude(ExcludeList excludeList) {
+    if (!excludeList.isEmpty()) {
+      pools.values().forEach(b -> b.exclude(excludeList));
+    }
+  }
+
+  /** @return the number of the blocks in all the pools. */
+  public int size() {
+    return pools.values().stream().mapToInt(Blocks::size).sum();
+  }
+
+  /** Discard all the blocks. */
+  public void clear() {
+    pools.clear();
+  }
+
+  /** The key of a pool. */
+  private static final class Key {
+    private final long size;
+    private final ReplicationConfig replicationConfig;
+    private final String owner;
+
+    private Key(long size, ReplicationConfig replicationConfig, String owner) {
+      this.size = size;
+      this.replicationConfig = replicationConfig;
+      this.owner = owner;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return size == that.size
+          && Objects.equals(replicationConfig, that.replicationConfig)
+          && Objects.equals(owner, that.owner);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(size, replicationConfig, owner);
+    }
+
+    @Override
+    public String toString() {
+      return replicationConfig + "/" + size + "/" + owner;
+    }
+  }
+
+  /** A block with the time it was allocated. */
+  private static final class Prefetched {
+    private final AllocatedBlock block;
+    private final long allocatedTime;
+
+    private Prefetched(AllocatedBlock block, long allocatedTime) {
+      this.block = block;
+      this.allocatedTime = allocatedTime;
+    }
+  }
+
+  /** The blocks of a pool, the oldest first. */
+  private final class Blocks {
+    private final Key key;
+    private final Deque<Prefetched> queue = new ArrayDeque<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private Blocks(Key key) {
+      this.key = key;
+    }
+
+    private List<AllocatedBlock> allocate(int numBlocks) throws IOException {
+      return blockClient.allocateBlock(key.size, numBlocks,
+          key.replicationConfig, key.owner, new ExcludeList(), null);
+    }
+
+    synchronized int size() {
+      return queue.size();
+    }
+
+    synchronized List<AllocatedBlock> poll(int numBlocks) {
+      final List<AllocatedBlock> polled = new ArrayList<>(numBlocks);
+      final long now = Time.monotonicNow();
+      while (polled.size() < numBlocks && !queue.isEmpty()) {
+        final Prefetched p = queue.poll();
+        if (now - p.allocatedTime < expiryMs) {
+          polled.add(p.block);
+        }
+      }
+      return polled;
+    }
+
+    synchronized void add(List<AllocatedBlock> blocks, long allocatedTime) {
+      blocks.forEach(b -> queue.add(new Prefetched(b, allocatedTime)));
+    }
+
+    synchronized void exclude(ExcludeList excludeList) {
+      final Set<DatanodeDetails> datanodes = excludeList.getDatanodes();
+      for (Iterator<Prefetched> i = queue.iterator(); i.hasNext();) {
+        final AllocatedBlock block = i.next().block;
+        final Pipeline pipeline = block.getPipeline();
+        if (excludeList.getContainerIds().contains(
+            ContainerID.valueOf(block.getBlockID().getContainerID()))
+            || excludeList.getPipelineIds().contains(pipeline.getId())
+            || !Collections.disjoint(datanodes, pipeline.getNodes())) {
+          i.remove();
+        }
+      }
+    }
+
+    void refillIfNeeded() {
+      if (size() >= maxSize / 2 || !refilling.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        executor.execute(this::refill);
+      } catch (RuntimeException e) {
+        refilling.set(false);
+        LOG.warn("Failed to refill the block pool {}", key, e);
+      }
+    }
+
+    private void refill() {
+      try {
+        final int numBlocks = maxSize - size();
+        if (numBlocks > 0) {
+          final long allocatedTime = Time.monotonicNow();
+          add(allocate(numBlocks), allocatedTime);
+          LOG.debug("Prefetched {} blocks for {}", numBlocks, key);
+        }
+      } catch (IOException e) {
+        LOG.warn("Failed to prefetch blocks for {}", key, e);
+      } finally {
+        refilling.set(false);
+      }
+    }
+  }
+}
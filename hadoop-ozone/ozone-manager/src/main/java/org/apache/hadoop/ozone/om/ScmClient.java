@@ -17,6 +17,12 @@
 
 package org.apache.hadoop.ozone.om;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_EXPIRY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_EXPIRY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_BLOCK_PREFETCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_CONTAINER_LOCATION_CACHE_TTL;
@@ -26,12 +32,16 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
@@ -52,6 +62,8 @@ public class ScmClient {
   private final StorageContainerLocationProtocol containerClient;
   private final LoadingCache<Long, Pipeline> containerLocationCache;
   private final CacheMetrics containerCacheMetrics;
+  private final ExecutorService blockPrefetchExecutor;
+  private final PrefetchedBlockPool blockPool;
 
   ScmClient(ScmBlockLocationProtocol blockClient,
             StorageContainerLocationProtocol containerClient,
@@ -62,6 +74,23 @@ public class ScmClient {
         createContainerLocationCache(configuration, containerClient);
     this.containerCacheMetrics = CacheMetrics.create(containerLocationCache,
         "ContainerInfo");
+
+    if (configuration.getBoolean(OZONE_OM_BLOCK_PREFETCH_ENABLED,
+        OZONE_OM_BLOCK_PREFETCH_ENABLED_DEFAULT)) {
+      this.blockPrefetchExecutor = Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("OmBlockPrefetcher-%d").build());
+      this.blockPool = new PrefetchedBlockPool(blockClient,
+          configuration.getInt(OZONE_OM_BLOCK_PREFETCH_SIZE,
+              OZONE_OM_BLOCK_PREFETCH_SIZE_DEFAULT),
+          configuration.getTimeDuration(OZONE_OM_BLOCK_PREFETCH_EXPIRY,
+              OZONE_OM_BLOCK_PREFETCH_EXPIRY_DEFAULT.toLong(
+                  TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS),
+          blockPrefetchExecutor);
+    } else {
+      this.blockPrefetchExecutor = null;
+      this.blockPool = null;
+    }
   }
 
   static LoadingCache<Long, Pipeline> createContainerLocationCache(
@@ -102,6 +131,12 @@ public ScmBlockLocationProtocol getBlockClient() {
     return this.blockClient;
   }
 
+  /** @return the pool of prefetched blocks, or null if it is disabled. */
+  @Nullable
+  public PrefetchedBlockPool getBlockPool() {
+    return blockPool;
+  }
+
   public StorageContainerLocationProtocol getContainerClient() {
     return this.containerClient;
   }
@@ -166,6 +201,10 @@ private <T> T handleCacheExecutionException(ExecutionException e)
 
   public void close() {
     containerCacheMetrics.unregister();
+    if (blockPrefetchExecutor != null) {
+      blockPrefetchExecutor.shutdownNow();
+      blockPool.clear();
+    }
   }
 
 }
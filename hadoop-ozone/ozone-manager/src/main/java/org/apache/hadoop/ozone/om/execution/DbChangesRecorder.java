@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.execution;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.RDBBatchOperation;
+import org.apache.hadoop.hdds.utils.db.RocksDatabase.ColumnFamily;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+
+/**
+ * A batch operation which records the changes made by an
+ * {@link org.apache.hadoop.ozone.om.response.OMClientResponse}
+ * instead of writing them to the DB.
+ * <p>
+ * Changes are kept in the order they are made, per table.
+ */
+class DbChangesRecorder extends RDBBatchOperation {
+
+  private final Map<String, DBTableUpdate.Builder> updates = new LinkedHashMap<>();
+
+  @Override
+  public void put(ColumnFamily family, CodecBuffer key, CodecBuffer value) {
+    try {
+      put(family, key.getArray(), value.getArray());
+    } finally {
+      // The buffers are owned by the batch.
+      key.close();
+      value.close();
+    }
+  }
+
+  @Override
+  public void put(ColumnFamily family, byte[] key, byte[] value) {
+    getUpdate(family).addRecords(DBTableRecord.newBuilder()
+        .setKey(ByteString.copyFrom(key))
+        .setValue(ByteString.copyFrom(value)));
+  }
+
+  @Override
+  public void delete(ColumnFamily family, byte[] key) {
+    getUpdate(family).addRecords(DBTableRecord.newBuilder()
+        .setKey(ByteString.copyFrom(key)));
+  }
+
+  private DBTableUpdate.Builder getUpdate(ColumnFamily family) {
+    return updates.computeIfAbsent(family.getName(),
+        name -> DBTableUpdate.newBuilder().setTableName(name));
+  }
+
+  List<DBTableUpdate> getTableUpdates() {
+    final List<DBTableUpdate> list = new ArrayList<>(updates.size());
+    for (DBTableUpdate.Builder update : updates.values()) {
+      list.add(update.build());
+    }
+    return list;
+  }
+}
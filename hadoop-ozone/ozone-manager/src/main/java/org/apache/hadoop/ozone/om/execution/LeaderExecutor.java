@@ -0,0 +1,420 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.execution;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ServiceException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import org.apache.hadoop.hdds.utils.SimpleStriped;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.lock.OBSKeyPathLockStrategy;
+import org.apache.hadoop.ozone.om.lock.OMLockDetails;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerStateMachine;
+import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
+import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.util.OMPersistDbResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.protocol.ClientInvocationId;
+import org.apache.ratis.util.function.CheckedSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes write requests on the leader OM and replicates only the resulting
+ * DB changes, as a {@link Type#PersistDb} request, to the followers.
+ * <p>
+ * Only the key requests listed in {@link #SUPPORTED_TYPES} are executed this
+ * way. They are executed by the calling handler threads under the
+ * OzoneManagerLock, instead of one by one in the apply thread of the state
+ * machine. Requests which may change the same records, i.e. the requests of a
+ * bucket, or of a key if the request only takes the key path lock, are
+ * executed and submitted to Ratis in order under a striped ordering lock.
+ * <p>
+ * Each execution gets an index larger than any index given so far by the
+ * state machine, see {@link OzoneManagerStateMachine#getLastExecutionIndex},
+ * which is used for the object and update IDs and as the epoch of the table
+ * cache entries, in place of the Raft log index. The state machine keeps the
+ * index of a PersistDb request, and gives any other request an index after
+ * it, so the indexes never collide. Any other write request is submitted with
+ * {@link #runExclusive}, which waits for the in-flight executions to be
+ * applied, so that it is never executed concurrently with them.
+ * <p>
+ * Requests are executed only when this OM is the leader and has applied all
+ * the transactions of the previous terms, otherwise they fall back to
+ * {@link #runExclusive}. If a PersistDb request fails, the cache entries added
+ * by its execution are reverted to the DB values.
+ */
+public final class LeaderExecutor {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(LeaderExecutor.class);
+
+  /**
+   * Key requests whose responses only write to the DB.
+   * RenameKey is not supported since its response reads the snapshotRenamedTable,
+   * which does not have the changes of the executions not yet flushed.
+   */
+  static final Set<Type> SUPPORTED_TYPES = Collections.unmodifiableSet(EnumSet.of(
+      Type.CreateKey, Type.CreateFile, Type.CreateDirectory, Type.AllocateBlock,
+      Type.CommitKey, Type.DeleteKey));
+
+  /** Tables which are cleaned up after a PersistDb request is flushed. */
+  private static final Set<String> CLEANUP_TABLES = new HashSet<>(Arrays.asList(
+      OMPersistDbResponse.class.getAnnotation(CleanupTableInfo.class).cleanupTables()));
+
+  private final OzoneManager ozoneManager;
+  /** To execute and submit the requests changing the same records in order. */
+  private final Striped<Lock> orderingLocks;
+  private final ExecutorService reverter;
+  /**
+   * Held in read mode from the execution of a request until its PersistDb
+   * request is applied, and in write mode by {@link #runExclusive}.
+   */
+  private final StampedLock barrier = new StampedLock();
+  /** The last index given to an execution, it may be not yet applied. */
+  private final AtomicLong lastIndex = new AtomicLong();
+  /** Indexes of executions whose PersistDb requests are not yet applied. */
+  private final Set<Long> pendingIndexes = ConcurrentHashMap.newKeySet();
+  /** To not execute the retry of a request while it is in progress. */
+  private final Map<ClientInvocationId, CompletableFuture<OMResponse>> inProgress =
+      new ConcurrentHashMap<>();
+
+  public LeaderExecutor(OzoneManager ozoneManager, int lockStripes) {
+    this.ozoneManager = ozoneManager;
+    this.orderingLocks = SimpleStriped.custom(lockStripes, () -> new ReentrantLock(true));
+    this.reverter = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setNameFormat(ozoneManager.getThreadNamePrefix() + "OMLeaderExecutorRevert")
+        .setDaemon(true)
+        .build());
+  }
+
+  static boolean isSupported(OMRequest request) {
+    return SUPPORTED_TYPES.contains(request.getCmdType());
+  }
+
+  boolean isExecutedLocally(long index) {
+    return pendingIndexes.contains(index);
+  }
+
+  /**
+   * Execute the request on this OM and submit its DB changes to Ratis.
+   * @param request the request after preExecute
+   * @param invocationId the id of the client call
+   * @return the response, or null if the request cannot be executed on this
+   * OM now, in which case it should be submitted with {@link #runExclusive}.
+   */
+  OMResponse submit(OMRequest request, ClientInvocationId invocationId) throws ServiceException {
+    final CompletableFuture<OMResponse> future = new CompletableFuture<>();
+    final CompletableFuture<OMResponse> previous = inProgress.putIfAbsent(invocationId, future);
+    if (previous != null) {
+      return get(previous);
+    }
+    try {
+      final Lock lock = orderingLocks.get(getOrderingKey(request));
+      lock.lock();
+      try {
+        execute(request, invocationId, future);
+      } finally {
+        lock.unlock();
+      }
+      return get(future);
+    } catch (IOException e) {
+      future.complete(OzoneManagerRatisUtils.createErrorResponse(request, e));
+      return get(future);
+    } finally {
+      inProgress.remove(invocationId, future);
+    }
+  }
+
+  /**
+   * Run the submission of a request which is not executed on the leader.
+   */
+  OMResponse runExclusive(CheckedSupplier<OMResponse, ServiceException> submission)
+      throws ServiceException {
+    final long stamp = barrier.writeLock();
+    try {
+      return submission.get();
+    } finally {
+      barrier.unlockWrite(stamp);
+    }
+  }
+
+  private void execute(OMRequest request, ClientInvocationId invocationId,
+      CompletableFuture<OMResponse> future) {
+    final long stamp = barrier.readLock();
+    if (!canExecute(request)) {
+      barrier.unlockRead(stamp);
+      future.complete(null);
+      return;
+    }
+
+    final long index = nextIndex();
+    pendingIndexes.add(index);
+    final List<DBTableUpdate> updates;
+    final OMRequest persistRequest;
+    try {
+      final OMClientResponse clientResponse = getOzoneManagerRatisServer().getOmStateMachine().getHandler()
+          .handleWriteRequestImpl(request, ExecutionContext.of(index, null));
+      final OMResponse response = getOMResponse(clientResponse);
+      if (response.getStatus() != Status.OK) {
+        abort(index, stamp);
+        future.complete(response);
+        return;
+      }
+      updates = recordChanges(clientResponse);
+      persistRequest = OMRequest.newBuilder()
+          .setCmdType(Type.PersistDb)
+          .setClientId(request.getClientId())
+          .setTraceID(request.getTraceID())
+          .setLayoutVersion(request.getLayoutVersion())
+          .setPersistDbRequest(PersistDbRequest.newBuilder()
+              .setIndex(index)
+              .addAllTableUpdates(updates)
+              .setResponse(response))
+          .build();
+    } catch (IOException e) {
+      abort(index, stamp);
+      future.complete(OzoneManagerRatisUtils.createErrorResponse(request, e));
+      return;
+    } catch (Throwable t) {
+      abort(index, stamp);
+      future.completeExceptionally(t);
+      return;
+    }
+
+    getOzoneManagerRatisServer()
+        .submitRequestAsync(persistRequest, invocationId.getClientId(), invocationId.getLongId())
+        .whenComplete((reply, e) -> {
+          if (e == null && reply.getStatus() == Status.OK) {
+            complete(index, stamp);
+            future.complete(reply);
+            return;
+          }
+          // Exclusive requests wait for the revert, since it holds the stamp.
+          reverter.execute(() -> {
+            try {
+              revert(index, updates);
+            } finally {
+              complete(index, stamp);
+            }
+          });
+          if (e != null) {
+            future.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+          } else {
+            future.complete(reply.toBuilder()
+                .setCmdType(request.getCmdType())
+                .build());
+          }
+        });
+  }
+
+  /**
+   * @return an index larger than any index given by the state machine, which
+   * includes the indexes of the executions of the previous leaders, and than
+   * the index of any previous execution.
+   */
+  private long nextIndex() {
+    final OzoneManagerRatisServer ratisServer = getOzoneManagerRatisServer();
+    final OzoneManagerStateMachine stateMachine = ratisServer.getOmStateMachine();
+    final long applied = Math.max(ratisServer.getLastAppliedTermIndex().getIndex(),
+        Math.max(stateMachine.getLastTransactionIndex(), stateMachine.getLastExecutionIndex()));
+    return lastIndex.updateAndGet(last -> Math.max(last, applied) + 1);
+  }
+
+  private void complete(long index, long stamp) {
+    pendingIndexes.remove(index);
+    barrier.unlockRead(stamp);
+  }
+
+  /**
+   * Complete an execution which is not submitted to Ratis, and give its index
+   * to the next execution, unless it is already given to another one.
+   */
+  private void abort(long index, long stamp) {
+    lastIndex.compareAndSet(index, index - 1);
+    complete(index, stamp);
+  }
+
+  private boolean canExecute(OMRequest request) {
+    final OzoneManagerRatisServer ratisServer = getOzoneManagerRatisServer();
+    if (ratisServer.getLeaderStatus() != RaftServerStatus.LEADER_AND_READY
+        || !ozoneManager.getPrepareState().requestAllowed(request.getCmdType())) {
+      return false;
+    }
+    // All the transactions of the previous terms must be applied and flushed
+    // before executing on the state of this OM.
+    final long currentTerm = ratisServer.getServerDivision().getInfo().getCurrentTerm();
+    return ratisServer.getLastAppliedTermIndex().getTerm() == currentTerm;
+  }
+
+  private static OMResponse getOMResponse(OMClientResponse clientResponse) {
+    final OMLockDetails omLockDetails = clientResponse.getOmLockDetails();
+    final OMResponse omResponse = clientResponse.getOMResponse();
+    if (omLockDetails != null) {
+      return omResponse.toBuilder()
+          .setOmLockDetails(omLockDetails.toProtobufBuilder()).build();
+    }
+    return omResponse;
+  }
+
+  private List<DBTableUpdate> recordChanges(OMClientResponse clientResponse) throws IOException {
+    try (DbChangesRecorder recorder = new DbChangesRecorder()) {
+      clientResponse.checkAndUpdateDB(ozoneManager.getMetadataManager(), recorder);
+      final List<DBTableUpdate> updates = recorder.getTableUpdates();
+      for (DBTableUpdate update : updates) {
+        if (!CLEANUP_TABLES.contains(update.getTableName())) {
+          throw new IllegalStateException("Table " + update.getTableName() + " changed by "
+              + clientResponse.getClass().getSimpleName() + " is not cleaned up by "
+              + OMPersistDbResponse.class.getSimpleName());
+        }
+      }
+      return updates;
+    }
+  }
+
+  /**
+   * Revert the cache entries added by the execution with the given index,
+   * which are still not overwritten, to the values in the DB.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void revert(long index, List<DBTableUpdate> updates) {
+    LOG.warn("Failed to replicate the execution {}, reverting its cache entries", index);
+    final OMMetadataManager metadataManager = ozoneManager.getMetadataManager();
+    try {
+      // The DB must contain all the transactions applied before.
+      getOzoneManagerRatisServer().getOmStateMachine().awaitDoubleBufferFlush();
+      for (DBTableUpdate update : updates) {
+        final Table table = metadataManager.getTable(update.getTableName());
+        final org.apache.hadoop.hdds.utils.db.Codec<?> keyCodec =
+            OMDBDefinition.get().getColumnFamily(update.getTableName()).getKeyCodec();
+        for (DBTableRecord record : update.getRecordsList()) {
+          final CacheKey cacheKey = new CacheKey<>(keyCodec.fromPersistedFormat(record.getKey().toByteArray()));
+          final CacheValue<?> cacheValue = table.getCacheValue(cacheKey);
+          if (cacheValue != null && cacheValue.getEpoch() == index) {
+            table.addCacheEntry(cacheKey, CacheValue.get(index, table.getSkipCache(cacheKey.getCacheKey())));
+          }
+        }
+        // Drop the reverted entries, unless the table is fully cached.
+        table.cleanupCache(Collections.singletonList(index));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.error("Interrupted while reverting the execution {}", index, e);
+    } catch (IOException e) {
+      LOG.error("Failed to revert the execution {}", index, e);
+    }
+  }
+
+  /**
+   * @return the bucket of the request, or the key if the request only takes
+   * the key path lock, which is the same as the write lock it takes.
+   */
+  private String getOrderingKey(OMRequest request) throws IOException {
+    final KeyArgs keyArgs = getKeyArgs(request);
+    final OMMetadataManager metadataManager = ozoneManager.getMetadataManager();
+    final String bucketKey = metadataManager.getBucketKey(keyArgs.getVolumeName(), keyArgs.getBucketName());
+    if (request.getCmdType() == Type.CreateKey) {
+      final OmBucketInfo bucketInfo = metadataManager.getBucketTable().get(bucketKey);
+      if (bucketInfo != null && ozoneManager.getOzoneLockProvider()
+          .createLockStrategy(bucketInfo.getBucketLayout()) instanceof OBSKeyPathLockStrategy) {
+        return bucketKey + OM_KEY_PREFIX + keyArgs.getKeyName();
+      }
+    }
+    return bucketKey;
+  }
+
+  private static KeyArgs getKeyArgs(OMRequest request) {
+    switch (request.getCmdType()) {
+    case CreateKey:
+      return request.getCreateKeyRequest().getKeyArgs();
+    case CreateFile:
+      return request.getCreateFileRequest().getKeyArgs();
+    case CreateDirectory:
+      return request.getCreateDirectoryRequest().getKeyArgs();
+    case AllocateBlock:
+      return request.getAllocateBlockRequest().getKeyArgs();
+    case CommitKey:
+      return request.getCommitKeyRequest().getKeyArgs();
+    case DeleteKey:
+      return request.getDeleteKeyRequest().getKeyArgs();
+    default:
+      throw new IllegalArgumentException("Unsupported request " + request.getCmdType());
+    }
+  }
+
+  private OzoneManagerRatisServer getOzoneManagerRatisServer() {
+    return ozoneManager.getOmRatisServer();
+  }
+
+  private static OMResponse get(CompletableFuture<OMResponse> future) throws ServiceException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServiceException) {
+        throw (ServiceException) e.getCause();
+      }
+      throw new ServiceException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceException(e);
+    }
+  }
+
+  @VisibleForTesting
+  long getLastIndex() {
+    return lastIndex.get();
+  }
+}
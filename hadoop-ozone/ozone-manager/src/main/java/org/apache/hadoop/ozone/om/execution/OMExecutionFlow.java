@@ -17,17 +17,25 @@
 
 package org.apache.hadoop.ozone.om.execution;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES_DEFAULT;
 import static org.apache.hadoop.ozone.util.MetricUtil.captureLatencyNs;
 
 import com.google.protobuf.ServiceException;
 import java.io.IOException;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OMAuditLogger;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.ratis.util.function.CheckedSupplier;
 
 /**
  * entry for execution flow for write request.
@@ -36,10 +44,19 @@ public class OMExecutionFlow {
 
   private final OzoneManager ozoneManager;
   private final OMPerformanceMetrics perfMetrics;
+  /** Null if leader side execution is disabled. */
+  private final LeaderExecutor leaderExecutor;
 
   public OMExecutionFlow(OzoneManager om) {
     this.ozoneManager = om;
     this.perfMetrics = ozoneManager.getPerfMetrics();
+    final OzoneConfiguration conf = om.getConfiguration();
+    if (conf.getBoolean(OZONE_OM_LEADER_EXECUTION_ENABLED, OZONE_OM_LEADER_EXECUTION_ENABLED_DEFAULT)) {
+      this.leaderExecutor = new LeaderExecutor(om,
+          conf.getInt(OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES, OZONE_OM_LEADER_EXECUTION_LOCK_STRIPES_DEFAULT));
+    } else {
+      this.leaderExecutor = null;
+    }
   }
 
   /**
@@ -50,10 +67,29 @@ public OMExecutionFlow(OzoneManager om) {
    * @throws ServiceException the exception on execution
    */
   public OMResponse submit(OMRequest omRequest) throws ServiceException {
-    // TODO: currently have only execution after ratis submission, but with new flow can have switch later
+    if (omRequest.getCmdType() == Type.PersistDb) {
+      return OzoneManagerRatisUtils.createErrorResponse(omRequest, new OMException(
+          "Request " + omRequest.getCmdType() + " is internal to OM", OMException.ResultCodes.INVALID_REQUEST));
+    }
     return submitExecutionToRatis(omRequest);
   }
 
+  /**
+   * Submit a request, which is not from a client, to Ratis.
+   */
+  public OMResponse submitInternal(CheckedSupplier<OMResponse, ServiceException> submission)
+      throws ServiceException {
+    return leaderExecutor == null ? submission.get() : leaderExecutor.runExclusive(submission);
+  }
+
+  /**
+   * @return true if a PersistDb request with the given index is executed by
+   * this OM as the leader.
+   */
+  public boolean isExecutedLocally(long index) {
+    return leaderExecutor != null && leaderExecutor.isExecutedLocally(index);
+  }
+
   private OMResponse submitExecutionToRatis(OMRequest request) throws ServiceException {
     // 1. create client request and preExecute
     OMClientRequest omClientRequest = null;
@@ -72,8 +108,14 @@ private OMResponse submitExecutionToRatis(OMRequest request) throws ServiceExcep
       return OzoneManagerRatisUtils.createErrorResponse(request, ex);
     }
 
-    // 2. submit request to ratis
-    OMResponse response = ozoneManager.getOmRatisServer().submitRequest(requestToSubmit);
+    // 2. execute on the leader, or submit request to ratis
+    OMResponse response = null;
+    if (leaderExecutor != null && LeaderExecutor.isSupported(requestToSubmit)) {
+      response = leaderExecutor.submit(requestToSubmit, ozoneManager.getOmRatisServer().getClientInvocationId());
+    }
+    if (response == null) {
+      response = submitInternal(() -> ozoneManager.getOmRatisServer().submitRequest(requestToSubmit));
+    }
     if (!response.getSuccess()) {
       omClientRequest.handleRequestFailure(ozoneManager);
     }
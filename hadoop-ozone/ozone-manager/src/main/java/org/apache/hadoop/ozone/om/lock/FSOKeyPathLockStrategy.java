@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.KEY_PATH_LOCK;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+
+/**
+ * Implementation of OzoneLockStrategy interface. Concrete strategy for FSO
+ * KEY_PATH_LOCK.
+ * <p>
+ * A write takes the BUCKET_LOCK in read mode and the KEY_PATH_LOCK of the
+ * key in write mode, provided that all the parent directories of the key
+ * already exist. Since the parents cannot be deleted or renamed without the
+ * BUCKET_LOCK in write mode, writes to different keys, e.g. files in different
+ * directories of the same bucket, do not block each other.
+ * <p>
+ * If a parent directory is missing, the write creates it, so the BUCKET_LOCK
+ * is taken in write mode instead, like {@link RegularBucketLockStrategy}.
+ */
+public class FSOKeyPathLockStrategy implements OzoneLockStrategy {
+
+  @Override
+  public OMLockDetails acquireWriteLock(OMMetadataManager omMetadataManager,
+                                  String volumeName, String bucketName,
+                                  String keyName) throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+
+    OMLockDetails omLockDetails = omMetadataManager.getLock().acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(omLockDetails.isLockAcquired(),
+        "BUCKET_LOCK should be acquired!");
+
+    boolean parentsExist = false;
+    try {
+      parentsExist = parentsExist(omMetadataManager, volumeName, bucketName,
+          keyName);
+    } finally {
+      if (!parentsExist) {
+        omLockDetails.merge(omMetadataManager.getLock()
+            .releaseReadLock(BUCKET_LOCK, volumeName, bucketName));
+      }
+    }
+
+    if (parentsExist) {
+      omLockDetails.merge(omMetadataManager.getLock().acquireWriteLock(
+          KEY_PATH_LOCK, volumeName, bucketName, getLockKey(keyName)));
+    } else {
+      omLockDetails.merge(omMetadataManager.getLock()
+          .acquireWriteLock(BUCKET_LOCK, volumeName, bucketName));
+    }
+    return omLockDetails;
+  }
+
+  @Override
+  public OMLockDetails releaseWriteLock(OMMetadataManager omMetadataManager,
+                               String volumeName, String bucketName,
+                               String keyName) {
+    IOzoneManagerLock lock = omMetadataManager.getLock();
+    if (lock.isWriteLockedByCurrentThread(BUCKET_LOCK, volumeName,
+        bucketName)) {
+      return lock.releaseWriteLock(BUCKET_LOCK, volumeName, bucketName);
+    }
+    OMLockDetails omLockDetails = lock.releaseWriteLock(KEY_PATH_LOCK,
+        volumeName, bucketName, getLockKey(keyName));
+    omLockDetails.merge(lock.releaseReadLock(BUCKET_LOCK, volumeName,
+        bucketName));
+    return omLockDetails;
+  }
+
+  @Override
+  public OMLockDetails acquireReadLock(OMMetadataManager omMetadataManager,
+                                 String volumeName, String bucketName,
+                                 String keyName) throws IOException {
+    OMFileRequest.validateBucket(omMetadataManager, volumeName, bucketName);
+
+    OMLockDetails omLockDetails = omMetadataManager.getLock().acquireReadLock(
+        BUCKET_LOCK, volumeName, bucketName);
+
+    Preconditions.checkArgument(omLockDetails.isLockAcquired(),
+        "BUCKET_LOCK should be acquired!");
+
+    omLockDetails.merge(omMetadataManager.getLock().acquireReadLock(
+        KEY_PATH_LOCK, volumeName, bucketName, getLockKey(keyName)));
+
+    return omLockDetails;
+  }
+
+  @Override
+  public OMLockDetails releaseReadLock(OMMetadataManager omMetadataManager,
+                              String volumeName, String bucketName,
+                              String keyName) {
+    OMLockDetails omLockDetails = omMetadataManager.getLock().releaseReadLock(
+        KEY_PATH_LOCK, volumeName, bucketName, getLockKey(keyName));
+    omLockDetails.merge(omMetadataManager.getLock()
+        .releaseReadLock(BUCKET_LOCK, volumeName, bucketName));
+    return omLockDetails;
+  }
+
+  /**
+   * The same file or directory may be given with or without a trailing
+   * delimiter, e.g. by CreateDirectory and CreateFile, so lock it by the
+   * key name without one.
+   */
+  private static String getLockKey(String keyName) {
+    return keyName.endsWith(OzoneConsts.OM_KEY_PREFIX)
+        ? keyName.substring(0, keyName.length() - 1) : keyName;
+  }
+
+  /**
+   * @return true if all the parent directories of the given key exist in
+   *         the directory table.
+   */
+  private static boolean parentsExist(OMMetadataManager omMetadataManager,
+      String volumeName, String bucketName, String keyName)
+      throws IOException {
+    Path parent = Paths.get(getLockKey(keyName)).getParent();
+    if (parent == null) {
+      return true;
+    }
+    final long volumeId = omMetadataManager.getVolumeId(volumeName);
+    final long bucketId = omMetadataManager.getBucketId(volumeName,
+        bucketName);
+    long parentId = bucketId;
+    Iterator<Path> elements = parent.iterator();
+    while (elements.hasNext()) {
+      String dbDirName = omMetadataManager.getOzonePathKey(volumeId, bucketId,
+          parentId, elements.next().toString());
+      OmDirectoryInfo dirInfo =
+          omMetadataManager.getDirectoryTable().get(dbDirName);
+      if (dirInfo == null) {
+        return false;
+      }
+      parentId = dirInfo.getObjectID();
+    }
+    return true;
+  }
+}
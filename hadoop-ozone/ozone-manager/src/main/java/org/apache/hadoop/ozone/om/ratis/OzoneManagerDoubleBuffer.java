@@ -17,9 +17,11 @@
 
 package org.apache.hadoop.ozone.om.ratis;
 
+import static org.apache.hadoop.ozone.OzoneConsts.EXECUTION_INDEX_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,7 +35,10 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -65,7 +70,11 @@
  * any entries, it swaps the buffer and creates a batch and commit to DB.
  * Adding OM request to doubleBuffer and swap of buffer are synchronized
  * methods.
- *
+ * <p>
+ * The flush is pipelined: while the flush thread builds a batch, the previous
+ * batch is committed by the commit thread, and the table cache of the batch
+ * before it is cleaned up by the cleanup thread.
+ * The batches are committed and cleaned up in order.
  */
 public final class OzoneManagerDoubleBuffer {
 
@@ -85,6 +94,18 @@ public final class OzoneManagerDoubleBuffer {
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
   /** Notify flush operations are completed by the {@link #daemon}. */
   private final FlushNotifier flushNotifier;
+  /** To commit the batches built by the {@link #daemon}. */
+  private final ExecutorService commitExecutor;
+  /** To clean up the table cache after the batches are committed. */
+  private final ExecutorService cleanupExecutor;
+
+  // The following futures are accessed only by the flushing thread.
+  /** The commit of the last batch. */
+  private CompletableFuture<Void> lastCommit = CompletableFuture.completedFuture(null);
+  /** The cache cleanup of the last batch. */
+  private CompletableFuture<Void> lastCleanup = CompletableFuture.completedFuture(null);
+  /** The cache cleanup of the batch before the last batch. */
+  private CompletableFuture<Void> previousCleanup = CompletableFuture.completedFuture(null);
 
   private final OMMetadataManager omMetadataManager;
 
@@ -104,10 +125,13 @@ public final class OzoneManagerDoubleBuffer {
   /** Entry for {@link #currentBuffer} and {@link #readyBuffer}. */
   private static class Entry {
     private final TermIndex termIndex;
+    /** The index the request was executed with, the epoch of its table cache entries. */
+    private final long cacheIndex;
     private final OMClientResponse response;
 
-    Entry(TermIndex termIndex, OMClientResponse response) {
+    Entry(TermIndex termIndex, long cacheIndex, OMClientResponse response) {
       this.termIndex = termIndex;
+      this.cacheIndex = cacheIndex;
       this.response = response;
     }
 
@@ -115,6 +139,10 @@ TermIndex getTermIndex() {
       return termIndex;
     }
 
+    long getCacheIndex() {
+      return cacheIndex;
+    }
+
     OMClientResponse getResponse() {
       return response;
     }
@@ -203,6 +231,16 @@ private OzoneManagerDoubleBuffer(Builder b) {
     // Daemon thread which runs in background and flushes transactions to DB.
     daemon = new Daemon(this::flushTransactions);
     daemon.setName(b.threadPrefix + "OMDoubleBufferFlushThread");
+    commitExecutor = newSingleThreadExecutor(b.threadPrefix + "OMDoubleBufferCommitThread");
+    cleanupExecutor = newSingleThreadExecutor(b.threadPrefix + "OMDoubleBufferCacheCleanupThread");
+  }
+
+  private static ExecutorService newSingleThreadExecutor(String name) {
+    final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat(name)
+        .build();
+    return Executors.newSingleThreadExecutor(threadFactory);
   }
 
   public OzoneManagerDoubleBuffer start() {
@@ -276,18 +314,40 @@ private void addToBatchTransactionInfoWithTrace(String parentName,
    */
   @VisibleForTesting
   public void flushTransactions() {
-    while (isRunning.get() && canFlush()) {
-      flushCurrentBuffer();
+    while (isRunning.get()) {
+      if (getCurrentBufferSize() == 0) {
+        // Nothing to build, complete the batches in progress before waiting.
+        awaitPipeline();
+      }
+      if (!canFlush()) {
+        break;
+      }
+      flushCurrentBuffer(true);
     }
+    awaitPipeline();
   }
 
   /**
    * This is to extract out the flushing logic to make it testable.
    * If we don't do that, there could be a race condition which could fail
    * the unit test on different machines.
+   * Unlike the {@link #daemon}, it returns after the batches are committed
+   * and the table cache is cleaned up.
    */
   @VisibleForTesting
   void flushCurrentBuffer() {
+    flushCurrentBuffer(false);
+  }
+
+  /**
+   * Flush the current buffer.
+   *
+   * @param pipelined if true, return once the batches are built, while the
+   *                  last batch may still be committing.
+   *                  Otherwise, return after all the batches are completed.
+   */
+  @VisibleForTesting
+  void flushCurrentBuffer(boolean pipelined) {
     try {
       swapCurrentAndReadyBuffer();
 
@@ -314,6 +374,12 @@ void flushCurrentBuffer() {
       }
 
       clearReadyBuffer();
+      if (pipelined) {
+        // All the batches before the last one are completed.
+        previousCleanup.join();
+      } else {
+        lastCleanup.join();
+      }
       flushNotifier.notifyFlush();
     } catch (IOException ex) {
       terminate(ex, 1);
@@ -323,7 +389,6 @@ void flushCurrentBuffer() {
   }
 
   private void flushBatch(Queue<Entry> buffer) throws IOException {
-    Map<String, List<Long>> cleanupEpochs = new HashMap<>();
     // Commit transaction info to DB.
     final List<TermIndex> flushedTransactions = buffer.stream()
         .map(Entry::getTermIndex)
@@ -331,27 +396,68 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
         .collect(Collectors.toList());
     final int flushedTransactionsSize = flushedTransactions.size();
     final TermIndex lastTransaction = flushedTransactions.get(flushedTransactionsSize - 1);
+    final long lastExecutionIndex = buffer.stream()
+        .mapToLong(Entry::getCacheIndex)
+        .max()
+        .getAsLong();
+
+    final boolean standalone = isStandaloneBatchCmdTypes(buffer.peek().getResponse().getOMResponse());
+    if (standalone) {
+      // The previous batches must be in the DB, see splitReadyBufferAtCreateSnapshot.
+      lastCommit.join();
+    } else if (buffer.stream().anyMatch(e -> isReadingDbCmdTypes(e.getResponse().getOMResponse()))) {
+      // The responses read the changes of the previous batches from the DB.
+      lastCommit.join();
+    }
 
-    try (BatchOperation batchOperation = omMetadataManager.getStore()
-        .initBatchOperation()) {
-
-      String lastTraceId = addToBatch(buffer, batchOperation);
-
-      buffer.iterator().forEachRemaining(
-          entry -> addCleanupEntry(entry, cleanupEpochs));
-
+    final BatchOperation batchOperation = omMetadataManager.getStore().initBatchOperation();
+    final String lastTraceId;
+    try {
+      lastTraceId = addToBatch(buffer, batchOperation);
 
       addToBatchTransactionInfoWithTrace(lastTraceId,
           lastTransaction.getIndex(),
           () -> omMetadataManager.getTransactionInfoTable().putWithBatch(
               batchOperation, TRANSACTION_INFO_KEY, TransactionInfo.valueOf(lastTransaction)));
+      if (lastExecutionIndex > lastTransaction.getIndex()) {
+        // Requests executed on the leader have indexes beyond the log index,
+        // which must not be reused after a restart or a leader change.
+        omMetadataManager.getTransactionInfoTable().putWithBatch(batchOperation, EXECUTION_INDEX_KEY,
+            TransactionInfo.valueOf(lastTransaction.getTerm(), lastExecutionIndex));
+      }
+    } catch (IOException | RuntimeException e) {
+      batchOperation.close();
+      throw e;
+    }
+
+    // At most one batch is committing and one more is cleaning up,
+    // while the next batch is being built.
+    previousCleanup.join();
+    lastCommit.join();
+    lastCommit = CompletableFuture.runAsync(
+        () -> commitBatch(batchOperation, lastTraceId, flushedTransactionsSize, lastTransaction), commitExecutor);
+    previousCleanup = lastCleanup;
+    lastCleanup = lastCommit.thenRunAsync(() -> cleanupCache(buffer), cleanupExecutor);
+
+    if (standalone) {
+      // The next batches must be built after this one is in the DB.
+      lastCommit.join();
+    }
+  }
 
+  /** Runs in {@link #commitExecutor}. */
+  private void commitBatch(BatchOperation batchOperation, String lastTraceId,
+      int flushedTransactionsSize, TermIndex lastTransaction) {
+    try (BatchOperation batch = batchOperation) {
       long startTime = Time.monotonicNow();
-      flushBatchWithTrace(lastTraceId, buffer.size(),
-          () -> omMetadataManager.getStore()
-              .commitBatchOperation(batchOperation));
+      flushBatchWithTrace(lastTraceId, flushedTransactionsSize,
+          () -> omMetadataManager.getStore().commitBatchOperation(batch));
 
       metrics.updateFlushTime(Time.monotonicNow() - startTime);
+    } catch (IOException ex) {
+      terminate(ex, 1);
+    } catch (Throwable t) {
+      terminate(t, 2);
     }
 
     final long accumulativeCount = flushedTransactionCount.addAndGet(flushedTransactionsSize);
@@ -359,9 +465,6 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     LOG.debug("Sync iteration: {}, size in this iteration: {}, accumulative count: {}",
         flushedIterations, flushedTransactionsSize, accumulativeCount);
 
-    // Clean up committed transactions.
-    cleanupCache(cleanupEpochs);
-
     releaseUnFlushedTransactions(flushedTransactionsSize);
     // update the last updated index in OzoneManagerStateMachine.
     updateLastAppliedIndex.accept(lastTransaction);
@@ -370,6 +473,15 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
     metrics.updateFlush(flushedTransactionsSize);
   }
 
+  /** Wait for the batches in progress to be committed and the table cache to be cleaned up. */
+  private void awaitPipeline() {
+    try {
+      lastCleanup.join();
+    } catch (Throwable t) {
+      terminate(t, 2);
+    }
+  }
+
   private String addToBatch(Queue<Entry> buffer, BatchOperation batchOperation) {
     String lastTraceId = null;
     for (Entry entry: buffer) {
@@ -443,6 +555,17 @@ private static boolean isStandaloneBatchCmdTypes(OMResponse response) {
         || type == OzoneManagerProtocolProtos.Type.CreateSnapshot;
   }
 
+  /**
+   * The responses of these types read the DB when they are added to a batch,
+   * e.g. a rename reads the snapshotRenamedTable, which has no cache entries.
+   * Therefore, the previous batches must be committed before building the batch.
+   */
+  private static boolean isReadingDbCmdTypes(OMResponse response) {
+    final OzoneManagerProtocolProtos.Type type = response.getCmdType();
+    return type == OzoneManagerProtocolProtos.Type.RenameKey
+        || type == OzoneManagerProtocolProtos.Type.RenameKeys;
+  }
+
   private void addCleanupEntry(Entry entry, Map<String, List<Long>> cleanupEpochs) {
     Class<? extends OMClientResponse> responseClass =
         entry.getResponse().getClass();
@@ -457,7 +580,7 @@ private void addCleanupEntry(Entry entry, Map<String, List<Long>> cleanupEpochs)
       }
       for (String table : cleanupTables) {
         cleanupEpochs.computeIfAbsent(table, list -> new ArrayList<>())
-            .add(entry.getTermIndex().getIndex());
+            .add(entry.getCacheIndex());
       }
     } else {
       // This is to catch early errors, when a new response class missed to
@@ -467,6 +590,17 @@ private void addCleanupEntry(Entry entry, Map<String, List<Long>> cleanupEpochs)
     }
   }
 
+  /** Clean up committed transactions, runs in {@link #cleanupExecutor}. */
+  private void cleanupCache(Queue<Entry> buffer) {
+    final Map<String, List<Long>> cleanupEpochs = new HashMap<>();
+    try {
+      buffer.forEach(entry -> addCleanupEntry(entry, cleanupEpochs));
+      cleanupCache(cleanupEpochs);
+    } catch (Throwable t) {
+      terminate(t, 2);
+    }
+  }
+
   private void cleanupCache(Map<String, List<Long>> cleanupEpochs) {
     cleanupEpochs.forEach((tableName, epochs) -> {
       Collections.sort(epochs);
@@ -490,6 +624,8 @@ private synchronized void clearReadyBuffer() {
   @SuppressWarnings("squid:S2142")
   public void stop() {
     stopDaemon();
+    commitExecutor.shutdown();
+    cleanupExecutor.shutdown();
     metrics.unRegister();
   }
 
@@ -525,8 +661,16 @@ private void terminate(Throwable t, int status, OMResponse omResponse) {
   /**
    * Add OmResponseBufferEntry to buffer.
    */
-  public synchronized void add(OMClientResponse response, TermIndex termIndex) {
-    currentBuffer.add(new Entry(termIndex, response));
+  public void add(OMClientResponse response, TermIndex termIndex) {
+    add(response, termIndex, termIndex.getIndex());
+  }
+
+  /**
+   * Add OmResponseBufferEntry to buffer, whose table cache entries were added
+   * with the given cacheIndex instead of the index of the termIndex.
+   */
+  public synchronized void add(OMClientResponse response, TermIndex termIndex, long cacheIndex) {
+    currentBuffer.add(new Entry(termIndex, cacheIndex, response));
     notify();
   }
 
@@ -540,10 +684,12 @@ public synchronized void add(OMClientResponse response, TermIndex termIndex) {
   private synchronized boolean canFlush() {
     try {
       while (currentBuffer.isEmpty()) {
-        // canFlush() only gets called when the readyBuffer is empty.
-        // Since both buffers are empty, notify once for each.
-        flushNotifier.notifyFlush();
-        flushNotifier.notifyFlush();
+        // canFlush() only gets called when the readyBuffer is empty
+        // and no batches are in progress.
+        // Since nothing is to be flushed, notify once for each pipeline stage.
+        for (int i = 0; i < FlushNotifier.FLUSHES_TO_AWAIT; i++) {
+          flushNotifier.notifyFlush();
+        }
         wait(1000L);
       }
       return true;
@@ -612,17 +758,24 @@ public void awaitFlush() throws InterruptedException {
   }
 
   static class FlushNotifier {
-    /** The size of the map is at most two since it uses {@link #flushCount} + 2 in {@link #await()} .*/
+    /**
+     * The number of flushes to wait in {@link #await()}.
+     * When a flush is notified, the batches of the flush before it are completed.
+     * Therefore, the flush after next contains the transactions added before {@link #await()}.
+     */
+    static final int FLUSHES_TO_AWAIT = 3;
+
+    /** The size of the map is at most {@link #FLUSHES_TO_AWAIT}. */
     private final Map<Integer, Entry> flushFutures = new TreeMap<>();
     private int awaitCount;
     private int flushCount;
 
     synchronized CompletableFuture<Integer> await() {
       awaitCount++;
-      final int flush = flushCount + 2;
+      final int flush = flushCount + FLUSHES_TO_AWAIT;
       LOG.debug("await flush {}", flush);
       final Entry entry = flushFutures.computeIfAbsent(flush, key -> new Entry());
-      Preconditions.assertTrue(flushFutures.size() <= 2);
+      Preconditions.assertTrue(flushFutures.size() <= FLUSHES_TO_AWAIT);
       return entry.await();
     }
 
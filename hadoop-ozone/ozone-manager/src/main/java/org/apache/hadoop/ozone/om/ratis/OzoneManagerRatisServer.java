@@ -40,6 +40,8 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -93,6 +95,7 @@
 import org.apache.ratis.server.RetryCache;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.server.storage.RaftStorage;
+import org.apache.ratis.util.JavaUtils;
 import org.apache.ratis.util.LifeCycle;
 import org.apache.ratis.util.MemoizedSupplier;
 import org.apache.ratis.util.SizeInBytes;
@@ -307,7 +310,41 @@ private RaftClientRequest createRaftRequest(OMRequest omRequest) {
    * @throws ServiceException
    */
   public OMResponse submitRequest(OMRequest omRequest, ClientId cliId, long callId) throws ServiceException {
-    RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
+    RaftClientRequest raftClientRequest = createRaftRequest(omRequest, cliId, callId);
+    RaftClientReply raftClientReply =
+        submitRequestToRatis(raftClientRequest);
+    return createOmResponse(omRequest, raftClientReply);
+  }
+
+  /**
+   * Submit request to Ratis server without waiting for it to be applied.
+   * Requests submitted by the same thread are appended to the Raft log in the
+   * order of submission.
+   * @param omRequest
+   * @param cliId
+   * @param callId
+   * @return future of the OMResponse, completed exceptionally with
+   * {@link ServiceException} if the request could not be committed.
+   */
+  public CompletableFuture<OMResponse> submitRequestAsync(OMRequest omRequest, ClientId cliId, long callId) {
+    final RaftClientRequest raftClientRequest = createRaftRequest(omRequest, cliId, callId);
+    final CompletableFuture<RaftClientReply> replyFuture;
+    try {
+      replyFuture = server.submitClientRequestAsync(raftClientRequest);
+    } catch (IOException ex) {
+      return JavaUtils.completeExceptionally(new ServiceException(ex.getMessage(), ex));
+    }
+    return replyFuture.thenApply(reply -> {
+      try {
+        return createOmResponse(omRequest, reply);
+      } catch (ServiceException ex) {
+        throw new CompletionException(ex);
+      }
+    });
+  }
+
+  private RaftClientRequest createRaftRequest(OMRequest omRequest, ClientId cliId, long callId) {
+    return RaftClientRequest.newBuilder()
         .setClientId(cliId)
         .setServerId(getRaftPeerId())
         .setGroupId(getRaftGroupId())
@@ -316,9 +353,6 @@ public OMResponse submitRequest(OMRequest omRequest, ClientId cliId, long callId
             OMRatisHelper.convertRequestToByteString(omRequest)))
         .setType(RaftClientRequest.writeRequestType())
         .build();
-    RaftClientReply raftClientReply =
-        submitRequestToRatis(raftClientRequest);
-    return createOmResponse(omRequest, raftClientReply);
   }
 
   private RaftClientReply submitRequestToRatisImpl(
@@ -484,8 +518,15 @@ private long getCallId() {
     return callId;
   }
 
+  /**
+   * @return the id of the client call currently handled by the OM RPC server.
+   */
+  public ClientInvocationId getClientInvocationId() {
+    return ClientInvocationId.valueOf(getClientId(), getCallId());
+  }
+
   public OMResponse checkRetryCache() throws ServiceException {
-    final ClientInvocationId invocationId = ClientInvocationId.valueOf(getClientId(), getCallId());
+    final ClientInvocationId invocationId = getClientInvocationId();
     final RetryCache.Entry cacheEntry = getServerDivision().getRetryCache().getIfPresent(invocationId);
     if (cacheEntry == null) {
       return null;  //cache miss
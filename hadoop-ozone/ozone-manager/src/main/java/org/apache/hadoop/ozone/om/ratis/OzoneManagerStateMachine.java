@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.om.ratis;
 
+import static org.apache.hadoop.ozone.OzoneConsts.EXECUTION_INDEX_KEY;
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.INTERNAL_ERROR;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.METADATA_ERROR;
@@ -100,6 +101,13 @@ public class OzoneManagerStateMachine extends BaseStateMachine {
   private volatile TermIndex lastNotifiedTermIndex = TermIndex.valueOf(0, RaftLog.INVALID_LOG_INDEX);
   /** The last index skipped by {@link #notifyTermIndexUpdated(long, long)}. */
   private volatile long lastSkippedIndex = RaftLog.INVALID_LOG_INDEX;
+  /** The index of the last transaction passed to {@link #applyTransaction}, it may be not yet flushed. */
+  private volatile long lastTransactionIndex = RaftLog.INVALID_LOG_INDEX;
+  /**
+   * The largest index given to a transaction by {@link #getExecutionIndex},
+   * which is larger than the log index after requests executed on the leader.
+   */
+  private volatile long lastExecutionIndex = RaftLog.INVALID_LOG_INDEX;
 
   private final NettyMetrics nettyMetrics;
 
@@ -195,6 +203,14 @@ public TermIndex getLastNotifiedTermIndex() {
     return lastNotifiedTermIndex;
   }
 
+  public long getLastTransactionIndex() {
+    return lastTransactionIndex;
+  }
+
+  public long getLastExecutionIndex() {
+    return lastExecutionIndex;
+  }
+
   @Override
   protected synchronized boolean updateLastAppliedTermIndex(TermIndex newTermIndex) {
     TermIndex lastApplied = getLastAppliedTermIndex();
@@ -364,6 +380,7 @@ public CompletableFuture<Message> applyTransaction(TransactionContext trx) {
           trx.getStateMachineLogEntry().getLogData());
       final TermIndex termIndex = TermIndex.valueOf(trx.getLogEntry());
       LOG.debug("{}: applyTransaction {}", getId(), termIndex);
+      lastTransactionIndex = termIndex.getIndex();
       // In the current approach we have one single global thread executor.
       // with single thread. Right now this is being done for correctness, as
       // applyTransaction will be run on multiple OM's we want to execute the
@@ -564,7 +581,7 @@ public void close() {
    */
   private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     try {
-      ExecutionContext context = ExecutionContext.of(termIndex.getIndex(), termIndex);
+      ExecutionContext context = ExecutionContext.of(getExecutionIndex(request, termIndex), termIndex);
       final OMClientResponse omClientResponse = handler.handleWriteRequest(
           request, context, ozoneManagerDoubleBuffer);
       OMLockDetails omLockDetails = omClientResponse.getOmLockDetails();
@@ -586,6 +603,22 @@ private OMResponse runCommand(OMRequest request, TermIndex termIndex) {
     return null;
   }
 
+  /**
+   * A PersistDb request uses the index given by the leader which executed it,
+   * other requests use the log index, unless it is already given to a request
+   * executed on the leader. Then, it uses the next index after all the indexes
+   * given so far, so that the object and update IDs are never reused.
+   * The indexes are the same on all the OMs, since they only depend on the log.
+   */
+  @VisibleForTesting
+  long getExecutionIndex(OMRequest request, TermIndex termIndex) {
+    final long index = request.getCmdType() == OzoneManagerProtocolProtos.Type.PersistDb
+        ? request.getPersistDbRequest().getIndex()
+        : Math.max(termIndex.getIndex(), lastExecutionIndex + 1);
+    lastExecutionIndex = Math.max(lastExecutionIndex, index);
+    return index;
+  }
+
   private OMResponse createErrorResponse(
       OMRequest omRequest, IOException exception, TermIndex termIndex) {
     OMResponse.Builder omResponseBuilder = OMResponse.newBuilder()
@@ -617,6 +650,11 @@ public void loadSnapshotInfoFromDB() throws IOException {
     } else {
       LOG.info("TransactionInfo not found in OM DB.");
     }
+    final TransactionInfo executionIndex = ozoneManager.getMetadataManager()
+        .getTransactionInfoTable().getSkipCache(EXECUTION_INDEX_KEY);
+    lastExecutionIndex = Math.max(
+        transactionInfo == null ? RaftLog.INVALID_LOG_INDEX : transactionInfo.getTransactionIndex(),
+        executionIndex == null ? RaftLog.INVALID_LOG_INDEX : executionIndex.getTransactionIndex());
   }
 
   /**
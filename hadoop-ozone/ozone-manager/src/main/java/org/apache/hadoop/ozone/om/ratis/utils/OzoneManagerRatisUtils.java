@@ -43,6 +43,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.exceptions.OMLeaderNotReadyException;
 import org.apache.hadoop.ozone.om.exceptions.OMNotLeaderException;
+import org.apache.hadoop.ozone.om.execution.OMExecutionFlow;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.request.BucketLayoutAwareOMKeyRequestFactory;
 import org.apache.hadoop.ozone.om.request.OMClientRequest;
@@ -91,6 +92,7 @@
 import org.apache.hadoop.ozone.om.request.upgrade.OMFinalizeUpgradeRequest;
 import org.apache.hadoop.ozone.om.request.upgrade.OMPrepareRequest;
 import org.apache.hadoop.ozone.om.request.util.OMEchoRPCWriteRequest;
+import org.apache.hadoop.ozone.om.request.util.OMPersistDbRequest;
 import org.apache.hadoop.ozone.om.request.volume.OMQuotaRepairRequest;
 import org.apache.hadoop.ozone.om.request.volume.OMVolumeCreateRequest;
 import org.apache.hadoop.ozone.om.request.volume.OMVolumeDeleteRequest;
@@ -335,6 +337,8 @@ public static OMClientRequest createClientRequest(OMRequest omRequest,
       return new S3ExpiredMultipartUploadsAbortRequest(omRequest);
     case QuotaRepair:
       return new OMQuotaRepairRequest(omRequest);
+    case PersistDb:
+      return new OMPersistDbRequest(omRequest);
     case PutObjectTagging:
       keyArgs = omRequest.getPutObjectTaggingRequest().getKeyArgs();
       volumeName = keyArgs.getVolumeName();
@@ -515,7 +519,11 @@ public static GrpcTlsConfig createServerTlsConfig(SecurityConfig conf,
 
   public static OzoneManagerProtocolProtos.OMResponse submitRequest(
       OzoneManager om, OMRequest omRequest, ClientId clientId, long callId) throws ServiceException {
-    return om.getOmRatisServer().submitRequest(omRequest, clientId, callId);
+    final OMExecutionFlow executionFlow = om.getOmExecutionFlow();
+    if (executionFlow == null) {
+      return om.getOmRatisServer().submitRequest(omRequest, clientId, callId);
+    }
+    return executionFlow.submitInternal(() -> om.getOmRatisServer().submitRequest(omRequest, clientId, callId));
   }
 
   public static OzoneManagerProtocolProtos.OMResponse createErrorResponse(
@@ -69,6 +69,7 @@
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OmConfig;
 import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.PrefetchedBlockPool;
 import org.apache.hadoop.ozone.om.PrefixManager;
 import org.apache.hadoop.ozone.om.ResolvedBucket;
 import org.apache.hadoop.ozone.om.ScmClient;
@@ -279,9 +280,20 @@ protected List< OmKeyLocationInfo > allocateBlock(ScmClient scmClient,
     String remoteUser = getRemoteUser().getShortUserName();
     List<AllocatedBlock> allocatedBlocks;
     try {
-      allocatedBlocks = scmClient.getBlockClient()
-          .allocateBlock(scmBlockSize, numBlocks, replicationConfig, serviceID,
-              excludeList, clientMachine);
+      final PrefetchedBlockPool blockPool = scmClient.getBlockPool();
+      if (blockPool == null) {
+        allocatedBlocks = scmClient.getBlockClient()
+            .allocateBlock(scmBlockSize, numBlocks, replicationConfig,
+                serviceID, excludeList, clientMachine);
+      } else if (excludeList.isEmpty()) {
+        allocatedBlocks = blockPool.allocateBlock(scmBlockSize, numBlocks,
+            replicationConfig, serviceID);
+      } else {
+        blockPool.exclude(excludeList);
+        allocatedBlocks = scmClient.getBlockClient()
+            .allocateBlock(scmBlockSize, numBlocks, replicationConfig,
+                serviceID, excludeList, clientMachine);
+      }
     } catch (SCMException ex) {
       omMetrics.incNumBlockAllocateCallFails();
       if (ex.getResult()
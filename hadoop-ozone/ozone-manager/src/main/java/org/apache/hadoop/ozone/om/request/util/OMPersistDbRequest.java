@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import org.apache.hadoop.hdds.utils.db.DBColumnFamilyDefinition;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.request.OMClientRequest;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.util.OMPersistDbResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+
+/**
+ * Handles PersistDb request, which carries the DB changes of a request
+ * executed on the leader.
+ * <p>
+ * The leader has already updated its table cache while executing the request,
+ * the other OMs update the cache from the recorded changes, so that they are
+ * visible before the double buffer flush, the same as for any other request.
+ */
+public class OMPersistDbRequest extends OMClientRequest {
+
+  public OMPersistDbRequest(OMRequest omRequest) {
+    super(omRequest);
+  }
+
+  @Override
+  public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, ExecutionContext context) {
+    final PersistDbRequest request = getOmRequest().getPersistDbRequest();
+    if (!ozoneManager.getOmExecutionFlow().isExecutedLocally(request.getIndex())) {
+      try {
+        addCacheEntries(ozoneManager.getMetadataManager(), request, context.getIndex());
+      } catch (IOException ex) {
+        return new OMPersistDbResponse(createErrorOMResponse(
+            OmResponseUtil.getOMResponseBuilder(getOmRequest()), ex), Collections.emptyList());
+      }
+    }
+    return new OMPersistDbResponse(request.getResponse(), request.getTableUpdatesList());
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static void addCacheEntries(OMMetadataManager metadataManager,
+      PersistDbRequest request, long epoch) throws IOException {
+    for (DBTableUpdate update : request.getTableUpdatesList()) {
+      final String tableName = update.getTableName();
+      final DBColumnFamilyDefinition<?, ?> definition = OMDBDefinition.get().getColumnFamily(tableName);
+      if (definition == null) {
+        throw new IOException("Unknown table " + tableName);
+      }
+      final Table table = metadataManager.getTable(tableName);
+      for (DBTableRecord record : update.getRecordsList()) {
+        final Object key = definition.getKeyCodec().fromPersistedFormat(record.getKey().toByteArray());
+        final CacheValue<?> value = record.hasValue()
+            ? CacheValue.get(epoch, definition.getValueCodec().fromPersistedFormat(record.getValue().toByteArray()))
+            : CacheValue.get(epoch);
+        table.addCacheEntry(new CacheKey<>(key), value);
+      }
+    }
+  }
+}
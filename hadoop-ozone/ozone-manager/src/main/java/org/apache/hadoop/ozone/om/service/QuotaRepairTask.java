@@ -31,21 +31,25 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationType;
 import org.apache.hadoop.hdds.server.JsonUtils;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
+import org.apache.hadoop.hdds.utils.db.CodecException;
 import org.apache.hadoop.hdds.utils.db.DBCheckpoint;
+import org.apache.hadoop.hdds.utils.db.ProtoFieldReader;
+import org.apache.hadoop.hdds.utils.db.StringCodec;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
@@ -55,8 +59,10 @@
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.QuotaUtil;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyInfo;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.protocol.ClientId;
 import org.slf4j.Logger;
@@ -68,13 +74,18 @@
 public class QuotaRepairTask {
   private static final Logger LOG = LoggerFactory.getLogger(
       QuotaRepairTask.class);
-  private static final int BATCH_SIZE = 5000;
   private static final int TASK_THREAD_CNT = 3;
   private static final AtomicBoolean IN_PROGRESS = new AtomicBoolean(false);
   private static final RepairStatus REPAIR_STATUS = new RepairStatus();
   private static final AtomicLong RUN_CNT = new AtomicLong(0);
+  private static final int[] SIZE_FIELDS = {
+      KeyInfo.DATASIZE_FIELD_NUMBER,
+      KeyInfo.TYPE_FIELD_NUMBER,
+      KeyInfo.FACTOR_FIELD_NUMBER,
+  };
   private final OzoneManager om;
   private ExecutorService executor;
+  private ForkJoinPool scanPool;
 
   public QuotaRepairTask(OzoneManager ozoneManager) {
     this.om = ozoneManager;
@@ -102,8 +113,10 @@ private boolean repairTask(List<String> buckets) {
     LOG.info("Starting quota repair task {}", REPAIR_STATUS);
     OMMetadataManager activeMetaManager = null;
     try {
-      // thread pool with 3 Table type * (1 task each + 3 thread for each task)
-      executor = Executors.newFixedThreadPool(3 * (1 + TASK_THREAD_CNT));
+      // thread pool with 1 task for each of the 3 Table types,
+      // and the tables are scanned with 3 threads for each task
+      executor = Executors.newFixedThreadPool(3);
+      scanPool = new ForkJoinPool(3 * TASK_THREAD_CNT);
       OzoneManagerProtocolProtos.QuotaRepairRequest.Builder builder
           = OzoneManagerProtocolProtos.QuotaRepairRequest.newBuilder();
       // repair active db
@@ -134,6 +147,7 @@ private boolean repairTask(List<String> buckets) {
     } finally {
       LOG.info("Completed quota repair task {}", REPAIR_STATUS);
       executor.shutdown();
+      scanPool.shutdown();
       try {
         if (null != activeMetaManager) {
           activeMetaManager.stop();
@@ -335,87 +349,48 @@ private void repairCount(
 
   private <VALUE> void recalculateUsages(
       Table<String, VALUE> table, Map<String, CountPair> prefixUsageMap,
-      String strType, boolean haveValue) throws UncheckedIOException,
-      UncheckedExecutionException {
+      String strType, boolean haveValue) throws UncheckedIOException {
     LOG.info("Starting recalculate {}", strType);
-
-    List<Table.KeyValue<String, VALUE>> kvList = new ArrayList<>(BATCH_SIZE);
-    BlockingQueue<List<Table.KeyValue<String, VALUE>>> q
-        = new ArrayBlockingQueue<>(TASK_THREAD_CNT);
-    List<Future<?>> tasks = new ArrayList<>();
-    AtomicBoolean isRunning = new AtomicBoolean(true);
-    for (int i = 0; i < TASK_THREAD_CNT; ++i) {
-      tasks.add(executor.submit(() -> captureCount(
-          prefixUsageMap, q, isRunning, haveValue)));
-    }
-    int count = 0;
     long startTime = Time.monotonicNow();
-    try (TableIterator<String, ? extends Table.KeyValue<String, VALUE>>
-             keyIter = table.iterator()) {
-      while (keyIter.hasNext()) {
-        count++;
-        kvList.add(keyIter.next());
-        if (kvList.size() == BATCH_SIZE) {
-          q.put(kvList);
-          kvList = new ArrayList<>(BATCH_SIZE);
-        }
-      }
-      q.put(kvList);
-      isRunning.set(false);
-      for (Future<?> f : tasks) {
-        f.get();
-      }
+    try {
+      // Only the keys and the size fields of the values are decoded.
+      final long count = table.parallelScan(null,
+          (key, value) -> Table.newKeyValue(StringCodec.get().fromCodecBuffer(key),
+              haveValue ? getReplicatedSize(value) : 0L),
+          scanPool, kv -> extractCount(kv, prefixUsageMap));
       LOG.info("Recalculate {} completed, count {} time {}ms", strType,
           count, (Time.monotonicNow() - startTime));
     } catch (IOException ex) {
       throw new UncheckedIOException(ex);
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-    } catch (ExecutionException ex) {
-      throw new UncheckedExecutionException(ex);
     }
   }
-  
-  private static <VALUE> void captureCount(
-      Map<String, CountPair> prefixUsageMap,
-      BlockingQueue<List<Table.KeyValue<String, VALUE>>> q,
-      AtomicBoolean isRunning, boolean haveValue) throws UncheckedIOException {
-    try {
-      while (isRunning.get() || !q.isEmpty()) {
-        List<Table.KeyValue<String, VALUE>> kvList
-            = q.poll(100, TimeUnit.MILLISECONDS);
-        if (null != kvList) {
-          for (Table.KeyValue<String, VALUE> kv : kvList) {
-            extractCount(kv, prefixUsageMap, haveValue);
-          }
-        }
-      }
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
+
+  /**
+   * Get the replicated size from a serialized {@link KeyInfo}
+   * by reading the dataSize, type and factor fields,
+   * without decoding the locations and the other fields.
+   * The EC keys are fully decoded since the size depends on the EC config.
+   */
+  static long getReplicatedSize(CodecBuffer value) throws CodecException {
+    final long[] fields = {0, -1, ReplicationFactor.ONE_VALUE};
+    ProtoFieldReader.readVarints(value, SIZE_FIELDS, fields);
+    final ReplicationType type = ReplicationType.valueOf((int) fields[1]);
+    final ReplicationFactor factor = ReplicationFactor.valueOf((int) fields[2]);
+    if (type == ReplicationType.RATIS && factor != null) {
+      return QuotaUtil.getReplicatedSize(fields[0],
+          ReplicationConfig.fromProtoTypeAndFactor(type, factor));
     }
+    return OmKeyInfo.getCodec(true).fromCodecBuffer(value).getReplicatedSize();
   }
-  
-  private static <VALUE> void extractCount(
-      Table.KeyValue<String, VALUE> kv,
-      Map<String, CountPair> prefixUsageMap,
-      boolean haveValue) {
-    try {
-      String prefix = getVolumeBucketPrefix(kv.getKey());
-      CountPair usage = prefixUsageMap.get(prefix);
-      if (null == usage) {
-        return;
-      }
-      usage.incrNamespace(1L);
-      // avoid decode of value
-      if (haveValue) {
-        VALUE value = kv.getValue();
-        if (value instanceof OmKeyInfo) {
-          usage.incrSpace(((OmKeyInfo) value).getReplicatedSize());
-        }
-      }
-    } catch (IOException ex) {
-      throw new UncheckedIOException(ex);
+
+  private static void extractCount(Table.KeyValue<String, Long> kv,
+      Map<String, CountPair> prefixUsageMap) throws IOException {
+    CountPair usage = prefixUsageMap.get(getVolumeBucketPrefix(kv.getKey()));
+    if (null == usage) {
+      return;
     }
+    usage.incrNamespace(1L);
+    usage.incrSpace(kv.getValue());
   }
   
   private static synchronized void updateCountToBucketInfo(
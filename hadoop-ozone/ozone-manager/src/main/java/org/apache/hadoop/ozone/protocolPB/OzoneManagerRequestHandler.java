@@ -136,6 +136,9 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ListVolumeResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeyResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LookupKeysResult;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.MultipartUploadListPartsRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.MultipartUploadListPartsResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
@@ -328,6 +331,10 @@ public OMResponse handleReadRequest(OMRequest request) {
         responseBuilder.setGetKeyInfoResponse(
             getKeyInfo(request.getGetKeyInfoRequest(), request.getVersion()));
         break;
+      case LookupKeys:
+        responseBuilder.setLookupKeysResponse(
+            lookupKeys(request.getLookupKeysRequest(), request.getVersion()));
+        break;
       case ListSnapshot:
         OzoneManagerProtocolProtos.ListSnapshotResponse listSnapshotResponse =
             getSnapshots(request.getListSnapshotRequest());
@@ -637,6 +644,31 @@ private LookupKeyResponse lookupKey(LookupKeyRequest request,
     return resp.build();
   }
 
+  private LookupKeysResponse lookupKeys(LookupKeysRequest request,
+      int clientVersion) throws IOException {
+    KeyArgs keyArgs = request.getKeyArgs();
+    OmKeyArgs omKeyArgs = new OmKeyArgs.Builder()
+        .setVolumeName(keyArgs.getVolumeName())
+        .setBucketName(keyArgs.getBucketName())
+        .setLatestVersionLocation(keyArgs.getLatestVersionLocation())
+        .setSortDatanodesInPipeline(keyArgs.getSortDatanodes())
+        .setHeadOp(keyArgs.getHeadOp())
+        .build();
+    List<OmKeyInfo> keyInfos = impl.lookupKeys(omKeyArgs,
+        request.getKeyNamesList());
+
+    LookupKeysResponse.Builder resp = LookupKeysResponse.newBuilder();
+    for (OmKeyInfo keyInfo : keyInfos) {
+      LookupKeysResult.Builder result = LookupKeysResult.newBuilder();
+      if (keyInfo != null) {
+        result.setKeyInfo(
+            keyInfo.getProtobuf(keyArgs.getHeadOp(), clientVersion));
+      }
+      resp.addResults(result);
+    }
+    return resp.build();
+  }
+
   private GetKeyInfoResponse getKeyInfo(GetKeyInfoRequest request,
                                         int clientVersion) throws IOException {
     KeyArgs keyArgs = request.getKeyArgs();
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.client.ContainerBlockID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.container.common.helpers.AllocatedBlock;
+import org.apache.hadoop.hdds.scm.container.common.helpers.ExcludeList;
+import org.apache.hadoop.hdds.scm.pipeline.MockPipeline;
+import org.apache.hadoop.hdds.scm.pipeline.Pipeline;
+import org.apache.hadoop.hdds.scm.protocol.ScmBlockLocationProtocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link PrefetchedBlockPool}.
+ */
+class TestPrefetchedBlockPool {
+  private static final long BLOCK_SIZE = 256L << 20;
+  private static final String OWNER = "om";
+  private static final ReplicationConfig REPLICATION =
+      RatisReplicationConfig.getInstance(ReplicationFactor.THREE);
+
+  private final AtomicLong localId = new AtomicLong();
+  private ScmBlockLocationProtocol scm;
+  private Pipeline pipeline;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    scm = mock(ScmBlockLocationProtocol.class);
+    pipeline = MockPipeline.createPipeline(3);
+    when(scm.allocateBlock(anyLong(), anyInt(), any(ReplicationConfig.class),
+        anyString(), any(ExcludeList.class), isNull()))
+        .thenAnswer(invocation -> {
+          final int num = invocation.getArgument(1);
+          final List<AllocatedBlock> blocks = new ArrayList<>(num);
+          for (int i = 0; i < num; i++) {
+            blocks.add(new AllocatedBlock.Builder()
+                .setContainerBlockID(
+                    new ContainerBlockID(1, localId.incrementAndGet()))
+                .setPipeline(pipeline)
+                .build());
+          }
+          return blocks;
+        });
+  }
+
+  @Test
+  void testPrefetch() throws Exception {
+    final PrefetchedBlockPool pool =
+        new PrefetchedBlockPool(scm, 10, 60_000, Runnable::run);
+
+    // The first call allocates from SCM and then fills the pool.
+    assertEquals(1, pool.allocateBlock(BLOCK_SIZE, 1, REPLICATION, OWNER)
+        .get(0).getBlockID().getLocalID());
+    assertEquals(10, pool.size());
+    verify(scm, times(2)).allocateBlock(anyLong(), anyInt(),
+        any(ReplicationConfig.class), anyString(), any(ExcludeList.class),
+        isNull());
+
+    // The next calls take the prefetched blocks in order,
+    // and the pool is refilled when it is less than half full.
+    for (int i = 0; i < 6; i++) {
+      assertEquals(2 + i, pool.allocateBlock(BLOCK_SIZE, 1, REPLICATION, OWNER)
+          .get(0).getBlockID().getLocalID());
+    }
+    assertEquals(10, pool.size());
+    verify(scm, times(3)).allocateBlock(anyLong(), anyInt(),
+        any(ReplicationConfig.class), anyString(), any(ExcludeList.class),
+        isNull());
+    verify(scm).allocateBlock(eq(BLOCK_SIZE), eq(6), eq(REPLICATION),
+        eq(OWNER), any(ExcludeList.class), isNull());
+
+    // A different size uses a different pool.
+    pool.allocateBlock(BLOCK_SIZE / 2, 1, REPLICATION, OWNER);
+    assertEquals(20, pool.size());
+  }
+
+  @Test
+  void testExpiryAndExclude() throws Exception {
+    final PrefetchedBlockPool pool =
+        new PrefetchedBlockPool(scm, 10, 0, Runnable::run);
+
+    // The prefetched blocks are expired immediately.
+    pool.allocateBlock(BLOCK_SIZE, 1, REPLICATION, OWNER);
+    assertEquals(10, pool.size());
+    assertEquals(12, pool.allocateBlock(BLOCK_SIZE, 1, REPLICATION, OWNER)
+        .get(0).getBlockID().getLocalID());
+    assertEquals(10, pool.size());
+
+    final ExcludeList excludeList = new ExcludeList();
+    excludeList.addPipeline(MockPipeline.createPipeline(3).getId());
+    pool.exclude(excludeList);
+    assertEquals(10, pool.size());
+
+    excludeList.addDatanode(pipeline.getFirstNode());
+    pool.exclude(excludeList);
+    assertEquals(0, pool.size());
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksObjectUtils;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.OzoneManagerPrepareState;
+import org.apache.hadoop.ozone.om.execution.flowcontrol.ExecutionContext;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus;
+import org.apache.hadoop.ozone.om.ratis.OzoneManagerStateMachine;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CommitKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LayoutVersion;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeyRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.apache.hadoop.ozone.protocolPB.OzoneManagerRequestHandler;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.ClientInvocationId;
+import org.apache.ratis.server.protocol.TermIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Test {@link LeaderExecutor}.
+ */
+public class TestLeaderExecutor {
+  private static final OMRequest REQUEST = OMRequest.newBuilder()
+      .setCmdType(Type.CommitKey)
+      .setClientId("client")
+      .setLayoutVersion(LayoutVersion.newBuilder().setVersion(0))
+      .setCommitKeyRequest(CommitKeyRequest.newBuilder()
+          .setKeyArgs(KeyArgs.newBuilder()
+              .setVolumeName("vol")
+              .setBucketName("bucket")
+              .setKeyName("key"))
+          .setClientID(1))
+      .build();
+
+  private OzoneManagerRatisServer ratisServer;
+  private OzoneManagerStateMachine stateMachine;
+  private OzoneManagerRequestHandler handler;
+  private LeaderExecutor executor;
+  /** The PersistDb requests submitted to Ratis. */
+  private final List<OMRequest> submitted = new CopyOnWriteArrayList<>();
+  /** The futures returned for the submitted requests. */
+  private final List<CompletableFuture<OMResponse>> replies = new CopyOnWriteArrayList<>();
+  private long callId;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    // The DB changes are recorded in a RocksDB WriteBatch.
+    ManagedRocksObjectUtils.loadRocksDBLibrary();
+    final OzoneManager ozoneManager = mock(OzoneManager.class);
+    ratisServer = mock(OzoneManagerRatisServer.class, RETURNS_DEEP_STUBS);
+    stateMachine = mock(OzoneManagerStateMachine.class);
+    handler = mock(OzoneManagerRequestHandler.class);
+    final OMMetadataManager metadataManager = mock(OMMetadataManager.class);
+    final OzoneManagerPrepareState prepareState = mock(OzoneManagerPrepareState.class);
+
+    when(ozoneManager.getThreadNamePrefix()).thenReturn("");
+    when(ozoneManager.getOmRatisServer()).thenReturn(ratisServer);
+    when(ozoneManager.getMetadataManager()).thenReturn(metadataManager);
+    when(ozoneManager.getPrepareState()).thenReturn(prepareState);
+    when(prepareState.requestAllowed(any())).thenReturn(true);
+    when(metadataManager.getBucketKey("vol", "bucket")).thenReturn("/vol/bucket");
+
+    when(ratisServer.getLeaderStatus()).thenReturn(RaftServerStatus.LEADER_AND_READY);
+    when(ratisServer.getServerDivision().getInfo().getCurrentTerm()).thenReturn(1L);
+    when(ratisServer.getLastAppliedTermIndex()).thenReturn(TermIndex.valueOf(1, 10));
+    when(ratisServer.getOmStateMachine()).thenReturn(stateMachine);
+    when(stateMachine.getHandler()).thenReturn(handler);
+    when(stateMachine.getLastTransactionIndex()).thenReturn(10L);
+    when(stateMachine.getLastExecutionIndex()).thenReturn(10L);
+    when(ratisServer.submitRequestAsync(any(), any(), anyLong())).thenAnswer(invocation -> {
+      final CompletableFuture<OMResponse> reply = new CompletableFuture<>();
+      submitted.add(invocation.getArgument(0));
+      replies.add(reply);
+      return reply;
+    });
+
+    executor = new LeaderExecutor(ozoneManager, 16);
+  }
+
+  @Test
+  public void testFailedExecutionDoesNotConsumeIndex() throws Exception {
+    respondWith(Status.KEY_NOT_FOUND);
+    assertEquals(Status.KEY_NOT_FOUND, submit().getStatus());
+    assertEquals(10, executor.getLastIndex());
+    assertEquals(0, submitted.size());
+
+    respondWith(Status.OK);
+    final CompletableFuture<OMResponse> reply = submitAsync();
+    waitForSubmission(1);
+    // The index of the failed execution is given to the next one.
+    assertEquals(11, submitted.get(0).getPersistDbRequest().getIndex());
+    assertEquals(11, executor.getLastIndex());
+    assertEquals(11, getExecutionIndex());
+    assertTrue(executor.isExecutedLocally(11));
+
+    replies.get(0).complete(okResponse());
+    assertEquals(Status.OK, reply.get(10, TimeUnit.SECONDS).getStatus());
+    assertFalse(executor.isExecutedLocally(11));
+  }
+
+  @Test
+  public void testExclusiveRequestWaitsForExecutions() throws Exception {
+    respondWith(Status.OK);
+    final CompletableFuture<OMResponse> reply = submitAsync();
+    waitForSubmission(1);
+
+    final OMResponse exclusiveResponse = okResponse();
+    final CompletableFuture<OMResponse> exclusive = CompletableFuture.supplyAsync(() -> {
+      try {
+        return executor.runExclusive(() -> exclusiveResponse);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThrows(TimeoutException.class, () -> exclusive.get(100, TimeUnit.MILLISECONDS));
+
+    // Once the PersistDb request is applied, the state machine gives the
+    // exclusive request an index after the execution.
+    replies.get(0).complete(okResponse());
+    reply.get(10, TimeUnit.SECONDS);
+    assertSame(exclusiveResponse, exclusive.get(10, TimeUnit.SECONDS));
+
+    // The next execution gets an index after the exclusive request.
+    when(ratisServer.getLastAppliedTermIndex()).thenReturn(TermIndex.valueOf(1, 12));
+    when(stateMachine.getLastExecutionIndex()).thenReturn(12L);
+    submitAsync();
+    waitForSubmission(2);
+    assertEquals(13, submitted.get(1).getPersistDbRequest().getIndex());
+  }
+
+  @Test
+  public void testLeaderChange() throws Exception {
+    // Not executed before the transactions of the previous terms are applied.
+    when(ratisServer.getServerDivision().getInfo().getCurrentTerm()).thenReturn(2L);
+    assertNull(submit());
+    verify(handler, never()).handleWriteRequestImpl(any(), any());
+
+    // The previous leader executed requests up to index 50.
+    when(ratisServer.getLastAppliedTermIndex()).thenReturn(TermIndex.valueOf(2, 20));
+    when(stateMachine.getLastTransactionIndex()).thenReturn(20L);
+    when(stateMachine.getLastExecutionIndex()).thenReturn(50L);
+    respondWith(Status.OK);
+    submitAsync();
+    waitForSubmission(1);
+    assertEquals(51, submitted.get(0).getPersistDbRequest().getIndex());
+  }
+
+  @Test
+  public void testRenamesAreNotExecutedOnLeader() throws Exception {
+    final OMRequest rename = OMRequest.newBuilder()
+        .setCmdType(Type.RenameKey)
+        .setClientId("client")
+        .setRenameKeyRequest(RenameKeyRequest.newBuilder()
+            .setKeyArgs(KeyArgs.newBuilder()
+                .setVolumeName("vol")
+                .setBucketName("bucket")
+                .setKeyName("a"))
+            .setToKeyName("b"))
+        .build();
+    assertFalse(LeaderExecutor.isSupported(rename));
+    assertTrue(LeaderExecutor.isSupported(REQUEST));
+
+    respondWith(Status.OK);
+    submitAsync();
+    waitForSubmission(1);
+
+    // Two renames in a row are submitted after the execution is applied.
+    final List<Integer> renames = new CopyOnWriteArrayList<>();
+    final CompletableFuture<OMResponse> first = runExclusiveAsync(() -> renames.add(1));
+    final CompletableFuture<OMResponse> second = runExclusiveAsync(() -> renames.add(2));
+    assertThrows(TimeoutException.class, () -> first.get(100, TimeUnit.MILLISECONDS));
+    assertTrue(renames.isEmpty());
+
+    replies.get(0).complete(okResponse());
+    first.get(10, TimeUnit.SECONDS);
+    second.get(10, TimeUnit.SECONDS);
+    assertEquals(2, renames.size());
+  }
+
+  private CompletableFuture<OMResponse> runExclusiveAsync(Runnable submission) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return executor.runExclusive(() -> {
+          submission.run();
+          return okResponse();
+        });
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  private void respondWith(Status status) throws Exception {
+    final OMClientResponse clientResponse = mock(OMClientResponse.class);
+    when(clientResponse.getOMResponse()).thenReturn(OMResponse.newBuilder()
+        .setCmdType(Type.CommitKey)
+        .setStatus(status)
+        .setSuccess(status == Status.OK)
+        .build());
+    when(handler.handleWriteRequestImpl(any(), any())).thenReturn(clientResponse);
+  }
+
+  private static OMResponse okResponse() {
+    return OMResponse.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setStatus(Status.OK)
+        .build();
+  }
+
+  private long getExecutionIndex() throws Exception {
+    final ArgumentCaptor<ExecutionContext> context = ArgumentCaptor.forClass(ExecutionContext.class);
+    verify(handler, atLeastOnce()).handleWriteRequestImpl(any(), context.capture());
+    return context.getValue().getIndex();
+  }
+
+  private OMResponse submit() throws Exception {
+    return executor.submit(REQUEST, ClientInvocationId.valueOf(ClientId.randomId(), callId++));
+  }
+
+  private CompletableFuture<OMResponse> submitAsync() {
+    final ClientInvocationId invocationId = ClientInvocationId.valueOf(ClientId.randomId(), callId++);
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return executor.submit(REQUEST, invocationId);
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  private void waitForSubmission(int count) throws Exception {
+    GenericTestUtils.waitFor(() -> submitted.size() >= count, 10, 10_000);
+  }
+}
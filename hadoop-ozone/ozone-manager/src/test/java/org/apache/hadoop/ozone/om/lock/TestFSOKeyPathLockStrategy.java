@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.lock;
+
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
+import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.KEY_PATH_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for FSOKeyPathLockStrategy.
+ */
+public class TestFSOKeyPathLockStrategy {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+
+  @TempDir
+  private Path folder;
+
+  private OMMetadataManager omMetadataManager;
+  private IOzoneManagerLock lock;
+  private final OzoneLockStrategy strategy = new FSOKeyPathLockStrategy();
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, folder.toAbsolutePath().toString());
+    omMetadataManager = new OmMetadataManagerImpl(conf, mock(OzoneManager.class));
+    lock = omMetadataManager.getLock();
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET, omMetadataManager,
+        BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    OMRequestTestUtils.addParentsToDirTable(VOLUME, BUCKET, "a/b", omMetadataManager);
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testExistingParentsLockKeyPath() throws Exception {
+    for (String keyName : new String[] {"file", "a/file", "a/b/file", "a/b/c/"}) {
+      assertTrue(strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, keyName).isLockAcquired());
+      assertFalse(lock.isWriteLockedByCurrentThread(BUCKET_LOCK, VOLUME, BUCKET));
+      assertEquals(1, lock.getReadHoldCount(BUCKET_LOCK, VOLUME, BUCKET));
+
+      strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, keyName);
+      assertEquals(0, lock.getReadHoldCount(BUCKET_LOCK, VOLUME, BUCKET));
+    }
+  }
+
+  @Test
+  public void testMissingParentLocksBucket() throws Exception {
+    String keyName = "a/x/file";
+    assertTrue(strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, keyName).isLockAcquired());
+    assertTrue(lock.isWriteLockedByCurrentThread(BUCKET_LOCK, VOLUME, BUCKET));
+    assertEquals(0, lock.getReadHoldCount(BUCKET_LOCK, VOLUME, BUCKET));
+
+    strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, keyName);
+    assertFalse(lock.isWriteLockedByCurrentThread(BUCKET_LOCK, VOLUME, BUCKET));
+  }
+
+  @Test
+  public void testDifferentDirectoriesDoNotBlock() throws Exception {
+    strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, "a/file");
+    try {
+      // Another directory of the same bucket can be written concurrently.
+      CompletableFuture.runAsync(() -> {
+        try {
+          strategy.acquireWriteLock(omMetadataManager, VOLUME, BUCKET, "a/b/file");
+          assertTrue(lock.isWriteLockedByCurrentThread(KEY_PATH_LOCK, VOLUME, BUCKET, "a/b/file"));
+          strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, "a/b/file");
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }).get(10, TimeUnit.SECONDS);
+    } finally {
+      strategy.releaseWriteLock(omMetadataManager, VOLUME, BUCKET, "a/file");
+    }
+  }
+}
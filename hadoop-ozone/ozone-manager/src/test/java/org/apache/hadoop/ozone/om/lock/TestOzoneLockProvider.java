@@ -83,6 +83,8 @@ public void testOzoneLockProviderUtil(BucketLayout bucketLayout) {
     if (keyPathLockEnabled) {
       if (bucketLayout == BucketLayout.OBJECT_STORE) {
         assertInstanceOf(OBSKeyPathLockStrategy.class, ozoneLockStrategy);
+      } else if (bucketLayout == BucketLayout.FILE_SYSTEM_OPTIMIZED) {
+        assertInstanceOf(FSOKeyPathLockStrategy.class, ozoneLockStrategy);
       } else if (!enableFileSystemPaths &&
           bucketLayout == BucketLayout.LEGACY) {
         assertInstanceOf(OBSKeyPathLockStrategy.class, ozoneLockStrategy);
@@ -17,6 +17,7 @@
 
 package org.apache.hadoop.ozone.om.ratis;
 
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
 import static org.apache.hadoop.security.authentication.util.KerberosName.DEFAULT_MECHANISM;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,14 +39,19 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.DBStore;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.AuditMessage;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
@@ -55,10 +61,15 @@
 import org.apache.hadoop.ozone.om.S3SecretCache;
 import org.apache.hadoop.ozone.om.S3SecretLockedManager;
 import org.apache.hadoop.ozone.om.S3SecretManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.ozone.om.request.s3.security.S3GetSecretRequest;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.om.response.bucket.OMBucketCreateResponse;
 import org.apache.hadoop.ozone.om.response.key.OMKeyCreateResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyRenameResponse;
 import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotCreateResponse;
 import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotPurgeResponse;
 import org.apache.hadoop.ozone.om.s3.S3SecretCacheProvider;
@@ -390,17 +401,73 @@ public void testS3SecretCacheSizePostDoubleBufferFlush() throws IOException {
       assertNull(cache.get(userPrincipalId2));
       assertNull(cache.get(userPrincipalId1));
     } finally {
-      // cleanup metrics
-      final OzoneManagerDoubleBufferMetrics metrics = doubleBuffer.getMetrics();
-      metrics.setMaxNumberOfTransactionsFlushedInOneIteration(0);
-      metrics.setAvgFlushTransactionsInOneIteration(0);
-      metrics.incrTotalSizeOfFlushedTransactions(
-          -metrics.getTotalNumOfFlushedTransactions());
-      metrics.incrTotalNumOfFlushOperations(
-          -metrics.getTotalNumOfFlushOperations());
+      resetMetrics();
     }
   }
 
+  private void resetMetrics() {
+    final OzoneManagerDoubleBufferMetrics metrics = doubleBuffer.getMetrics();
+    metrics.setMaxNumberOfTransactionsFlushedInOneIteration(0);
+    metrics.setAvgFlushTransactionsInOneIteration(0);
+    metrics.incrTotalSizeOfFlushedTransactions(
+        -metrics.getTotalNumOfFlushedTransactions());
+    metrics.incrTotalNumOfFlushOperations(
+        -metrics.getTotalNumOfFlushOperations());
+  }
+
+  @Test
+  public void testRenameInConsecutiveBatches() throws Exception {
+    final OmMetadataManagerImpl metadataManager = spy((OmMetadataManagerImpl) ozoneManager.getMetadataManager());
+    final DBStore store = spy(metadataManager.getStore());
+    when(metadataManager.getStore()).thenReturn(store);
+    // Hold the commit of the first batch.
+    final CompletableFuture<Void> commitReleased = new CompletableFuture<>();
+    doAnswer(invocation -> {
+      commitReleased.join();
+      return invocation.callRealMethod();
+    }).when(store).commitBatchOperation(any());
+
+    // The bucket has a snapshot.
+    metadataManager.getSnapshotInfoTable().put("/vol/bucket/snap",
+        SnapshotInfo.newInstance("vol", "bucket", "snap", UUID.randomUUID(), 0));
+    final OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo("vol", "bucket", "b",
+        RatisReplicationConfig.getInstance(ONE)).setObjectID(100).build();
+    final OmKeyInfo renamedKeyInfo = OMRequestTestUtils.createOmKeyInfo("vol", "bucket", "c",
+        RatisReplicationConfig.getInstance(ONE)).setObjectID(100).build();
+    final OMResponse renameResponse = OMResponse.newBuilder()
+        .setCmdType(OzoneManagerProtocolProtos.Type.RenameKey)
+        .setStatus(OzoneManagerProtocolProtos.Status.OK)
+        .build();
+
+    final OzoneManagerDoubleBuffer buffer = OzoneManagerDoubleBuffer.newBuilder()
+        .setOmMetadataManager(metadataManager)
+        .setMaxUnFlushedTransactionCount(1000)
+        .build();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // Rename a to b, then b to c in the next batch.
+      buffer.add(new OMKeyRenameResponse(renameResponse, "a", "b", keyInfo), TransactionInfo.getTermIndex(1));
+      buffer.flushCurrentBuffer(true);
+      buffer.add(new OMKeyRenameResponse(renameResponse, "b", "c", renamedKeyInfo), TransactionInfo.getTermIndex(2));
+      final Future<?> flush = executor.submit(() -> buffer.flushCurrentBuffer(true));
+      assertThrows(TimeoutException.class, () -> flush.get(100, TimeUnit.MILLISECONDS));
+
+      commitReleased.complete(null);
+      flush.get();
+      buffer.flushCurrentBuffer();
+    } finally {
+      commitReleased.complete(null);
+      executor.shutdownNow();
+      buffer.stop();
+      resetMetrics();
+    }
+
+    // The original name is kept.
+    assertEquals("/vol/bucket/a", metadataManager.getSnapshotRenamedTable().get(
+        metadataManager.getRenameKey("vol", "bucket", 100)));
+    assertNotNull(metadataManager.getKeyTable(BucketLayout.DEFAULT).get("/vol/bucket/c"));
+  }
+
   private void processSuccessSecretRequest(String userPrincipalId, int txLogIndex) throws IOException {
     S3GetSecretRequest s3GetSecretRequest =
         new S3GetSecretRequest(
@@ -469,8 +536,14 @@ public void testFlushNotifier()
     Thread.sleep(2000);
     assertEquals(4, fn.notifyFlush());
 
+    // Confirm still not done.
+    for (Future<Boolean> task : tasks) {
+      assertFalse(task.isDone());
+    }
+    assertEquals(4, fn.notifyFlush());
+
     // Confirm the initial ones are done,
-    //  (it takes 2 calls to notify to release the waiting threads.)
+    //  (it takes 3 calls to notify to release the waiting threads.)
     for (int i = 0; i < 3; i++) {
       assertTrue(tasks.get(i).get());
     }
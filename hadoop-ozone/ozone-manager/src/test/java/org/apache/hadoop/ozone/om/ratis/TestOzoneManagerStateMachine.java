@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.om.ratis;
 
+import static org.apache.hadoop.ozone.OzoneConsts.EXECUTION_INDEX_KEY;
+import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -44,6 +46,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CreateKeyRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PrepareRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PrepareRequestArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PrepareStatusResponse.PrepareStatus;
@@ -74,6 +77,7 @@ public class TestOzoneManagerStateMachine {
   private OzoneManagerStateMachine ozoneManagerStateMachine;
   private OzoneManagerPrepareState prepareState;
   private AuditLogger auditLogger;
+  private OMMetadataManager metadataManager;
 
   @BeforeEach
   public void setup() throws Exception {
@@ -88,10 +92,9 @@ public void setup() throws Exception {
     conf.set(OMConfigKeys.OZONE_OM_DB_DIRS,
         tempDir.toAbsolutePath().toString());
 
-    OMMetadataManager omMetadataManager = new OmMetadataManagerImpl(conf,
-        ozoneManager);
+    metadataManager = new OmMetadataManagerImpl(conf, ozoneManager);
 
-    when(ozoneManager.getMetadataManager()).thenReturn(omMetadataManager);
+    when(ozoneManager.getMetadataManager()).thenReturn(metadataManager);
     auditLogger = mock(AuditLogger.class);
 
     when(ozoneManager.getAuditLogger()).thenReturn(auditLogger);
@@ -263,6 +266,47 @@ public void testApplyTransactionExceptionAuditLog() throws Exception {
     }
   }
 
+  @Test
+  public void testExecutionIndex() throws Exception {
+    final OMRequest createVolumeRequest = OMRequest.newBuilder()
+        .setCmdType(Type.CreateVolume)
+        .setClientId("123")
+        .build();
+    assertEquals(1, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(1, 1)));
+
+    // The leader executed a request with index 3, which failed, and then 4,
+    // which is at log index 2.
+    assertEquals(4, ozoneManagerStateMachine.getExecutionIndex(persistDbRequest(4), TermIndex.valueOf(1, 2)));
+    // A request not executed on the leader must not reuse the index of the execution.
+    assertEquals(5, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(1, 3)));
+    assertEquals(6, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(1, 4)));
+    assertEquals(10, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(1, 10)));
+    assertEquals(20, ozoneManagerStateMachine.getExecutionIndex(persistDbRequest(20), TermIndex.valueOf(1, 11)));
+    assertEquals(20, ozoneManagerStateMachine.getLastExecutionIndex());
+
+    // After a restart, or on a new leader, the indexes continue from the
+    // execution index flushed with the transaction info.
+    metadataManager.getTransactionInfoTable().put(TRANSACTION_INFO_KEY, TransactionInfo.valueOf(1, 11));
+    metadataManager.getTransactionInfoTable().put(EXECUTION_INDEX_KEY, TransactionInfo.valueOf(1, 20));
+    ozoneManagerStateMachine.loadSnapshotInfoFromDB();
+    assertEquals(20, ozoneManagerStateMachine.getLastExecutionIndex());
+    assertEquals(21, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(2, 12)));
+
+    // Without any execution on the leader, the log index is used.
+    metadataManager.getTransactionInfoTable().delete(EXECUTION_INDEX_KEY);
+    ozoneManagerStateMachine.loadSnapshotInfoFromDB();
+    assertEquals(11, ozoneManagerStateMachine.getLastExecutionIndex());
+    assertEquals(12, ozoneManagerStateMachine.getExecutionIndex(createVolumeRequest, TermIndex.valueOf(2, 12)));
+  }
+
+  private static OMRequest persistDbRequest(long index) {
+    return OMRequest.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setClientId("123")
+        .setPersistDbRequest(PersistDbRequest.newBuilder().setIndex(index))
+        .build();
+  }
+
   private TransactionContext mockTransactionContext(OMRequest request) {
     RaftProtos.StateMachineLogEntryProto logEntry =
         RaftProtos.StateMachineLogEntryProto.newBuilder()
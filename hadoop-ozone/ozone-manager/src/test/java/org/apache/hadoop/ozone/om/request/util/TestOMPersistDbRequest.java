@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.request.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import java.nio.file.Path;
+import java.util.UUID;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
+import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
+import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
+import org.apache.hadoop.ozone.om.OzoneManager;
+import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
+import org.apache.hadoop.ozone.om.execution.OMExecutionFlow;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableRecord;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DBTableUpdate;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.PersistDbRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests OMPersistDbRequest and OMPersistDbResponse.
+ */
+public class TestOMPersistDbRequest {
+
+  @TempDir
+  private Path folder;
+
+  private OzoneManager ozoneManager;
+  private OMMetadataManager omMetadataManager;
+  private OMExecutionFlow executionFlow;
+  private Table<String, OmKeyInfo> keyTable;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    ozoneManager = mock(OzoneManager.class);
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OMConfigKeys.OZONE_OM_DB_DIRS, folder.toAbsolutePath().toString());
+    omMetadataManager = new OmMetadataManagerImpl(conf, ozoneManager);
+    keyTable = omMetadataManager.getKeyTable(BucketLayout.DEFAULT);
+    executionFlow = mock(OMExecutionFlow.class);
+    when(ozoneManager.getMetadataManager()).thenReturn(omMetadataManager);
+    when(ozoneManager.getOmExecutionFlow()).thenReturn(executionFlow);
+  }
+
+  @AfterEach
+  public void stop() throws Exception {
+    omMetadataManager.stop();
+  }
+
+  @Test
+  public void testApplyOnFollower() throws Exception {
+    when(executionFlow.isExecutedLocally(anyLong())).thenReturn(false);
+
+    String deletedKey = omMetadataManager.getOzoneKey("vol", "bucket", "deleted");
+    OMRequestTestUtils.addKeyToTable(false, "vol", "bucket", "deleted", 0L,
+        RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.ONE), omMetadataManager);
+    assertNotNull(keyTable.get(deletedKey));
+
+    String key = omMetadataManager.getOzoneKey("vol", "bucket", "key");
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo("vol", "bucket", "key",
+        RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.THREE)).build();
+
+    OMRequest omRequest = createRequest(10L, DBTableUpdate.newBuilder()
+        .setTableName(OMDBDefinition.KEY_TABLE)
+        .addRecords(DBTableRecord.newBuilder()
+            .setKey(ByteString.copyFrom(OMDBDefinition.KEY_TABLE_DEF.getKeyCodec().toPersistedFormat(key)))
+            .setValue(ByteString.copyFrom(OMDBDefinition.KEY_TABLE_DEF.getValueCodec().toPersistedFormat(keyInfo))))
+        .addRecords(DBTableRecord.newBuilder()
+            .setKey(ByteString.copyFrom(OMDBDefinition.KEY_TABLE_DEF.getKeyCodec().toPersistedFormat(deletedKey))))
+        .build());
+
+    OMClientResponse response = new OMPersistDbRequest(omRequest).validateAndUpdateCache(ozoneManager, 100L);
+    assertEquals(Status.OK, response.getOMResponse().getStatus());
+    assertEquals(Type.CreateKey, response.getOMResponse().getCmdType());
+
+    // Changes are visible through the cache before the DB is updated.
+    CacheValue<OmKeyInfo> cached = keyTable.getCacheValue(new CacheKey<>(key));
+    assertNotNull(cached);
+    assertEquals(100L, cached.getEpoch());
+    assertEquals(keyInfo.getKeyName(), cached.getCacheValue().getKeyName());
+    assertNull(keyTable.get(deletedKey));
+
+    try (BatchOperation batchOperation = omMetadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(omMetadataManager, batchOperation);
+      omMetadataManager.getStore().commitBatchOperation(batchOperation);
+    }
+    assertEquals(keyInfo.getKeyName(), keyTable.getSkipCache(key).getKeyName());
+    assertNull(keyTable.getSkipCache(deletedKey));
+  }
+
+  @Test
+  public void testApplyOnLeader() throws Exception {
+    when(executionFlow.isExecutedLocally(anyLong())).thenReturn(true);
+
+    String key = omMetadataManager.getOzoneKey("vol", "bucket", "key");
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo("vol", "bucket", "key",
+        RatisReplicationConfig.getInstance(HddsProtos.ReplicationFactor.THREE)).build();
+    OMRequest omRequest = createRequest(10L, DBTableUpdate.newBuilder()
+        .setTableName(OMDBDefinition.KEY_TABLE)
+        .addRecords(DBTableRecord.newBuilder()
+            .setKey(ByteString.copyFrom(OMDBDefinition.KEY_TABLE_DEF.getKeyCodec().toPersistedFormat(key)))
+            .setValue(ByteString.copyFrom(OMDBDefinition.KEY_TABLE_DEF.getValueCodec().toPersistedFormat(keyInfo))))
+        .build());
+
+    OMClientResponse response = new OMPersistDbRequest(omRequest).validateAndUpdateCache(ozoneManager, 10L);
+    assertEquals(Status.OK, response.getOMResponse().getStatus());
+    // The leader has updated its cache while executing the original request.
+    assertNull(keyTable.getCacheValue(new CacheKey<>(key)));
+
+    try (BatchOperation batchOperation = omMetadataManager.getStore().initBatchOperation()) {
+      response.checkAndUpdateDB(omMetadataManager, batchOperation);
+      omMetadataManager.getStore().commitBatchOperation(batchOperation);
+    }
+    assertNotNull(keyTable.getSkipCache(key));
+  }
+
+  @Test
+  public void testUnknownTable() throws Exception {
+    when(executionFlow.isExecutedLocally(anyLong())).thenReturn(false);
+
+    OMRequest omRequest = createRequest(10L, DBTableUpdate.newBuilder()
+        .setTableName("unknownTable")
+        .addRecords(DBTableRecord.newBuilder().setKey(ByteString.copyFromUtf8("key")))
+        .build());
+
+    OMClientResponse response = new OMPersistDbRequest(omRequest).validateAndUpdateCache(ozoneManager, 100L);
+    assertEquals(Status.INTERNAL_ERROR, response.getOMResponse().getStatus());
+  }
+
+  private static OMRequest createRequest(long index, DBTableUpdate update) {
+    OMResponse executed = OMResponse.newBuilder()
+        .setCmdType(Type.CreateKey)
+        .setStatus(Status.OK)
+        .setSuccess(true)
+        .build();
+    return OMRequest.newBuilder()
+        .setCmdType(Type.PersistDb)
+        .setClientId(UUID.randomUUID().toString())
+        .setPersistDbRequest(PersistDbRequest.newBuilder()
+            .setIndex(index)
+            .addTableUpdates(update)
+            .setResponse(executed))
+        .build();
+  }
+}
@@ -30,8 +30,12 @@
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.client.ReplicationConfig;
+import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
+import org.apache.hadoop.hdds.utils.db.CodecBuffer;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
@@ -187,6 +191,30 @@ public void testQuotaRepairForOldVersionVolumeBucket() throws Exception {
     assertEquals(-1, volArgsVerify.getQuotaInNamespace());
   }
 
+  @Test
+  public void testGetReplicatedSize() throws Exception {
+    final ReplicationConfig[] configs = {
+        RatisReplicationConfig.getInstance(ONE),
+        RatisReplicationConfig.getInstance(THREE),
+        StandaloneReplicationConfig.getInstance(ONE),
+        new ECReplicationConfig(3, 2),
+    };
+    for (ReplicationConfig config : configs) {
+      final OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(
+          volumeName, bucketName, "key", config)
+          .setDataSize(5_000_000)
+          .build();
+      final CodecBuffer value = CodecBuffer.wrap(
+          OmKeyInfo.getCodec(true).toPersistedFormat(keyInfo));
+      try {
+        assertEquals(keyInfo.getReplicatedSize(),
+            QuotaRepairTask.getReplicatedSize(value), config::toString);
+      } finally {
+        value.release();
+      }
+    }
+  }
+
   private void zeroOutBucketUsedBytes(String volumeName, String bucketName,
                                       long trxnLogIndex)
       throws IOException {
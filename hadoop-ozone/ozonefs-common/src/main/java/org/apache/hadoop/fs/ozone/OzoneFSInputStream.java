@@ -25,14 +25,18 @@
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.function.IntFunction;
 import org.apache.hadoop.fs.ByteBufferPositionedReadable;
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.CanUnbuffer;
 import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.Seekable;
 import org.apache.hadoop.hdds.annotation.InterfaceAudience;
 import org.apache.hadoop.hdds.annotation.InterfaceStability;
+import org.apache.hadoop.hdds.scm.storage.MultipartInputStream;
 import org.apache.hadoop.hdds.tracing.TracingUtil;
 
 /**
@@ -210,4 +214,27 @@ public void readFully(long position, ByteBuffer buf) throws IOException {
       }
     }
   }
+
+  /**
+   * When the underlying stream is a {@link MultipartInputStream},
+   * the nearby ranges are merged and the blocks are read in parallel.
+   * Otherwise, it falls back to the default implementation.
+   */
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    if (!(inputStream instanceof MultipartInputStream)) {
+      super.readVectored(ranges, allocate);
+      return;
+    }
+    TracingUtil.executeInNewSpan("OzoneFSInputStream.readVectored", () -> {
+      ((MultipartInputStream) inputStream).readVectored(ranges, allocate,
+          minSeekForVectorReads(), maxReadSizeForVectorReads());
+      if (statistics != null) {
+        for (FileRange r : ranges) {
+          r.getData().thenAccept(b -> statistics.incrementBytesRead(b.remaining()));
+        }
+      }
+    });
+  }
 }
@@ -20,6 +20,7 @@
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -312,6 +313,16 @@ public OzoneKeyDetails getKeyDetails(String volumeName, String bucketName,
     return getBucket(volumeName, bucketName).getKey(keyName);
   }
 
+  @Override
+  public List<OzoneKeyDetails> getKeyDetails(String volumeName,
+      String bucketName, List<String> keyNames) throws IOException {
+    final List<OzoneKeyDetails> details = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      details.add(getKeyDetails(volumeName, bucketName, keyName));
+    }
+    return details;
+  }
+
   @Override
   public void close() throws IOException {
 